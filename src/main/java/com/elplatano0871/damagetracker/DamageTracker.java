@@ -1,17 +1,39 @@
 package com.elplatano0871.damagetracker;
 
+import com.elplatano0871.damagetracker.api.DamageTrackerService;
+import com.elplatano0871.damagetracker.attribution.AttributionCache;
 import com.elplatano0871.damagetracker.commands.DamageTrackerCommand;
 import com.elplatano0871.damagetracker.configs.BossConfig;
+import com.elplatano0871.damagetracker.listeners.AttributionListeners;
+import com.elplatano0871.damagetracker.listeners.LuckPermsListener;
 import com.elplatano0871.damagetracker.listeners.MythicMobListeners;
+import com.elplatano0871.damagetracker.listeners.PlayerListeners;
+import com.elplatano0871.damagetracker.listeners.SessionListeners;
+import com.elplatano0871.damagetracker.managers.DamageEventManager;
 import com.elplatano0871.damagetracker.managers.DamageManager;
+import com.elplatano0871.damagetracker.managers.DamageTrackerServiceImpl;
+import com.elplatano0871.damagetracker.metrics.PluginMetrics;
+import com.elplatano0871.damagetracker.metrics.Profiler;
 import com.elplatano0871.damagetracker.managers.DatabaseManager;
+import com.elplatano0871.damagetracker.managers.LeaderboardHologramManager;
+import com.elplatano0871.damagetracker.managers.LeaderboardManager;
+import com.elplatano0871.damagetracker.managers.LiveHudManager;
+import com.elplatano0871.damagetracker.managers.PlayerNameManager;
+import com.elplatano0871.damagetracker.managers.PrefixManager;
 import com.elplatano0871.damagetracker.managers.TrackedBossManager;
 import com.elplatano0871.damagetracker.managers.VictoryMessageManager;
 import com.elplatano0871.damagetracker.placeholders.DamageTrackerPlaceholder;
+import com.elplatano0871.damagetracker.placeholders.PlaceholderMemo;
+import com.elplatano0871.damagetracker.scheduler.TickScheduler;
+import com.elplatano0871.damagetracker.spatial.PlayerPositionIndex;
+import com.elplatano0871.damagetracker.sync.LeaderboardSyncManager;
+import com.elplatano0871.damagetracker.trace.TraceRecorder;
 import com.elplatano0871.damagetracker.utils.MessageUtils;
+import com.elplatano0871.damagetracker.utils.NumberFormatter;
 import com.elplatano0871.damagetracker.managers.HologramManager;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 import net.milkbowl.vault.chat.Chat;
 import java.util.*;
@@ -23,29 +45,73 @@ public class DamageTracker extends JavaPlugin {
     private TrackedBossManager trackedBossManager;
     private VictoryMessageManager victoryMessageManager;
     private DatabaseManager databaseManager;
+    private PlayerNameManager playerNameManager;
+    private LeaderboardManager leaderboardManager;
     private boolean useVault;
     private Chat vaultChat;
+    private PrefixManager prefixManager;
+    private LuckPermsListener luckPermsListener;
     public String personalMessageFormat;
     public String damageFormat;
     public String percentageFormat;
     private HologramManager hologramManager;
+    private LiveHudManager liveHudManager;
+    private DamageEventManager damageEventManager;
+    private AttributionCache attributionCache;
+    private LeaderboardSyncManager leaderboardSyncManager;
+    private LeaderboardHologramManager leaderboardHologramManager;
+    private PlayerPositionIndex playerPositionIndex;
+    private PlaceholderMemo placeholderMemo;
+    private TickScheduler tickScheduler;
+    private PluginMetrics metrics;
+    private Profiler profiler;
+    private MythicMobListeners mythicMobListeners;
+    private TraceRecorder traceRecorder;
     
     @Override
     public void onEnable() {
+        // Create the metrics first, every manager records into them
+        metrics = new PluginMetrics(this);
+        profiler = new Profiler();
+        traceRecorder = new TraceRecorder(getLogger());
+        // Start the scheduler that owns data retention and hologram expiry deadlines
+        tickScheduler = new TickScheduler(this);
+        tickScheduler.start();
         // Initialize database manager
         databaseManager = new DatabaseManager(this);
+        // Initialize player name cache, warmed from the database in the background
+        playerNameManager = new PlayerNameManager(this);
+        playerNameManager.warmUp();
+        // Initialize the in-memory leaderboards, loaded from the database in the background
+        leaderboardManager = new LeaderboardManager(this);
+        leaderboardManager.load();
         // Initialize boss configurations
         bossConfigs = new HashMap<>();
         // Initialize the damage manager
         initializeDamageManager();
         // Initialize the tracked boss manager
         initializeTrackedBossManager();
+        // Initialize the live fight HUD
+        liveHudManager = new LiveHudManager(this);
+        // Publish the accepted damage to other plugins, batched per tick
+        damageEventManager = new DamageEventManager(this);
+        // Remember who owns projectiles, clouds, summons and damage over time
+        attributionCache = new AttributionCache(this);
+        // Share leaderboard changes with the other servers of the network
+        leaderboardSyncManager = new LeaderboardSyncManager(this);
         // Initialize the victory message manager
         victoryMessageManager = new VictoryMessageManager(this);
         // Load configuration from file
         loadConfig();
         // Initialize message utilities
         MessageUtils.init(this);
+        // Index player positions by chunk for hologram view culling
+        playerPositionIndex = new PlayerPositionIndex((player, location) -> {
+            if (hologramManager != null) {
+                hologramManager.onPlayerChunkChange(player, location);
+            }
+        });
+        playerPositionIndex.indexOnlinePlayers();
         // Register event handlers and commands
         registerHandlers();
         // Setup integrations with other plugins
@@ -55,10 +121,52 @@ public class DamageTracker extends JavaPlugin {
         
         // Initialize hologram manager
         hologramManager = new HologramManager(this);
+        // Initialize the persistent leaderboard holograms
+        leaderboardHologramManager = new LeaderboardHologramManager(this);
+        leaderboardHologramManager.reload();
+        // Expose the plugin state as metrics now that every manager exists
+        metrics.registerGauges();
+        // Let other plugins query rankings and history without touching the database
+        getServer().getServicesManager().register(DamageTrackerService.class, new DamageTrackerServiceImpl(this),
+                this, ServicePriority.Normal);
     }
 
     @Override
     public void onDisable() {
+        // Stop answering queries of other plugins
+        getServer().getServicesManager().unregisterAll(this);
+        // Stop exporting metrics
+        if (metrics != null) {
+            metrics.stop();
+        }
+        // Stop running scheduled deadlines
+        if (tickScheduler != null) {
+            tickScheduler.stop();
+        }
+        // Stop the placeholder cache
+        if (placeholderMemo != null) {
+            placeholderMemo.stop();
+        }
+        // Hide live HUDs
+        if (liveHudManager != null) {
+            liveHudManager.stop();
+        }
+        // Drop damage batches that were not published yet
+        if (damageEventManager != null) {
+            damageEventManager.stop();
+        }
+        // Disconnect from the other servers
+        if (leaderboardSyncManager != null) {
+            leaderboardSyncManager.stop();
+        }
+        // Stop listening to LuckPerms
+        if (luckPermsListener != null) {
+            luckPermsListener.unregister();
+        }
+        // Finish writing a damage trace being captured
+        if (traceRecorder != null) {
+            traceRecorder.close();
+        }
         // Close message utilities
         MessageUtils.close();
         // Close database connection
@@ -67,6 +175,9 @@ public class DamageTracker extends JavaPlugin {
         }
         
         // Remove all holograms
+        if (leaderboardHologramManager != null) {
+            leaderboardHologramManager.removeAll();
+        }
         if (hologramManager != null) {
             hologramManager.removeAllHolograms();
         }
@@ -86,8 +197,13 @@ public class DamageTracker extends JavaPlugin {
 
     private void registerHandlers() {
         // Register event listeners
-        getServer().getPluginManager().registerEvents(new MythicMobListeners(this), this);
-        // Register placeholder (unified expansion)
+        mythicMobListeners = new MythicMobListeners(this);
+        getServer().getPluginManager().registerEvents(mythicMobListeners, this);
+        getServer().getPluginManager().registerEvents(new PlayerListeners(this), this);
+        getServer().getPluginManager().registerEvents(new SessionListeners(this), this);
+        getServer().getPluginManager().registerEvents(new AttributionListeners(this), this);
+        // Register placeholder (unified expansion) behind its per-player cache
+        placeholderMemo = new PlaceholderMemo(this);
         new DamageTrackerPlaceholder(this, databaseManager).register();
     
         // Register command handler
@@ -97,8 +213,30 @@ public class DamageTracker extends JavaPlugin {
     }
 
     private void setupIntegrations() {
-        // Setup Vault integration only
+        // Setup Vault integration
         setupVault();
+        // Setup prefix cache, kept in sync by LuckPerms when available
+        prefixManager = new PrefixManager(this);
+        setupLuckPerms();
+        prefixManager.refreshOnlinePlayers();
+    }
+
+    private void setupLuckPerms() {
+        if (getServer().getPluginManager().getPlugin("LuckPerms") == null) {
+            getLogger().info("LuckPerms not found. Prefix cache will expire after the configured ttl.");
+            return;
+        }
+
+        try {
+            luckPermsListener = new LuckPermsListener(this);
+            luckPermsListener.register();
+            prefixManager.setEventInvalidated(true);
+            getLogger().info("LuckPerms integration enabled. Prefix cache is invalidated on user data changes.");
+        } catch (Exception | NoClassDefFoundError e) {
+            getLogger().warning("Error setting up LuckPerms integration. Prefix cache will expire after the configured ttl.");
+            luckPermsListener = null;
+            prefixManager.setEventInvalidated(false);
+        }
     }
 
     private void setupVault() {
@@ -146,12 +284,57 @@ public class DamageTracker extends JavaPlugin {
         trackedBossManager.loadConfig();
         // Load victory message manager configuration
         victoryMessageManager.reloadConfig();
+        // Reload metrics export configuration
+        if (metrics != null) {
+            metrics.loadConfig();
+        }
+        // Reload placeholder cache configuration
+        if (placeholderMemo != null) {
+            placeholderMemo.loadConfig();
+        }
+        // Reload live HUD configuration
+        if (liveHudManager != null) {
+            liveHudManager.loadConfig();
+        }
+        // Reload damage attribution settings
+        if (attributionCache != null) {
+            attributionCache.loadConfig();
+        }
+        // Reconnect the leaderboard sync
+        if (leaderboardSyncManager != null) {
+            leaderboardSyncManager.loadConfig();
+        }
+        // Reload leaderboard formats and holograms
+        if (databaseManager != null) {
+            databaseManager.reloadConfig();
+        }
+        if (leaderboardManager != null) {
+            leaderboardManager.invalidate();
+        }
+        if (hologramManager != null) {
+            hologramManager.reloadHologramConfig();
+        }
+        if (leaderboardHologramManager != null) {
+            leaderboardHologramManager.reload();
+        }
+        // Reset the prefix cache
+        if (prefixManager != null) {
+            prefixManager.loadConfig();
+            prefixManager.refreshOnlinePlayers();
+        }
     }
 
     private void loadFormats() {
         // Get damage and percentage formats from config
         damageFormat = getConfig().getString("damage_format", "%.2f");
         percentageFormat = getConfig().getString("percentage_format", "%.1f%%");
+        // Compile the formats once, optionally with compact notation for large values
+        NumberFormatter damageFormatter = NumberFormatter.compile(damageFormat);
+        if (getConfig().getBoolean("compact_numbers.enabled", false)) {
+            damageFormatter.withCompactNotation(getConfig().getDouble("compact_numbers.threshold", 10000),
+                    getConfig().getInt("compact_numbers.precision", 1));
+        }
+        damageManager.setFormatters(damageFormatter, NumberFormatter.compile(percentageFormat));
         // Get personal message format from config
         personalMessageFormat = getConfig().getString("personal_message_format",
                 "&6Your contribution: &ePosition: {position}, Damage: {damage} ({percentage}%)");
@@ -304,7 +487,32 @@ public class DamageTracker extends JavaPlugin {
         return databaseManager;
     }
 
+    public PlayerNameManager getPlayerNameManager() {
+        return playerNameManager;
+    }
+
+    public LeaderboardManager getLeaderboardManager() {
+        return leaderboardManager;
+    }
+
+    public LeaderboardHologramManager getLeaderboardHologramManager() {
+        return leaderboardHologramManager;
+    }
+
+    public PrefixManager getPrefixManager() {
+        return prefixManager;
+    }
+
     public String getPlayerPrefix(Player player) {
+        return prefixManager != null ? prefixManager.getPrefix(player) : resolvePlayerPrefix(player);
+    }
+
+    public String getPlayerMiniMessagePrefix(Player player) {
+        return prefixManager != null ? prefixManager.getMiniMessagePrefix(player) :
+                resolvePlayerPrefix(player).replaceAll("§([0-9a-fk-or])", "<$1>");
+    }
+
+    public String resolvePlayerPrefix(Player player) {
         String prefix = "";
         try {
             if (useVault && vaultChat != null) {
@@ -324,6 +532,12 @@ public class DamageTracker extends JavaPlugin {
         return damageManager.getBossDamageMap(bossId);
     }
 
+    /**
+     * Gets a copy of the damage data of every boss. Other plugins should use the
+     * {@link DamageTrackerService} registered in the ServicesManager instead, which never copies.
+     *
+     * @return A map of boss UUIDs to player damage maps.
+     */
     public Map<UUID, Map<UUID, Double>> getAllDamageData() {
         return damageManager.getAllDamageData();
     }
@@ -348,6 +562,10 @@ public class DamageTracker extends JavaPlugin {
         return damageManager.formatDamage(damage, maxHealth, displayType);
     }
 
+    public String formatPercentage(double percentage) {
+        return damageManager.formatPercentage(percentage);
+    }
+
     public Map<UUID, Double> calculateTotalDamage() {
         return damageManager.calculateTotalDamage();
     }
@@ -356,6 +574,50 @@ public class DamageTracker extends JavaPlugin {
         return damageManager.getTopDamage(damageMap, limit);
     }
 
+    public LiveHudManager getLiveHudManager() {
+        return liveHudManager;
+    }
+
+    public AttributionCache getAttributionCache() {
+        return attributionCache;
+    }
+
+    public LeaderboardSyncManager getLeaderboardSyncManager() {
+        return leaderboardSyncManager;
+    }
+
+    public DamageEventManager getDamageEventManager() {
+        return damageEventManager;
+    }
+
+    public Profiler getProfiler() {
+        return profiler;
+    }
+
+    public TraceRecorder getTraceRecorder() {
+        return traceRecorder;
+    }
+
+    public MythicMobListeners getMythicMobListeners() {
+        return mythicMobListeners;
+    }
+
+    public PluginMetrics getMetrics() {
+        return metrics;
+    }
+
+    public TickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+
+    public PlaceholderMemo getPlaceholderMemo() {
+        return placeholderMemo;
+    }
+
+    public PlayerPositionIndex getPlayerPositionIndex() {
+        return playerPositionIndex;
+    }
+
     public HologramManager getHologramManager() {
         return hologramManager;
     }
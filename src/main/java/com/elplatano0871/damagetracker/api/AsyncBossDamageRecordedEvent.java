@@ -0,0 +1,52 @@
+package com.elplatano0871.damagetracker.api;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Asynchronous counterpart of {@link BossDamageRecordedEvent}. Called from a single DamageTracker
+ * thread, so batches arrive in the order they were recorded, but never on the main thread:
+ * handlers must not touch the Bukkit API that requires it.
+ */
+public class AsyncBossDamageRecordedEvent extends Event {
+    private static final HandlerList handlers = new HandlerList();
+    private final DamageBatch batch;
+
+    /**
+     * Constructor for the AsyncBossDamageRecordedEvent
+     *
+     * @param batch The damage accepted during the tick
+     */
+    public AsyncBossDamageRecordedEvent(DamageBatch batch) {
+        super(true);
+        this.batch = batch;
+    }
+
+    /**
+     * Gets the damage accepted during the tick
+     *
+     * @return Damage batch
+     */
+    public DamageBatch getBatch() {
+        return batch;
+    }
+
+    /**
+     * Gets the internal ID/name of the boss
+     *
+     * @return Boss ID string
+     */
+    public String getBossId() {
+        return batch.getBossId();
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
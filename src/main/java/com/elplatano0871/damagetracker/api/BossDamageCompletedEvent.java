@@ -11,8 +11,7 @@ public class BossDamageCompletedEvent extends Event {
     private static final HandlerList handlers = new HandlerList();
     private final String bossId;
     private final UUID mobUuid;
-    private final Map<UUID, Double> playerDamageMap;
-    private final double maxHealth;
+    private final FightResult result;
 
     /**
      * Constructor for the BossDamageCompletedEvent
@@ -23,10 +22,21 @@ public class BossDamageCompletedEvent extends Event {
      * @param maxHealth       The maximum health of the boss
      */
     public BossDamageCompletedEvent(String bossId, UUID mobUuid, Map<UUID, Double> playerDamageMap, double maxHealth) {
+        this(bossId, mobUuid, FightResult.of(bossId, playerDamageMap, maxHealth,
+                System.currentTimeMillis(), System.currentTimeMillis()));
+    }
+
+    /**
+     * Constructor for the BossDamageCompletedEvent
+     *
+     * @param bossId  The internal ID/name of the boss
+     * @param mobUuid The UUID of the mob instance
+     * @param result  The precomputed result of the fight
+     */
+    public BossDamageCompletedEvent(String bossId, UUID mobUuid, FightResult result) {
         this.bossId = bossId;
         this.mobUuid = mobUuid;
-        this.playerDamageMap = Map.copyOf(playerDamageMap); // Create an unmodifiable copy
-        this.maxHealth = maxHealth;
+        this.result = result;
     }
 
     /**
@@ -48,12 +58,22 @@ public class BossDamageCompletedEvent extends Event {
     }
 
     /**
-     * Gets an unmodifiable map of player damage
+     * Gets the result of the fight, sorted by damage with ranks and shares precomputed.
+     * Prefer it over the damage map, it is shared by every listener and never copied
+     *
+     * @return Fight result
+     */
+    public FightResult getResult() {
+        return result;
+    }
+
+    /**
+     * Gets an unmodifiable map of player damage, iterated from highest to lowest damage
      *
      * @return Map of player UUIDs to damage values
      */
     public Map<UUID, Double> getPlayerDamageMap() {
-        return playerDamageMap;
+        return result.asMap();
     }
 
     /**
@@ -62,7 +82,7 @@ public class BossDamageCompletedEvent extends Event {
      * @return Boss max health value
      */
     public double getMaxHealth() {
-        return maxHealth;
+        return result.getMaxHealth();
     }
 
     @Override
@@ -0,0 +1,51 @@
+package com.elplatano0871.damagetracker.api;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called on the main thread once per tick for each boss fight that took damage, with the damage
+ * DamageTracker accepted during the tick coalesced per player. Listen to
+ * {@link AsyncBossDamageRecordedEvent} instead to receive the same batches off the main thread.
+ */
+public class BossDamageRecordedEvent extends Event {
+    private static final HandlerList handlers = new HandlerList();
+    private final DamageBatch batch;
+
+    /**
+     * Constructor for the BossDamageRecordedEvent
+     *
+     * @param batch The damage accepted during the tick
+     */
+    public BossDamageRecordedEvent(DamageBatch batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Gets the damage accepted during the tick
+     *
+     * @return Damage batch
+     */
+    public DamageBatch getBatch() {
+        return batch;
+    }
+
+    /**
+     * Gets the internal ID/name of the boss
+     *
+     * @return Boss ID string
+     */
+    public String getBossId() {
+        return batch.getBossId();
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -0,0 +1,165 @@
+package com.elplatano0871.damagetracker.api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable damage accepted for one boss fight during one tick, coalesced per player.
+ * Players are stored in the order of their first hit in the tick. The map view is built
+ * on first use and cached, so the sync and async events can share the same batch.
+ */
+public final class DamageBatch {
+    private final String bossId;
+    private final long fightId;
+    private final long tick;
+    private final double maxHealth;
+    private final UUID[] players;
+    private final double[] deltas;
+    private final int[] hits;
+    private final double totalDelta;
+    private final int totalHits;
+    private volatile Map<UUID, Double> deltaMap;
+
+    /**
+     * Creates a batch. The arrays are owned by the batch and must not be changed afterwards
+     *
+     * @param bossId    The internal ID/name of the boss
+     * @param fightId   The ID of the fight session
+     * @param tick      The tick in which the damage was accepted
+     * @param maxHealth The maximum health of the boss
+     * @param players   The players who dealt damage
+     * @param deltas    The damage dealt by each player during the tick
+     * @param hits      The number of hits of each player during the tick
+     */
+    public DamageBatch(String bossId, long fightId, long tick, double maxHealth,
+                       UUID[] players, double[] deltas, int[] hits) {
+        this.bossId = bossId;
+        this.fightId = fightId;
+        this.tick = tick;
+        this.maxHealth = maxHealth;
+        this.players = players;
+        this.deltas = deltas;
+        this.hits = hits;
+        double total = 0;
+        int count = 0;
+        for (int i = 0; i < deltas.length; i++) {
+            total += deltas[i];
+            count += hits[i];
+        }
+        this.totalDelta = total;
+        this.totalHits = count;
+    }
+
+    /**
+     * Gets the internal ID/name of the boss
+     *
+     * @return Boss ID string
+     */
+    public String getBossId() {
+        return bossId;
+    }
+
+    /**
+     * Gets the ID of the fight session, the same as {@link FightResult#getFightId()} once the fight ends
+     *
+     * @return Fight ID
+     */
+    public long getFightId() {
+        return fightId;
+    }
+
+    /**
+     * Gets the tick in which the damage was accepted, counted since DamageTracker was enabled
+     *
+     * @return Tick number
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the maximum health of the boss
+     *
+     * @return Boss max health value
+     */
+    public double getMaxHealth() {
+        return maxHealth;
+    }
+
+    /**
+     * Gets the number of players who dealt damage during the tick
+     *
+     * @return Player count
+     */
+    public int size() {
+        return players.length;
+    }
+
+    /**
+     * Gets a player of the batch
+     *
+     * @param index The 0-based index, in order of first hit
+     * @return Player UUID
+     */
+    public UUID getPlayerAt(int index) {
+        return players[index];
+    }
+
+    /**
+     * Gets the damage dealt by a player of the batch during the tick
+     *
+     * @param index The 0-based index, in order of first hit
+     * @return Damage value
+     */
+    public double getDeltaAt(int index) {
+        return deltas[index];
+    }
+
+    /**
+     * Gets the number of hits coalesced for a player of the batch
+     *
+     * @param index The 0-based index, in order of first hit
+     * @return Hit count
+     */
+    public int getHitsAt(int index) {
+        return hits[index];
+    }
+
+    /**
+     * Gets the damage dealt by all players during the tick
+     *
+     * @return Total damage
+     */
+    public double getTotalDelta() {
+        return totalDelta;
+    }
+
+    /**
+     * Gets the number of hits coalesced into the batch
+     *
+     * @return Hit count
+     */
+    public int getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * Gets the damage dealt by each player during the tick
+     *
+     * @return Unmodifiable map of player UUIDs to damage values
+     */
+    public Map<UUID, Double> asMap() {
+        Map<UUID, Double> view = deltaMap;
+        if (view == null) {
+            Map<UUID, Double> map = new LinkedHashMap<>(players.length * 2);
+            for (int i = 0; i < players.length; i++) {
+                map.put(players[i], deltas[i]);
+            }
+            view = Collections.unmodifiableMap(map);
+            deltaMap = view;
+        }
+        return view;
+    }
+}
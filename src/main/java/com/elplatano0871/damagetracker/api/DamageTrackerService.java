@@ -0,0 +1,74 @@
+package com.elplatano0871.damagetracker.api;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-only query API of DamageTracker, registered in Bukkit's ServicesManager:
+ * <pre>
+ * DamageTrackerService service = Bukkit.getServicesManager().load(DamageTrackerService.class);
+ * service.getTopDamage("SKELETON_KING", 10).thenAccept(top -&gt; ...);
+ * </pre>
+ * Every method returns immediately. Live data and leaderboards are read from memory on the main
+ * thread, so called from the main thread the future is usually already completed, and called from
+ * another thread the read waits for the next tick. History queries run on DamageTracker's database
+ * thread. Futures are completed on the thread that produced the value, use the async variants of
+ * the CompletableFuture methods to continue elsewhere. All results are immutable snapshots.
+ */
+public interface DamageTrackerService {
+
+    /**
+     * Gets a snapshot of the fight running against a boss
+     *
+     * @param bossId The internal ID/name of the boss
+     * @return A future completed with the fight, or with null if no fight is running
+     */
+    CompletableFuture<FightResult> getLiveFight(String bossId);
+
+    /**
+     * Gets a snapshot of every fight running or retained after the kill
+     *
+     * @return A future completed with a map of boss IDs to fights
+     */
+    CompletableFuture<Map<String, FightResult>> getLiveFights();
+
+    /**
+     * Gets the top of the all-time leaderboard of a boss. Waits for the stored leaderboards
+     * to be loaded after a restart
+     *
+     * @param bossId The internal ID/name of the boss
+     * @param limit  The maximum number of entries
+     * @return A future completed with the entries, highest damage first
+     */
+    CompletableFuture<List<LeaderboardEntry>> getTopDamage(String bossId, int limit);
+
+    /**
+     * Gets the rank of a player in the all-time leaderboard of a boss. Waits for the stored
+     * leaderboards to be loaded after a restart
+     *
+     * @param bossId   The internal ID/name of the boss
+     * @param playerId The UUID of the player
+     * @return A future completed with the entry, or with null if the player never damaged the boss
+     */
+    CompletableFuture<LeaderboardEntry> getPlayerRank(String bossId, UUID playerId);
+
+    /**
+     * Gets the most recent finished fights against a boss
+     *
+     * @param bossId The internal ID/name of the boss
+     * @param limit  The maximum number of fights
+     * @return A future completed with the fights, most recent first
+     */
+    CompletableFuture<List<FightResult>> getFightHistory(String bossId, int limit);
+
+    /**
+     * Gets the most recent finished fights a player took part in
+     *
+     * @param playerId The UUID of the player
+     * @param limit    The maximum number of fights
+     * @return A future completed with the fights, most recent first
+     */
+    CompletableFuture<List<FightResult>> getPlayerHistory(UUID playerId, int limit);
+}
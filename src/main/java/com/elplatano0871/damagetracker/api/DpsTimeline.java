@@ -0,0 +1,107 @@
+package com.elplatano0871.damagetracker.api;
+
+/**
+ * Immutable damage timeline of one player in one fight, in fixed-width buckets counted from
+ * the first hit of the fight. Only the most recent buckets are kept for long fights, while
+ * the peak DPS and the active time always cover the whole fight.
+ */
+public final class DpsTimeline {
+    private final long bucketMillis;
+    private final long startBucket;
+    private final float[] damage;
+    private final double peakDps;
+    private final long activeMillis;
+
+    /**
+     * Creates a timeline. The array is owned by the timeline and must not be changed afterwards
+     *
+     * @param bucketMillis The width of a bucket in milliseconds
+     * @param startBucket  The bucket of the first value, counted from the start of the fight
+     * @param damage       The damage dealt in each bucket
+     * @param peakDps      The highest damage per second over a bucket during the whole fight
+     * @param activeMillis The time spent in buckets with damage during the whole fight
+     */
+    public DpsTimeline(long bucketMillis, long startBucket, float[] damage, double peakDps, long activeMillis) {
+        this.bucketMillis = bucketMillis;
+        this.startBucket = startBucket;
+        this.damage = damage;
+        this.peakDps = peakDps;
+        this.activeMillis = activeMillis;
+    }
+
+    /**
+     * Gets the width of a bucket
+     *
+     * @return Bucket width in milliseconds
+     */
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * Gets the bucket of the first value, counted from the start of the fight.
+     * Timelines of the same fight line up by adding it to the index
+     *
+     * @return The 0-based bucket number
+     */
+    public long getStartBucket() {
+        return startBucket;
+    }
+
+    /**
+     * Gets the number of buckets kept
+     *
+     * @return Bucket count
+     */
+    public int size() {
+        return damage.length;
+    }
+
+    /**
+     * Gets the damage dealt in a bucket
+     *
+     * @param index The 0-based index, from {@link #getStartBucket()}
+     * @return Damage value
+     */
+    public double getDamageAt(int index) {
+        return damage[index];
+    }
+
+    /**
+     * Gets the damage per second in a bucket
+     *
+     * @param index The 0-based index, from {@link #getStartBucket()}
+     * @return Damage per second
+     */
+    public double getDpsAt(int index) {
+        return damage[index] * 1000.0 / bucketMillis;
+    }
+
+    /**
+     * Gets the highest damage per second over a bucket during the whole fight
+     *
+     * @return Peak DPS
+     */
+    public double getPeakDps() {
+        return peakDps;
+    }
+
+    /**
+     * Gets the time the player spent dealing damage, as the number of buckets with damage
+     *
+     * @return Active time in milliseconds
+     */
+    public long getActiveMillis() {
+        return activeMillis;
+    }
+
+    /**
+     * Gets the average damage per second while the player was active
+     *
+     * @param totalDamage The total damage of the player in the fight
+     * @return Average DPS, or 0 if the player was never active
+     */
+    public double getActiveDps(double totalDamage) {
+        return activeMillis > 0 ? totalDamage * 1000.0 / activeMillis : 0.0;
+    }
+}
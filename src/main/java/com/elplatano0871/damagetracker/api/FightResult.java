@@ -0,0 +1,346 @@
+package com.elplatano0871.damagetracker.api;
+
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable result of a finished boss fight, computed once and shared by every listener.
+ * Participants are stored sorted by damage, highest first, with the total precomputed, so ranks,
+ * shares and the top N are plain reads. Map and list views are built on first use and cached.
+ */
+public final class FightResult {
+    private final String bossId;
+    private final long fightId;
+    private final long startedAt;
+    private final long endedAt;
+    private final double maxHealth;
+    private final UUID[] players;
+    private final double[] damage;
+    private final double totalDamage;
+    private final Map<UUID, DpsTimeline> timelines;
+    private volatile Map<UUID, Integer> ranks;
+    private volatile Map<UUID, Double> damageMap;
+    private volatile List<UUID> participants;
+
+    private FightResult(String bossId, long fightId, long startedAt, long endedAt, double maxHealth,
+                        UUID[] players, double[] damage) {
+        this(bossId, fightId, startedAt, endedAt, maxHealth, players, damage, Collections.emptyMap());
+    }
+
+    private FightResult(String bossId, long fightId, long startedAt, long endedAt, double maxHealth,
+                        UUID[] players, double[] damage, Map<UUID, DpsTimeline> timelines) {
+        this.bossId = bossId;
+        this.fightId = fightId;
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.maxHealth = maxHealth;
+        this.players = players;
+        this.damage = damage;
+        this.timelines = timelines;
+        double total = 0;
+        for (double value : damage) {
+            total += value;
+        }
+        this.totalDamage = total;
+    }
+
+    /**
+     * Creates the result of a fight from a live ranking, which is already sorted
+     *
+     * @param bossId    The internal ID/name of the boss
+     * @param fightId   The ID of the fight session, or 0 if unknown
+     * @param ranking   The ranking of the fight, or null if nobody dealt damage
+     * @param maxHealth The maximum health of the boss
+     * @param startedAt When the fight started, in epoch milliseconds
+     * @param endedAt   When the fight ended, in epoch milliseconds
+     * @return The fight result
+     */
+    public static FightResult of(String bossId, long fightId, DamageRanking ranking, double maxHealth,
+                                 long startedAt, long endedAt) {
+        int size = ranking != null ? ranking.size() : 0;
+        UUID[] players = new UUID[size];
+        double[] damage = new double[size];
+        for (int i = 0; i < size; i++) {
+            players[i] = ranking.getPlayerAt(i);
+            damage[i] = ranking.getDamageAt(i);
+        }
+        return new FightResult(bossId, fightId, startedAt, endedAt, maxHealth, players, damage);
+    }
+
+    /**
+     * Creates the result of a fight from a map of damage, which is sorted once
+     *
+     * @param bossId          The internal ID/name of the boss
+     * @param playerDamageMap Map of player UUIDs to their damage values
+     * @param maxHealth       The maximum health of the boss
+     * @param startedAt       When the fight started, in epoch milliseconds
+     * @param endedAt         When the fight ended, in epoch milliseconds
+     * @return The fight result
+     */
+    public static FightResult of(String bossId, Map<UUID, Double> playerDamageMap, double maxHealth,
+                                 long startedAt, long endedAt) {
+        return of(bossId, 0L, playerDamageMap, maxHealth, startedAt, endedAt);
+    }
+
+    /**
+     * Creates the result of a stored fight from a map of damage, which is sorted once
+     *
+     * @param bossId          The internal ID/name of the boss
+     * @param fightId         The ID of the fight
+     * @param playerDamageMap Map of player UUIDs to their damage values
+     * @param maxHealth       The maximum health of the boss
+     * @param startedAt       When the fight started, in epoch milliseconds
+     * @param endedAt         When the fight ended, in epoch milliseconds
+     * @return The fight result
+     */
+    public static FightResult of(String bossId, long fightId, Map<UUID, Double> playerDamageMap, double maxHealth,
+                                 long startedAt, long endedAt) {
+        @SuppressWarnings("unchecked")
+        Map.Entry<UUID, Double>[] entries = playerDamageMap.entrySet().toArray(new Map.Entry[0]);
+        Arrays.sort(entries, (e1, e2) -> Double.compare(e2.getValue(), e1.getValue()));
+        UUID[] players = new UUID[entries.length];
+        double[] damage = new double[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            players[i] = entries[i].getKey();
+            damage[i] = entries[i].getValue();
+        }
+        return new FightResult(bossId, fightId, startedAt, endedAt, maxHealth, players, damage);
+    }
+
+    /**
+     * Creates a copy of this result with the DPS timelines of the participants attached
+     *
+     * @param timelines Map of player UUIDs to their timelines, not copied
+     * @return The fight result with timelines
+     */
+    public FightResult withTimelines(Map<UUID, DpsTimeline> timelines) {
+        return new FightResult(bossId, fightId, startedAt, endedAt, maxHealth, players, damage,
+                Collections.unmodifiableMap(timelines));
+    }
+
+    /**
+     * Gets the internal ID/name of the boss
+     *
+     * @return Boss ID string
+     */
+    public String getBossId() {
+        return bossId;
+    }
+
+    /**
+     * Gets the ID of the fight: the session ID, unique while the server runs, for live and
+     * just finished fights, or the fight history ID for fights loaded from the database
+     *
+     * @return Fight ID, or 0 if unknown
+     */
+    public long getFightId() {
+        return fightId;
+    }
+
+    /**
+     * Gets when the fight started
+     *
+     * @return Start time in epoch milliseconds
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Gets when the fight ended
+     *
+     * @return End time in epoch milliseconds
+     */
+    public long getEndedAt() {
+        return endedAt;
+    }
+
+    /**
+     * Gets how long the fight lasted, from the first hit to the end
+     *
+     * @return Duration in milliseconds
+     */
+    public long getDurationMillis() {
+        return Math.max(0L, endedAt - startedAt);
+    }
+
+    /**
+     * Gets the maximum health of the boss
+     *
+     * @return Boss max health value
+     */
+    public double getMaxHealth() {
+        return maxHealth;
+    }
+
+    /**
+     * Gets the damage dealt by all participants together
+     *
+     * @return Total damage
+     */
+    public double getTotalDamage() {
+        return totalDamage;
+    }
+
+    /**
+     * Gets the number of players who dealt damage
+     *
+     * @return Participant count
+     */
+    public int getParticipantCount() {
+        return players.length;
+    }
+
+    /**
+     * Gets the player at a position of the ranking
+     *
+     * @param index The 0-based position, highest damage first
+     * @return Player UUID
+     */
+    public UUID getPlayerAt(int index) {
+        return players[index];
+    }
+
+    /**
+     * Gets the damage at a position of the ranking
+     *
+     * @param index The 0-based position, highest damage first
+     * @return Damage value
+     */
+    public double getDamageAt(int index) {
+        return damage[index];
+    }
+
+    /**
+     * Gets the share of the total damage at a position of the ranking
+     *
+     * @param index The 0-based position, highest damage first
+     * @return Share from 0 to 1
+     */
+    public double getShareAt(int index) {
+        return totalDamage > 0 ? damage[index] / totalDamage : 0.0;
+    }
+
+    /**
+     * Gets the rank of a player
+     *
+     * @param playerId The UUID of the player
+     * @return The 1-based rank, or 0 if the player did not take part
+     */
+    public int getRank(UUID playerId) {
+        return getRanks().getOrDefault(playerId, 0);
+    }
+
+    /**
+     * Gets the damage dealt by a player
+     *
+     * @param playerId The UUID of the player
+     * @return Damage value, or 0 if the player did not take part
+     */
+    public double getDamage(UUID playerId) {
+        int rank = getRank(playerId);
+        return rank > 0 ? damage[rank - 1] : 0.0;
+    }
+
+    /**
+     * Gets the share of the total damage dealt by a player
+     *
+     * @param playerId The UUID of the player
+     * @return Share from 0 to 1, or 0 if the player did not take part
+     */
+    public double getShare(UUID playerId) {
+        int rank = getRank(playerId);
+        return rank > 0 ? getShareAt(rank - 1) : 0.0;
+    }
+
+    /**
+     * Checks if a player dealt damage
+     *
+     * @param playerId The UUID of the player
+     * @return true if the player took part
+     */
+    public boolean isParticipant(UUID playerId) {
+        return getRanks().containsKey(playerId);
+    }
+
+    /**
+     * Gets the participants sorted by damage, highest first
+     *
+     * @return Unmodifiable list view of player UUIDs
+     */
+    public List<UUID> getParticipants() {
+        List<UUID> view = participants;
+        if (view == null) {
+            view = Collections.unmodifiableList(Arrays.asList(players));
+            participants = view;
+        }
+        return view;
+    }
+
+    /**
+     * Gets the top participants sorted by damage, highest first
+     *
+     * @param limit The maximum number of participants
+     * @return Unmodifiable list view of player UUIDs
+     */
+    public List<UUID> getTop(int limit) {
+        return getParticipants().subList(0, Math.max(0, Math.min(limit, players.length)));
+    }
+
+    /**
+     * Gets the damage of every participant, iterated from highest to lowest damage
+     *
+     * @return Unmodifiable map of player UUIDs to damage values
+     */
+    public Map<UUID, Double> asMap() {
+        Map<UUID, Double> view = damageMap;
+        if (view == null) {
+            Map<UUID, Double> map = new LinkedHashMap<>(players.length * 2);
+            for (int i = 0; i < players.length; i++) {
+                map.put(players[i], damage[i]);
+            }
+            view = Collections.unmodifiableMap(map);
+            damageMap = view;
+        }
+        return view;
+    }
+
+    /**
+     * Gets the DPS timeline of a player
+     *
+     * @param playerId The UUID of the player
+     * @return The timeline, or null if the player did not take part or timelines are disabled
+     */
+    public DpsTimeline getTimeline(UUID playerId) {
+        return timelines.get(playerId);
+    }
+
+    /**
+     * Gets the DPS timelines of every participant
+     *
+     * @return Unmodifiable map of player UUIDs to timelines, empty if timelines are disabled
+     */
+    public Map<UUID, DpsTimeline> getTimelines() {
+        return timelines;
+    }
+
+    private Map<UUID, Integer> getRanks() {
+        Map<UUID, Integer> view = ranks;
+        if (view == null) {
+            Map<UUID, Integer> map = new HashMap<>(players.length * 2);
+            for (int i = 0; i < players.length; i++) {
+                map.put(players[i], i + 1);
+            }
+            view = map;
+            ranks = view;
+        }
+        return view;
+    }
+}
@@ -0,0 +1,76 @@
+package com.elplatano0871.damagetracker.api;
+
+import java.util.UUID;
+
+/**
+ * Immutable entry of the all-time leaderboard of a boss.
+ */
+public final class LeaderboardEntry {
+    private final String bossId;
+    private final int rank;
+    private final UUID playerId;
+    private final String playerName;
+    private final double damage;
+
+    /**
+     * Constructor for the LeaderboardEntry
+     *
+     * @param bossId     The internal ID/name of the boss
+     * @param rank       The 1-based rank of the player
+     * @param playerId   The UUID of the player
+     * @param playerName The last known name of the player
+     * @param damage     The all-time damage of the player
+     */
+    public LeaderboardEntry(String bossId, int rank, UUID playerId, String playerName, double damage) {
+        this.bossId = bossId;
+        this.rank = rank;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.damage = damage;
+    }
+
+    /**
+     * Gets the internal ID/name of the boss
+     *
+     * @return Boss ID string
+     */
+    public String getBossId() {
+        return bossId;
+    }
+
+    /**
+     * Gets the rank of the player
+     *
+     * @return The 1-based rank
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Gets the UUID of the player
+     *
+     * @return Player UUID
+     */
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Gets the last known name of the player
+     *
+     * @return Player name
+     */
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * Gets the all-time damage of the player
+     *
+     * @return Damage value
+     */
+    public double getDamage() {
+        return damage;
+    }
+}
@@ -0,0 +1,317 @@
+package com.elplatano0871.damagetracker.attribution;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import io.lumine.mythic.bukkit.MythicBukkit;
+import io.lumine.mythic.core.mobs.ActiveMob;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.*;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.projectiles.ProjectileSource;
+
+import java.util.UUID;
+
+/**
+ * Remembers which player caused indirect damage, so it can be credited even when the direct
+ * source no longer points back to an online player. Ownership is recorded when it is known:
+ * a projectile is launched, a potion cloud is spawned, a poison, wither or fire effect is applied,
+ * or a MythicMobs summon with an owner first attacks. Hits on tracked bosses then resolve with a
+ * single lookup in an {@link OwnerMap} keyed by entity ID and kind. Hits from players and from
+ * sources that resolve directly never reach the map.
+ */
+public class AttributionCache {
+    /**
+     * What an owner was recorded for. Entity IDs are never reused while the server runs,
+     * so the ID and the kind form a unique key.
+     */
+    public enum Kind {
+        /** The entity itself: projectile, potion cloud or summon */
+        ENTITY,
+        /** Poison applied to the entity */
+        POISON,
+        /** Wither applied to the entity */
+        WITHER,
+        /** Fire set to the entity */
+        FIRE;
+
+        /**
+         * Gets the kind of damage over time behind a damage cause.
+         *
+         * @param cause The damage cause.
+         * @return The kind, or null if the cause is not damage over time.
+         */
+        public static Kind of(EntityDamageEvent.DamageCause cause) {
+            if (cause == EntityDamageEvent.DamageCause.POISON) return POISON;
+            if (cause == EntityDamageEvent.DamageCause.WITHER) return WITHER;
+            if (cause == EntityDamageEvent.DamageCause.FIRE_TICK) return FIRE;
+            return null;
+        }
+
+        /**
+         * Gets the kind of damage over time caused by a potion effect.
+         *
+         * @param type The potion effect type.
+         * @return The kind, or null if the effect does not deal damage over time.
+         */
+        public static Kind of(PotionEffectType type) {
+            if (PotionEffectType.POISON.equals(type)) return POISON;
+            if (PotionEffectType.WITHER.equals(type)) return WITHER;
+            return null;
+        }
+    }
+
+    // Marks a summon or other entity that was checked and has no player owner
+    private static final UUID NO_OWNER = new UUID(0L, 0L);
+    // Margin after the expected end of an effect, for the last damage tick and lag
+    private static final long EFFECT_MARGIN_TICKS = 40L;
+    // Entities without an owner are checked again after this delay, owners may be assigned after spawning
+    private static final long NO_OWNER_TTL_TICKS = 100L;
+
+    private final DamageTracker plugin;
+    private final OwnerMap owners;
+    private boolean enabled;
+    private boolean damageOverTime;
+    private long projectileTtl;
+    private long summonTtl;
+    private long creditedHits;
+
+    /**
+     * Constructor for AttributionCache.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public AttributionCache(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.owners = new OwnerMap();
+    }
+
+    /**
+     * Loads the attribution settings from the main configuration.
+     */
+    public void loadConfig() {
+        FileConfiguration config = plugin.getConfig();
+        enabled = config.getBoolean("attribution.enabled", true);
+        damageOverTime = config.getBoolean("attribution.damage_over_time", true);
+        projectileTtl = Math.max(1, config.getInt("attribution.projectile_ttl", 60)) * 20L;
+        summonTtl = Math.max(1, config.getInt("attribution.summon_ttl", 300)) * 20L;
+        if (!enabled) {
+            owners.clear();
+        }
+    }
+
+    /**
+     * Checks if ownership is recorded.
+     *
+     * @return true if attribution is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks if poison, wither and fire damage is credited to the player who applied it.
+     *
+     * @return true if damage over time is attributed.
+     */
+    public boolean isDamageOverTimeEnabled() {
+        return enabled && damageOverTime;
+    }
+
+    /**
+     * Gets the player directly responsible for a hit: the damager itself, or the shooter, source
+     * or owner of a projectile, explosive, cloud or pet, as long as that player is online.
+     *
+     * @param damager The direct source of the damage.
+     * @return The UUID of the player, or null if the damager does not resolve directly.
+     */
+    public UUID getDirectOwner(Entity damager) {
+        Player player = getDirectPlayer(damager);
+        return player != null ? player.getUniqueId() : null;
+    }
+
+    /**
+     * Gets the recorded owner of a damager that did not resolve directly, with one lookup.
+     * Only meant for hits on tracked bosses, each hit it resolves is counted as credited.
+     *
+     * @param damager The direct source of the damage.
+     * @return The UUID of the player, or null if no owner was recorded.
+     */
+    public UUID getCachedOwner(Entity damager) {
+        UUID owner = lookup(damager);
+        if (owner != null) {
+            creditedHits++;
+        }
+        return owner;
+    }
+
+    /**
+     * Resolves the player responsible for an entity, directly or through the cache.
+     *
+     * @param entity The entity.
+     * @return The UUID of the player, or null if no player is responsible.
+     */
+    public UUID resolve(Entity entity) {
+        Player player = getDirectPlayer(entity);
+        return player != null ? player.getUniqueId() : lookup(entity);
+    }
+
+    /**
+     * Resolves the player responsible for a projectile source, for projectiles shot by summons.
+     *
+     * @param source The shooter.
+     * @return The UUID of the player, or null if no player is responsible.
+     */
+    public UUID resolve(ProjectileSource source) {
+        return source instanceof Entity ? resolve((Entity) source) : null;
+    }
+
+    /**
+     * Records the owner of a projectile, cloud or other entity dealing damage for its owner.
+     *
+     * @param entity The entity.
+     * @param owner The UUID of the player.
+     * @param ttlTicks How long the entity may deal damage, in ticks.
+     */
+    public void recordEntity(Entity entity, UUID owner, long ttlTicks) {
+        if (!enabled || owner == null) return;
+        long now = now();
+        owners.put(key(entity, Kind.ENTITY), owner, now + ttlTicks, now);
+        remember(owner);
+    }
+
+    /**
+     * Records the owner of a projectile for the configured projectile lifetime.
+     *
+     * @param projectile The projectile.
+     * @param owner The UUID of the player.
+     */
+    public void recordProjectile(Entity projectile, UUID owner) {
+        recordEntity(projectile, owner, projectileTtl);
+    }
+
+    /**
+     * Records who applied damage over time to an entity. A later application replaces the owner.
+     *
+     * @param victim The entity taking the damage.
+     * @param kind The kind of damage over time.
+     * @param owner The UUID of the player.
+     * @param durationTicks How long the effect lasts, in ticks.
+     */
+    public void recordEffect(Entity victim, Kind kind, UUID owner, long durationTicks) {
+        if (!isDamageOverTimeEnabled() || owner == null || victim instanceof Player) return;
+        long now = now();
+        owners.put(key(victim, kind), owner, now + durationTicks + EFFECT_MARGIN_TICKS, now);
+        remember(owner);
+    }
+
+    /**
+     * Gets the player who applied damage over time to an entity. Only meant for hits on
+     * tracked bosses, each hit it resolves is counted as credited.
+     *
+     * @param victim The entity taking the damage.
+     * @param kind The kind of damage over time.
+     * @return The UUID of the player, or null if unknown or expired.
+     */
+    public UUID getEffectOwner(Entity victim, Kind kind) {
+        if (!isDamageOverTimeEnabled()) return null;
+        UUID owner = owners.get(key(victim, kind), now());
+        if (owner != null) {
+            creditedHits++;
+        }
+        return owner;
+    }
+
+    /**
+     * Gets the number of cached owners, expired entries not yet dropped included.
+     *
+     * @return The number of entries.
+     */
+    public int getSize() {
+        return owners.size();
+    }
+
+    /**
+     * Gets the number of hits credited through the cache since the plugin was enabled.
+     *
+     * @return The number of hits.
+     */
+    public long getCreditedHits() {
+        return creditedHits;
+    }
+
+    private Player getDirectPlayer(Entity damager) {
+        if (damager instanceof Player) {
+            return (Player) damager;
+        }
+
+        if (damager instanceof Projectile) {
+            ProjectileSource shooter = ((Projectile) damager).getShooter();
+            if (shooter instanceof Player) {
+                return (Player) shooter;
+            }
+        }
+
+        if (damager instanceof TNTPrimed) {
+            Entity source = ((TNTPrimed) damager).getSource();
+            if (source instanceof Player) {
+                return (Player) source;
+            }
+        }
+
+        if (damager instanceof AreaEffectCloud) {
+            ProjectileSource source = ((AreaEffectCloud) damager).getSource();
+            if (source instanceof Player) {
+                return (Player) source;
+            }
+        }
+
+        if (damager instanceof Tameable) {
+            AnimalTamer owner = ((Tameable) damager).getOwner();
+            if (owner instanceof Player) {
+                return (Player) owner;
+            }
+        }
+
+        return null;
+    }
+
+    private UUID lookup(Entity damager) {
+        if (!enabled || damager == null) return null;
+
+        long now = now();
+        long key = key(damager, Kind.ENTITY);
+        UUID owner = owners.get(key, now);
+        if (owner == null && damager instanceof LivingEntity) {
+            // Summons get their owner after spawning, so they are checked on their first hit instead
+            owner = resolveSummonOwner(damager);
+            owners.put(key, owner != null ? owner : NO_OWNER,
+                    now + (owner != null ? summonTtl : NO_OWNER_TTL_TICKS), now);
+        }
+        return owner == null || owner.equals(NO_OWNER) ? null : owner;
+    }
+
+    private UUID resolveSummonOwner(Entity entity) {
+        ActiveMob mob = MythicBukkit.inst().getMobManager().getMythicMobInstance(entity);
+        if (mob == null) return null;
+        UUID owner = mob.getOwner().orElse(null);
+        // Only summons of players are credited, mobs may also own mobs
+        return owner != null && Bukkit.getPlayer(owner) != null ? owner : null;
+    }
+
+    private void remember(UUID owner) {
+        // The owner may have logged off when the damage lands, keep the name for the leaderboard
+        Player player = Bukkit.getPlayer(owner);
+        if (player != null) {
+            plugin.getPlayerNameManager().remember(owner, player.getName());
+        }
+    }
+
+    private long now() {
+        return plugin.getTickScheduler().getCurrentTick();
+    }
+
+    private static long key(Entity entity, Kind kind) {
+        return ((long) entity.getEntityId() << 2) | kind.ordinal();
+    }
+}
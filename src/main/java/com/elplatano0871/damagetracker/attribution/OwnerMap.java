@@ -0,0 +1,148 @@
+package com.elplatano0871.damagetracker.attribution;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open addressing map from long keys to owner UUIDs with an expiry tick, stored in parallel
+ * primitive arrays so an entry costs 32 bytes and a lookup allocates nothing until it hits.
+ * Expired entries are skipped by lookups and dropped when the table would otherwise grow.
+ * Not thread safe, meant to be used from the main thread.
+ */
+final class OwnerMap {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] mostBits;
+    private long[] leastBits;
+    private long[] expiresAt;
+    private int size;
+
+    OwnerMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Stores the owner of a key, replacing the previous one.
+     *
+     * @param key The key, never {@link Long#MIN_VALUE}.
+     * @param owner The owner.
+     * @param expiresAt The tick after which the entry is ignored.
+     * @param now The current tick.
+     */
+    void put(long key, UUID owner, long expiresAt, long now) {
+        if ((size + 1) * 2 > keys.length) {
+            rebuild(now);
+        }
+
+        int mask = keys.length - 1;
+        int reusable = -1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                set(slot, key, owner, expiresAt);
+                return;
+            }
+            if (current == EMPTY) {
+                // The key is not in the table, prefer the first expired slot of the chain
+                if (reusable < 0) {
+                    reusable = slot;
+                    size++;
+                }
+                set(reusable, key, owner, expiresAt);
+                return;
+            }
+            if (reusable < 0 && this.expiresAt[slot] < now) {
+                reusable = slot;
+            }
+        }
+    }
+
+    /**
+     * Gets the owner of a key.
+     *
+     * @param key The key.
+     * @param now The current tick.
+     * @return The owner, or null if the key is unknown or expired.
+     */
+    UUID get(long key, long now) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return expiresAt[slot] < now ? null : new UUID(mostBits[slot], leastBits[slot]);
+            }
+            if (current == EMPTY) return null;
+        }
+    }
+
+    /**
+     * Gets the number of occupied slots, expired entries included.
+     *
+     * @return The number of entries.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Drops every entry and shrinks the table back to its initial size.
+     */
+    void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void set(int slot, long key, UUID owner, long expires) {
+        keys[slot] = key;
+        mostBits[slot] = owner.getMostSignificantBits();
+        leastBits[slot] = owner.getLeastSignificantBits();
+        expiresAt[slot] = expires;
+    }
+
+    private void rebuild(long now) {
+        long[] oldKeys = keys;
+        long[] oldMost = mostBits;
+        long[] oldLeast = leastBits;
+        long[] oldExpires = expiresAt;
+
+        int live = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldExpires[i] >= now) live++;
+        }
+        // Grow only if the live entries alone would fill half of the table
+        int capacity = oldKeys.length;
+        while ((live + 1) * 2 > capacity) {
+            capacity <<= 1;
+        }
+
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY || oldExpires[i] < now) continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            mostBits[slot] = oldMost[i];
+            leastBits[slot] = oldLeast[i];
+            expiresAt[slot] = oldExpires[i];
+            size++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        expiresAt = new long[capacity];
+        size = 0;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -19,8 +19,12 @@ import java.util.stream.Collectors;
  */
 public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
     private final DamageTracker plugin;
-    private final String damageFormat;
     private final TrackedBossCommands trackedBossCommands;
+    private final StatsCommands statsCommands;
+    private final ProfileCommands profileCommands;
+    private final LoadTestCommands loadTestCommands;
+    private final TraceCommands traceCommands;
+    private final SyncCommands syncCommands;
 
     /**
      * Constructor for DamageTrackerCommand.
@@ -30,8 +34,12 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
      */
     public DamageTrackerCommand(DamageTracker plugin, TrackedBossManager trackedBossManager) {
         this.plugin = plugin;
-        this.damageFormat = plugin.getConfig().getString("damage_format", "%.2f");
         this.trackedBossCommands = new TrackedBossCommands(plugin, trackedBossManager);
+        this.statsCommands = new StatsCommands(plugin);
+        this.profileCommands = new ProfileCommands(plugin);
+        this.loadTestCommands = new LoadTestCommands(plugin);
+        this.traceCommands = new TraceCommands(plugin);
+        this.syncCommands = new SyncCommands(plugin);
     }
 
     /**
@@ -60,6 +68,11 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
             case "check" -> trackedBossCommands.handleCheckDamageCommand(sender, args);
             case "checktop" -> trackedBossCommands.handleCheckTopCommand(sender, args);
             case "clear" -> trackedBossCommands.handleClearDataCommand(sender, args);
+            case "stats" -> statsCommands.handleStatsCommand(sender);
+            case "profile" -> profileCommands.handleProfileCommand(sender, args);
+            case "loadtest" -> loadTestCommands.handleLoadTestCommand(sender, args);
+            case "trace" -> traceCommands.handleTraceCommand(sender, args);
+            case "sync" -> syncCommands.handleSyncCommand(sender, args);
             default -> showHelp(sender);
         };
     }
@@ -80,6 +93,13 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
         if (sender.hasPermission("damagetracker.cleardata")) {
             MessageUtils.sendMessage(sender, "&6/damagetracker clear <bossId> &e- Clear damage data for a specific boss");
         }
+        if (sender.hasPermission("damagetracker.admin")) {
+            MessageUtils.sendMessage(sender, "&6/damagetracker stats &e- Show internal runtime statistics");
+            MessageUtils.sendMessage(sender, "&6/damagetracker profile <seconds> &e- Profile the plugin for a while");
+            MessageUtils.sendMessage(sender, "&6/damagetracker loadtest [players] [bosses] [hits/tick] [kill interval] [seconds] [boss] &e- Run a synthetic load test");
+            MessageUtils.sendMessage(sender, "&6/damagetracker trace <start [minutes]|stop|replay <file> [1x|max]> &e- Capture or replay damage traffic");
+            MessageUtils.sendMessage(sender, "&6/damagetracker sync &e- Show the leaderboard sync");
+        }
         return true;
     }
 
@@ -126,15 +146,10 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
         }
 
         Player player = (Player) sender;
-        double totalDamage = 0;
-        Map<UUID, Map<UUID, Double>> allDamageData = plugin.getAllDamageData();
-
-        for (Map<UUID, Double> damageMap : allDamageData.values()) {
-            totalDamage += damageMap.getOrDefault(player.getUniqueId(), 0.0);
-        }
+        double totalDamage = plugin.getDamageManager().getGlobalRanking().getDamage(player.getUniqueId());
 
         MessageUtils.sendMessage(sender, "&eYour current total damage: &6" +
-                String.format(damageFormat, totalDamage));
+                plugin.getDamageManager().formatDamageValue(totalDamage));
         return true;
     }
 
@@ -146,19 +161,14 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
      */
     private boolean handleTopCommand(CommandSender sender) {
         int topPlayersToShow = plugin.getDefaultTopPlayersToShow();
-        Map<UUID, Double> totalDamageMap = plugin.calculateTotalDamage();
-
-        List<Map.Entry<UUID, Double>> topPlayers = plugin.getTopDamage(totalDamageMap, topPlayersToShow);
+        List<Map.Entry<UUID, Double>> topPlayers = plugin.getDamageManager().getGlobalRanking().getTop(topPlayersToShow);
         MessageUtils.sendMessage(sender, "&eTop " + topPlayersToShow + " players with most damage:");
 
         for (int i = 0; i < topPlayers.size(); i++) {
             Map.Entry<UUID, Double> entry = topPlayers.get(i);
-            Player player = plugin.getServer().getPlayer(entry.getKey());
-            if (player != null) {
-                MessageUtils.sendMessage(sender, "&6" + (i + 1) + ". &a" +
-                        player.getName() + "&e: " +
-                        String.format(damageFormat, entry.getValue()));
-            }
+            MessageUtils.sendMessage(sender, "&6" + (i + 1) + ". &a" +
+                    plugin.getPlayerNameManager().getName(entry.getKey()) + "&e: " +
+                    plugin.getDamageManager().formatDamageValue(entry.getValue()));
         }
         return true;
     }
@@ -188,6 +198,13 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
             if (sender.hasPermission("damagetracker.cleardata")) {
                 completions.add("clear");
             }
+            if (sender.hasPermission("damagetracker.admin")) {
+                completions.add("stats");
+                completions.add("profile");
+                completions.add("loadtest");
+                completions.add("trace");
+                completions.add("sync");
+            }
             return completions.stream()
                     .filter(c -> c.toLowerCase().startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
@@ -199,6 +216,14 @@ public class DamageTrackerCommand implements CommandExecutor, TabCompleter {
             return trackedBossCommands.onTabComplete(args);
         }
 
+        if (args[0].equalsIgnoreCase("loadtest") && sender.hasPermission("damagetracker.admin")) {
+            return loadTestCommands.onTabComplete(args);
+        }
+
+        if (args[0].equalsIgnoreCase("trace") && sender.hasPermission("damagetracker.admin")) {
+            return traceCommands.onTabComplete(args);
+        }
+
         return new ArrayList<>();
     }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package com.elplatano0871.damagetracker.commands;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.configs.BossConfig;
+import com.elplatano0871.damagetracker.listeners.MythicMobListeners;
+import com.elplatano0871.damagetracker.metrics.Profiler;
+import com.elplatano0871.damagetracker.utils.MessageUtils;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Handles the /damagetracker loadtest command, which drives synthetic damage and kill storms through
+ * the same pipeline as real MythicMobs events and reports the tick time spent per stage.
+ * Synthetic bosses are only tracked while the test runs and fire no API events, are not synchronized
+ * and are not written to the fight history; their fight data, leaderboards and database rows are
+ * removed when it ends.
+ */
+public class LoadTestCommands {
+    private static final String BOSS_PREFIX = "LOADTEST_";
+    private static final String[] ARGUMENT_NAMES = {"players", "bosses", "hits per tick", "kill interval", "duration"};
+    private static final int[] DEFAULTS = {200, 20, 100, 30, 60};
+    private static final int[] MINIMUMS = {1, 1, 1, 0, 1};
+    private static final int[] MAXIMUMS = {10_000, 200, 10_000, 3_600, 600};
+    private static final double BOSS_MAX_HEALTH = 100_000;
+
+    private final DamageTracker plugin;
+    private LoadTest running;
+
+    /**
+     * Constructor for LoadTestCommands.
+     * @param plugin The instance of the DamageTracker plugin.
+     */
+    public LoadTestCommands(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles the /damagetracker loadtest command.
+     * @param sender The command sender.
+     * @param args The command arguments.
+     * @return True always.
+     */
+    public boolean handleLoadTestCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("damagetracker.admin")) {
+            MessageUtils.sendMessage(sender, "&cYou do not have permission to use this command.");
+            return true;
+        }
+
+        if (args.length >= 2 && args[1].equalsIgnoreCase("stop")) {
+            if (running == null) {
+                MessageUtils.sendMessage(sender, "&cNo load test is running.");
+            } else {
+                running.finish("stopped");
+            }
+            return true;
+        }
+
+        if (running != null) {
+            MessageUtils.sendMessage(sender, "&cA load test is already running, use /damagetracker loadtest stop to end it.");
+            return true;
+        }
+        if (plugin.getProfiler().isActive()) {
+            MessageUtils.sendMessage(sender, "&cA profile is running, wait for it to finish.");
+            return true;
+        }
+
+        int[] values = DEFAULTS.clone();
+        for (int i = 0; i < values.length && i + 1 < args.length; i++) {
+            try {
+                values[i] = Integer.parseInt(args[i + 1]);
+            } catch (NumberFormatException e) {
+                MessageUtils.sendMessage(sender, "&cInvalid number of " + ARGUMENT_NAMES[i] + ": " + args[i + 1]);
+                return true;
+            }
+            if (values[i] < MINIMUMS[i] || values[i] > MAXIMUMS[i]) {
+                MessageUtils.sendMessage(sender, "&cThe " + ARGUMENT_NAMES[i] + " must be between "
+                        + MINIMUMS[i] + " and " + MAXIMUMS[i] + ".");
+                return true;
+            }
+        }
+
+        // Synthetic bosses copy the victory message setup of a configured boss, or the default one
+        BossConfig config = plugin.getDefaultBossConfig();
+        if (args.length > 6) {
+            String template = args[6].toUpperCase();
+            if (!plugin.getBossConfigs().containsKey(template)) {
+                MessageUtils.sendMessage(sender, "&cNo boss configuration found for: " + args[6]);
+                return true;
+            }
+            BossConfig templateConfig = plugin.getBossConfigs().get(template);
+            if (templateConfig != null) {
+                config = templateConfig;
+            }
+        }
+
+        for (int i = 1; i <= values[1]; i++) {
+            if (plugin.getTrackedBossManager().isTrackedBoss(BOSS_PREFIX + i)) {
+                MessageUtils.sendMessage(sender, "&c" + BOSS_PREFIX + i + " is a tracked boss, the load test cannot use it.");
+                return true;
+            }
+        }
+
+        running = new LoadTest(sender, values[0], values[1], values[2], values[3] * 20, values[4] * 20, config);
+        running.start();
+
+        MessageUtils.sendMessage(sender, "&eLoad test started: &6" + values[0] + " &eplayers hitting &6" + values[1]
+                + " &ebosses &6" + values[2] + " &etimes per tick for &6" + values[4] + " &eseconds"
+                + (values[3] > 0 ? ", each boss dying every &6" + values[3] + " &eseconds." : ", without kills."));
+        if (config == null) {
+            MessageUtils.sendMessage(sender, "&7No boss configuration is available, victory messages are skipped.");
+        }
+        return true;
+    }
+
+    /**
+     * Handles tab completion for the /damagetracker loadtest command.
+     * @param args The command arguments.
+     * @return A list of possible completions.
+     */
+    public List<String> onTabComplete(String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 2 && "stop".startsWith(args[1].toLowerCase())) {
+            completions.add("stop");
+        } else if (args.length == 7) {
+            for (String bossId : plugin.getBossConfigs().keySet()) {
+                if (bossId.startsWith(args[6].toUpperCase())) {
+                    completions.add(bossId);
+                }
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * A single run of synthetic load, driven one batch per server tick.
+     */
+    private final class LoadTest extends SyntheticRun {
+        private final int hitsPerTick;
+        private final int killIntervalTicks;
+        private final int durationTicks;
+        private final BossConfig config;
+        private final SplittableRandom random;
+        private int tick;
+        private long hits;
+        private long kills;
+
+        private LoadTest(CommandSender sender, int players, int bosses, int hitsPerTick, int killIntervalTicks,
+                         int durationTicks, BossConfig config) {
+            super(LoadTestCommands.this.plugin, sender, bossIds(bosses), players, "LoadTest", () -> running = null);
+            this.hitsPerTick = hitsPerTick;
+            this.killIntervalTicks = killIntervalTicks;
+            this.durationTicks = durationTicks;
+            this.config = config;
+            this.random = new SplittableRandom();
+        }
+
+        @Override
+        protected BossConfig getBossConfig(int boss) {
+            return config;
+        }
+
+        @Override
+        protected void start() {
+            plugin.getProfiler().start();
+            super.start();
+        }
+
+        @Override
+        protected void tick() {
+            Profiler profiler = plugin.getProfiler();
+            MythicMobListeners listeners = plugin.getMythicMobListeners();
+            long span = profiler.begin("loadtest.tick");
+            try {
+                for (int i = 0; i < hitsPerTick; i++) {
+                    int boss = random.nextInt(bossIds.length);
+                    int player = random.nextInt(playerIds.length);
+                    listeners.recordDamage(bossIds[boss], null, playerIds[player], playerNames[player],
+                            1 + random.nextDouble() * 49, BOSS_MAX_HEALTH);
+                }
+                hits += hitsPerTick;
+
+                if (killIntervalTicks > 0) {
+                    for (int boss = 0; boss < bossIds.length; boss++) {
+                        // Deaths are staggered so the bosses do not all die on the same tick
+                        long offset = (long) boss * killIntervalTicks / bossIds.length;
+                        if ((tick + offset) % killIntervalTicks == killIntervalTicks - 1) {
+                            listeners.handleBossDeath(bossIds[boss], UUID.randomUUID(), "Load Test Boss " + (boss + 1),
+                                    location, audience);
+                            kills++;
+                        }
+                    }
+                }
+            } finally {
+                profiler.end(span);
+            }
+
+            if (++tick >= durationTicks) {
+                finish("completed");
+            }
+        }
+
+        @Override
+        protected List<String> report(String outcome, double seconds) {
+            Profiler profiler = plugin.getProfiler();
+            profiler.stop();
+            List<String> lines = ProfileCommands.buildReport(profiler, "DamageTracker load test");
+            lines.add(1, String.format("&eLoad test %s: &f%d hits &7(%.0f/s), &f%d kills &7over &f%d ticks",
+                    outcome, hits, hits / Math.max(seconds, 0.001), kills, tick));
+            return lines;
+        }
+    }
+
+    private static String[] bossIds(int bosses) {
+        String[] bossIds = new String[bosses];
+        for (int i = 0; i < bosses; i++) {
+            bossIds[i] = BOSS_PREFIX + (i + 1);
+        }
+        return bossIds;
+    }
+}
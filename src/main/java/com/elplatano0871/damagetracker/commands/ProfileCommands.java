@@ -0,0 +1,147 @@
+package com.elplatano0871.damagetracker.commands;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.metrics.Profiler;
+import com.elplatano0871.damagetracker.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Handles the /damagetracker profile command, which records timing spans of the plugin hot paths
+ * for a bounded window and reports where the time went.
+ */
+public class ProfileCommands {
+    private static final int MAX_SECONDS = 300;
+    private static final int REPORTED_STAGES = 12;
+
+    private final DamageTracker plugin;
+
+    /**
+     * Constructor for ProfileCommands.
+     * @param plugin The instance of the DamageTracker plugin.
+     */
+    public ProfileCommands(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles the /damagetracker profile command.
+     * @param sender The command sender.
+     * @param args The command arguments.
+     * @return True always.
+     */
+    public boolean handleProfileCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("damagetracker.admin")) {
+            MessageUtils.sendMessage(sender, "&cYou do not have permission to use this command.");
+            return true;
+        }
+
+        if (args.length < 2) {
+            MessageUtils.sendMessage(sender, "&cUsage: /damagetracker profile <seconds>");
+            return true;
+        }
+
+        int seconds;
+        try {
+            seconds = Integer.parseInt(args[1]);
+        } catch (NumberFormatException e) {
+            MessageUtils.sendMessage(sender, "&cInvalid number of seconds: " + args[1]);
+            return true;
+        }
+        if (seconds < 1 || seconds > MAX_SECONDS) {
+            MessageUtils.sendMessage(sender, "&cThe profile must last between 1 and " + MAX_SECONDS + " seconds.");
+            return true;
+        }
+
+        Profiler profiler = plugin.getProfiler();
+        if (profiler.isActive()) {
+            MessageUtils.sendMessage(sender, "&cA profile is already running.");
+            return true;
+        }
+
+        profiler.start();
+        MessageUtils.sendMessage(sender, "&eProfiling DamageTracker for &6" + seconds + " &eseconds...");
+        plugin.getTickScheduler().schedule(seconds * 20L, () -> finish(sender));
+        return true;
+    }
+
+    private void finish(CommandSender sender) {
+        Profiler profiler = plugin.getProfiler();
+        profiler.stop();
+
+        List<String> lines = buildReport(profiler, "DamageTracker profile");
+        String collapsed = profiler.toCollapsedStacks();
+        File file = new File(new File(plugin.getDataFolder(), "profiles"),
+                "profile-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".collapsed");
+
+        // The sender may have left during the window, the report then goes to the console
+        CommandSender target = sender instanceof Player player && !player.isOnline() ? Bukkit.getConsoleSender() : sender;
+        lines.forEach(line -> MessageUtils.sendMessage(target, line));
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                Files.createDirectories(file.getParentFile().toPath());
+                Files.writeString(file.toPath(), collapsed, StandardCharsets.UTF_8);
+                Bukkit.getScheduler().runTask(plugin, () -> MessageUtils.sendMessage(target,
+                        "&eCollapsed stacks written to &6" + plugin.getDataFolder().getName() + "/profiles/" + file.getName()));
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not write profile: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Builds the chat report of a finished profile, the slowest stages first.
+     * @param profiler The stopped profiler.
+     * @param title The title of the report.
+     * @return The report lines.
+     */
+    static List<String> buildReport(Profiler profiler, String title) {
+        List<Profiler.StageReport> stages = profiler.getStageReports();
+        double windowMillis = profiler.getWindowNanos() / 1_000_000.0;
+
+        // Stages nest, so the plugin's share of the window is the sum of self times
+        long selfNanos = 0;
+        for (Profiler.StageReport stage : stages) {
+            selfNanos += stage.selfNanos();
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("&6=== %s (%.1f s) ===", title, windowMillis / 1000));
+        lines.add(String.format("&eTime in plugin: &f%.2f ms &7(%.3f%% of the window, %.3f ms per tick)",
+                selfNanos / 1_000_000.0, selfNanos / 1_000_000.0 / windowMillis * 100, selfNanos / 1_000_000.0 / (windowMillis / 50)));
+        if (stages.isEmpty()) {
+            lines.add("&7No instrumented stage ran during the window.");
+            return lines;
+        }
+
+        for (int i = 0; i < Math.min(REPORTED_STAGES, stages.size()); i++) {
+            Profiler.StageReport stage = stages.get(i);
+            String allocation = stage.allocatedBytes() < 0 ? "n/a"
+                    : String.format("%.1f KB", stage.allocatedBytes() / 1024.0);
+            lines.add(String.format("&e%d. %s: &f%d calls&7, &f%.2f ms &7total (%.2f ms self), p50 &f%s&7, p99 &f%s&7, &f%s",
+                    i + 1, stage.name(), stage.calls(), stage.totalNanos() / 1_000_000.0, stage.selfNanos() / 1_000_000.0,
+                    formatNanos(stage.p50Nanos()), formatNanos(stage.p99Nanos()), allocation));
+        }
+        if (stages.size() > REPORTED_STAGES) {
+            lines.add("&7... " + (stages.size() - REPORTED_STAGES) + " more stages in the collapsed stacks");
+        }
+        return lines;
+    }
+
+    static String formatNanos(long nanos) {
+        if (nanos < 1_000) return nanos + " ns";
+        if (nanos < 1_000_000) return String.format("%.1f us", nanos / 1_000.0);
+        return String.format("%.2f ms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,165 @@
+package com.elplatano0871.damagetracker.commands;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.attribution.AttributionCache;
+import com.elplatano0871.damagetracker.managers.DamageEventManager;
+import com.elplatano0871.damagetracker.managers.HologramManager;
+import com.elplatano0871.damagetracker.metrics.LatencyHistogram;
+import com.elplatano0871.damagetracker.metrics.PluginMetrics;
+import com.elplatano0871.damagetracker.placeholders.PlaceholderMemo;
+import com.elplatano0871.damagetracker.session.FightSession;
+import com.elplatano0871.damagetracker.session.SessionMemoryBudget;
+import com.elplatano0871.damagetracker.session.SessionReaper;
+import com.elplatano0871.damagetracker.sync.LeaderboardSyncManager;
+import com.elplatano0871.damagetracker.sync.SyncNode;
+import com.elplatano0871.damagetracker.utils.MessageUtils;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Handles the /damagetracker stats command, which reports the state of the internal caches and pools.
+ */
+public class StatsCommands {
+    private final DamageTracker plugin;
+
+    /**
+     * Constructor for StatsCommands.
+     * @param plugin The instance of the DamageTracker plugin.
+     */
+    public StatsCommands(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles the /damagetracker stats command.
+     * @param sender The command sender.
+     * @return True always.
+     */
+    public boolean handleStatsCommand(CommandSender sender) {
+        if (!sender.hasPermission("damagetracker.admin")) {
+            MessageUtils.sendMessage(sender, "&cYou do not have permission to use this command.");
+            return true;
+        }
+
+        MessageUtils.sendMessage(sender, "&6=== DamageTracker stats ===");
+
+        if (plugin.getTickScheduler() != null) {
+            MessageUtils.sendMessage(sender, "&eScheduled deadlines: &f" + plugin.getTickScheduler().getPendingCount()
+                    + " &7(tick " + plugin.getTickScheduler().getCurrentTick() + ")");
+        }
+        if (plugin.getTrackedBossManager() != null) {
+            int ended = 0;
+            for (FightSession session : plugin.getTrackedBossManager().getSessions().values()) {
+                if (session.isEnded()) ended++;
+            }
+            MessageUtils.sendMessage(sender, "&eFight sessions: &f" + plugin.getTrackedBossManager().getSessions().size()
+                    + " &7(" + ended + " retained after the kill)");
+            SessionMemoryBudget budget = plugin.getTrackedBossManager().getMemoryBudget();
+            MessageUtils.sendMessage(sender, "&eSession memory: &f~" + (budget.getUsedBytes() / 1024) + " KB&7 of "
+                    + (budget.getBudgetBytes() > 0 ? budget.getBudgetBytes() / 1024 + " KB" : "unlimited") + "&7, &f"
+                    + budget.getEvictedSessions() + " evicted &7(" + budget.getEvictedParticipants() + " participants spilled)");
+            SessionReaper reaper = plugin.getTrackedBossManager().getReaper();
+            MessageUtils.sendMessage(sender, "&eReclaimed fights: &f" + reaper.getReclaimed(SessionReaper.Cause.DESPAWN) + " despawned&7, &f"
+                    + reaper.getReclaimed(SessionReaper.Cause.REMOVED) + " removed&7, &f"
+                    + reaper.getReclaimed(SessionReaper.Cause.WORLD_UNLOAD) + " world unloads&7, &f"
+                    + reaper.getReclaimed(SessionReaper.Cause.IDLE) + " idle&7, &f"
+                    + reaper.getReclaimed(SessionReaper.Cause.ORPHAN) + " orphaned");
+            MessageUtils.sendMessage(sender, "&eSession reaper: &f" + reaper.getRuns() + " runs&7, last &f"
+                    + String.format("%.3f", reaper.getLastRunNanos() / 1_000_000.0) + " ms&7, &f"
+                    + plugin.getTrackedBossManager().getBoundMobCount() + " mobs bound");
+        }
+
+        AttributionCache attribution = plugin.getAttributionCache();
+        if (attribution != null) {
+            MessageUtils.sendMessage(sender, "&eAttribution: &f" + attribution.getSize() + " owners cached&7, &f"
+                    + attribution.getCreditedHits() + " indirect hits credited"
+                    + (attribution.isEnabled() ? "" : " &7(disabled)"));
+        }
+        DamageEventManager damageEvents = plugin.getDamageEventManager();
+        if (damageEvents != null) {
+            MessageUtils.sendMessage(sender, "&eDamage events: &f" + damageEvents.getPublishedBatches() + " batches&7 for &f"
+                    + damageEvents.getPublishedHits() + " hits&7, &f" + damageEvents.getPendingCount() + " pending");
+        }
+
+        LeaderboardSyncManager sync = plugin.getLeaderboardSyncManager();
+        if (sync != null && sync.isEnabled()) {
+            SyncNode node = sync.getNode();
+            MessageUtils.sendMessage(sender, "&eLeaderboard sync: &f" + node.getTransport().getName() + " &7as &f" + node.getServerId()
+                    + (node.getTransport().isConnected() ? "" : " &c(disconnected)") + "&7, &f"
+                    + node.getPublishedMessages() + " published&7, &f" + node.getAppliedMessages() + " applied&7, &f"
+                    + node.getPendingCount() + " pending");
+        }
+
+        HologramManager holograms = plugin.getHologramManager();
+        if (holograms != null) {
+            long created = holograms.getCreatedHologramCount();
+            long reused = holograms.getReusedHologramCount();
+            double reuseRate = created + reused > 0 ? (double) reused / (created + reused) * 100 : 0.0;
+            MessageUtils.sendMessage(sender, "&eVictory holograms: &f" + holograms.getActiveHologramCount() + " active&7, &f"
+                    + holograms.getIdleHologramCount() + " pooled&7, &f" + holograms.getPendingExpiryCount() + " pending expiries");
+            MessageUtils.sendMessage(sender, "&eHologram reuse: &f" + reused + "/" + (created + reused)
+                    + " &7(" + String.format("%.1f", reuseRate) + "%)");
+        }
+        if (plugin.getPlayerPositionIndex() != null) {
+            MessageUtils.sendMessage(sender, "&eIndexed player positions: &f" + plugin.getPlayerPositionIndex().size());
+        }
+        if (plugin.getLeaderboardHologramManager() != null) {
+            MessageUtils.sendMessage(sender, "&eLeaderboard holograms: &f" + plugin.getLeaderboardHologramManager().getHologramCount());
+        }
+        if (plugin.getLiveHudManager() != null) {
+            MessageUtils.sendMessage(sender, "&eLive HUDs: &f" + plugin.getLiveHudManager().getActiveHudCount());
+        }
+        if (plugin.getLeaderboardManager() != null) {
+            MessageUtils.sendMessage(sender, "&eLeaderboards: &f" + plugin.getLeaderboardManager().getBoardCount()
+                    + (plugin.getLeaderboardManager().isLoaded() ? "" : " &7(loading)"));
+        }
+        if (plugin.getDatabaseManager() != null) {
+            MessageUtils.sendMessage(sender, "&ePending database writes: &f" + plugin.getDatabaseManager().getPendingWriteCount());
+        }
+        PlaceholderMemo memo = plugin.getPlaceholderMemo();
+        if (memo != null) {
+            long hits = memo.getHits();
+            long requests = hits + memo.getMisses();
+            MessageUtils.sendMessage(sender, "&ePlaceholder cache: &f" + memo.getEntryCount() + " entries for "
+                    + memo.getPlayerCount() + " players");
+            MessageUtils.sendMessage(sender, "&ePlaceholder hits: &f" + hits + "/" + requests + " &7("
+                    + String.format("%.1f", requests > 0 ? (double) hits / requests * 100 : 0.0) + "%)&7, &f"
+                    + memo.getInvalidations() + " invalidated&7, &f" + memo.getEvictions() + " evicted");
+        }
+        PluginMetrics metrics = plugin.getMetrics();
+        if (metrics != null) {
+            MessageUtils.sendMessage(sender, "&eDamage events: &f" + metrics.getDamageEventsAccepted().get() + " accepted&7, &f"
+                    + metrics.getDamageEventsRejected().get() + " rejected&7, &f"
+                    + metrics.getDamageEventsAccepted().getRatePerSecond() + " hits/s");
+            if (metrics.getRegistry().isEnabled()) {
+                sendLatency(sender, "Damage event", metrics.getDamageEventTime());
+                sendLatency(sender, "Death event", metrics.getDeathEventTime());
+                sendLatency(sender, "Victory message", metrics.getVictoryMessageTime());
+                sendLatency(sender, "Database enqueue", metrics.getDatabaseEnqueueTime());
+                sendLatency(sender, "Database flush", metrics.getDatabaseFlushTime());
+                sendLatency(sender, "Placeholder", metrics.getPlaceholderTime());
+                if (sync != null && sync.isEnabled()) {
+                    sendLatency(sender, "Sync lag", metrics.getSyncLag());
+                }
+            }
+        }
+        if (plugin.getPrefixManager() != null) {
+            MessageUtils.sendMessage(sender, "&ePrefix cache: &f" + plugin.getPrefixManager().getCacheSize() + " entries");
+        }
+        if (plugin.getPlayerNameManager() != null) {
+            MessageUtils.sendMessage(sender, "&eName cache: &f" + plugin.getPlayerNameManager().getCacheSize() + " entries");
+        }
+        return true;
+    }
+
+    private void sendLatency(CommandSender sender, String name, LatencyHistogram histogram) {
+        MessageUtils.sendMessage(sender, "&e" + name + ": &f" + formatNanos(histogram.getQuantile(0.5)) + "&7 p50, &f"
+                + formatNanos(histogram.getQuantile(0.99)) + "&7 p99, &f" + formatNanos(histogram.getMax()) + "&7 max &7("
+                + histogram.getCount() + " samples)");
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000) return nanos + " ns";
+        if (nanos < 1_000_000) return String.format("%.1f us", nanos / 1_000.0);
+        return String.format("%.2f ms", nanos / 1_000_000.0);
+    }
+}
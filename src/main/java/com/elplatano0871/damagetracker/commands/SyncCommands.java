@@ -0,0 +1,72 @@
+package com.elplatano0871.damagetracker.commands;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.metrics.LatencyHistogram;
+import com.elplatano0871.damagetracker.sync.LeaderboardSyncManager;
+import com.elplatano0871.damagetracker.sync.SyncNode;
+import com.elplatano0871.damagetracker.utils.MessageUtils;
+import org.bukkit.command.CommandSender;
+
+/**
+ * Handles the /damagetracker sync command, which shows the state of the leaderboard sync.
+ */
+public class SyncCommands {
+    private final DamageTracker plugin;
+
+    /**
+     * Constructor for SyncCommands.
+     * @param plugin The instance of the DamageTracker plugin.
+     */
+    public SyncCommands(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles the /damagetracker sync command.
+     * @param sender The command sender.
+     * @param args The command arguments.
+     * @return True always.
+     */
+    public boolean handleSyncCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("damagetracker.admin")) {
+            MessageUtils.sendMessage(sender, "&cYou do not have permission to use this command.");
+            return true;
+        }
+
+        return showStatus(sender);
+    }
+
+    private boolean showStatus(CommandSender sender) {
+        LeaderboardSyncManager sync = plugin.getLeaderboardSyncManager();
+        SyncNode node = sync != null ? sync.getNode() : null;
+        if (node == null) {
+            MessageUtils.sendMessage(sender, "&eLeaderboard sync is disabled, set sync.transport in config.yml to enable it.");
+            return true;
+        }
+
+        MessageUtils.sendMessage(sender, "&6=== Leaderboard sync ===");
+        MessageUtils.sendMessage(sender, "&eTransport: &f" + node.getTransport().getName() + " &7as &f" + node.getServerId()
+                + (node.getTransport().isConnected() ? " &a(connected)" : " &c(disconnected)"));
+        MessageUtils.sendMessage(sender, "&ePublished: &f" + node.getPublishedMessages() + " messages&7, &f"
+                + (node.getPublishedBytes() / 1024) + " KB&7, &f" + node.getTransport().getDroppedMessages() + " dropped");
+        MessageUtils.sendMessage(sender, "&eReceived: &f" + node.getReceivedMessages() + " messages&7, &f"
+                + node.getAppliedMessages() + " applied with &f" + node.getAppliedEntries() + " entries&7, &f"
+                + node.getPendingCount() + " pending");
+        MessageUtils.sendMessage(sender, "&eMerge: &f" + node.getStaleEntries() + " outdated entries ignored&7, &f"
+                + node.getDuplicateMessages() + " duplicates&7, &f" + node.getMissedMessages() + " missed&7, &f"
+                + node.getInvalidMessages() + " invalid&7, &f" + node.getStampedEntries() + " entries stamped");
+        if (node.getConflictingMessages() > 0) {
+            MessageUtils.sendMessage(sender, "&cAnother server uses the server ID " + node.getServerId()
+                    + " (" + node.getConflictingMessages() + " messages ignored), give every server its own sync.server_id");
+        }
+        LatencyHistogram lag = plugin.getMetrics().getSyncLag();
+        MessageUtils.sendMessage(sender, "&eLag: &f" + formatMillis(lag.getQuantile(0.5)) + "&7 p50, &f"
+                + formatMillis(lag.getQuantile(0.99)) + "&7 p99, &f" + formatMillis(lag.getMax()) + "&7 max, last &f"
+                + (node.getLastLagMillis() >= 0 ? node.getLastLagMillis() + " ms" : "none"));
+        return true;
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.1f ms", nanos / 1_000_000.0);
+    }
+}
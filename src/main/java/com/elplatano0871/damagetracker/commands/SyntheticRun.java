@@ -0,0 +1,144 @@
+package com.elplatano0871.damagetracker.commands;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.configs.BossConfig;
+import com.elplatano0871.damagetracker.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A run of synthetic fights driven through the damage pipeline once per server tick, shared by the
+ * load test and trace replays. Its bosses are tracked with
+ * {@link com.elplatano0871.damagetracker.managers.TrackedBossManager#trackSynthetic}, so their fights
+ * fire no API events and are neither synchronized nor written to the fight history. Victory messages
+ * only go to the sender, and every trace of the run is removed when it ends.
+ */
+abstract class SyntheticRun {
+    protected final DamageTracker plugin;
+    protected final CommandSender sender;
+    protected final String[] bossIds;
+    protected final UUID[] playerIds;
+    protected final String[] playerNames;
+    protected final Location location;
+    protected final Collection<? extends Player> audience;
+    private final Runnable onFinish;
+    private BukkitTask task;
+    private long startedAt;
+    private boolean finished;
+
+    /**
+     * Creates a run that has not started yet.
+     * @param plugin The instance of the DamageTracker plugin.
+     * @param sender The command sender who started the run and receives its report.
+     * @param bossIds The IDs of the synthetic bosses, which must not be tracked.
+     * @param players The number of synthetic players.
+     * @param playerPrefix The prefix of the names of the synthetic players.
+     * @param onFinish Called once when the run ends, before the report is sent.
+     */
+    protected SyntheticRun(DamageTracker plugin, CommandSender sender, String[] bossIds, int players,
+                           String playerPrefix, Runnable onFinish) {
+        this.plugin = plugin;
+        this.sender = sender;
+        this.bossIds = bossIds;
+        this.playerIds = new UUID[players];
+        this.playerNames = new String[players];
+        this.onFinish = onFinish;
+        this.location = sender instanceof Player player ? player.getLocation()
+                : Bukkit.getWorlds().get(0).getSpawnLocation();
+        // Real players never see synthetic kills
+        this.audience = sender instanceof Player player ? List.of(player) : List.of();
+
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = UUID.nameUUIDFromBytes(("DamageTracker" + playerPrefix + ":" + i).getBytes(StandardCharsets.UTF_8));
+            playerNames[i] = playerPrefix + i;
+        }
+    }
+
+    /**
+     * Gets the victory message setup of a synthetic boss.
+     * @param boss The index of the boss.
+     * @return The configuration, or null to send no victory message.
+     */
+    protected abstract BossConfig getBossConfig(int boss);
+
+    /**
+     * Drives the fights of one server tick.
+     */
+    protected abstract void tick();
+
+    /**
+     * Builds the report of the run, before its bosses are cleared.
+     * @param outcome How the run ended.
+     * @param seconds The wall time of the run.
+     * @return The lines of the report.
+     */
+    protected abstract List<String> report(String outcome, double seconds);
+
+    /**
+     * Tracks the synthetic bosses and starts driving the run.
+     */
+    protected void start() {
+        for (int boss = 0; boss < bossIds.length; boss++) {
+            plugin.getTrackedBossManager().trackSynthetic(bossIds[boss]);
+            // Drops what a run interrupted by a shutdown may have left behind
+            plugin.getLeaderboardManager().removeBoard(bossIds[boss]);
+            BossConfig config = getBossConfig(boss);
+            if (config != null) {
+                plugin.getBossConfigs().put(bossIds[boss], config);
+            }
+        }
+
+        startedAt = System.nanoTime();
+        task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            // A reload forgets the synthetic bosses, there is nothing left to drive
+            if (!plugin.getTrackedBossManager().isTrackedBoss(bossIds[0])) {
+                finish("interrupted by a reload");
+            } else {
+                tick();
+            }
+        }, 1L, 1L);
+    }
+
+    /**
+     * Ends the run, clears everything it left behind and sends the report. Does nothing once ended.
+     * @param outcome How the run ended.
+     */
+    protected void finish(String outcome) {
+        if (finished) return;
+        finished = true;
+        task.cancel();
+        onFinish.run();
+
+        List<String> lines = report(outcome, (System.nanoTime() - startedAt) / 1_000_000_000.0);
+
+        for (String bossId : bossIds) {
+            plugin.getTrackedBossManager().clearBossData(bossId);
+            plugin.getLeaderboardManager().removeBoard(bossId);
+            plugin.getTrackedBossManager().untrackTemporarily(bossId);
+            plugin.getBossConfigs().remove(bossId);
+        }
+        for (UUID playerId : playerIds) {
+            plugin.getPlayerNameManager().forget(playerId);
+        }
+
+        // The sender may have left during the run, the report then goes to the console
+        CommandSender target = sender instanceof Player player && !player.isOnline() ? Bukkit.getConsoleSender() : sender;
+        lines.forEach(line -> MessageUtils.sendMessage(target, line));
+    }
+
+    /**
+     * Gets when the run started.
+     * @return The start time, from {@link System#nanoTime()}.
+     */
+    protected long getStartedAt() {
+        return startedAt;
+    }
+}
@@ -0,0 +1,351 @@
+package com.elplatano0871.damagetracker.commands;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.configs.BossConfig;
+import com.elplatano0871.damagetracker.listeners.MythicMobListeners;
+import com.elplatano0871.damagetracker.metrics.LatencyHistogram;
+import com.elplatano0871.damagetracker.metrics.MetricsRegistry;
+import com.elplatano0871.damagetracker.scheduler.TimingWheel;
+import com.elplatano0871.damagetracker.trace.DamageTrace;
+import com.elplatano0871.damagetracker.trace.TraceRecorder;
+import com.elplatano0871.damagetracker.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Handles the /damagetracker trace command, which captures real damage traffic into a trace file
+ * and replays traces through the damage pipeline to benchmark it against production load.
+ * Replayed bosses are only tracked while the replay runs and, like the bosses of the load test,
+ * fire no API events, are not synchronized and are not written to the fight history; their fight
+ * data, leaderboards and database rows are removed when it ends.
+ */
+public class TraceCommands {
+    private static final String TRACE_DIRECTORY = "traces";
+    private static final String TRACE_EXTENSION = ".dtt";
+    private static final String BOSS_PREFIX = "REPLAY_";
+    private static final int DEFAULT_MINUTES = 10;
+    private static final int MAX_MINUTES = 120;
+    private static final long MAX_TRACE_BYTES = 16L * 1024 * 1024;
+    // Share of each tick a replay as fast as possible may use, leaving the rest to the server
+    private static final long FAST_SLICE_NANOS = 25_000_000L;
+
+    private final DamageTracker plugin;
+    private TimingWheel.Timeout captureDeadline;
+    private Replay replay;
+
+    /**
+     * Constructor for TraceCommands.
+     * @param plugin The instance of the DamageTracker plugin.
+     */
+    public TraceCommands(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Handles the /damagetracker trace command.
+     * @param sender The command sender.
+     * @param args The command arguments.
+     * @return True always.
+     */
+    public boolean handleTraceCommand(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("damagetracker.admin")) {
+            MessageUtils.sendMessage(sender, "&cYou do not have permission to use this command.");
+            return true;
+        }
+
+        if (args.length < 2) {
+            MessageUtils.sendMessage(sender, "&cUsage: /damagetracker trace <start [minutes]|stop|replay <file> [1x|max]>");
+            return true;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "start" -> startCapture(sender, args);
+            case "stop" -> stop(sender);
+            case "replay" -> startReplay(sender, args);
+            default -> MessageUtils.sendMessage(sender, "&cUnknown trace action: " + args[1]);
+        }
+        return true;
+    }
+
+    /**
+     * Provides tab completion suggestions for the trace command.
+     * @param args The command arguments.
+     * @return A list of tab completion suggestions.
+     */
+    public List<String> onTabComplete(String[] args) {
+        List<String> options = new ArrayList<>();
+        if (args.length == 2) {
+            options.addAll(List.of("start", "stop", "replay"));
+        } else if (args.length == 3 && args[1].equalsIgnoreCase("replay")) {
+            String[] files = getTraceDirectory().list((dir, name) -> name.endsWith(TRACE_EXTENSION));
+            if (files != null) {
+                Arrays.sort(files);
+                options.addAll(Arrays.asList(files));
+            }
+        } else if (args.length == 4 && args[1].equalsIgnoreCase("replay")) {
+            options.addAll(List.of("1x", "max"));
+        }
+
+        String prefix = args[args.length - 1].toLowerCase();
+        List<String> completions = new ArrayList<>();
+        for (String option : options) {
+            if (option.toLowerCase().startsWith(prefix)) {
+                completions.add(option);
+            }
+        }
+        return completions;
+    }
+
+    private void startCapture(CommandSender sender, String[] args) {
+        int minutes = DEFAULT_MINUTES;
+        if (args.length >= 3) {
+            try {
+                minutes = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                MessageUtils.sendMessage(sender, "&cInvalid number of minutes: " + args[2]);
+                return;
+            }
+            if (minutes < 1 || minutes > MAX_MINUTES) {
+                MessageUtils.sendMessage(sender, "&cThe capture must last between 1 and " + MAX_MINUTES + " minutes.");
+                return;
+            }
+        }
+
+        TraceRecorder recorder = plugin.getTraceRecorder();
+        File file = new File(getTraceDirectory(),
+                "trace-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + TRACE_EXTENSION);
+        if (!recorder.start(file, MAX_TRACE_BYTES)) {
+            MessageUtils.sendMessage(sender, "&cA trace is already being captured.");
+            return;
+        }
+
+        captureDeadline = plugin.getTickScheduler().schedule(minutes * 1_200L, () -> {
+            captureDeadline = null;
+            if (recorder.stop()) {
+                sendCaptureSummary(Bukkit.getConsoleSender(), recorder);
+            }
+        });
+        MessageUtils.sendMessage(sender, "&eCapturing damage events to &6" + file.getName() + " &efor up to &6" + minutes
+                + " &eminutes.");
+    }
+
+    private void stop(CommandSender sender) {
+        TraceRecorder recorder = plugin.getTraceRecorder();
+        if (recorder.stop()) {
+            if (captureDeadline != null) {
+                captureDeadline.cancel();
+                captureDeadline = null;
+            }
+            sendCaptureSummary(sender, recorder);
+        } else if (replay != null) {
+            replay.finish("stopped");
+        } else {
+            MessageUtils.sendMessage(sender, "&cNo trace is being captured or replayed.");
+        }
+    }
+
+    private void sendCaptureSummary(CommandSender sender, TraceRecorder recorder) {
+        MessageUtils.sendMessage(sender, "&eTrace capture finished: &f" + recorder.getEventCount() + " events&7, &f"
+                + String.format("%.1f KB", recorder.getByteCount() / 1024.0) + " &7in &f" + TRACE_DIRECTORY + "/"
+                + recorder.getFile().getName());
+    }
+
+    private void startReplay(CommandSender sender, String[] args) {
+        if (args.length < 3) {
+            MessageUtils.sendMessage(sender, "&cUsage: /damagetracker trace replay <file> [1x|max]");
+            return;
+        }
+        if (replay != null) {
+            MessageUtils.sendMessage(sender, "&cA trace is already being replayed.");
+            return;
+        }
+
+        boolean realTime = args.length < 4 || args[3].equalsIgnoreCase("1x");
+        if (args.length >= 4 && !realTime && !args[3].equalsIgnoreCase("max")) {
+            MessageUtils.sendMessage(sender, "&cUnknown replay speed: " + args[3]);
+            return;
+        }
+
+        // Only plain file names, so the command cannot read outside the trace directory
+        String name = new File(args[2]).getName();
+        File file = new File(getTraceDirectory(), name.endsWith(TRACE_EXTENSION) ? name : name + TRACE_EXTENSION);
+        if (!file.isFile()) {
+            MessageUtils.sendMessage(sender, "&cTrace not found: " + file.getName());
+            return;
+        }
+        if (plugin.getTraceRecorder().isRecording() && file.equals(plugin.getTraceRecorder().getFile())) {
+            MessageUtils.sendMessage(sender, "&cThat trace is still being captured.");
+            return;
+        }
+
+        MessageUtils.sendMessage(sender, "&eLoading trace &6" + file.getName() + "&e...");
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            DamageTrace trace;
+            try {
+                trace = DamageTrace.read(file);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not read damage trace " + file.getName() + ": " + e.getMessage());
+                Bukkit.getScheduler().runTask(plugin, () -> MessageUtils.sendMessage(sender, "&cCould not read the trace: " + e.getMessage()));
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> beginReplay(sender, file.getName(), trace, realTime));
+        });
+    }
+
+    private void beginReplay(CommandSender sender, String name, DamageTrace trace, boolean realTime) {
+        if (replay != null) {
+            MessageUtils.sendMessage(sender, "&cA trace is already being replayed.");
+            return;
+        }
+        if (trace.size() == 0) {
+            MessageUtils.sendMessage(sender, "&cThe trace " + name + " holds no events.");
+            return;
+        }
+        for (int boss = 0; boss < trace.getBossCount(); boss++) {
+            if (plugin.getTrackedBossManager().isTrackedBoss(BOSS_PREFIX + trace.getBossId(boss))) {
+                MessageUtils.sendMessage(sender, "&c" + BOSS_PREFIX + trace.getBossId(boss) + " is a tracked boss, the replay cannot use it.");
+                return;
+            }
+        }
+
+        replay = new Replay(sender, name, trace, realTime);
+        replay.start();
+        MessageUtils.sendMessage(sender, String.format("&eReplaying &6%d &eevents of &6%d &ebosses and &6%d &eplayers (%.1f s captured) %s.",
+                trace.size(), trace.getBossCount(), trace.getPlayerCount(), trace.getDurationMicros() / 1_000_000.0,
+                realTime ? "in real time" : "as fast as possible"));
+    }
+
+    private File getTraceDirectory() {
+        return new File(plugin.getDataFolder(), TRACE_DIRECTORY);
+    }
+
+    /**
+     * A replay of a trace through the damage pipeline, driven from the main thread.
+     */
+    private final class Replay extends SyntheticRun {
+        private final String name;
+        private final DamageTrace trace;
+        private final boolean realTime;
+        private final long[] lastSession;
+        private final boolean[] died;
+        private final LatencyHistogram hitTime;
+        private final LatencyHistogram deathTime;
+        private int next;
+        private long busyNanos;
+        private long maxLagMicros;
+
+        private Replay(CommandSender sender, String name, DamageTrace trace, boolean realTime) {
+            super(TraceCommands.this.plugin, sender, bossIds(trace), trace.getPlayerCount(), "Replay", () -> replay = null);
+            this.name = name;
+            this.trace = trace;
+            this.realTime = realTime;
+            this.lastSession = new long[trace.getBossCount()];
+            this.died = new boolean[trace.getBossCount()];
+            Arrays.fill(lastSession, -1);
+
+            MetricsRegistry registry = new MetricsRegistry();
+            this.hitTime = registry.histogram("replay_hit_seconds", "", "Replayed hit time");
+            this.deathTime = registry.histogram("replay_death_seconds", "", "Replayed death time");
+        }
+
+        @Override
+        protected BossConfig getBossConfig(int boss) {
+            // Replayed bosses keep the victory setup of the boss they were captured from
+            BossConfig config = plugin.getBossConfigs().get(trace.getBossId(boss));
+            return config != null ? config : plugin.getDefaultBossConfig();
+        }
+
+        @Override
+        protected void tick() {
+            MythicMobListeners listeners = plugin.getMythicMobListeners();
+            long tickStart = System.nanoTime();
+            long dueMicros = trace.getTimeMicros(0) + (tickStart - getStartedAt()) / 1_000;
+            while (next < trace.size()) {
+                if (realTime) {
+                    if (trace.getTimeMicros(next) > dueMicros) break;
+                    maxLagMicros = Math.max(maxLagMicros, dueMicros - trace.getTimeMicros(next));
+                } else if (System.nanoTime() - tickStart >= FAST_SLICE_NANOS) {
+                    break;
+                }
+                replayEvent(listeners, next++);
+            }
+
+            if (next >= trace.size()) {
+                finish("completed");
+            }
+        }
+
+        private void replayEvent(MythicMobListeners listeners, int index) {
+            int boss = trace.getBoss(index);
+            String bossId = bossIds[boss];
+            long session = trace.getSession(index);
+
+            long start = System.nanoTime();
+            if (trace.isDeath(index)) {
+                listeners.handleBossDeath(bossId, UUID.randomUUID(), trace.getBossId(boss), location, audience);
+                died[boss] = true;
+                lastSession[boss] = session;
+                long elapsed = System.nanoTime() - start;
+                deathTime.record(elapsed);
+                busyNanos += elapsed;
+                return;
+            }
+
+            // A new session without a death in between means the fight ended some other way
+            if (!died[boss] && lastSession[boss] >= 0 && lastSession[boss] != session) {
+                plugin.getLiveHudManager().removeBoss(bossId);
+                plugin.getTrackedBossManager().scheduleDataCleanup(bossId);
+            }
+            died[boss] = false;
+            lastSession[boss] = session;
+
+            int player = trace.getPlayer(index);
+            listeners.recordDamage(bossId, null, playerIds[player], playerNames[player],
+                    trace.getDamage(index), trace.getBossMaxHealth(boss));
+            long elapsed = System.nanoTime() - start;
+            hitTime.record(elapsed);
+            busyNanos += elapsed;
+        }
+
+        @Override
+        protected List<String> report(String outcome, double seconds) {
+            long events = hitTime.getCount() + deathTime.getCount();
+            List<String> lines = new ArrayList<>();
+            lines.add("&6=== DamageTracker trace replay (" + name + ") ===");
+            lines.add(String.format("&eReplay %s: &f%d hits &7and &f%d kills in &f%.1f s &7(%s)", outcome,
+                    hitTime.getCount(), deathTime.getCount(), seconds, realTime ? "real time" : "as fast as possible"));
+            lines.add(String.format("&eThroughput: &f%.0f events/s &7of processing time, &f%.0f events/s &7of wall time",
+                    events / Math.max(busyNanos / 1_000_000_000.0, 1e-9), events / Math.max(seconds, 1e-9)));
+            lines.add(formatLatency("Hit", hitTime));
+            lines.add(formatLatency("Kill", deathTime));
+            if (realTime) {
+                lines.add(String.format("&eLargest lag behind the trace: &f%.1f ms", maxLagMicros / 1_000.0));
+            }
+            return lines;
+        }
+
+        private String formatLatency(String label, LatencyHistogram histogram) {
+            return "&e" + label + ": &f" + ProfileCommands.formatNanos(histogram.getQuantile(0.5)) + "&7 p50, &f"
+                    + ProfileCommands.formatNanos(histogram.getQuantile(0.9)) + "&7 p90, &f"
+                    + ProfileCommands.formatNanos(histogram.getQuantile(0.99)) + "&7 p99, &f"
+                    + ProfileCommands.formatNanos(histogram.getMax()) + "&7 max";
+        }
+    }
+
+    private static String[] bossIds(DamageTrace trace) {
+        String[] bossIds = new String[trace.getBossCount()];
+        for (int boss = 0; boss < bossIds.length; boss++) {
+            bossIds[boss] = BOSS_PREFIX + trace.getBossId(boss);
+        }
+        return bossIds;
+    }
+}
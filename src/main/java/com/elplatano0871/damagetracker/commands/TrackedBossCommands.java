@@ -3,7 +3,6 @@ package com.elplatano0871.damagetracker.commands;
 import com.elplatano0871.damagetracker.DamageTracker;
 import com.elplatano0871.damagetracker.managers.TrackedBossManager;
 import com.elplatano0871.damagetracker.utils.MessageUtils;
-import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import java.util.List;
@@ -66,7 +65,7 @@ public class TrackedBossCommands {
                         "&6Damage to {boss_name}: &e{damage} &7(&e{percentage}%&7)")
                 .replace("{boss_name}", bossId)
                 .replace("{damage}", trackedBossManager.formatDamage(damage, bossId))
-                .replace("{percentage}", String.format("%.1f", percentage));
+                .replace("{percentage}", plugin.formatPercentage(percentage));
 
         MessageUtils.sendMessage(sender, message);
         return true;
@@ -113,16 +112,13 @@ public class TrackedBossCommands {
 
         for (int i = 0; i < topDamage.size(); i++) {
             Map.Entry<UUID, Double> entry = topDamage.get(i);
-            Player player = Bukkit.getPlayer(entry.getKey());
-            if (player != null) {
-                String message = entryFormat
-                        .replace("{position}", String.valueOf(i + 1))
-                        .replace("{player_name}", player.getName())
-                        .replace("{damage}", trackedBossManager.formatDamage(entry.getValue(), bossId))
-                        .replace("{percentage}",
-                                String.format("%.1f", trackedBossManager.getPlayerDamagePercentage(bossId, entry.getKey())));
-                MessageUtils.sendMessage(sender, message);
-            }
+            String message = entryFormat
+                    .replace("{position}", String.valueOf(i + 1))
+                    .replace("{player_name}", plugin.getPlayerNameManager().getName(entry.getKey()))
+                    .replace("{damage}", trackedBossManager.formatDamage(entry.getValue(), bossId))
+                    .replace("{percentage}",
+                            plugin.formatPercentage(trackedBossManager.getPlayerDamagePercentage(bossId, entry.getKey())));
+            MessageUtils.sendMessage(sender, message);
         }
 
         String footer = plugin.getConfig().getString("tracked_boss_messages.check_top.footer",
@@ -0,0 +1,133 @@
+package com.elplatano0871.damagetracker.listeners;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.attribution.AttributionCache;
+import org.bukkit.entity.*;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.*;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records who owns projectiles, potion clouds and damage over time effects as they are created,
+ * so {@link AttributionCache} can credit the damage they deal later.
+ */
+public class AttributionListeners implements Listener {
+    private final DamageTracker plugin;
+
+    public AttributionListeners(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onProjectileLaunch(ProjectileLaunchEvent event) {
+        AttributionCache attribution = plugin.getAttributionCache();
+        if (!attribution.isEnabled()) return;
+
+        Projectile projectile = event.getEntity();
+        attribution.recordProjectile(projectile, attribution.resolve(projectile.getShooter()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLingeringPotionSplash(LingeringPotionSplashEvent event) {
+        AttributionCache attribution = plugin.getAttributionCache();
+        if (!attribution.isEnabled()) return;
+
+        AreaEffectCloud cloud = event.getAreaEffectCloud();
+        UUID owner = attribution.resolve(event.getEntity().getShooter());
+        attribution.recordEntity(cloud, owner, cloud.getDuration() + cloud.getWaitTime());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPotionSplash(PotionSplashEvent event) {
+        AttributionCache attribution = plugin.getAttributionCache();
+        if (!attribution.isDamageOverTimeEnabled()) return;
+
+        Collection<PotionEffect> effects = event.getPotion().getEffects();
+        if (!hasDamageOverTime(effects)) return;
+
+        UUID owner = attribution.resolve(event.getPotion().getShooter());
+        if (owner == null) return;
+        for (LivingEntity victim : event.getAffectedEntities()) {
+            recordEffects(attribution, victim, owner, effects, event.getIntensity(victim));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onAreaEffectCloudApply(AreaEffectCloudApplyEvent event) {
+        AttributionCache attribution = plugin.getAttributionCache();
+        if (!attribution.isDamageOverTimeEnabled()) return;
+
+        AreaEffectCloud cloud = event.getEntity();
+        Collection<PotionEffect> effects = getEffects(cloud.getBasePotionType(), cloud.getCustomEffects());
+        if (!hasDamageOverTime(effects)) return;
+
+        UUID owner = attribution.resolve(cloud);
+        if (owner == null) return;
+        for (LivingEntity victim : event.getAffectedEntities()) {
+            // Clouds apply a quarter of the potion duration
+            recordEffects(attribution, victim, owner, effects, 0.25);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTippedArrowHit(EntityDamageByEntityEvent event) {
+        if (!(event.getDamager() instanceof Arrow)) return;
+        AttributionCache attribution = plugin.getAttributionCache();
+        if (!attribution.isDamageOverTimeEnabled()) return;
+
+        Arrow arrow = (Arrow) event.getDamager();
+        Collection<PotionEffect> effects = getEffects(arrow.getBasePotionType(), arrow.getCustomEffects());
+        if (!hasDamageOverTime(effects)) return;
+
+        UUID owner = attribution.resolve(arrow);
+        if (owner != null) {
+            // Tipped arrows apply an eighth of the potion duration
+            recordEffects(attribution, event.getEntity(), owner, effects, 0.125);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCombustByEntity(EntityCombustByEntityEvent event) {
+        AttributionCache attribution = plugin.getAttributionCache();
+        if (!attribution.isDamageOverTimeEnabled()) return;
+
+        UUID owner = attribution.resolve(event.getCombuster());
+        if (owner != null) {
+            attribution.recordEffect(event.getEntity(), AttributionCache.Kind.FIRE, owner,
+                    (long) Math.ceil(event.getDuration() * 20));
+        }
+    }
+
+    private static void recordEffects(AttributionCache attribution, Entity victim, UUID owner,
+                                      Collection<PotionEffect> effects, double durationScale) {
+        for (PotionEffect effect : effects) {
+            AttributionCache.Kind kind = AttributionCache.Kind.of(effect.getType());
+            if (kind != null) {
+                attribution.recordEffect(victim, kind, owner, (long) Math.ceil(effect.getDuration() * durationScale));
+            }
+        }
+    }
+
+    private static boolean hasDamageOverTime(Collection<PotionEffect> effects) {
+        for (PotionEffect effect : effects) {
+            if (AttributionCache.Kind.of(effect.getType()) != null) return true;
+        }
+        return false;
+    }
+
+    private static Collection<PotionEffect> getEffects(PotionType baseType, Collection<PotionEffect> customEffects) {
+        if (baseType == null) return customEffects;
+        if (customEffects.isEmpty()) return baseType.getPotionEffects();
+        List<PotionEffect> effects = new ArrayList<>(baseType.getPotionEffects());
+        effects.addAll(customEffects);
+        return effects;
+    }
+}
@@ -0,0 +1,55 @@
+package com.elplatano0871.damagetracker.listeners;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import net.luckperms.api.LuckPermsProvider;
+import net.luckperms.api.event.EventSubscription;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * Keeps the prefix cache in sync with LuckPerms user data.
+ * Only loaded when LuckPerms is installed.
+ */
+public class LuckPermsListener {
+    private final DamageTracker plugin;
+    private EventSubscription<UserDataRecalculateEvent> subscription;
+
+    public LuckPermsListener(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Subscribes to the LuckPerms event bus.
+     */
+    public void register() {
+        subscription = LuckPermsProvider.get().getEventBus()
+                .subscribe(plugin, UserDataRecalculateEvent.class, this::onUserDataRecalculate);
+    }
+
+    /**
+     * Closes the LuckPerms subscription.
+     */
+    public void unregister() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+    }
+
+    private void onUserDataRecalculate(UserDataRecalculateEvent event) {
+        UUID playerId = event.getUser().getUniqueId();
+        plugin.getPrefixManager().invalidate(playerId);
+
+        // LuckPerms may fire this off the main thread, Vault lookups must happen on it
+        if (!plugin.isEnabled()) return;
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null) {
+                plugin.getPrefixManager().refresh(player);
+            }
+        });
+    }
+}
@@ -1,9 +1,15 @@
 package com.elplatano0871.damagetracker.listeners;
 
 import com.elplatano0871.damagetracker.DamageTracker;
-import com.elplatano0871.damagetracker.managers.VictoryMessageManager;
+import com.elplatano0871.damagetracker.attribution.AttributionCache;
+import com.elplatano0871.damagetracker.managers.VictoryMessage;
 import com.elplatano0871.damagetracker.api.BossDamageCompletedEvent;
+import com.elplatano0871.damagetracker.api.FightResult;
 import com.elplatano0871.damagetracker.configs.BossConfig;
+import com.elplatano0871.damagetracker.metrics.PluginMetrics;
+import com.elplatano0871.damagetracker.metrics.Profiler;
+import com.elplatano0871.damagetracker.session.FightSession;
+import com.elplatano0871.damagetracker.trace.TraceRecorder;
 import com.elplatano0871.damagetracker.utils.MessageUtils;
 import io.lumine.mythic.bukkit.MythicBukkit;
 import io.lumine.mythic.core.mobs.ActiveMob;
@@ -14,7 +20,7 @@ import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.projectiles.ProjectileSource;
+import org.bukkit.event.entity.EntityDamageEvent;
 
 import java.util.*;
 
@@ -29,43 +35,88 @@ public class MythicMobListeners implements Listener {
     public void onMythicMobDeath(MythicMobDeathEvent event) {
         ActiveMob activeMob = event.getMob();
         String mobInternalName = activeMob.getMobType();
-        UUID mobUniqueId = activeMob.getUniqueId();
-
-        // First check if the boss is being tracked
-        boolean isTrackedBoss = plugin.getTrackedBossManager().isTrackedBoss(mobInternalName.toUpperCase());
 
         // If the boss is not being tracked, ignore it completely
-        if (!isTrackedBoss) {
+        if (!plugin.getTrackedBossManager().isTrackedBoss(mobInternalName.toUpperCase())) {
             return;
         }
+        TraceRecorder trace = plugin.getTraceRecorder();
+        if (trace.isRecording()) {
+            String bossId = mobInternalName.toUpperCase();
+            FightSession session = plugin.getTrackedBossManager().getSession(bossId);
+            trace.recordDeath(bossId, plugin.getDamageManager().getTrackedBossMaxHealth(bossId), session != null ? session.getId() : 0L);
+        }
+        handleBossDeath(mobInternalName, activeMob.getUniqueId(), activeMob.getDisplayName(),
+                activeMob.getEntity().getBukkitEntity().getLocation(), Bukkit.getOnlinePlayers());
+    }
 
-        // Get the damage map and calculate event data
-        Map<UUID, Double> bossDamageMap = plugin.getDamageManager().getTrackedBossDamageMap(mobInternalName.toUpperCase());
-        double maxHealth = plugin.getDamageManager().getTrackedBossMaxHealth(mobInternalName.toUpperCase());
+    /**
+     * Runs the death path of a tracked boss: fires the BossDamageCompletedEvent, sends the victory
+     * message and hologram, and finishes the fight. Also driven by the load test with synthetic bosses,
+     * which fire no event.
+     *
+     * @param mobInternalName The MythicMobs internal name of the boss.
+     * @param mobUniqueId The UUID of the mob instance that died.
+     * @param displayName The display name of the boss.
+     * @param location Where the boss died.
+     * @param audience The players who may receive the victory message.
+     */
+    public void handleBossDeath(String mobInternalName, UUID mobUniqueId, String displayName, Location location,
+                                Collection<? extends Player> audience) {
+        // First check if the boss is being tracked
+        if (!plugin.getTrackedBossManager().isTrackedBoss(mobInternalName.toUpperCase())) {
+            return;
+        }
 
-        // Fire the BossDamageCompletedEvent
-        BossDamageCompletedEvent damageEvent = new BossDamageCompletedEvent(
-                mobInternalName,
-                mobUniqueId,
-                new HashMap<>(bossDamageMap),
-                maxHealth
-        );
-        Bukkit.getPluginManager().callEvent(damageEvent);
+        long start = plugin.getMetrics().getDeathEventTime().start();
+        Profiler profiler = plugin.getProfiler();
+        long span = profiler.begin("listener.death");
+        try {
+            // Publish the damage of this tick first, listeners never see damage after the result
+            plugin.getDamageEventManager().flush(mobInternalName.toUpperCase());
+
+            // Build the result once from the live ranking, it is shared by every listener
+            FightResult result = plugin.getTrackedBossManager().getFightResult(mobInternalName.toUpperCase());
+
+            // Fire the BossDamageCompletedEvent, other plugins never see synthetic fights
+            if (!plugin.getTrackedBossManager().isSyntheticBoss(mobInternalName)) {
+                BossDamageCompletedEvent damageEvent = new BossDamageCompletedEvent(mobInternalName, mobUniqueId, result);
+                long eventSpan = profiler.begin("event.bossDamageCompleted");
+                try {
+                    Bukkit.getPluginManager().callEvent(damageEvent);
+                } finally {
+                    profiler.end(eventSpan);
+                }
+            }
 
-        // Check if the tracked boss has a message configuration
-        boolean hasMessageConfig = plugin.getBossConfigs().containsKey(mobInternalName.toUpperCase());
+            // Check if the tracked boss has a message configuration
+            boolean hasMessageConfig = plugin.getBossConfigs().containsKey(mobInternalName.toUpperCase());
+
+            // Only process victory message if the boss has a message configuration
+            if (hasMessageConfig) {
+                long victoryStart = plugin.getMetrics().getVictoryMessageTime().start();
+                long victorySpan = profiler.begin("message.victory");
+                try {
+                    processVictoryMessage(mobInternalName, displayName, location, result, audience);
+                } finally {
+                    profiler.end(victorySpan);
+                }
+                plugin.getMetrics().getVictoryMessageTime().stop(victoryStart);
+            }
 
-        // Only process victory message if the boss has a message configuration
-        if (hasMessageConfig) {
-            processVictoryMessage(mobInternalName, mobUniqueId, activeMob, bossDamageMap, maxHealth);
-        }
+            // The fight is over, hide the live HUD even if the data is retained
+            plugin.getLiveHudManager().removeBoss(mobInternalName.toUpperCase());
 
-        // Schedule data cleanup
-        plugin.getTrackedBossManager().scheduleDataCleanup(mobInternalName.toUpperCase());
+            // Schedule data cleanup
+            plugin.getTrackedBossManager().scheduleDataCleanup(mobInternalName.toUpperCase());
+        } finally {
+            profiler.end(span);
+        }
+        plugin.getMetrics().getDeathEventTime().stop(start);
     }
 
-    private void processVictoryMessage(String mobInternalName, UUID mobUniqueId, ActiveMob activeMob,
-                                       Map<UUID, Double> bossDamageMap, double maxHealth) {
+    private void processVictoryMessage(String mobInternalName, String displayName, Location bossLocation,
+                                       FightResult result, Collection<? extends Player> audience) {
         // Get the boss configuration or use the default if not found
         BossConfig bossConfig = plugin.getBossConfigs().get(mobInternalName.toUpperCase());
         if (bossConfig == null) {
@@ -79,184 +130,187 @@ public class MythicMobListeners implements Listener {
             return;
         }
 
-        VictoryMessageManager messageManager = plugin.getVictoryMessageManager();
-
-        // Get victory message template
-        String victoryMessage = messageManager.getVictoryMessage(bossConfig.getVictoryMessageId());
-        if (victoryMessage == null) {
-            plugin.getLogger().warning("No victory message found for ID: " + bossConfig.getVictoryMessageId());
+        VictoryMessage message = VictoryMessage.prepare(plugin, bossConfig, displayName, result,
+                plugin.getPlayerNameManager()::getName, this::getPrefix);
+        if (message == null) {
             return;
         }
 
-        // Get position formats
-        List<String> positionFormats = messageManager.getPositionFormat(bossConfig.getPositionFormatId());
-
-        // Get top players and prepare messages
-        List<Map.Entry<UUID, Double>> topPlayers = plugin.getTopDamage(bossDamageMap, bossConfig.getTopPlayersToShow());
-        double totalDamage = bossDamageMap.values().stream().mapToDouble(Double::doubleValue).sum();
-
-        // Create the top players message
-        StringBuilder topPlayersMessage = new StringBuilder();
-        for (int i = 0; i < Math.min(bossConfig.getTopPlayersToShow(), topPlayers.size()); i++) {
-            Map.Entry<UUID, Double> entry = topPlayers.get(i);
-            Player player = Bukkit.getPlayer(entry.getKey());
-            if (player != null) {
-                String format = i < positionFormats.size() ?
-                        positionFormats.get(i) :
-                        "<gray>{player_name}: {damage} ({percentage}%)";
-
-                String damageStr = plugin.formatDamage(entry.getValue(), maxHealth, "numeric");
-                double percentage = (entry.getValue() / totalDamage) * 100;
-                String percentageStr = String.format(plugin.percentageFormat, percentage);
-
-                String prefix = plugin.getPlayerPrefix(player);
-                prefix = prefix.replaceAll("§([0-9a-fk-or])", "<$1>");
-
-                format = format.replace("{player_name}", player.getName())
-                        .replace("{damage}", damageStr)
-                        .replace("{percentage}", percentageStr)
-                        .replace("{prefix}", prefix);
-
-                topPlayersMessage.append(format).append("\n");
-            }
-        }
-
-        // Sort all players by damage for position calculation
-        List<Map.Entry<UUID, Double>> sortedDamageList = new ArrayList<>(bossDamageMap.entrySet());
-        sortedDamageList.sort((e1, e2) -> e2.getValue().compareTo(e1.getValue()));
-
         // Send messages based on broadcast configuration
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (bossConfig.isBroadcastMessage() || bossDamageMap.containsKey(player.getUniqueId())) {
-                // Create personalized victory message for each player
-                String personalizedMessage = victoryMessage
-                        .replace("{boss_name}", activeMob.getDisplayName())
-                        .replace("{top_players}", topPlayersMessage.toString());
-
-                // Only process personal damage if the placeholder exists
-                if (personalizedMessage.contains("{personal_damage}")) {
-                    String personalDamageMessage;
-                    if (bossDamageMap.containsKey(player.getUniqueId())) {
-                        // Player participated in the fight
-                        double playerDamage = bossDamageMap.get(player.getUniqueId());
-                        double percentage = (playerDamage / totalDamage) * 100;
-                        int position = sortedDamageList.indexOf(sortedDamageList.stream()
-                                .filter(e -> e.getKey().equals(player.getUniqueId()))
-                                .findFirst()
-                                .orElse(null)) + 1;
-
-                        String personalMessageTemplate = messageManager.getPersonalMessage(bossConfig.getPersonalMessageId());
-                        personalDamageMessage = personalMessageTemplate
-                                .replace("{position}", String.valueOf(position))
-                                .replace("{damage}", plugin.formatDamage(playerDamage, maxHealth, "numeric"))
-                                .replace("{percentage}", String.format(plugin.percentageFormat, percentage));
-                    } else {
-                        // Player didn't participate
-                        personalDamageMessage = messageManager.getNonParticipantMessage(
-                                bossConfig.getNonParticipantMessageId());
-                    }
-                    personalizedMessage = personalizedMessage.replace("{personal_damage}", personalDamageMessage);
-                }
-
-                MessageUtils.sendMessage(player, personalizedMessage);
+        for (Player player : audience) {
+            if (message.isRecipient(player.getUniqueId())) {
+                MessageUtils.sendMessage(player, message.render(player.getUniqueId()));
             }
         }
-    
+
         // Create hologram if configured
         if ("FANCY".equalsIgnoreCase(bossConfig.getHologramType())) {
-            List<UUID> participants = new ArrayList<>(bossDamageMap.keySet());
-            Location bossLocation = activeMob.getEntity().getBukkitEntity().getLocation();
-            
-            plugin.getHologramManager().createVictoryHologram(
-                mobInternalName,
-                bossConfig.getHologramType(),
-                bossConfig.getVictoryMessageId(),
-                participants,
-                bossLocation,
-                bossDamageMap,
-                maxHealth,
-                activeMob.getDisplayName()
-            );
+            long span = plugin.getProfiler().begin("hologram.victory");
+            try {
+                plugin.getHologramManager().createVictoryHologram(
+                    mobInternalName,
+                    bossConfig.getHologramType(),
+                    bossConfig.getVictoryMessageId(),
+                    result,
+                    bossLocation,
+                    displayName
+                );
+            } finally {
+                plugin.getProfiler().end(span);
+            }
         }
     }
 
     @EventHandler
     public void onMythicMobDamage(EntityDamageByEntityEvent event) {
-        if (!(event.getEntity() instanceof LivingEntity)) return;
+        PluginMetrics metrics = plugin.getMetrics();
+        if (!(event.getEntity() instanceof LivingEntity)) {
+            metrics.getDamageEventsRejected().increment();
+            return;
+        }
 
+        long start = metrics.getDamageEventTime().start();
         LivingEntity entity = (LivingEntity) event.getEntity();
-        Player damager = getPlayerDamager(event.getDamager());
+        AttributionCache attribution = plugin.getAttributionCache();
+        UUID damagerId = attribution.getDirectOwner(event.getDamager());
 
-        if (damager == null) return;
+        // Sources that do not resolve directly are only looked up for tracked bosses
+        if (damagerId == null && !attribution.isEnabled()) {
+            metrics.getDamageEventsRejected().increment();
+            return;
+        }
 
+        long span = plugin.getProfiler().begin("listener.damage");
         try {
             ActiveMob activeMob = MythicBukkit.inst().getMobManager().getMythicMobInstance(entity);
-            if (activeMob == null) return;
+            if (activeMob == null) {
+                metrics.getDamageEventsRejected().increment();
+                return;
+            }
 
             String mobInternalName = activeMob.getMobType();
 
             if (!plugin.getTrackedBossManager().isTrackedBoss(mobInternalName.toUpperCase())) {
+                metrics.getDamageEventsRejected().increment();
                 return;
             }
 
-            double maxHealth = ((LivingEntity) activeMob.getEntity().getBukkitEntity()).getAttribute(org.bukkit.attribute.Attribute.GENERIC_MAX_HEALTH).getValue();
-
-            // Get current accumulated damage from player from TrackedBossManager
-            double currentDamage = plugin.getTrackedBossManager().getPlayerDamage(mobInternalName.toUpperCase(), damager.getUniqueId());
-            double newDamage = event.getFinalDamage();
-            double totalDamage = currentDamage + newDamage;
+            if (damagerId == null) {
+                damagerId = attribution.getCachedOwner(event.getDamager());
+                if (damagerId == null) {
+                    metrics.getDamageEventsRejected().increment();
+                    return;
+                }
+            }
 
-            // Update accumulated damage in TrackedBossManager
-            plugin.getTrackedBossManager().addDamage(mobInternalName.toUpperCase(), damager, newDamage);
-            plugin.getTrackedBossManager().setBossMaxHealth(mobInternalName.toUpperCase(), maxHealth);
-
-            // Update database with total accumulated damage
-            plugin.getDatabaseManager().updateDamage(
-                    mobInternalName,
-                    damager.getUniqueId(),
-                    damager.getName(),
-                    totalDamage // Send accumulated total instead of last hit damage
-            );
+            recordTrackedHit(mobInternalName, activeMob, entity, damagerId, event.getFinalDamage());
+            metrics.getDamageEventsAccepted().increment();
+            metrics.getDamageEventTime().stop(start);
 
         } catch (Exception e) {
             plugin.getLogger().warning("Error processing damage event: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            plugin.getProfiler().end(span);
         }
     }
 
-    private Player getPlayerDamager(Entity damager) {
-        if (damager instanceof Player) {
-            return (Player) damager;
-        }
+    @EventHandler(ignoreCancelled = true)
+    public void onMythicMobDamageOverTime(EntityDamageEvent event) {
+        // Damage with a damager is handled above, the cause check keeps every other damage cheap
+        if (event instanceof EntityDamageByEntityEvent) return;
+        AttributionCache.Kind kind = AttributionCache.Kind.of(event.getCause());
+        if (kind == null || !(event.getEntity() instanceof LivingEntity)) return;
 
-        if (damager instanceof Projectile) {
-            ProjectileSource shooter = ((Projectile) damager).getShooter();
-            if (shooter instanceof Player) {
-                return (Player) shooter;
-            }
-        }
+        AttributionCache attribution = plugin.getAttributionCache();
+        if (!attribution.isDamageOverTimeEnabled()) return;
 
-        if (damager instanceof TNTPrimed) {
-            Entity source = ((TNTPrimed) damager).getSource();
-            if (source instanceof Player) {
-                return (Player) source;
-            }
-        }
+        long span = plugin.getProfiler().begin("listener.damageOverTime");
+        try {
+            LivingEntity entity = (LivingEntity) event.getEntity();
+            ActiveMob activeMob = MythicBukkit.inst().getMobManager().getMythicMobInstance(entity);
+            if (activeMob == null) return;
 
-        if (damager instanceof AreaEffectCloud) {
-            ProjectileSource source = ((AreaEffectCloud) damager).getSource();
-            if (source instanceof Player) {
-                return (Player) source;
-            }
+            String mobInternalName = activeMob.getMobType();
+            if (!plugin.getTrackedBossManager().isTrackedBoss(mobInternalName.toUpperCase())) return;
+
+            UUID ownerId = attribution.getEffectOwner(entity, kind);
+            if (ownerId == null) return;
+
+            recordTrackedHit(mobInternalName, activeMob, entity, ownerId, event.getFinalDamage());
+            plugin.getMetrics().getDamageEventsAccepted().increment();
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error processing damage over time event: " + e.getMessage());
+        } finally {
+            plugin.getProfiler().end(span);
         }
+    }
 
-        if (damager instanceof Tameable) {
-            AnimalTamer owner = ((Tameable) damager).getOwner();
-            if (owner instanceof Player) {
-                return (Player) owner;
-            }
+    private void recordTrackedHit(String mobInternalName, ActiveMob activeMob, LivingEntity entity,
+                                  UUID playerId, double damage) {
+        double maxHealth = ((LivingEntity) activeMob.getEntity().getBukkitEntity()).getAttribute(org.bukkit.attribute.Attribute.GENERIC_MAX_HEALTH).getValue();
+
+        // The owner of indirect damage may have logged off since, the name cache still knows them
+        Player player = Bukkit.getPlayer(playerId);
+        String playerName = player != null ? player.getName() : plugin.getPlayerNameManager().getName(playerId);
+
+        recordDamage(mobInternalName, entity, activeMob.getDisplayName(), playerId, playerName, damage, maxHealth);
+        TraceRecorder trace = plugin.getTraceRecorder();
+        if (trace.isRecording()) {
+            FightSession session = plugin.getTrackedBossManager().getSession(mobInternalName.toUpperCase());
+            trace.recordHit(mobInternalName.toUpperCase(), maxHealth, session != null ? session.getId() : 0L,
+                    playerId, damage);
         }
+    }
+
+    /**
+     * Records a hit on a tracked boss in the fight data, the leaderboards and the database.
+     * Also driven by the load test with synthetic players.
+     *
+     * @param mobInternalName The MythicMobs internal name of the boss.
+     * @param boss The mob entity that was hit, or null if there is none.
+     * @param playerId The UUID of the player dealing the damage.
+     * @param playerName The name of the player dealing the damage.
+     * @param damage The damage of the hit.
+     * @param maxHealth The maximum health of the boss.
+     */
+    public void recordDamage(String mobInternalName, Entity boss, UUID playerId, String playerName,
+                             double damage, double maxHealth) {
+        recordDamage(mobInternalName, boss, null, playerId, playerName, damage, maxHealth);
+    }
+
+    /**
+     * Records a hit on a tracked boss, naming the fight it starts after the display name of the mob.
+     *
+     * @param mobInternalName The MythicMobs internal name of the boss.
+     * @param boss The mob entity that was hit, or null if there is none.
+     * @param displayName The display name of the mob, or null if unknown.
+     * @param playerId The UUID of the player dealing the damage.
+     * @param playerName The name of the player dealing the damage.
+     * @param damage The damage of the hit.
+     * @param maxHealth The maximum health of the boss.
+     */
+    public void recordDamage(String mobInternalName, Entity boss, String displayName, UUID playerId,
+                             String playerName, double damage, double maxHealth) {
+        // Update accumulated damage in TrackedBossManager, which may start a new fight session
+        plugin.getTrackedBossManager().addDamage(mobInternalName.toUpperCase(), boss, displayName, playerId, damage);
+        double totalDamage = plugin.getTrackedBossManager().getPlayerDamage(mobInternalName.toUpperCase(), playerId);
+        plugin.getTrackedBossManager().setBossMaxHealth(mobInternalName.toUpperCase(), maxHealth);
+
+        plugin.getPlayerNameManager().remember(playerId, playerName);
+
+        // Update leaderboard and database with total accumulated damage
+        plugin.getLeaderboardManager().updateDamage(
+                mobInternalName,
+                playerId,
+                playerName,
+                totalDamage // Send accumulated total instead of last hit damage
+        );
+    }
 
-        return null;
+    private String getPrefix(UUID playerId) {
+        // Players who logged off before the kill are still ranked, just without a prefix
+        Player player = Bukkit.getPlayer(playerId);
+        return player != null ? plugin.getPlayerMiniMessagePrefix(player) : "";
     }
-}
\ No newline at end of file
+}
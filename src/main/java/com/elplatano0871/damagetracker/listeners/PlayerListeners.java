@@ -0,0 +1,87 @@
+package com.elplatano0871.damagetracker.listeners;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+public class PlayerListeners implements Listener {
+    private final DamageTracker plugin;
+
+    public PlayerListeners(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        if (plugin.getPlayerNameManager() != null) {
+            plugin.getPlayerNameManager().update(player);
+        }
+        if (plugin.getPrefixManager() != null) {
+            plugin.getPrefixManager().refresh(player);
+        }
+        if (plugin.getPlayerPositionIndex() != null) {
+            plugin.getPlayerPositionIndex().update(player, player.getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        // Most moves stay within the same chunk, skip them before touching the index
+        if (event.getTo() == null || plugin.getPlayerPositionIndex() == null
+                || (event.getFrom().getBlockX() >> 4 == event.getTo().getBlockX() >> 4
+                && event.getFrom().getBlockZ() >> 4 == event.getTo().getBlockZ() >> 4
+                && event.getFrom().getWorld() == event.getTo().getWorld())) {
+            return;
+        }
+        plugin.getPlayerPositionIndex().update(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        if (event.getTo() != null && plugin.getPlayerPositionIndex() != null) {
+            plugin.getPlayerPositionIndex().update(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        if (plugin.getPlayerPositionIndex() != null) {
+            plugin.getPlayerPositionIndex().update(event.getPlayer(), event.getPlayer().getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        if (plugin.getPlayerPositionIndex() != null) {
+            plugin.getPlayerPositionIndex().update(event.getPlayer(), event.getRespawnLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        if (plugin.getLiveHudManager() != null) {
+            plugin.getLiveHudManager().removePlayer(event.getPlayer().getUniqueId());
+        }
+        if (plugin.getPrefixManager() != null) {
+            plugin.getPrefixManager().invalidate(event.getPlayer().getUniqueId());
+        }
+        if (plugin.getPlayerPositionIndex() != null) {
+            plugin.getPlayerPositionIndex().remove(event.getPlayer().getUniqueId());
+        }
+        if (plugin.getPlaceholderMemo() != null) {
+            plugin.getPlaceholderMemo().removePlayer(event.getPlayer().getUniqueId());
+        }
+        if (plugin.getHologramManager() != null && plugin.getHologramManager().isFancyHologramsAvailable()) {
+            plugin.getHologramManager().onPlayerQuit(event.getPlayer().getUniqueId());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.elplatano0871.damagetracker.listeners;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.session.SessionReaper;
+import io.lumine.mythic.bukkit.events.MythicMobDespawnEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityRemoveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * Finishes the fights against tracked bosses that disappear without dying.
+ */
+public class SessionListeners implements Listener {
+    private final DamageTracker plugin;
+
+    public SessionListeners(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onMythicMobDespawn(MythicMobDespawnEvent event) {
+        plugin.getTrackedBossManager().onMobGone(event.getMob().getUniqueId(), SessionReaper.Cause.DESPAWN);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveEvent event) {
+        switch (event.getCause()) {
+            // Deaths are handled by the death event; unloaded mobs may come back with the chunk
+            // and are left to the idle timeout
+            case DEATH, UNLOAD -> {
+            }
+            default -> plugin.getTrackedBossManager().onMobGone(event.getEntity().getUniqueId(), SessionReaper.Cause.REMOVED);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        plugin.getTrackedBossManager().onWorldUnload(event.getWorld().getUID());
+    }
+}
@@ -0,0 +1,211 @@
+package com.elplatano0871.damagetracker.managers;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.api.AsyncBossDamageRecordedEvent;
+import com.elplatano0871.damagetracker.api.BossDamageRecordedEvent;
+import com.elplatano0871.damagetracker.api.DamageBatch;
+import com.elplatano0871.damagetracker.scheduler.TimingWheel;
+import org.bukkit.Bukkit;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Publishes the damage accepted for tracked bosses to other plugins. Hits are coalesced per player
+ * into one pending batch per boss, and the batches are published once per tick, so the cost for
+ * listeners grows with the number of bosses instead of the number of hits. Nothing is recorded
+ * while neither event has a listener.
+ */
+public class DamageEventManager {
+    private final DamageTracker plugin;
+    private final Map<String, PendingBatch> pending;
+    private TimingWheel.Timeout flushTask;
+    private ExecutorService asyncExecutor;
+    private long publishedBatches;
+    private long publishedHits;
+
+    /**
+     * Constructor for DamageEventManager.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public DamageEventManager(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.pending = new LinkedHashMap<>();
+    }
+
+    /**
+     * Adds an accepted hit to the pending batch of its boss. Must be called from the main thread.
+     *
+     * @param bossId The ID of the boss.
+     * @param fightId The ID of the fight session the hit belongs to.
+     * @param playerId The UUID of the player dealing the damage.
+     * @param damage The damage of the hit.
+     */
+    public void record(String bossId, long fightId, UUID playerId, double damage) {
+        if (!hasListeners()) return;
+
+        PendingBatch batch = pending.get(bossId);
+        if (batch != null && batch.fightId != fightId) {
+            // A new fight started within the tick, the old one keeps its own batch
+            flush(bossId);
+            batch = null;
+        }
+        if (batch == null) {
+            batch = new PendingBatch(fightId, plugin.getTickScheduler().getCurrentTick());
+            pending.put(bossId, batch);
+        }
+        batch.add(playerId, damage);
+
+        if (flushTask == null) {
+            flushTask = plugin.getTickScheduler().schedule(1L, () -> {
+                flushTask = null;
+                flushAll();
+            });
+        }
+    }
+
+    /**
+     * Publishes the pending batch of a boss right away, used before the boss death is announced
+     * so listeners never see damage after the fight result.
+     *
+     * @param bossId The ID of the boss.
+     */
+    public void flush(String bossId) {
+        PendingBatch batch = pending.remove(bossId);
+        if (batch != null) {
+            publish(bossId, batch);
+        }
+    }
+
+    /**
+     * Drops the pending batches and stops the async delivery thread.
+     */
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        pending.clear();
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+            asyncExecutor = null;
+        }
+    }
+
+    /**
+     * Gets the number of bosses with damage waiting for the next tick.
+     *
+     * @return The number of pending batches.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the number of batches published since the plugin was enabled.
+     *
+     * @return The number of batches.
+     */
+    public long getPublishedBatches() {
+        return publishedBatches;
+    }
+
+    /**
+     * Gets the number of hits coalesced into the published batches.
+     *
+     * @return The number of hits.
+     */
+    public long getPublishedHits() {
+        return publishedHits;
+    }
+
+    private boolean hasListeners() {
+        return BossDamageRecordedEvent.getHandlerList().getRegisteredListeners().length > 0
+                || AsyncBossDamageRecordedEvent.getHandlerList().getRegisteredListeners().length > 0;
+    }
+
+    private void flushAll() {
+        if (pending.isEmpty()) return;
+        List<Map.Entry<String, PendingBatch>> batches = new ArrayList<>(pending.entrySet());
+        pending.clear();
+        for (Map.Entry<String, PendingBatch> entry : batches) {
+            publish(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void publish(String bossId, PendingBatch pendingBatch) {
+        long span = plugin.getProfiler().begin("event.damageRecorded");
+        try {
+            DamageBatch batch = pendingBatch.toBatch(bossId,
+                    plugin.getDamageManager().getTrackedBossMaxHealth(bossId));
+            publishedBatches++;
+            publishedHits += batch.getTotalHits();
+
+            if (BossDamageRecordedEvent.getHandlerList().getRegisteredListeners().length > 0) {
+                Bukkit.getPluginManager().callEvent(new BossDamageRecordedEvent(batch));
+            }
+            if (AsyncBossDamageRecordedEvent.getHandlerList().getRegisteredListeners().length > 0) {
+                getAsyncExecutor().execute(() -> Bukkit.getPluginManager().callEvent(new AsyncBossDamageRecordedEvent(batch)));
+            }
+        } finally {
+            plugin.getProfiler().end(span);
+        }
+    }
+
+    private ExecutorService getAsyncExecutor() {
+        // A single thread keeps the batches of a fight in order
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "DamageTracker-Events");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * The damage of one boss fight during the current tick, one slot per player.
+     */
+    private static final class PendingBatch {
+        private final long fightId;
+        private final long tick;
+        private final Map<UUID, Integer> slots;
+        private UUID[] players;
+        private double[] deltas;
+        private int[] hits;
+        private int size;
+
+        private PendingBatch(long fightId, long tick) {
+            this.fightId = fightId;
+            this.tick = tick;
+            this.slots = new HashMap<>();
+            this.players = new UUID[4];
+            this.deltas = new double[4];
+            this.hits = new int[4];
+        }
+
+        private void add(UUID playerId, double damage) {
+            Integer slot = slots.get(playerId);
+            if (slot == null) {
+                if (size == players.length) {
+                    players = Arrays.copyOf(players, size * 2);
+                    deltas = Arrays.copyOf(deltas, size * 2);
+                    hits = Arrays.copyOf(hits, size * 2);
+                }
+                slot = size++;
+                slots.put(playerId, slot);
+                players[slot] = playerId;
+            }
+            deltas[slot] += damage;
+            hits[slot]++;
+        }
+
+        private DamageBatch toBatch(String bossId, double maxHealth) {
+            return new DamageBatch(bossId, fightId, tick, maxHealth,
+                    Arrays.copyOf(players, size), Arrays.copyOf(deltas, size), Arrays.copyOf(hits, size));
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.elplatano0871.damagetracker.managers;
 
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import com.elplatano0871.damagetracker.utils.NumberFormatter;
 import org.bukkit.entity.Player;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -10,10 +13,16 @@ import java.util.stream.Collectors;
 public class DamageManager {
     private final Map<UUID, Map<UUID, Double>> bossDamageMaps;
     private final Map<UUID, Double> bossMaxHealth;
-    private final Map<String, Map<UUID, Double>> trackedBossDamage;
+    private final Map<String, DamageRanking> trackedBossDamage;
     private final Map<String, Double> trackedBossMaxHealth;
-    private final String damageFormat;
-    private final String percentageFormat;
+    private final DamageRanking globalRanking;
+    private final Map<String, Long> trackedVersions;
+    private final Map<UUID, Integer> contributions;
+    private final ThreadLocal<StringBuilder> formatBuffer;
+    private NumberFormatter damageFormatter;
+    private NumberFormatter percentageFormatter;
+    private long versionClock;
+    private volatile long globalVersion;
 
     /**
      * Constructor for DamageManager.
@@ -26,8 +35,42 @@ public class DamageManager {
         this.bossMaxHealth = new HashMap<>();
         this.trackedBossDamage = new HashMap<>();
         this.trackedBossMaxHealth = new HashMap<>();
-        this.damageFormat = damageFormat;
-        this.percentageFormat = percentageFormat;
+        this.globalRanking = new DamageRanking();
+        this.trackedVersions = new ConcurrentHashMap<>();
+        this.contributions = new HashMap<>();
+        this.formatBuffer = ThreadLocal.withInitial(() -> new StringBuilder(48));
+        setFormatters(NumberFormatter.compile(damageFormat), NumberFormatter.compile(percentageFormat));
+    }
+
+    /**
+     * Sets the compiled formatters used for damage and percentage values.
+     *
+     * @param damageFormatter The formatter for damage values.
+     * @param percentageFormatter The formatter for percentages.
+     */
+    public void setFormatters(NumberFormatter damageFormatter, NumberFormatter percentageFormatter) {
+        this.damageFormatter = damageFormatter;
+        this.percentageFormatter = percentageFormatter;
+    }
+
+    /**
+     * Formats a damage value with the configured damage format.
+     *
+     * @param damage The damage amount.
+     * @return The formatted damage.
+     */
+    public String formatDamageValue(double damage) {
+        return damageFormatter.format(damage);
+    }
+
+    /**
+     * Formats a percentage with the configured percentage format.
+     *
+     * @param percentage The percentage, from 0 to 100.
+     * @return The formatted percentage.
+     */
+    public String formatPercentage(double percentage) {
+        return percentageFormatter.format(percentage);
     }
 
     /**
@@ -39,8 +82,10 @@ public class DamageManager {
      */
     public void addDamage(UUID bossId, Player player, double damage) {
         UUID playerId = player.getUniqueId();
-        bossDamageMaps.computeIfAbsent(bossId, k -> new HashMap<>())
-                .compute(playerId, (k, v) -> v == null ? damage : v + damage);
+        Map<UUID, Double> damageMap = bossDamageMaps.computeIfAbsent(bossId, k -> new HashMap<>());
+        Double previous = damageMap.get(playerId);
+        damageMap.put(playerId, previous != null ? previous + damage : damage);
+        addGlobalDamage(playerId, damage, previous == null);
     }
 
     /**
@@ -68,13 +113,27 @@ public class DamageManager {
      * @return A map of player UUIDs to total damage amounts.
      */
     public Map<UUID, Double> calculateTotalDamage() {
-        Map<UUID, Double> totalDamageMap = new HashMap<>();
-        for (Map<UUID, Double> damageMap : bossDamageMaps.values()) {
-            for (Map.Entry<UUID, Double> entry : damageMap.entrySet()) {
-                totalDamageMap.merge(entry.getKey(), entry.getValue(), Double::sum);
-            }
-        }
-        return totalDamageMap;
+        return globalRanking.toMap();
+    }
+
+    /**
+     * Gets the ranking of the total damage of every player across all bosses with damage data.
+     * It is updated as damage arrives and as boss data is removed.
+     *
+     * @return The global ranking.
+     */
+    public DamageRanking getGlobalRanking() {
+        return globalRanking;
+    }
+
+    /**
+     * Gets a counter that changes every time the global ranking changes.
+     * Safe to read from any thread.
+     *
+     * @return The modification counter.
+     */
+    public long getGlobalVersion() {
+        return globalVersion;
     }
 
     /**
@@ -144,9 +203,9 @@ public class DamageManager {
     public String formatDamage(double damage, double maxHealth, String displayType) {
         if ("percentage".equalsIgnoreCase(displayType) && maxHealth > 0) {
             double percentage = (damage / maxHealth) * 100;
-            return String.format(percentageFormat, percentage);
+            return percentageFormatter.format(percentage);
         } else {
-            return String.format(damageFormat, damage);
+            return damageFormatter.format(damage);
         }
     }
 
@@ -156,7 +215,10 @@ public class DamageManager {
      * @param bossId The ID of the boss.
      */
     public void removeBossData(UUID bossId) {
-        bossDamageMaps.remove(bossId);
+        Map<UUID, Double> damageMap = bossDamageMaps.remove(bossId);
+        if (damageMap != null) {
+            damageMap.forEach(this::subtractGlobalDamage);
+        }
         bossMaxHealth.remove(bossId);
     }
 
@@ -164,6 +226,9 @@ public class DamageManager {
      * Clears all damage and health data.
      */
     public void clearAllData() {
+        for (Map<UUID, Double> damageMap : bossDamageMaps.values()) {
+            damageMap.forEach(this::subtractGlobalDamage);
+        }
         bossDamageMaps.clear();
         bossMaxHealth.clear();
     }
@@ -176,9 +241,44 @@ public class DamageManager {
      * @param damage The amount of damage dealt.
      */
     public void addTrackedDamage(String bossId, Player player, double damage) {
-        UUID playerId = player.getUniqueId();
-        trackedBossDamage.computeIfAbsent(bossId, k -> new HashMap<>())
-                .compute(playerId, (k, v) -> v == null ? damage : v + damage);
+        addTrackedDamage(bossId, player.getUniqueId(), damage);
+    }
+
+    /**
+     * Adds damage dealt by a player, who does not need to be online, to a tracked boss.
+     *
+     * @param bossId The ID of the boss.
+     * @param playerId The UUID of the player dealing the damage.
+     * @param damage The amount of damage dealt.
+     */
+    public void addTrackedDamage(String bossId, UUID playerId, double damage) {
+        DamageRanking ranking = trackedBossDamage.computeIfAbsent(bossId, k -> new DamageRanking());
+        boolean firstHit = !ranking.contains(playerId);
+        ranking.add(playerId, damage);
+        addGlobalDamage(playerId, damage, firstHit);
+        trackedVersions.put(bossId, versionClock);
+    }
+
+    /**
+     * Gets a counter that changes every time the damage data of a tracked boss changes.
+     * Unlike the ranking version, it never repeats across fights, and it is 0 while the boss
+     * has no damage data. Safe to read from any thread.
+     *
+     * @param bossId The ID of the boss.
+     * @return The modification counter.
+     */
+    public long getTrackedVersion(String bossId) {
+        return trackedVersions.getOrDefault(bossId, 0L);
+    }
+
+    /**
+     * Gets the live ranking of a tracked boss.
+     *
+     * @param bossId The ID of the boss.
+     * @return The ranking, or null if the boss has no damage data.
+     */
+    public DamageRanking getTrackedRanking(String bossId) {
+        return trackedBossDamage.get(bossId);
     }
 
     /**
@@ -188,7 +288,8 @@ public class DamageManager {
      * @return A map of player UUIDs to damage amounts.
      */
     public Map<UUID, Double> getTrackedBossDamageMap(String bossId) {
-        return new HashMap<>(trackedBossDamage.getOrDefault(bossId, new HashMap<>()));
+        DamageRanking ranking = trackedBossDamage.get(bossId);
+        return ranking != null ? ranking.toMap() : new HashMap<>();
     }
 
     /**
@@ -211,13 +312,38 @@ public class DamageManager {
         return trackedBossMaxHealth.getOrDefault(bossId, 0.0);
     }
 
+    /**
+     * Gets the IDs of the tracked bosses that have damage or health data in memory.
+     *
+     * @return A new set of boss IDs.
+     */
+    public Set<String> getTrackedBossIds() {
+        Set<String> bossIds = new HashSet<>(trackedBossDamage.keySet());
+        bossIds.addAll(trackedBossMaxHealth.keySet());
+        return bossIds;
+    }
+
+    /**
+     * Checks if a tracked boss has damage or health data in memory.
+     *
+     * @param bossId The ID of the boss.
+     * @return true if any data is kept for the boss.
+     */
+    public boolean hasTrackedData(String bossId) {
+        return trackedBossDamage.containsKey(bossId) || trackedBossMaxHealth.containsKey(bossId);
+    }
+
     /**
      * Removes all data related to a tracked boss.
      *
      * @param bossId The ID of the boss.
      */
     public void removeTrackedBossData(String bossId) {
-        trackedBossDamage.remove(bossId);
+        DamageRanking ranking = trackedBossDamage.remove(bossId);
+        if (ranking != null) {
+            subtractGlobalDamage(ranking);
+        }
+        trackedVersions.remove(bossId);
         trackedBossMaxHealth.remove(bossId);
     }
 
@@ -229,13 +355,10 @@ public class DamageManager {
      * @return A list of entries sorted by damage in descending order.
      */
     public List<Map.Entry<UUID, Double>> getTrackedTopDamage(String bossId, int limit) {
-        Map<UUID, Double> bossData = getTrackedBossDamageMap(bossId);
-        if (bossData.isEmpty()) return new ArrayList<>();
+        DamageRanking ranking = trackedBossDamage.get(bossId);
+        if (ranking == null) return new ArrayList<>();
 
-        return bossData.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(limit)
-                .toList();
+        return ranking.getTop(limit);
     }
 
     /**
@@ -246,8 +369,8 @@ public class DamageManager {
      * @return The damage dealt by the player.
      */
     public double getTrackedPlayerDamage(String bossId, UUID playerId) {
-        return trackedBossDamage.getOrDefault(bossId, new HashMap<>())
-                .getOrDefault(playerId, 0.0);
+        DamageRanking ranking = trackedBossDamage.get(bossId);
+        return ranking != null ? ranking.getDamage(playerId) : 0.0;
     }
 
     /**
@@ -258,13 +381,8 @@ public class DamageManager {
      * @return The percentage of total damage dealt by the player.
      */
     public double getTrackedPlayerDamagePercentage(String bossId, UUID playerId) {
-        Map<UUID, Double> bossData = getTrackedBossDamageMap(bossId);
-        if (bossData.isEmpty()) return 0.0;
-
-        double playerDamage = bossData.getOrDefault(playerId, 0.0);
-        double totalDamage = bossData.values().stream().mapToDouble(Double::doubleValue).sum();
-
-        return totalDamage > 0 ? (playerDamage / totalDamage) * 100 : 0.0;
+        DamageRanking ranking = trackedBossDamage.get(bossId);
+        return ranking != null ? ranking.getPercentage(playerId) : 0.0;
     }
 
     /**
@@ -275,16 +393,10 @@ public class DamageManager {
      * @return An optional containing the position of the player, or empty if the player is not in the ranking.
      */
     public Optional<Integer> getTrackedPlayerPosition(String bossId, UUID playerId) {
-        Map<UUID, Double> bossData = getTrackedBossDamageMap(bossId);
-        if (bossData.isEmpty() || !bossData.containsKey(playerId)) return Optional.empty();
+        DamageRanking ranking = trackedBossDamage.get(bossId);
+        if (ranking == null || !ranking.contains(playerId)) return Optional.empty();
 
-        List<UUID> sortedPlayers = bossData.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .map(Map.Entry::getKey)
-                .toList();
-
-        int position = sortedPlayers.indexOf(playerId) + 1;
-        return Optional.of(position);
+        return Optional.of(ranking.getRank(playerId));
     }
 
     /**
@@ -296,18 +408,55 @@ public class DamageManager {
      */
     public String formatTrackedDamage(double damage, String bossId) {
         double maxHealth = trackedBossMaxHealth.getOrDefault(bossId, 0.0);
-        if (maxHealth > 0) {
-            double percentage = (damage / maxHealth) * 100;
-            return String.format(damageFormat + " (%" + percentageFormat + ")", damage, percentage);
+        if (maxHealth <= 0) {
+            return damageFormatter.format(damage);
+        }
+
+        double percentage = (damage / maxHealth) * 100;
+        StringBuilder out = formatBuffer.get();
+        out.setLength(0);
+        damageFormatter.formatTo(out, damage).append(" (");
+        percentageFormatter.formatTo(out, percentage);
+        if (!percentageFormatter.endsWithPercent()) {
+            out.append('%');
         }
-        return String.format(damageFormat, damage);
+        return out.append(')').toString();
     }
 
     /**
      * Clears all tracked damage and health data.
      */
     public void clearAllTrackedData() {
+        trackedBossDamage.values().forEach(this::subtractGlobalDamage);
         trackedBossDamage.clear();
+        trackedVersions.clear();
         trackedBossMaxHealth.clear();
     }
+
+    private void subtractGlobalDamage(DamageRanking ranking) {
+        for (int i = 0; i < ranking.size(); i++) {
+            subtractGlobalDamage(ranking.getPlayerAt(i), ranking.getDamageAt(i));
+        }
+    }
+
+    private void addGlobalDamage(UUID playerId, double damage, boolean newContribution) {
+        if (newContribution) {
+            contributions.merge(playerId, 1, Integer::sum);
+        }
+        globalRanking.add(playerId, damage);
+        globalVersion = ++versionClock;
+    }
+
+    private void subtractGlobalDamage(UUID playerId, double damage) {
+        // Sums of doubles do not cancel exactly, so the player leaves the ranking when the last
+        // boss it damaged is removed, whatever is left over
+        Integer remainingContributions = contributions.computeIfPresent(playerId,
+                (id, count) -> count > 1 ? count - 1 : null);
+        if (remainingContributions == null) {
+            globalRanking.remove(playerId);
+        } else {
+            globalRanking.set(playerId, Math.max(0.0, globalRanking.getDamage(playerId) - damage));
+        }
+        globalVersion = ++versionClock;
+    }
 }
\ No newline at end of file
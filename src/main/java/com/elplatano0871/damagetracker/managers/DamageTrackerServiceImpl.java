@@ -0,0 +1,124 @@
+package com.elplatano0871.damagetracker.managers;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.api.DamageTrackerService;
+import com.elplatano0871.damagetracker.api.FightResult;
+import com.elplatano0871.damagetracker.api.LeaderboardEntry;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import org.bukkit.Bukkit;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The {@link DamageTrackerService} registered for other plugins. Live fights and leaderboards are
+ * main-thread structures, so they are read on the main thread, inline when the caller is already on it.
+ * History queries are queued on the database thread, which owns the only connection.
+ */
+public class DamageTrackerServiceImpl implements DamageTrackerService {
+    private final DamageTracker plugin;
+
+    /**
+     * Constructor for DamageTrackerServiceImpl.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public DamageTrackerServiceImpl(DamageTracker plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public CompletableFuture<FightResult> getLiveFight(String bossId) {
+        String key = bossId.toUpperCase();
+        return onMainThread(() -> plugin.getTrackedBossManager().getSession(key) != null
+                ? plugin.getTrackedBossManager().getFightResult(key)
+                : null);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, FightResult>> getLiveFights() {
+        return onMainThread(() -> {
+            Map<String, FightResult> fights = new LinkedHashMap<>();
+            for (String bossId : plugin.getTrackedBossManager().getSessions().keySet()) {
+                fights.put(bossId, plugin.getTrackedBossManager().getFightResult(bossId));
+            }
+            return Collections.unmodifiableMap(fights);
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<LeaderboardEntry>> getTopDamage(String bossId, int limit) {
+        String key = bossId.toUpperCase();
+        return afterLeaderboardsLoaded(() -> {
+            DamageRanking ranking = plugin.getLeaderboardManager().getRanking(key);
+            if (ranking == null || limit <= 0) return List.of();
+
+            int size = Math.min(limit, ranking.size());
+            List<LeaderboardEntry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(toEntry(key, i + 1, ranking.getPlayerAt(i), ranking.getDamageAt(i)));
+            }
+            return Collections.unmodifiableList(entries);
+        });
+    }
+
+    @Override
+    public CompletableFuture<LeaderboardEntry> getPlayerRank(String bossId, UUID playerId) {
+        String key = bossId.toUpperCase();
+        return afterLeaderboardsLoaded(() -> {
+            DamageRanking ranking = plugin.getLeaderboardManager().getRanking(key);
+            int rank = ranking != null ? ranking.getRank(playerId) : 0;
+            return rank > 0 ? toEntry(key, rank, playerId, ranking.getDamage(playerId)) : null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<FightResult>> getFightHistory(String bossId, int limit) {
+        return plugin.getDatabaseManager().loadFightHistoryAsync(bossId, null, limit)
+                .thenApply(Collections::unmodifiableList);
+    }
+
+    @Override
+    public CompletableFuture<List<FightResult>> getPlayerHistory(UUID playerId, int limit) {
+        return plugin.getDatabaseManager().loadFightHistoryAsync(null, playerId, limit)
+                .thenApply(Collections::unmodifiableList);
+    }
+
+    private LeaderboardEntry toEntry(String bossId, int rank, UUID playerId, double damage) {
+        return new LeaderboardEntry(bossId, rank, playerId, plugin.getPlayerNameManager().getName(playerId), damage);
+    }
+
+    private <T> CompletableFuture<T> afterLeaderboardsLoaded(Supplier<T> query) {
+        // The load completes on the main thread, so the query runs there too
+        return plugin.getLeaderboardManager().whenLoaded().thenCompose(ignored -> onMainThread(query));
+    }
+
+    private <T> CompletableFuture<T> onMainThread(Supplier<T> query) {
+        if (!plugin.isEnabled()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("DamageTracker is disabled"));
+        }
+        if (Bukkit.isPrimaryThread()) {
+            try {
+                return CompletableFuture.completedFuture(query.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                try {
+                    future.complete(query.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The plugin was disabled in the meantime
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
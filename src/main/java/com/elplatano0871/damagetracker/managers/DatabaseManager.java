@@ -1,24 +1,45 @@
 package com.elplatano0871.damagetracker.managers;
 
 import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.api.DpsTimeline;
+import com.elplatano0871.damagetracker.api.FightResult;
+import com.elplatano0871.damagetracker.session.FightRecord;
+import com.elplatano0871.damagetracker.session.TimelineCodec;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class DatabaseManager {
     private final DamageTracker plugin;
+    private final ExecutorService databaseExecutor;
     private Connection connection;
     private FileConfiguration formatConfig;
     private File formatFile;
     private String nameFormat;
     private String damageFormat;
     private String symbolFormat;
+    private String entryFormat;
+    private final Map<String, PendingWrite> pendingWrites;
+    private final AtomicBoolean flushScheduled;
 
     public DatabaseManager(DamageTracker plugin) {
         this.plugin = plugin;
+        this.pendingWrites = new ConcurrentHashMap<>();
+        this.flushScheduled = new AtomicBoolean(false);
+        this.databaseExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DamageTracker-Database");
+            thread.setDaemon(true);
+            return thread;
+        });
         this.loadFormatConfig();
         this.initializeDatabase();
     }
@@ -40,6 +61,7 @@ public class DatabaseManager {
         nameFormat = formatConfig.getString("formats.name", "&e{name}");
         damageFormat = formatConfig.getString("formats.damage", "&c{damage}");
         symbolFormat = formatConfig.getString("formats.symbol", "⚔");
+        entryFormat = formatConfig.getString("format", "{symbol} {position}. {name}: {damage}");
     }
 
     private void initializeDatabase() {
@@ -66,73 +88,493 @@ public class DatabaseManager {
                     PRIMARY KEY (boss_name, player_uuid)
                 )
             """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS fight_history (
+                    fight_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    boss_name TEXT,
+                    started_at INTEGER,
+                    ended_at INTEGER,
+                    max_health DOUBLE,
+                    total_damage DOUBLE,
+                    participants INTEGER
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS fight_history_damage (
+                    fight_id INTEGER,
+                    player_uuid TEXT,
+                    damage DOUBLE,
+                    PRIMARY KEY (fight_id, player_uuid)
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS fight_history_timeline (
+                    fight_id INTEGER,
+                    player_uuid TEXT,
+                    bucket_ms INTEGER,
+                    start_bucket INTEGER,
+                    peak_dps DOUBLE,
+                    active_ms INTEGER,
+                    data BLOB,
+                    PRIMARY KEY (fight_id, player_uuid)
+                )
+            """);
+            // History queries filter by boss or by participant
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_fight_history_boss ON fight_history (boss_name, ended_at)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_fight_history_damage_player ON fight_history_damage (player_uuid)");
         } catch (SQLException e) {
             plugin.getLogger().severe("Could not create tables: " + e.getMessage());
         }
     }
 
+    /**
+     * Queues a write of the accumulated damage of a player. Writes are coalesced per boss and
+     * player and flushed in one batch on the database thread, so only the latest value is stored.
+     *
+     * @param bossName The name of the boss.
+     * @param playerUuid The UUID of the player.
+     * @param playerName The name of the player.
+     * @param damage The accumulated damage of the player.
+     */
     public void updateDamage(String bossName, UUID playerUuid, String playerName, double damage) {
         if (bossName == null || bossName.trim().isEmpty()) {
             plugin.getLogger().warning("Attempted to update damage with null or empty boss name");
             return;
         }
+
+        long start = plugin.getMetrics().getDatabaseEnqueueTime().start();
+        long span = plugin.getProfiler().begin("database.enqueue");
+        try {
+            String upperBossName = bossName.toUpperCase();
+            pendingWrites.put(upperBossName + ':' + playerUuid, new PendingWrite(upperBossName, playerUuid, playerName, damage));
+            if (flushScheduled.compareAndSet(false, true)) {
+                databaseExecutor.execute(this::flushPendingWrites);
+            }
+        } finally {
+            plugin.getProfiler().end(span);
+        }
+        plugin.getMetrics().getDatabaseEnqueueTime().stop(start);
+    }
+
+    /**
+     * Gets the number of damage writes waiting for the database thread.
+     *
+     * @return The number of pending writes.
+     */
+    public int getPendingWriteCount() {
+        return pendingWrites.size();
+    }
+
+    private void flushPendingWrites() {
+        // Clear the flag first so writes queued while flushing schedule another pass
+        flushScheduled.set(false);
+        if (connection == null || pendingWrites.isEmpty()) {
+            pendingWrites.clear();
+            return;
+        }
+
         String sql = """
             INSERT OR REPLACE INTO boss_damage (boss_name, player_uuid, player_name, damage, last_updated)
             VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
         """;
 
+        long start = plugin.getMetrics().getDatabaseFlushTime().start();
+        long span = plugin.getProfiler().begin("database.flush");
+        List<Map.Entry<String, PendingWrite>> written = new ArrayList<>();
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, bossName.toUpperCase());
-            pstmt.setString(2, playerUuid.toString());
-            pstmt.setString(3, playerName);
-            pstmt.setDouble(4, damage);
-            pstmt.executeUpdate();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (Map.Entry<String, PendingWrite> entry : pendingWrites.entrySet()) {
+                    PendingWrite write = entry.getValue();
+                    written.add(Map.entry(entry.getKey(), write));
+                    pstmt.setString(1, write.bossName);
+                    pstmt.setString(2, write.playerUuid.toString());
+                    pstmt.setString(3, write.playerName);
+                    pstmt.setDouble(4, write.damage);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                connection.commit();
+                // Writes only leave the queue once committed, a failed flush keeps them for the next one.
+                // A newer total queued since it was read stays as well.
+                for (Map.Entry<String, PendingWrite> entry : written) {
+                    pendingWrites.remove(entry.getKey(), entry.getValue());
+                }
+                plugin.getMetrics().getDatabaseRowsWritten().add(written.size());
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
         } catch (SQLException e) {
             plugin.getLogger().severe("Could not update damage: " + e.getMessage());
+        } finally {
+            plugin.getProfiler().end(span);
         }
+        plugin.getMetrics().getDatabaseFlushTime().stop(start);
     }
 
-    public String getFormattedLeaderboard(String bossName) {
-        int count = 0;
-        
-        String sql = """
-            SELECT player_name, damage
-            FROM boss_damage
-            WHERE boss_name = ?
-            ORDER BY damage DESC
-            LIMIT 10
-        """;
+    /**
+     * Loads every stored leaderboard entry, off the main thread.
+     *
+     * @return A future completed with the stored rows.
+     */
+    public CompletableFuture<List<LeaderboardRow>> loadLeaderboardsAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            List<LeaderboardRow> rows = new ArrayList<>();
+            if (connection == null) return rows;
+            String sql = "SELECT boss_name, player_uuid, player_name, damage FROM boss_damage";
 
-        StringBuilder result = new StringBuilder();
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    try {
+                        rows.add(new LeaderboardRow(rs.getString("boss_name"), UUID.fromString(rs.getString("player_uuid")),
+                                rs.getString("player_name"), rs.getDouble("damage")));
+                    } catch (IllegalArgumentException ignored) {
+                        // Skip rows with malformed UUIDs
+                    }
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not load leaderboards: " + e.getMessage());
+            }
+            return rows;
+        }, databaseExecutor);
+    }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, bossName.toUpperCase());
-            ResultSet rs = pstmt.executeQuery();
-
-            int position = 1;
-            while (rs.next()) {
-                count ++;
-                String playerName = rs.getString("player_name");
-                double damage = rs.getDouble("damage");
-
-                String entry = formatConfig.getString("format", "{symbol} {position}. {name}: {damage}")
-                        .replace("{symbol}", symbolFormat)
-                        .replace("{position}", String.valueOf(position))
-                        .replace("{name}", nameFormat.replace("{name}", playerName))
-                        .replace("{damage}", damageFormat.replace("{damage}", String.format("%.2f", damage)));
-
-                result.append(entry).append("\n");
-                position++;
+    /**
+     * Loads the last known name of every player stored in the database, off the main thread.
+     *
+     * @return A future completed with a map of player UUIDs to names.
+     */
+    public CompletableFuture<Map<UUID, String>> loadPlayerNamesAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, String> names = new HashMap<>();
+            if (connection == null) return names;
+            String sql = "SELECT player_uuid, player_name FROM boss_damage ORDER BY last_updated";
+
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    String playerName = rs.getString("player_name");
+                    if (playerName == null) continue;
+                    try {
+                        // Later rows win, so the most recent name is kept
+                        names.put(UUID.fromString(rs.getString("player_uuid")), playerName);
+                    } catch (IllegalArgumentException ignored) {
+                        // Skip rows with malformed UUIDs
+                    }
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not load player names: " + e.getMessage());
             }
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Could not get leaderboard: " + e.getMessage());
-            return "Error loading leaderboard";
-        }
+            return names;
+        }, databaseExecutor);
+    }
+
+    /**
+     * Writes a finished fight, the damage of every participant and their compressed DPS timelines
+     * to the fight history, off the main thread.
+     *
+     * @param record The snapshot of the fight.
+     */
+    public void saveFightAsync(FightRecord record) {
+        databaseExecutor.execute(() -> {
+            if (connection == null) return;
+            long span = plugin.getProfiler().begin("database.saveFight");
+            String fightSql = """
+                INSERT INTO fight_history (boss_name, started_at, ended_at, max_health, total_damage, participants)
+                VALUES (?, ?, ?, ?, ?, ?)
+            """;
+            String damageSql = "INSERT OR REPLACE INTO fight_history_damage (fight_id, player_uuid, damage) VALUES (?, ?, ?)";
+            String timelineSql = """
+                INSERT OR REPLACE INTO fight_history_timeline (fight_id, player_uuid, bucket_ms, start_bucket, peak_dps, active_ms, data)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+            try {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (PreparedStatement fightStmt = connection.prepareStatement(fightSql, Statement.RETURN_GENERATED_KEYS);
+                     PreparedStatement damageStmt = connection.prepareStatement(damageSql);
+                     PreparedStatement timelineStmt = connection.prepareStatement(timelineSql)) {
+                    fightStmt.setString(1, record.getBossId());
+                    fightStmt.setLong(2, record.getStartedAt());
+                    fightStmt.setLong(3, record.getEndedAt());
+                    fightStmt.setDouble(4, record.getMaxHealth());
+                    fightStmt.setDouble(5, record.getTotalDamage());
+                    fightStmt.setInt(6, record.getDamage().size());
+                    fightStmt.executeUpdate();
+
+                    long fightId;
+                    try (ResultSet keys = fightStmt.getGeneratedKeys()) {
+                        if (!keys.next()) throw new SQLException("No fight ID generated");
+                        fightId = keys.getLong(1);
+                    }
+
+                    for (Map.Entry<UUID, Double> entry : record.getDamage().entrySet()) {
+                        damageStmt.setLong(1, fightId);
+                        damageStmt.setString(2, entry.getKey().toString());
+                        damageStmt.setDouble(3, entry.getValue());
+                        damageStmt.addBatch();
+                    }
+                    damageStmt.executeBatch();
+
+                    if (!record.getTimelines().isEmpty()) {
+                        for (Map.Entry<UUID, DpsTimeline> entry : record.getTimelines().entrySet()) {
+                            DpsTimeline timeline = entry.getValue();
+                            timelineStmt.setLong(1, fightId);
+                            timelineStmt.setString(2, entry.getKey().toString());
+                            timelineStmt.setLong(3, timeline.getBucketMillis());
+                            timelineStmt.setLong(4, timeline.getStartBucket());
+                            timelineStmt.setDouble(5, timeline.getPeakDps());
+                            timelineStmt.setLong(6, timeline.getActiveMillis());
+                            timelineStmt.setBytes(7, TimelineCodec.encode(timeline));
+                            timelineStmt.addBatch();
+                        }
+                        timelineStmt.executeBatch();
+                    }
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not save fight history: " + e.getMessage());
+            } finally {
+                plugin.getProfiler().end(span);
+            }
+        });
+    }
+
+    /**
+     * Loads the most recent fights of the fight history, off the main thread.
+     * Runs after the writes queued before it, so fights saved earlier are included.
+     * Stored DPS timelines are attached to the results.
+     *
+     * @param bossName The name of the boss, or null for every boss.
+     * @param playerUuid Only fights this player took part in, or null for every fight.
+     * @param limit The maximum number of fights.
+     * @return A future completed with the fights, most recent first.
+     */
+    public CompletableFuture<List<FightResult>> loadFightHistoryAsync(String bossName, UUID playerUuid, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<FightResult> fights = new ArrayList<>();
+            if (connection == null || limit <= 0) return fights;
+
+            StringBuilder filter = new StringBuilder("1 = 1");
+            if (bossName != null) {
+                filter.append(" AND boss_name = ?");
+            }
+            if (playerUuid != null) {
+                filter.append(" AND fight_id IN (SELECT fight_id FROM fight_history_damage WHERE player_uuid = ?)");
+            }
+            String sql = "SELECT f.fight_id, f.boss_name, f.started_at, f.ended_at, f.max_health, d.player_uuid, d.damage, "
+                    + "t.bucket_ms, t.start_bucket, t.peak_dps, t.active_ms, t.data "
+                    + "FROM (SELECT * FROM fight_history WHERE " + filter + " ORDER BY ended_at DESC, fight_id DESC LIMIT ?) f "
+                    + "LEFT JOIN fight_history_damage d ON d.fight_id = f.fight_id "
+                    + "LEFT JOIN fight_history_timeline t ON t.fight_id = d.fight_id AND t.player_uuid = d.player_uuid "
+                    + "ORDER BY f.ended_at DESC, f.fight_id DESC";
+
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                int index = 1;
+                if (bossName != null) {
+                    stmt.setString(index++, bossName.toUpperCase());
+                }
+                if (playerUuid != null) {
+                    stmt.setString(index++, playerUuid.toString());
+                }
+                stmt.setInt(index, limit);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    long fightId = -1;
+                    String fightBoss = null;
+                    long startedAt = 0;
+                    long endedAt = 0;
+                    double maxHealth = 0;
+                    Map<UUID, Double> damage = new HashMap<>();
+                    Map<UUID, DpsTimeline> timelines = new HashMap<>();
+                    while (rs.next()) {
+                        // Rows of a fight are adjacent, a new ID closes the previous fight
+                        if (rs.getLong("fight_id") != fightId) {
+                            if (fightBoss != null) {
+                                fights.add(toFightResult(fightBoss, fightId, damage, timelines, maxHealth, startedAt, endedAt));
+                            }
+                            fightId = rs.getLong("fight_id");
+                            fightBoss = rs.getString("boss_name");
+                            startedAt = rs.getLong("started_at");
+                            endedAt = rs.getLong("ended_at");
+                            maxHealth = rs.getDouble("max_health");
+                            damage = new HashMap<>();
+                            timelines = new HashMap<>();
+                        }
+                        String uuid = rs.getString("player_uuid");
+                        if (uuid == null) continue;
+                        UUID playerId;
+                        try {
+                            playerId = UUID.fromString(uuid);
+                        } catch (IllegalArgumentException ignored) {
+                            // Skip rows with malformed UUIDs
+                            continue;
+                        }
+                        damage.put(playerId, rs.getDouble("damage"));
+
+                        byte[] data = rs.getBytes("data");
+                        if (data == null) continue;
+                        try {
+                            timelines.put(playerId, new DpsTimeline(rs.getLong("bucket_ms"), rs.getLong("start_bucket"),
+                                    TimelineCodec.decode(data), rs.getDouble("peak_dps"), rs.getLong("active_ms")));
+                        } catch (IllegalArgumentException e) {
+                            plugin.getLogger().warning("Skipping corrupt timeline of fight " + fightId + ": " + e.getMessage());
+                        }
+                    }
+                    if (fightBoss != null) {
+                        fights.add(toFightResult(fightBoss, fightId, damage, timelines, maxHealth, startedAt, endedAt));
+                    }
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not load fight history: " + e.getMessage());
+            }
+            return fights;
+        }, databaseExecutor);
+    }
+
+    private static FightResult toFightResult(String bossName, long fightId, Map<UUID, Double> damage,
+                                             Map<UUID, DpsTimeline> timelines, double maxHealth,
+                                             long startedAt, long endedAt) {
+        FightResult result = FightResult.of(bossName, fightId, damage, maxHealth, startedAt, endedAt);
+        return timelines.isEmpty() ? result : result.withTimelines(timelines);
+    }
+
+    /**
+     * Deletes the leaderboard rows and the fight history of a boss, off the main thread.
+     * Damage writes of the boss that were not flushed yet are dropped.
+     *
+     * @param bossName The name of the boss.
+     */
+    public void deleteBossAsync(String bossName) {
+        String upperBossName = bossName.toUpperCase();
+        pendingWrites.keySet().removeIf(key -> key.startsWith(upperBossName + ':'));
+        databaseExecutor.execute(() -> {
+            if (connection == null) return;
+
+            try {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (PreparedStatement damageStmt = connection.prepareStatement("DELETE FROM boss_damage WHERE boss_name = ?");
+                     PreparedStatement fightDamageStmt = connection.prepareStatement(
+                             "DELETE FROM fight_history_damage WHERE fight_id IN (SELECT fight_id FROM fight_history WHERE boss_name = ?)");
+                     PreparedStatement timelineStmt = connection.prepareStatement(
+                             "DELETE FROM fight_history_timeline WHERE fight_id IN (SELECT fight_id FROM fight_history WHERE boss_name = ?)");
+                     PreparedStatement fightStmt = connection.prepareStatement("DELETE FROM fight_history WHERE boss_name = ?")) {
+                    damageStmt.setString(1, upperBossName);
+                    damageStmt.executeUpdate();
+                    fightDamageStmt.setString(1, upperBossName);
+                    fightDamageStmt.executeUpdate();
+                    timelineStmt.setString(1, upperBossName);
+                    timelineStmt.executeUpdate();
+                    fightStmt.setString(1, upperBossName);
+                    fightStmt.executeUpdate();
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not delete boss data: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Deletes the leaderboard row of a player, off the main thread.
+     * A damage write of the player that was not flushed yet is dropped.
+     *
+     * @param bossName The name of the boss.
+     * @param playerUuid The UUID of the player.
+     */
+    public void deleteDamageAsync(String bossName, UUID playerUuid) {
+        String upperBossName = bossName.toUpperCase();
+        pendingWrites.remove(upperBossName + ':' + playerUuid);
+        databaseExecutor.execute(() -> {
+            if (connection == null) return;
+
+            try (PreparedStatement pstmt = connection.prepareStatement(
+                    "DELETE FROM boss_damage WHERE boss_name = ? AND player_uuid = ?")) {
+                pstmt.setString(1, upperBossName);
+                pstmt.setString(2, playerUuid.toString());
+                pstmt.executeUpdate();
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not delete damage: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Updates the stored name of a player in every leaderboard row, off the main thread.
+     *
+     * @param playerUuid The UUID of the player.
+     * @param playerName The current name of the player.
+     */
+    public void updatePlayerNameAsync(UUID playerUuid, String playerName) {
+        databaseExecutor.execute(() -> {
+            if (connection == null) return;
+            String sql = "UPDATE boss_damage SET player_name = ? WHERE player_uuid = ? AND player_name <> ?";
+
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, playerName);
+                pstmt.setString(2, playerUuid.toString());
+                pstmt.setString(3, playerName);
+                pstmt.executeUpdate();
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Could not update player name: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Gets the formatted top 10 of a boss, served from the in-memory leaderboard.
+     *
+     * @param bossName The name of the boss.
+     * @return The formatted leaderboard, one entry per line.
+     */
+    public String getFormattedLeaderboard(String bossName) {
+        return plugin.getLeaderboardManager().getFormattedLeaderboard(bossName);
+    }
 
-        return result.toString().trim();
+    /**
+     * Formats a single leaderboard entry with the leaderboard_format.yml settings.
+     *
+     * @param position The 1-based position.
+     * @param playerName The name of the player.
+     * @param damage The damage of the player.
+     * @return The formatted entry.
+     */
+    public String formatLeaderboardEntry(int position, String playerName, double damage) {
+        return entryFormat
+                .replace("{symbol}", symbolFormat)
+                .replace("{position}", String.valueOf(position))
+                .replace("{name}", nameFormat.replace("{name}", playerName))
+                .replace("{damage}", damageFormat.replace("{damage}", plugin.getDamageManager().formatDamageValue(damage)));
     }
 
     public void close() {
+        // Let queued work finish before the connection goes away
+        databaseExecutor.shutdown();
+        try {
+            if (!databaseExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for pending database work");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
         try {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
@@ -145,4 +587,51 @@ public class DatabaseManager {
     public void reloadConfig() {
         loadFormatConfig();
     }
+
+    /**
+     * A stored leaderboard entry.
+     */
+    public static final class LeaderboardRow {
+        private final String bossName;
+        private final UUID playerUuid;
+        private final String playerName;
+        private final double damage;
+
+        public LeaderboardRow(String bossName, UUID playerUuid, String playerName, double damage) {
+            this.bossName = bossName;
+            this.playerUuid = playerUuid;
+            this.playerName = playerName;
+            this.damage = damage;
+        }
+
+        public String getBossName() {
+            return bossName;
+        }
+
+        public UUID getPlayerUuid() {
+            return playerUuid;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public double getDamage() {
+            return damage;
+        }
+    }
+
+    private static final class PendingWrite {
+        private final String bossName;
+        private final UUID playerUuid;
+        private final String playerName;
+        private final double damage;
+
+        private PendingWrite(String bossName, UUID playerUuid, String playerName, double damage) {
+            this.bossName = bossName;
+            this.playerUuid = playerUuid;
+            this.playerName = playerName;
+            this.damage = damage;
+        }
+    }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.elplatano0871.damagetracker.managers;
 
 import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.api.FightResult;
 import com.elplatano0871.damagetracker.configs.BossConfig;
+import com.elplatano0871.damagetracker.scheduler.TimingWheel;
 import de.oliver.fancyholograms.api.FancyHologramsPlugin;
 import de.oliver.fancyholograms.api.data.TextHologramData;
+import de.oliver.fancyholograms.api.data.property.Visibility;
 import de.oliver.fancyholograms.api.hologram.Hologram;
 import org.bukkit.Bukkit;
 import org.bukkit.Color;
@@ -12,7 +15,6 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Display;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.joml.Vector3f;
 
 import java.io.File;
@@ -20,8 +22,14 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class HologramManager {
+    private static final String HOLOGRAM_PREFIX = "dt_victory_";
+
     private final DamageTracker plugin;
-    private final Map<String, String> activeHolograms;
+    private final Map<String, PooledHologram> activeHolograms;
+    private final Deque<PooledHologram> idleHolograms;
+    private int nextHologramId;
+    private long createdHolograms;
+    private long reusedHolograms;
     private boolean fancyHologramsAvailable;
     private FileConfiguration hologramConfig;
     private File hologramConfigFile;
@@ -29,10 +37,16 @@ public class HologramManager {
     // Hologram configurations
     private String backgroundColor;
     private int hologramDuration;
+    private int maxIdleHolograms;
+    private double viewRadius;
+    private boolean personalLineEnabled;
+    private String personalDamageFormat;
+    private String nonParticipantFormat;
     
     public HologramManager(DamageTracker plugin) {
         this.plugin = plugin;
         this.activeHolograms = new ConcurrentHashMap<>();
+        this.idleHolograms = new ArrayDeque<>();
         this.fancyHologramsAvailable = checkFancyHologramsAvailability();
         loadHologramConfig();
     }
@@ -53,6 +67,12 @@ public class HologramManager {
         // Load configurations
         backgroundColor = hologramConfig.getString("background_color", "transparent");
         hologramDuration = hologramConfig.getInt("hologram_duration", 30);
+        maxIdleHolograms = Math.max(0, hologramConfig.getInt("pool_size", 8));
+        viewRadius = Math.max(0, hologramConfig.getDouble("view_radius", 64));
+        personalLineEnabled = hologramConfig.getBoolean("personal_line.enabled", false);
+        personalDamageFormat = hologramConfig.getString("personal_line.format",
+                "&7Your damage: &e{damage} &7(&e#{position}&7, &e{percentage}%&7)");
+        nonParticipantFormat = hologramConfig.getString("personal_line.non_participant", "&7You did not take part in this fight");
         
         plugin.getLogger().info("Hologram configuration loaded: background_color=" + backgroundColor + ", duration=" + hologramDuration + "s");
     }
@@ -118,11 +138,10 @@ public class HologramManager {
     }
     
     /**
-     * Creates a victory hologram for a boss
+     * Creates a victory hologram for a boss from the result of the fight
      */
-    public void createVictoryHologram(String bossName, String hologramType, String victoryMessageId, 
-                                     List<UUID> participants, Location bossLocation, 
-                                     Map<UUID, Double> bossDamageMap, double maxHealth, String displayName) {
+    public void createVictoryHologram(String bossName, String hologramType, String victoryMessageId,
+                                     FightResult result, Location bossLocation, String displayName) {
         // Check if hologram type is FANCY
         if (!"FANCY".equalsIgnoreCase(hologramType)) {
             return;
@@ -136,6 +155,7 @@ public class HologramManager {
         
         try {
             // Calculate average location of participants
+            List<UUID> participants = result.getParticipants();
             Location hologramLocation = calculateParticipantsLocation(participants, bossLocation);
             if (hologramLocation == null) {
                 plugin.getLogger().warning("Could not calculate location for boss hologram: " + bossName);
@@ -148,44 +168,29 @@ public class HologramManager {
                 victoryMessage = "Boss defeated!";
             }
             
+            // Reuse an idle hologram when possible instead of creating a new one
+            PooledHologram pooled = takeIdleHologram();
+            if (pooled == null) {
+                pooled = new PooledHologram(nextHologramId++);
+            }
+
             // Process placeholders
-            String processedMessage = processVictoryMessagePlaceholders(victoryMessage, displayName, bossDamageMap, maxHealth);
-            
-            // Create unique name for hologram
-            String hologramName = "victory_" + bossName.toLowerCase() + "_" + System.currentTimeMillis();
-            
-            // Create hologram data
-            TextHologramData hologramData = new TextHologramData(hologramName, hologramLocation);
+            String processedMessage = processVictoryMessagePlaceholders(victoryMessage, displayName, result, pooled);
             
             // Configure text as list of lines (split by line breaks)
             List<String> lines = Arrays.asList(processedMessage.replace("&", "§").split("\\n"));
-            hologramData.setText(lines);
-            
-            // Configure background color using configuration
-            Color bgColor = parseBackgroundColor(backgroundColor);
-            if (bgColor != null) {
-                hologramData.setBackground(bgColor);
-            }
-            
-            // Configure billboard
-            hologramData.setBillboard(Display.Billboard.CENTER);
-            
-            // Configure scale using Vector3f
-            hologramData.setScale(new Vector3f(1.2f, 1.2f, 1.2f));
-            
-            // Create and register hologram
-            de.oliver.fancyholograms.api.HologramManager manager = FancyHologramsPlugin.get().getHologramManager();
-            Hologram hologram = manager.create(hologramData);
-            manager.addHologram(hologram);
-            
-            // Save reference of active hologram
-            activeHolograms.put(hologramName, bossName);
-            
+
+            pooled.bossName = bossName;
+            pooled.location = hologramLocation;
+            pooled.participants = new HashSet<>(participants);
+            show(pooled, lines);
+            activeHolograms.put(pooled.name, pooled);
+
             plugin.getLogger().info("Victory hologram created for boss: " + bossName + " at " + 
                                   hologramLocation.getX() + ", " + hologramLocation.getY() + ", " + hologramLocation.getZ());
             
             // Schedule automatic hologram removal using configured duration
-            scheduleHologramRemoval(hologramName, hologramDuration);
+            scheduleHologramRemoval(pooled, hologramDuration);
             
         } catch (Exception e) {
             plugin.getLogger().severe("Error creating victory hologram for " + bossName + ": " + e.getMessage());
@@ -196,47 +201,82 @@ public class HologramManager {
     /**
      * Processes placeholders in victory message
      */
-    private String processVictoryMessagePlaceholders(String victoryMessage, String bossDisplayName, 
-                                                    Map<UUID, Double> bossDamageMap, double maxHealth) {
+    private String processVictoryMessagePlaceholders(String victoryMessage, String bossDisplayName,
+                                                    FightResult result, PooledHologram pooled) {
         // Replace {boss_name}
         String processedMessage = victoryMessage.replace("{boss_name}", bossDisplayName);
         
         // Process {top_players} if exists
         if (processedMessage.contains("{top_players}")) {
-            String topPlayersMessage = generateTopPlayersMessage(bossDamageMap, maxHealth);
+            String topPlayersMessage = generateTopPlayersMessage(result);
             processedMessage = processedMessage.replace("{top_players}", topPlayersMessage);
         }
         
+        // Replace {personal_damage} with a per-viewer line resolved by our placeholder
+        pooled.personalLines = Map.of();
+        if (personalLineEnabled && processedMessage.contains("{personal_damage}")) {
+            pooled.personalLines = generatePersonalLines(result);
+            processedMessage = processedMessage.replace("{personal_damage}", "%dt_victory_" + pooled.id + "%");
+        }
+
         // Replace {personal_damage} with general statistics
         if (processedMessage.contains("{personal_damage}")) {
-            String generalStats = generateGeneralDamageStats(bossDamageMap, maxHealth);
+            String generalStats = generateGeneralDamageStats(result);
             processedMessage = processedMessage.replace("{personal_damage}", generalStats);
         }
         
         return processedMessage;
     }
     
+    /**
+     * Renders the personal line of every participant once, so placeholder requests are plain lookups
+     */
+    private Map<UUID, String> generatePersonalLines(FightResult result) {
+        if (result.getParticipantCount() == 0) {
+            return Map.of();
+        }
+
+        Map<UUID, String> lines = new HashMap<>();
+        for (int i = 0; i < result.getParticipantCount(); i++) {
+            lines.put(result.getPlayerAt(i), personalDamageFormat
+                    .replace("{position}", String.valueOf(i + 1))
+                    .replace("{damage}", plugin.formatDamage(result.getDamageAt(i), result.getMaxHealth(), "numeric"))
+                    .replace("{percentage}", plugin.formatPercentage(result.getShareAt(i) * 100))
+                    .replace("&", "§"));
+        }
+        return Map.copyOf(lines);
+    }
+
+    /**
+     * Gets the personal line of a victory hologram for a viewer, used by the dt_victory_<id> placeholder
+     */
+    public String getPersonalLine(int hologramId, UUID playerId) {
+        PooledHologram pooled = activeHolograms.get(HOLOGRAM_PREFIX + hologramId);
+        if (pooled == null) {
+            return "";
+        }
+        String line = playerId != null ? pooled.personalLines.get(playerId) : null;
+        return line != null ? line : nonParticipantFormat.replace("&", "§");
+    }
+
     /**
      * Generates general damage statistics to replace {personal_damage}
      */
-    private String generateGeneralDamageStats(Map<UUID, Double> bossDamageMap, double maxHealth) {
-        if (bossDamageMap == null || bossDamageMap.isEmpty()) {
+    private String generateGeneralDamageStats(FightResult result) {
+        if (result.getParticipantCount() == 0) {
             return "";
         }
         
-        double totalDamage = bossDamageMap.values().stream().mapToDouble(Double::doubleValue).sum();
-        int participantCount = bossDamageMap.size();
-        
-        String totalDamageStr = plugin.formatDamage(totalDamage, maxHealth, "numeric");
+        String totalDamageStr = plugin.formatDamage(result.getTotalDamage(), result.getMaxHealth(), "numeric");
         
-        return String.format("<gray>Total: %s | %d participants", totalDamageStr, participantCount);
+        return String.format("<gray>Total: %s | %d participants", totalDamageStr, result.getParticipantCount());
     }
     
     /**
      * Generates top players message
      */
-    private String generateTopPlayersMessage(Map<UUID, Double> bossDamageMap, double maxHealth) {
-        if (bossDamageMap == null || bossDamageMap.isEmpty()) {
+    private String generateTopPlayersMessage(FightResult result) {
+        if (result.getParticipantCount() == 0) {
             return "No participants";
         }
         
@@ -247,36 +287,31 @@ public class HologramManager {
         int topPlayersToShow = defaultConfig.getTopPlayersToShow();
         List<String> positionFormats = messageManager.getPositionFormat(defaultConfig.getPositionFormatId());
         
-        // Get top players
-        List<Map.Entry<UUID, Double>> topPlayers = plugin.getTopDamage(bossDamageMap, topPlayersToShow);
-        double totalDamage = bossDamageMap.values().stream().mapToDouble(Double::doubleValue).sum();
+        // The result is already sorted by damage
+        List<UUID> topPlayers = result.getTop(topPlayersToShow);
         
         // Create top players message
         StringBuilder topPlayersMessage = new StringBuilder();
-        for (int i = 0; i < Math.min(topPlayersToShow, topPlayers.size()); i++) {
-            Map.Entry<UUID, Double> entry = topPlayers.get(i);
-            Player player = Bukkit.getPlayer(entry.getKey());
-            if (player != null) {
-                String format = i < positionFormats.size() ?
-                        positionFormats.get(i) :
-                        "<gray>{player_name}: {damage} ({percentage}%)";
-                
-                String damageStr = plugin.formatDamage(entry.getValue(), maxHealth, "numeric");
-                double percentage = (entry.getValue() / totalDamage) * 100;
-                String percentageStr = String.format(plugin.percentageFormat, percentage);
-                
-                String prefix = plugin.getPlayerPrefix(player);
-                prefix = prefix.replaceAll("§([0-9a-fk-or])", "<$1>");
-                
-                format = format.replace("{player_name}", player.getName())
-                        .replace("{damage}", damageStr)
-                        .replace("{percentage}", percentageStr)
-                        .replace("{prefix}", prefix);
-                
-                topPlayersMessage.append(format);
-                if (i < Math.min(topPlayersToShow, topPlayers.size()) - 1) {
-                    topPlayersMessage.append("\n");
-                }
+        for (int i = 0; i < topPlayers.size(); i++) {
+            UUID playerId = topPlayers.get(i);
+            Player player = Bukkit.getPlayer(playerId);
+            String format = i < positionFormats.size() ?
+                    positionFormats.get(i) :
+                    "<gray>{player_name}: {damage} ({percentage}%)";
+            
+            String damageStr = plugin.formatDamage(result.getDamageAt(i), result.getMaxHealth(), "numeric");
+            String percentageStr = plugin.formatPercentage(result.getShareAt(i) * 100);
+            
+            String prefix = player != null ? plugin.getPlayerMiniMessagePrefix(player) : "";
+            
+            format = format.replace("{player_name}", plugin.getPlayerNameManager().getName(playerId))
+                    .replace("{damage}", damageStr)
+                    .replace("{percentage}", percentageStr)
+                    .replace("{prefix}", prefix);
+            
+            topPlayersMessage.append(format);
+            if (i < topPlayers.size() - 1) {
+                topPlayersMessage.append("\n");
             }
         }
         
@@ -318,56 +353,305 @@ public class HologramManager {
     }
     
     /**
-     * Schedules automatic removal of a hologram
+     * Takes an idle hologram from the pool, or returns null if none is left
      */
-    private void scheduleHologramRemoval(String hologramName, int delaySeconds) {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                removeHologram(hologramName);
+    private PooledHologram takeIdleHologram() {
+        de.oliver.fancyholograms.api.HologramManager manager = FancyHologramsPlugin.get().getHologramManager();
+
+        PooledHologram pooled;
+        while ((pooled = idleHolograms.poll()) != null) {
+            if (manager.getHologram(pooled.name).isPresent()) {
+                return pooled;
             }
-        }.runTaskLater(plugin, delaySeconds * 20L); // 20 ticks = 1 second
+            // The hologram was removed behind our back, e.g. by another plugin
+        }
+        return null;
     }
-    
+
     /**
-     * Removes a specific hologram
+     * Rewrites the text and location of a pooled hologram, creating it on first use, and shows it to its viewers
      */
-    public void removeHologram(String hologramName) {
-        if (!fancyHologramsAvailable) {
+    private void show(PooledHologram pooled, List<String> lines) {
+        de.oliver.fancyholograms.api.HologramManager manager = FancyHologramsPlugin.get().getHologramManager();
+        Optional<Hologram> existing = manager.getHologram(pooled.name);
+
+        Hologram hologram;
+        if (existing.isPresent() && existing.get().getData() instanceof TextHologramData data) {
+            hologram = existing.get();
+            data.setLocation(pooled.location);
+            data.setText(lines);
+            data.setBackground(parseBackgroundColor(backgroundColor));
+            data.setVisibility(viewRadius > 0 ? Visibility.MANUAL : Visibility.ALL);
+            reusedHolograms++;
+        } else {
+            TextHologramData hologramData = new TextHologramData(pooled.name, pooled.location);
+            hologramData.setText(lines);
+            hologramData.setBackground(parseBackgroundColor(backgroundColor));
+            hologramData.setBillboard(Display.Billboard.CENTER);
+            hologramData.setScale(new Vector3f(1.2f, 1.2f, 1.2f));
+            hologramData.setPersistent(false);
+            hologramData.setVisibility(viewRadius > 0 ? Visibility.MANUAL : Visibility.ALL);
+
+            hologram = manager.create(hologramData);
+            manager.addHologram(hologram);
+            createdHolograms++;
+        }
+
+        if (viewRadius > 0) {
+            // Participants always see their fight, everyone else only from within the view radius
+            for (UUID participantId : pooled.participants) {
+                Player player = Bukkit.getPlayer(participantId);
+                if (player != null && player.getWorld().equals(pooled.location.getWorld())) {
+                    addViewer(hologram, pooled, player);
+                }
+            }
+            for (Player player : plugin.getPlayerPositionIndex().getPlayersNear(pooled.location, viewRadius)) {
+                addViewer(hologram, pooled, player);
+            }
+        }
+        hologram.forceUpdate();
+    }
+
+    /**
+     * Updates the viewers of the active holograms after a player moved to another chunk or world.
+     * Called during the movement event, so the player is checked at the location it moves to
+     */
+    public void onPlayerChunkChange(Player player, Location location) {
+        if (viewRadius <= 0 || activeHolograms.isEmpty()) {
             return;
         }
-        
+
+        long span = plugin.getProfiler().begin("hologram.chunkChange");
         try {
             de.oliver.fancyholograms.api.HologramManager manager = FancyHologramsPlugin.get().getHologramManager();
-            
-            // Get hologram by name and remove it
-            Optional<Hologram> hologramOpt = manager.getHologram(hologramName);
-            if (hologramOpt.isPresent()) {
-                manager.removeHologram(hologramOpt.get());
-                
-                String bossName = activeHolograms.remove(hologramName);
-                if (bossName != null) {
-                    plugin.getLogger().info("Hologram removed for boss: " + bossName);
+            double radiusSquared = viewRadius * viewRadius;
+            for (PooledHologram pooled : activeHolograms.values()) {
+                boolean sameWorld = location.getWorld() != null && location.getWorld().equals(pooled.location.getWorld());
+                boolean inRange = sameWorld && location.distanceSquared(pooled.location) <= radiusSquared;
+                boolean participant = sameWorld && pooled.participants.contains(player.getUniqueId());
+                boolean viewer = pooled.viewers.contains(player.getUniqueId());
+                if ((inRange || participant) == viewer) continue;
+
+                Optional<Hologram> hologram = manager.getHologram(pooled.name);
+                if (hologram.isEmpty()) continue;
+
+                if (viewer) {
+                    removeViewer(hologram.get(), pooled, player.getUniqueId());
+                    hologram.get().updateShownStateFor(player);
+                } else {
+                    addViewer(hologram.get(), pooled, player);
                 }
             }
+        } finally {
+            plugin.getProfiler().end(span);
+        }
+    }
+
+    /**
+     * Forgets a player that left the server
+     */
+    public void onPlayerQuit(UUID playerId) {
+        if (activeHolograms.isEmpty()) {
+            return;
+        }
+
+        de.oliver.fancyholograms.api.HologramManager manager = FancyHologramsPlugin.get().getHologramManager();
+        for (PooledHologram pooled : activeHolograms.values()) {
+            if (pooled.viewers.contains(playerId)) {
+                manager.getHologram(pooled.name).ifPresent(hologram -> removeViewer(hologram, pooled, playerId));
+            }
+        }
+    }
+
+    private void addViewer(Hologram hologram, PooledHologram pooled, Player player) {
+        if (pooled.viewers.add(player.getUniqueId())) {
+            Visibility.ManualVisibility.addDistantViewer(hologram, player.getUniqueId());
+            hologram.updateShownStateFor(player);
+        }
+    }
+
+    private void removeViewer(Hologram hologram, PooledHologram pooled, UUID playerId) {
+        if (pooled.viewers.remove(playerId)) {
+            Visibility.ManualVisibility.removeDistantViewer(hologram, playerId);
+        }
+    }
+
+    /**
+     * Hides an active hologram and returns it to the pool, or deletes it if the pool is full
+     */
+    private void release(PooledHologram pooled) {
+        activeHolograms.remove(pooled.name);
+        cancelExpiry(pooled);
+        pooled.personalLines = Map.of();
+        pooled.participants = Set.of();
+
+        try {
+            de.oliver.fancyholograms.api.HologramManager manager = FancyHologramsPlugin.get().getHologramManager();
+            Optional<Hologram> hologram = manager.getHologram(pooled.name);
+            if (hologram.isEmpty()) {
+                pooled.viewers.clear();
+                return;
+            }
+
+            for (UUID viewerId : new ArrayList<>(pooled.viewers)) {
+                removeViewer(hologram.get(), pooled, viewerId);
+            }
+
+            if (idleHolograms.size() < maxIdleHolograms) {
+                hologram.get().getData().setVisibility(Visibility.MANUAL);
+                hologram.get().forceUpdate();
+                idleHolograms.add(pooled);
+            } else {
+                manager.removeHologram(hologram.get());
+            }
         } catch (Exception e) {
-            plugin.getLogger().warning("Error removing hologram " + hologramName + ": " + e.getMessage());
+            plugin.getLogger().warning("Error releasing hologram " + pooled.name + ": " + e.getMessage());
         }
     }
-    
+
+    /**
+     * Schedules automatic removal of a hologram
+     */
+    private void scheduleHologramRemoval(PooledHologram pooled, int delaySeconds) {
+        cancelExpiry(pooled);
+        pooled.expiry = plugin.getTickScheduler().schedule(delaySeconds * 20L, () -> {
+            pooled.expiry = null;
+            String bossName = pooled.bossName;
+            release(pooled);
+            plugin.getLogger().info("Hologram removed for boss: " + bossName);
+        });
+    }
+
+    private void cancelExpiry(PooledHologram pooled) {
+        if (pooled.expiry != null) {
+            pooled.expiry.cancel();
+            pooled.expiry = null;
+        }
+    }
+
+    /**
+     * Removes a specific hologram
+     */
+    public void removeHologram(String hologramName) {
+        if (!fancyHologramsAvailable) {
+            return;
+        }
+
+        PooledHologram pooled = activeHolograms.get(hologramName);
+        if (pooled != null) {
+            String bossName = pooled.bossName;
+            release(pooled);
+            plugin.getLogger().info("Hologram removed for boss: " + bossName);
+        }
+    }
+
     /**
      * Removes all active holograms
      */
     public void removeAllHolograms() {
-        for (String hologramName : new HashSet<>(activeHolograms.keySet())) {
-            removeHologram(hologramName);
+        for (PooledHologram pooled : activeHolograms.values()) {
+            cancelExpiry(pooled);
+        }
+
+        if (!fancyHologramsAvailable) {
+            return;
+        }
+
+        List<PooledHologram> all = new ArrayList<>(activeHolograms.values());
+        all.addAll(idleHolograms);
+        activeHolograms.clear();
+        idleHolograms.clear();
+
+        try {
+            de.oliver.fancyholograms.api.HologramManager manager = FancyHologramsPlugin.get().getHologramManager();
+            for (PooledHologram pooled : all) {
+                manager.getHologram(pooled.name).ifPresent(manager::removeHologram);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error removing holograms: " + e.getMessage());
         }
     }
-    
+
+    /**
+     * Gets the number of victory holograms currently shown
+     */
+    public int getActiveHologramCount() {
+        return activeHolograms.size();
+    }
+
+    /**
+     * Gets the names of the victory holograms currently shown for a boss
+     */
+    public List<String> getActiveHologramNames(String bossName) {
+        List<String> names = new ArrayList<>();
+        for (PooledHologram pooled : activeHolograms.values()) {
+            if (bossName.equalsIgnoreCase(pooled.bossName)) {
+                names.add(pooled.name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Gets the number of hidden holograms waiting to be reused
+     */
+    public int getIdleHologramCount() {
+        return idleHolograms.size();
+    }
+
+    /**
+     * Gets the number of holograms waiting for their expiry
+     */
+    public int getPendingExpiryCount() {
+        int count = 0;
+        for (PooledHologram pooled : activeHolograms.values()) {
+            if (pooled.expiry != null && pooled.expiry.isPending()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of holograms created since startup
+     */
+    public long getCreatedHologramCount() {
+        return createdHolograms;
+    }
+
+    /**
+     * Gets the number of victory holograms served from the pool since startup
+     */
+    public long getReusedHologramCount() {
+        return reusedHolograms;
+    }
+
     /**
      * Checks if FancyHolograms is available
      */
     public boolean isFancyHologramsAvailable() {
         return fancyHologramsAvailable;
     }
+
+    /**
+     * A reusable hologram handle. Its expiry is cancelled on release so a reused handle keeps only its newer deadline
+     */
+    private static final class PooledHologram {
+        private final int id;
+        private final String name;
+        private final Set<UUID> viewers;
+        private String bossName;
+        private Location location;
+        private Set<UUID> participants;
+        private volatile Map<UUID, String> personalLines;
+        private TimingWheel.Timeout expiry;
+
+        private PooledHologram(int id) {
+            this.id = id;
+            this.name = HOLOGRAM_PREFIX + id;
+            this.viewers = new HashSet<>();
+            this.participants = Set.of();
+            this.personalLines = Map.of();
+        }
+    }
 }
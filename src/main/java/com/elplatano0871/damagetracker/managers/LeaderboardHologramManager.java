@@ -0,0 +1,360 @@
+package com.elplatano0871.damagetracker.managers;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import de.oliver.fancyholograms.api.FancyHologramsPlugin;
+import de.oliver.fancyholograms.api.data.TextHologramData;
+import de.oliver.fancyholograms.api.hologram.Hologram;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Display;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Manages the persistent leaderboard holograms configured in holograms_config.yml.
+ * Holograms are created once and never polled: a leaderboard change marks the bound holograms
+ * dirty, and on the next tick only the lines whose entry changed are re-rendered. The hologram
+ * is only pushed to its viewers when at least one line differs from what it already shows.
+ */
+public class LeaderboardHologramManager {
+    private static final String HOLOGRAM_PREFIX = "dt_leaderboard_";
+
+    private final DamageTracker plugin;
+    private final Map<String, LeaderboardHologram> holograms;
+    private final Set<LeaderboardHologram> dirtyHolograms;
+    private boolean flushScheduled;
+
+    /**
+     * The source a leaderboard hologram is bound to.
+     */
+    public enum Mode {
+        /** The stored all-time leaderboard of the boss. */
+        ALL_TIME,
+        /** The damage of the fight currently running against the boss. */
+        LIVE
+    }
+
+    /**
+     * Constructor for LeaderboardHologramManager.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public LeaderboardHologramManager(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.holograms = new LinkedHashMap<>();
+        this.dirtyHolograms = new LinkedHashSet<>();
+    }
+
+    /**
+     * Loads the leaderboards section of holograms_config.yml and (re)creates the holograms.
+     */
+    public void reload() {
+        removeAll();
+
+        FileConfiguration config = YamlConfiguration.loadConfiguration(new File(plugin.getDataFolder(), "holograms_config.yml"));
+        ConfigurationSection section = config.getConfigurationSection("leaderboards");
+        if (section == null || section.getKeys(false).isEmpty()) return;
+
+        HologramManager hologramManager = plugin.getHologramManager();
+        if (hologramManager == null || !hologramManager.isFancyHologramsAvailable()) {
+            plugin.getLogger().warning("Leaderboard holograms are configured but FancyHolograms is not available");
+            return;
+        }
+
+        for (String id : section.getKeys(false)) {
+            ConfigurationSection entry = section.getConfigurationSection(id);
+            if (entry == null) continue;
+
+            LeaderboardHologram hologram = loadHologram(id, entry);
+            if (hologram != null && spawn(hologram)) {
+                holograms.put(id, hologram);
+                dirtyHolograms.add(hologram);
+            }
+        }
+
+        plugin.getLogger().info("Loaded " + holograms.size() + " leaderboard holograms");
+        scheduleFlush();
+    }
+
+    /**
+     * Marks the holograms bound to a boss and mode as changed. They are refreshed once on the next tick,
+     * however many times they are marked meanwhile.
+     *
+     * @param bossName The name of the boss.
+     * @param mode The mode of the leaderboard that changed.
+     */
+    public void markDirty(String bossName, Mode mode) {
+        if (holograms.isEmpty()) return;
+
+        boolean marked = false;
+        for (LeaderboardHologram hologram : holograms.values()) {
+            if (hologram.mode == mode && hologram.bossName.equalsIgnoreCase(bossName)) {
+                marked |= dirtyHolograms.add(hologram);
+            }
+        }
+        if (marked) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Gets how many ranks of a leaderboard the holograms bound to it show. A change outside of
+     * them does not need a refresh, unless a hologram shows percentages, which every entry changes.
+     *
+     * @param bossName The name of the boss.
+     * @param mode The mode of the leaderboard.
+     * @return The number of watched ranks, 0 if no hologram shows the leaderboard.
+     */
+    public int getWatchedRanks(String bossName, Mode mode) {
+        int watched = 0;
+        for (LeaderboardHologram hologram : holograms.values()) {
+            if (hologram.mode == mode && hologram.bossName.equalsIgnoreCase(bossName)) {
+                watched = Math.max(watched, hologram.usesPercentage ? Integer.MAX_VALUE : hologram.size);
+            }
+        }
+        return watched;
+    }
+
+    /**
+     * Removes every leaderboard hologram.
+     */
+    public void removeAll() {
+        if (!holograms.isEmpty()) {
+            try {
+                de.oliver.fancyholograms.api.HologramManager manager = FancyHologramsPlugin.get().getHologramManager();
+                for (LeaderboardHologram hologram : holograms.values()) {
+                    manager.getHologram(hologram.hologramName).ifPresent(manager::removeHologram);
+                }
+            } catch (Exception e) {
+                plugin.getLogger().warning("Error removing leaderboard holograms: " + e.getMessage());
+            }
+        }
+        holograms.clear();
+        dirtyHolograms.clear();
+    }
+
+    /**
+     * Gets the number of leaderboard holograms.
+     *
+     * @return The number of holograms.
+     */
+    public int getHologramCount() {
+        return holograms.size();
+    }
+
+    private LeaderboardHologram loadHologram(String id, ConfigurationSection section) {
+        String bossName = section.getString("boss");
+        if (bossName == null || bossName.isEmpty()) {
+            plugin.getLogger().warning("Leaderboard hologram '" + id + "' has no boss");
+            return null;
+        }
+
+        Mode mode;
+        String modeName = section.getString("mode", "ALL_TIME");
+        try {
+            mode = Mode.valueOf(modeName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid mode for leaderboard hologram '" + id + "': " + modeName + ". Using ALL_TIME.");
+            mode = Mode.ALL_TIME;
+        }
+
+        Location location = parseLocation(section.getString("location"));
+        if (location == null) {
+            plugin.getLogger().warning("Invalid location for leaderboard hologram '" + id + "'. Expected world,x,y,z");
+            return null;
+        }
+
+        return new LeaderboardHologram(
+                HOLOGRAM_PREFIX + id.toLowerCase(),
+                bossName.toUpperCase(),
+                mode,
+                location,
+                Math.max(1, section.getInt("lines", LeaderboardManager.LEADERBOARD_SIZE)),
+                section.getString("header", "&6&l{boss_name} &7- &e" + (mode == Mode.LIVE ? "Live" : "All time")),
+                section.getString("entry", "&e#{position} &f{name} &7- &c{damage}"),
+                section.getString("empty", "&7No damage recorded yet")
+        );
+    }
+
+    private Location parseLocation(String value) {
+        if (value == null) return null;
+
+        String[] parts = value.split(",");
+        if (parts.length != 4) return null;
+
+        World world = Bukkit.getWorld(parts[0].trim());
+        if (world == null) return null;
+
+        try {
+            return new Location(world, Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean spawn(LeaderboardHologram hologram) {
+        try {
+            de.oliver.fancyholograms.api.HologramManager manager = FancyHologramsPlugin.get().getHologramManager();
+            // A leftover with the same name would shadow ours, e.g. after a crash
+            manager.getHologram(hologram.hologramName).ifPresent(manager::removeHologram);
+
+            TextHologramData data = new TextHologramData(hologram.hologramName, hologram.location);
+            data.setText(new ArrayList<>(hologram.lines));
+            data.setBillboard(Display.Billboard.CENTER);
+            data.setPersistent(false);
+
+            manager.addHologram(manager.create(data));
+            return true;
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error creating leaderboard hologram " + hologram.hologramName + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled || !plugin.isEnabled()) return;
+        flushScheduled = true;
+        Bukkit.getScheduler().runTask(plugin, this::flush);
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        if (dirtyHolograms.isEmpty()) return;
+
+        long span = plugin.getProfiler().begin("hologram.leaderboard");
+        try {
+            de.oliver.fancyholograms.api.HologramManager manager;
+            try {
+                manager = FancyHologramsPlugin.get().getHologramManager();
+            } catch (Exception e) {
+                dirtyHolograms.clear();
+                return;
+            }
+
+            for (LeaderboardHologram hologram : dirtyHolograms) {
+                if (!update(hologram)) continue;
+
+                Optional<Hologram> fancyHologram = manager.getHologram(hologram.hologramName);
+                if (fancyHologram.isEmpty() || !(fancyHologram.get().getData() instanceof TextHologramData data)) continue;
+
+                data.setText(new ArrayList<>(hologram.lines));
+                fancyHologram.get().forceUpdate();
+            }
+            dirtyHolograms.clear();
+        } finally {
+            plugin.getProfiler().end(span);
+        }
+    }
+
+    /**
+     * Re-renders the lines of a hologram whose entry changed.
+     *
+     * @return true if any line changed.
+     */
+    private boolean update(LeaderboardHologram hologram) {
+        DamageRanking ranking = getRanking(hologram);
+        int count = ranking != null ? Math.min(hologram.size, ranking.size()) : 0;
+        double total = ranking != null ? ranking.getTotal() : 0.0;
+
+        List<String> lines = hologram.lines;
+        boolean changed = false;
+
+        String header = colorize(hologram.header.replace("{boss_name}", hologram.bossName));
+        changed |= setLine(lines, 0, header);
+
+        if (count == 0) {
+            changed |= setLine(lines, 1, colorize(hologram.empty));
+            Arrays.fill(hologram.slotKeys, null);
+            changed |= truncate(lines, 2);
+            return changed;
+        }
+
+        for (int i = 0; i < count; i++) {
+            UUID playerId = ranking.getPlayerAt(i);
+            double damage = ranking.getDamageAt(i);
+            long share = total > 0 && hologram.usesPercentage ? Math.round(damage / total * 1000) : 0;
+            SlotKey key = new SlotKey(playerId, Math.round(damage * 100), share);
+
+            // Unchanged entries keep their rendered line
+            if (key.equals(hologram.slotKeys[i]) && lines.size() > i + 1) continue;
+
+            hologram.slotKeys[i] = key;
+            String line = hologram.entry
+                    .replace("{position}", String.valueOf(i + 1))
+                    .replace("{name}", plugin.getPlayerNameManager().getName(playerId))
+                    .replace("{damage}", plugin.getDamageManager().formatDamageValue(damage))
+                    .replace("{percentage}", plugin.formatPercentage(total > 0 ? damage / total * 100 : 0.0));
+            changed |= setLine(lines, i + 1, colorize(line));
+        }
+        Arrays.fill(hologram.slotKeys, count, hologram.slotKeys.length, null);
+        changed |= truncate(lines, count + 1);
+        return changed;
+    }
+
+    private DamageRanking getRanking(LeaderboardHologram hologram) {
+        if (hologram.mode == Mode.LIVE) {
+            return plugin.getDamageManager().getTrackedRanking(hologram.bossName);
+        }
+        LeaderboardManager leaderboardManager = plugin.getLeaderboardManager();
+        return leaderboardManager != null ? leaderboardManager.getRanking(hologram.bossName) : null;
+    }
+
+    private static boolean setLine(List<String> lines, int index, String line) {
+        if (index < lines.size()) {
+            if (lines.get(index).equals(line)) return false;
+            lines.set(index, line);
+        } else {
+            lines.add(line);
+        }
+        return true;
+    }
+
+    private static boolean truncate(List<String> lines, int size) {
+        if (lines.size() <= size) return false;
+        lines.subList(size, lines.size()).clear();
+        return true;
+    }
+
+    private static String colorize(String text) {
+        return text.replace("&", "§");
+    }
+
+    private static final class LeaderboardHologram {
+        private final String hologramName;
+        private final String bossName;
+        private final Mode mode;
+        private final Location location;
+        private final int size;
+        private final String header;
+        private final String entry;
+        private final String empty;
+        private final boolean usesPercentage;
+        private final List<String> lines;
+        private final SlotKey[] slotKeys;
+
+        private LeaderboardHologram(String hologramName, String bossName, Mode mode, Location location, int size,
+                                    String header, String entry, String empty) {
+            this.hologramName = hologramName;
+            this.bossName = bossName;
+            this.mode = mode;
+            this.location = location;
+            this.size = size;
+            this.header = header;
+            this.entry = entry;
+            this.empty = empty;
+            this.usesPercentage = entry.contains("{percentage}");
+            this.lines = new ArrayList<>(size + 1);
+            this.slotKeys = new SlotKey[size];
+        }
+    }
+
+    private record SlotKey(UUID playerId, long damageKey, long shareKey) {
+    }
+}
@@ -0,0 +1,315 @@
+package com.elplatano0871.damagetracker.managers;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import org.bukkit.Bukkit;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the all-time leaderboards in memory, mirroring the boss_damage table.
+ * Rankings are loaded once at startup and then updated as damage arrives, so leaderboard
+ * reads never hit the database; the database only receives the coalesced writes.
+ */
+public class LeaderboardManager {
+    public static final int LEADERBOARD_SIZE = 10;
+
+    private final DamageTracker plugin;
+    private final Map<String, Board> boards;
+    private final CompletableFuture<Void> loadFuture;
+    private volatile boolean loaded;
+
+    /**
+     * Constructor for LeaderboardManager.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public LeaderboardManager(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.boards = new ConcurrentHashMap<>();
+        this.loadFuture = new CompletableFuture<>();
+    }
+
+    /**
+     * Loads the stored leaderboards in the background and merges them on the main thread.
+     * Damage recorded before the load completes is kept, as it is newer than the stored value.
+     */
+    public void load() {
+        plugin.getDatabaseManager().loadLeaderboardsAsync().thenAccept(rows -> {
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                for (DatabaseManager.LeaderboardRow row : rows) {
+                    Board board = getOrCreateBoard(row.getBossName());
+                    if (!board.ranking.contains(row.getPlayerUuid())) {
+                        board.ranking.set(row.getPlayerUuid(), row.getDamage());
+                    }
+                    plugin.getPlayerNameManager().remember(row.getPlayerUuid(), row.getPlayerName());
+                }
+                loaded = true;
+                plugin.getLogger().info("Loaded " + rows.size() + " leaderboard entries for " + boards.size() + " bosses");
+                boards.forEach(this::refresh);
+                loadFuture.complete(null);
+            });
+        });
+    }
+
+    /**
+     * Records the accumulated damage of a player and queues it for the database.
+     * Must be called from the main thread.
+     *
+     * @param bossName The name of the boss.
+     * @param playerId The UUID of the player.
+     * @param playerName The name of the player.
+     * @param damage The accumulated damage of the player.
+     */
+    public void updateDamage(String bossName, UUID playerId, String playerName, double damage) {
+        if (bossName == null || bossName.trim().isEmpty()) return;
+
+        long span = plugin.getProfiler().begin("leaderboard.update");
+        try {
+            String key = bossName.toUpperCase();
+            setDamage(key, playerId, damage);
+            plugin.getDatabaseManager().updateDamage(key, playerId, playerName, damage);
+        } finally {
+            plugin.getProfiler().end(span);
+        }
+    }
+
+    /**
+     * Records the damage of a player received from another server. Must be called from the main thread.
+     *
+     * @param bossName The name of the boss.
+     * @param playerId The UUID of the player.
+     * @param playerName The name of the player.
+     * @param damage The damage of the player.
+     * @param store Whether to also queue it for the local database, when servers do not share one.
+     */
+    public void applySynced(String bossName, UUID playerId, String playerName, double damage, boolean store) {
+        String key = bossName.toUpperCase();
+        setDamage(key, playerId, damage);
+        plugin.getPlayerNameManager().remember(playerId, playerName);
+        if (store) {
+            plugin.getDatabaseManager().updateDamage(key, playerId, playerName, damage);
+        }
+    }
+
+    /**
+     * Removes a player from a leaderboard when a clear from another server is newer than its entry.
+     * Must be called from the main thread.
+     *
+     * @param bossName The name of the boss.
+     * @param playerId The UUID of the player.
+     * @param store Whether to also remove it from the local database, when servers do not share one.
+     */
+    public void removeSynced(String bossName, UUID playerId, boolean store) {
+        String key = bossName.toUpperCase();
+        Board board = boards.get(key);
+        if (board != null) {
+            int rank = board.ranking.getRank(playerId);
+            if (board.ranking.remove(playerId)) {
+                changed(key, board, rank, 0);
+            }
+        }
+        if (store) {
+            plugin.getDatabaseManager().deleteDamageAsync(key, playerId);
+        }
+    }
+
+    /**
+     * Drops the entries of a leaderboard cleared on another server, except the ones changed after
+     * the clear. Must be called from the main thread.
+     *
+     * @param bossName The name of the boss.
+     * @param keep The players to keep.
+     * @param store Whether to also clear the local database, when servers do not share one.
+     */
+    public void retainSynced(String bossName, Set<UUID> keep, boolean store) {
+        String key = bossName.toUpperCase();
+        Board board = boards.get(key);
+        if (board == null) return;
+
+        if (keep.isEmpty()) {
+            boards.remove(key);
+            notifyChanged(key);
+        } else {
+            for (UUID playerId : board.ranking.toMap().keySet()) {
+                if (!keep.contains(playerId)) {
+                    board.ranking.remove(playerId);
+                }
+            }
+            refresh(key, board);
+        }
+
+        if (store) {
+            // The kept entries are queued again after the delete, which runs first on the database thread
+            plugin.getDatabaseManager().deleteBossAsync(key);
+            for (UUID playerId : keep) {
+                if (board.ranking.contains(playerId)) {
+                    plugin.getDatabaseManager().updateDamage(key, playerId,
+                            plugin.getPlayerNameManager().getName(playerId), board.ranking.getDamage(playerId));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the all-time ranking of a boss.
+     *
+     * @param bossName The name of the boss.
+     * @return The ranking, or null if nothing was recorded for the boss.
+     */
+    public DamageRanking getRanking(String bossName) {
+        Board board = boards.get(bossName.toUpperCase());
+        return board != null ? board.ranking : null;
+    }
+
+    /**
+     * Gets a counter that changes every time the formatted leaderboard of a boss is rendered.
+     * Safe to read from any thread.
+     *
+     * @param bossName The name of the boss.
+     * @return The modification counter, or -1 if nothing was recorded for the boss.
+     */
+    public long getVersion(String bossName) {
+        Board board = boards.get(bossName.toUpperCase());
+        return board != null ? board.renderedVersion : -1L;
+    }
+
+    /**
+     * Gets the formatted top 10 of a boss. It is rendered on the main thread as soon as the top
+     * changes, so it can be read from any thread.
+     *
+     * @param bossName The name of the boss.
+     * @return The formatted leaderboard, one entry per line.
+     */
+    public String getFormattedLeaderboard(String bossName) {
+        Board board = boards.get(bossName.toUpperCase());
+        return board != null ? board.rendered : "";
+    }
+
+    /**
+     * Drops the leaderboard of a boss, both in memory and in the database.
+     * Must be called from the main thread.
+     *
+     * @param bossName The name of the boss.
+     */
+    public void removeBoard(String bossName) {
+        String key = bossName.toUpperCase();
+        if (boards.remove(key) != null) {
+            notifyChanged(key);
+        }
+        plugin.getDatabaseManager().deleteBossAsync(key);
+        // Synthetic bosses were never published, other servers have nothing to clear
+        if (plugin.getLeaderboardSyncManager() != null && !plugin.getTrackedBossManager().isSyntheticBoss(key)) {
+            plugin.getLeaderboardSyncManager().publishClear(key);
+        }
+    }
+
+    /**
+     * Renders every leaderboard again, used when the leaderboard format changes.
+     * Must be called from the main thread.
+     */
+    public void invalidate() {
+        boards.forEach(this::refresh);
+    }
+
+    /**
+     * Checks if the stored leaderboards finished loading.
+     *
+     * @return true once the startup load completed.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Gets a future completed on the main thread once the stored leaderboards finished loading.
+     *
+     * @return The load future, already completed after startup.
+     */
+    public CompletableFuture<Void> whenLoaded() {
+        return loadFuture;
+    }
+
+    /**
+     * Gets the number of bosses with a leaderboard.
+     *
+     * @return The number of leaderboards.
+     */
+    public int getBoardCount() {
+        return boards.size();
+    }
+
+    private void setDamage(String key, UUID playerId, double damage) {
+        Board board = getOrCreateBoard(key);
+        int previousRank = board.ranking.getRank(playerId);
+        board.ranking.set(playerId, damage);
+        changed(key, board, previousRank, board.ranking.getRank(playerId));
+    }
+
+    private void changed(String key, Board board, int previousRank, int rank) {
+        // Only changes that touch the rendered top 10 render it again
+        if (isRendered(previousRank) || isRendered(rank)) {
+            render(board);
+        }
+        // Holograms may show more entries than the top 10, and percentages depend on every entry
+        LeaderboardHologramManager holograms = plugin.getLeaderboardHologramManager();
+        if (holograms != null) {
+            int watched = holograms.getWatchedRanks(key, LeaderboardHologramManager.Mode.ALL_TIME);
+            if (isWithin(previousRank, watched) || isWithin(rank, watched)) {
+                holograms.markDirty(key, LeaderboardHologramManager.Mode.ALL_TIME);
+            }
+        }
+    }
+
+    private void refresh(String key, Board board) {
+        render(board);
+        notifyChanged(key);
+    }
+
+    private void render(Board board) {
+        board.rendered = render(board.ranking);
+        board.renderedVersion++;
+    }
+
+    private Board getOrCreateBoard(String bossName) {
+        return boards.computeIfAbsent(bossName.toUpperCase(), key -> new Board());
+    }
+
+    private static boolean isRendered(int rank) {
+        return isWithin(rank, LEADERBOARD_SIZE);
+    }
+
+    private static boolean isWithin(int rank, int size) {
+        return rank > 0 && rank <= size;
+    }
+
+    private String render(DamageRanking ranking) {
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        StringBuilder result = new StringBuilder();
+        int count = Math.min(LEADERBOARD_SIZE, ranking.size());
+        for (int i = 0; i < count; i++) {
+            if (i > 0) result.append('\n');
+            result.append(databaseManager.formatLeaderboardEntry(i + 1,
+                    plugin.getPlayerNameManager().getName(ranking.getPlayerAt(i)), ranking.getDamageAt(i)));
+        }
+        return result.toString();
+    }
+
+    private void notifyChanged(String bossName) {
+        LeaderboardHologramManager holograms = plugin.getLeaderboardHologramManager();
+        if (holograms != null) {
+            holograms.markDirty(bossName, LeaderboardHologramManager.Mode.ALL_TIME);
+        }
+    }
+
+    private static final class Board {
+        private final DamageRanking ranking = new DamageRanking();
+        private volatile String rendered = "";
+        private volatile long renderedVersion;
+    }
+}
@@ -0,0 +1,284 @@
+package com.elplatano0871.damagetracker.managers;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import com.elplatano0871.damagetracker.session.FightSession;
+import com.elplatano0871.damagetracker.utils.MessageUtils;
+import net.kyori.adventure.bossbar.BossBar;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+
+/**
+ * Shows each participant of a running fight its rank, damage and share through a boss bar or the action bar.
+ * Damage only marks a boss as dirty; once per tick the dirty bosses that are past their update interval are
+ * walked in ranking order and only players whose displayed values changed are sent an update.
+ */
+public class LiveHudManager {
+    // The client fades the action bar after a few seconds, so it is re-sent even if nothing changed
+    private static final int ACTION_BAR_REFRESH_TICKS = 40;
+
+    private final DamageTracker plugin;
+    private final Map<String, BossHud> bossHuds;
+    private final Set<String> dirtyBosses;
+    private BukkitTask task;
+    private boolean enabled;
+    private HudMode mode;
+    private int updateInterval;
+    private String format;
+    private BossBar.Color barColor;
+    private long currentTick;
+
+    /**
+     * Constructor for LiveHudManager.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public LiveHudManager(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.bossHuds = new HashMap<>();
+        this.dirtyBosses = new LinkedHashSet<>();
+        loadConfig();
+    }
+
+    /**
+     * Loads the HUD settings from the main configuration and restarts the update task.
+     */
+    public void loadConfig() {
+        stop();
+
+        FileConfiguration config = plugin.getConfig();
+        enabled = config.getBoolean("live_hud.enabled", false);
+        updateInterval = Math.max(1, config.getInt("live_hud.update_interval", 10));
+        format = config.getString("live_hud.format",
+                "&6{boss_name} &7| &e#{rank} &7of &e{participants} &7| &f{damage} &7(&e{percentage}%&7)");
+
+        String modeName = config.getString("live_hud.mode", "BOSSBAR");
+        try {
+            mode = HudMode.valueOf(modeName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid live_hud.mode: " + modeName + ". Using BOSSBAR.");
+            mode = HudMode.BOSSBAR;
+        }
+
+        String colorName = config.getString("live_hud.bossbar_color", "RED");
+        try {
+            barColor = BossBar.Color.valueOf(colorName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid live_hud.bossbar_color: " + colorName + ". Using RED.");
+            barColor = BossBar.Color.RED;
+        }
+
+        if (enabled) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Marks a boss as changed so its HUD is refreshed on the next eligible tick.
+     *
+     * @param bossId The ID of the boss.
+     */
+    public void markDirty(String bossId) {
+        if (enabled) {
+            dirtyBosses.add(bossId);
+        }
+    }
+
+    /**
+     * Hides and forgets the HUD of a boss, used when the fight ends.
+     *
+     * @param bossId The ID of the boss.
+     */
+    public void removeBoss(String bossId) {
+        dirtyBosses.remove(bossId);
+        BossHud hud = bossHuds.remove(bossId);
+        if (hud != null) {
+            hideAll(hud);
+        }
+    }
+
+    /**
+     * Forgets the HUD state of a player, used when the player leaves.
+     *
+     * @param playerId The UUID of the player.
+     */
+    public void removePlayer(UUID playerId) {
+        for (BossHud hud : bossHuds.values()) {
+            hud.viewers.remove(playerId);
+        }
+    }
+
+    /**
+     * Stops the update task and hides every HUD.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (BossHud hud : bossHuds.values()) {
+            hideAll(hud);
+        }
+        bossHuds.clear();
+        dirtyBosses.clear();
+    }
+
+    /**
+     * Gets the number of bosses with an active HUD.
+     *
+     * @return The number of bosses.
+     */
+    public int getActiveHudCount() {
+        return bossHuds.size();
+    }
+
+    private void tick() {
+        currentTick++;
+
+        if (!dirtyBosses.isEmpty()) {
+            Iterator<String> iterator = dirtyBosses.iterator();
+            while (iterator.hasNext()) {
+                String bossId = iterator.next();
+                BossHud hud = bossHuds.computeIfAbsent(bossId, BossHud::new);
+                // Bosses updated too recently stay dirty until their interval has passed
+                if (currentTick - hud.lastUpdateTick < updateInterval) continue;
+
+                iterator.remove();
+                hud.lastUpdateTick = currentTick;
+                update(hud);
+            }
+        }
+
+        if (mode == HudMode.ACTIONBAR && currentTick % ACTION_BAR_REFRESH_TICKS == 0) {
+            refreshActionBars();
+        }
+    }
+
+    private void update(BossHud hud) {
+        long span = plugin.getProfiler().begin("hud.update");
+        try {
+            DamageRanking ranking = plugin.getDamageManager().getTrackedRanking(hud.bossId);
+            if (ranking == null || ranking.isEmpty()) {
+                bossHuds.remove(hud.bossId);
+                hideAll(hud);
+                return;
+            }
+
+            FightSession session = plugin.getTrackedBossManager().getSession(hud.bossId);
+            String bossName = session != null ? session.getDisplayName() : hud.bossId;
+            double total = ranking.getTotal();
+            int participants = ranking.size();
+            for (int i = 0; i < participants; i++) {
+                UUID playerId = ranking.getPlayerAt(i);
+                double damage = ranking.getDamageAt(i);
+                int rank = i + 1;
+                long damageKey = Math.round(damage * 100);
+                int shareKey = total > 0 ? (int) Math.round(damage / total * 1000) : 0;
+
+                ViewerState state = hud.viewers.get(playerId);
+                if (state != null && state.rank == rank && state.damageKey == damageKey
+                        && state.shareKey == shareKey && state.participants == participants) {
+                    continue;
+                }
+
+                Player player = Bukkit.getPlayer(playerId);
+                if (player == null) continue;
+
+                if (state == null) {
+                    state = new ViewerState();
+                    hud.viewers.put(playerId, state);
+                }
+                state.rank = rank;
+                state.damageKey = damageKey;
+                state.shareKey = shareKey;
+                state.participants = participants;
+                send(hud, player, state, bossName, damage, total > 0 ? damage / total : 0.0);
+            }
+        } finally {
+            plugin.getProfiler().end(span);
+        }
+    }
+
+    private void send(BossHud hud, Player player, ViewerState state, String bossName, double damage, double share) {
+        state.message = format
+                .replace("{boss_name}", bossName)
+                .replace("{rank}", String.valueOf(state.rank))
+                .replace("{participants}", String.valueOf(state.participants))
+                .replace("{damage}", plugin.getDamageManager().formatDamageValue(damage))
+                .replace("{percentage}", plugin.formatPercentage(share * 100));
+        state.lastSentTick = currentTick;
+
+        if (mode == HudMode.ACTIONBAR) {
+            MessageUtils.sendActionBar(player, state.message);
+            return;
+        }
+
+        float progress = (float) Math.max(0.0, Math.min(1.0, share));
+        if (state.bossBar == null) {
+            state.bossBar = BossBar.bossBar(MessageUtils.deserialize(state.message), progress,
+                    barColor, BossBar.Overlay.PROGRESS);
+            MessageUtils.showBossBar(player, state.bossBar);
+        } else {
+            state.bossBar.name(MessageUtils.deserialize(state.message));
+            state.bossBar.progress(progress);
+        }
+    }
+
+    private void refreshActionBars() {
+        for (BossHud hud : bossHuds.values()) {
+            for (Map.Entry<UUID, ViewerState> entry : hud.viewers.entrySet()) {
+                ViewerState state = entry.getValue();
+                if (state.message == null || currentTick - state.lastSentTick < ACTION_BAR_REFRESH_TICKS) continue;
+
+                Player player = Bukkit.getPlayer(entry.getKey());
+                if (player != null) {
+                    MessageUtils.sendActionBar(player, state.message);
+                    state.lastSentTick = currentTick;
+                }
+            }
+        }
+    }
+
+    private void hideAll(BossHud hud) {
+        for (Map.Entry<UUID, ViewerState> entry : hud.viewers.entrySet()) {
+            ViewerState state = entry.getValue();
+            if (state.bossBar == null) continue;
+
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null) {
+                MessageUtils.hideBossBar(player, state.bossBar);
+            }
+        }
+        hud.viewers.clear();
+    }
+
+    private enum HudMode {
+        BOSSBAR,
+        ACTIONBAR
+    }
+
+    private static final class BossHud {
+        private final String bossId;
+        private final Map<UUID, ViewerState> viewers;
+        private long lastUpdateTick = Long.MIN_VALUE / 2;
+
+        private BossHud(String bossId) {
+            this.bossId = bossId;
+            this.viewers = new HashMap<>();
+        }
+    }
+
+    private static final class ViewerState {
+        private int rank;
+        private long damageKey;
+        private int shareKey;
+        private int participants;
+        private String message;
+        private long lastSentTick;
+        private BossBar bossBar;
+    }
+}
@@ -0,0 +1,125 @@
+package com.elplatano0871.damagetracker.managers;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves player names without blocking, so offline damagers can be shown in rankings.
+ * Names come from the leaderboard database at startup and are kept fresh on join and on damage.
+ */
+public class PlayerNameManager {
+    private final DamageTracker plugin;
+    private final Map<UUID, String> names;
+    private final Set<UUID> pendingLookups;
+
+    /**
+     * Constructor for PlayerNameManager.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public PlayerNameManager(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.names = new ConcurrentHashMap<>();
+        this.pendingLookups = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Warms the cache from the database and the online players.
+     * Entries learned in the meantime take precedence over the stored ones.
+     */
+    public void warmUp() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            names.put(player.getUniqueId(), player.getName());
+        }
+
+        plugin.getDatabaseManager().loadPlayerNamesAsync().thenAccept(storedNames -> {
+            storedNames.forEach(names::putIfAbsent);
+            plugin.getLogger().info("Loaded " + storedNames.size() + " player names from the database");
+        });
+    }
+
+    /**
+     * Records the current name of a player, updating the database if the player was renamed.
+     *
+     * @param player The player.
+     */
+    public void update(Player player) {
+        String previous = names.put(player.getUniqueId(), player.getName());
+        if (previous != null && !previous.equals(player.getName())) {
+            plugin.getDatabaseManager().updatePlayerNameAsync(player.getUniqueId(), player.getName());
+        }
+    }
+
+    /**
+     * Records a known name for a player.
+     *
+     * @param playerId The UUID of the player.
+     * @param name The name of the player.
+     */
+    public void remember(UUID playerId, String name) {
+        if (name != null) {
+            names.put(playerId, name);
+        }
+    }
+
+    /**
+     * Gets the name of a player without blocking.
+     * On a miss the name is resolved asynchronously and a shortened UUID is returned meanwhile.
+     *
+     * @param playerId The UUID of the player.
+     * @return The player name, never null.
+     */
+    public String getName(UUID playerId) {
+        String name = names.get(playerId);
+        if (name != null) {
+            return name;
+        }
+
+        Player player = Bukkit.getPlayer(playerId);
+        if (player != null) {
+            names.put(playerId, player.getName());
+            return player.getName();
+        }
+
+        resolveAsync(playerId);
+        return playerId.toString().substring(0, 8);
+    }
+
+    /**
+     * Drops the cached name of a player.
+     *
+     * @param playerId The UUID of the player.
+     */
+    public void forget(UUID playerId) {
+        names.remove(playerId);
+    }
+
+    /**
+     * Gets the number of cached names.
+     *
+     * @return The cache size.
+     */
+    public int getCacheSize() {
+        return names.size();
+    }
+
+    private void resolveAsync(UUID playerId) {
+        if (!plugin.isEnabled() || !pendingLookups.add(playerId)) return;
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                String name = Bukkit.getOfflinePlayer(playerId).getName();
+                // Unknown players keep their shortened UUID so they are not looked up again
+                names.putIfAbsent(playerId, name != null ? name : playerId.toString().substring(0, 8));
+            } finally {
+                pendingLookups.remove(playerId);
+            }
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package com.elplatano0871.damagetracker.managers;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Caches player prefixes so the victory path never has to call into the Vault chat provider.
+ * Entries are filled on join and invalidated by LuckPerms when it is present,
+ * otherwise they expire after the configured time to live.
+ */
+public class PrefixManager {
+    private static final Pattern LEGACY_COLOR_PATTERN = Pattern.compile("§([0-9a-fk-or])");
+
+    private final DamageTracker plugin;
+    private final Map<UUID, CachedPrefix> prefixCache;
+    private long ttlMillis;
+    private boolean eventInvalidated;
+
+    /**
+     * Constructor for PrefixManager.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public PrefixManager(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.prefixCache = new ConcurrentHashMap<>();
+        loadConfig();
+    }
+
+    /**
+     * Loads the cache settings from the main configuration and drops every cached prefix.
+     */
+    public void loadConfig() {
+        ttlMillis = Math.max(0, plugin.getConfig().getLong("prefix_cache.ttl", 300)) * 1000L;
+        prefixCache.clear();
+    }
+
+    /**
+     * Marks the cache as invalidated by events, which disables the time based expiry.
+     *
+     * @param eventInvalidated true if an event source keeps the cache up to date.
+     */
+    public void setEventInvalidated(boolean eventInvalidated) {
+        this.eventInvalidated = eventInvalidated;
+    }
+
+    /**
+     * Gets the prefix of a player, resolving it through Vault only on a cache miss.
+     *
+     * @param player The player.
+     * @return The raw prefix, never null.
+     */
+    public String getPrefix(Player player) {
+        return getEntry(player).raw;
+    }
+
+    /**
+     * Gets the prefix of a player with legacy color codes converted to MiniMessage tags.
+     *
+     * @param player The player.
+     * @return The converted prefix, never null.
+     */
+    public String getMiniMessagePrefix(Player player) {
+        return getEntry(player).miniMessage;
+    }
+
+    /**
+     * Resolves the prefix of a player and stores it in the cache.
+     *
+     * @param player The player.
+     */
+    public void refresh(Player player) {
+        store(player);
+    }
+
+    /**
+     * Removes the cached prefix of a player.
+     *
+     * @param playerId The UUID of the player.
+     */
+    public void invalidate(UUID playerId) {
+        prefixCache.remove(playerId);
+    }
+
+    /**
+     * Fills the cache for every online player, used after enabling or reloading the plugin.
+     */
+    public void refreshOnlinePlayers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            store(player);
+        }
+    }
+
+    /**
+     * Gets the number of cached prefixes.
+     *
+     * @return The cache size.
+     */
+    public int getCacheSize() {
+        return prefixCache.size();
+    }
+
+    private CachedPrefix getEntry(Player player) {
+        CachedPrefix cached = prefixCache.get(player.getUniqueId());
+        if (cached != null && (eventInvalidated || System.currentTimeMillis() < cached.expiresAt)) {
+            return cached;
+        }
+        return store(player);
+    }
+
+    private CachedPrefix store(Player player) {
+        String raw = plugin.resolvePlayerPrefix(player);
+        CachedPrefix cached = new CachedPrefix(raw, LEGACY_COLOR_PATTERN.matcher(raw).replaceAll("<$1>"),
+                System.currentTimeMillis() + ttlMillis);
+        prefixCache.put(player.getUniqueId(), cached);
+        return cached;
+    }
+
+    private static final class CachedPrefix {
+        private final String raw;
+        private final String miniMessage;
+        private final long expiresAt;
+
+        private CachedPrefix(String raw, String miniMessage, long expiresAt) {
+            this.raw = raw;
+            this.miniMessage = miniMessage;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
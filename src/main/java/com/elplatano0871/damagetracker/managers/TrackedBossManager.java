@@ -1,10 +1,17 @@
 package com.elplatano0871.damagetracker.managers;
 
 import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.api.FightResult;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import com.elplatano0871.damagetracker.session.DamageTimeline;
+import com.elplatano0871.damagetracker.session.FightRecord;
+import com.elplatano0871.damagetracker.session.FightSession;
+import com.elplatano0871.damagetracker.session.SessionMemoryBudget;
+import com.elplatano0871.damagetracker.session.SessionReaper;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
 import java.io.IOException;
@@ -19,10 +26,21 @@ import java.util.stream.Collectors;
 public class TrackedBossManager {
     private final DamageTracker plugin;
     private final Set<String> trackedBossIds;
+    // Bosses of load tests and trace replays, whose fights are never published outside the plugin
+    private final Set<String> syntheticBossIds;
+    private final Map<String, FightSession> sessions;
+    private final SessionMemoryBudget memoryBudget;
+    private final SessionReaper reaper;
+    // Boss ID of every mob instance hit during a running session
+    private final Map<UUID, String> bossByMob;
+    private boolean overBudgetWarned;
+    private long nextSessionId;
     private FileConfiguration config;
     private File configFile;
     private boolean persistData;
     private int dataRetentionTime;
+    private int timelineBucketTicks = 20;
+    private int timelineCapacity = 600;
 
     /**
      * Constructor for TrackedBossManager.
@@ -31,7 +49,13 @@ public class TrackedBossManager {
     public TrackedBossManager(DamageTracker plugin) {
         this.plugin = plugin;
         this.trackedBossIds = ConcurrentHashMap.newKeySet();
+        this.syntheticBossIds = ConcurrentHashMap.newKeySet();
+        this.sessions = new HashMap<>();
+        this.memoryBudget = new SessionMemoryBudget(0L);
+        this.reaper = new SessionReaper(plugin, this);
+        this.bossByMob = new HashMap<>();
         loadConfig();
+        reaper.start();
     }
 
     /**
@@ -52,16 +76,26 @@ public class TrackedBossManager {
 
 
             trackedBossIds.clear();
+            syntheticBossIds.clear();
             trackedBossIds.addAll(config.getStringList("tracked_bosses.enabled_bosses").stream().map(String::toUpperCase).collect(Collectors.toList()));
 
             persistData = config.getBoolean("tracking_config.persist_data", false);
             dataRetentionTime = config.getInt("tracking_config.data_retention_time", 300);
 
-            if (persistData && dataRetentionTime <= 0 && dataRetentionTime != -1) {
+            if (persistData && dataRetentionTime < 0 && dataRetentionTime != -1) {
                 plugin.getLogger().warning("Invalid data_retention_time value. Setting to default (300 seconds)");
                 dataRetentionTime = 300;
             }
 
+            int memoryBudgetMb = config.getInt("tracking_config.memory_budget_mb", 32);
+            memoryBudget.setBudgetBytes(Math.max(0, memoryBudgetMb) * 1024L * 1024L);
+            reaper.setIdleTimeoutSeconds(config.getInt("tracking_config.idle_session_timeout", 900));
+
+            int bucketSeconds = Math.max(1, config.getInt("tracking_config.timeline_bucket_seconds", 1));
+            int horizonSeconds = Math.max(0, config.getInt("tracking_config.timeline_horizon_seconds", 600));
+            timelineBucketTicks = bucketSeconds * 20;
+            timelineCapacity = horizonSeconds > 0 ? Math.max(1, horizonSeconds / bucketSeconds) : 0;
+
             plugin.getLogger().info("Loaded " + trackedBossIds.size() + " tracked bosses");
             plugin.getLogger().info("Data persistence: " + persistData);
             plugin.getLogger().info("Data retention time: " + (dataRetentionTime == -1 ? "Until restart" : dataRetentionTime + " seconds"));
@@ -77,7 +111,10 @@ public class TrackedBossManager {
             // Set safe default values
             persistData = false;
             dataRetentionTime = 300;
+            memoryBudget.setBudgetBytes(32L * 1024L * 1024L);
+            reaper.setIdleTimeoutSeconds(900);
             trackedBossIds.clear();
+            syntheticBossIds.clear();
         }
     }
 
@@ -101,6 +138,47 @@ public class TrackedBossManager {
         return trackedBossIds.contains(bossId.toUpperCase());
     }
 
+    /**
+     * Tracks a boss until the next reload without saving it to tracked_bosses.yml.
+     * @param bossId The ID of the boss.
+     * @return True if the boss was not tracked yet.
+     */
+    public boolean trackTemporarily(String bossId) {
+        return trackedBossIds.add(bossId.toUpperCase());
+    }
+
+    /**
+     * Tracks a synthetic boss until the next reload, for load tests and trace replays.
+     * Its fights go through the whole pipeline, but fire no API events and are neither
+     * synchronized to other servers nor written to the fight history.
+     * @param bossId The ID of the boss.
+     * @return True if the boss was not tracked yet.
+     */
+    public boolean trackSynthetic(String bossId) {
+        if (!trackTemporarily(bossId)) return false;
+        syntheticBossIds.add(bossId.toUpperCase());
+        return true;
+    }
+
+    /**
+     * Checks if a boss was tracked by {@link #trackSynthetic}.
+     * @param bossId The ID of the boss.
+     * @return True if the fights of the boss are synthetic.
+     */
+    public boolean isSyntheticBoss(String bossId) {
+        return syntheticBossIds.contains(bossId.toUpperCase());
+    }
+
+    /**
+     * Stops tracking a boss without saving the change to tracked_bosses.yml.
+     * The damage data of the boss is left untouched.
+     * @param bossId The ID of the boss.
+     */
+    public void untrackTemporarily(String bossId) {
+        trackedBossIds.remove(bossId.toUpperCase());
+        syntheticBossIds.remove(bossId.toUpperCase());
+    }
+
     /**
      * Adds damage to a boss for a specific player.
      * @param bossId The ID of the boss.
@@ -108,8 +186,68 @@ public class TrackedBossManager {
      * @param damage The amount of damage dealt.
      */
     public void addDamage(String bossId, Player player, double damage) {
+        addDamage(bossId, null, player, damage);
+    }
+
+    /**
+     * Adds damage to a boss for a specific player, binding the mob instance to the fight
+     * so the fight can be finished if the mob disappears without dying.
+     * @param bossId The ID of the boss.
+     * @param boss The mob entity that was hit, or null if unknown.
+     * @param player The player dealing the damage.
+     * @param damage The amount of damage dealt.
+     */
+    public void addDamage(String bossId, Entity boss, Player player, double damage) {
+        addDamage(bossId, boss, player.getUniqueId(), damage);
+    }
+
+    /**
+     * Adds damage to a boss for a player who does not need to be online.
+     * @param bossId The ID of the boss.
+     * @param boss The mob entity that was hit, or null if unknown.
+     * @param playerId The UUID of the player dealing the damage.
+     * @param damage The amount of damage dealt.
+     */
+    public void addDamage(String bossId, Entity boss, UUID playerId, double damage) {
+        addDamage(bossId, boss, null, playerId, damage);
+    }
+
+    /**
+     * Adds damage to a boss for a player who does not need to be online, naming the fight
+     * after the display name of the mob if the hit starts a new one.
+     * @param bossId The ID of the boss.
+     * @param boss The mob entity that was hit, or null if unknown.
+     * @param displayName The display name of the mob, or null if unknown.
+     * @param playerId The UUID of the player dealing the damage.
+     * @param damage The amount of damage dealt.
+     */
+    public void addDamage(String bossId, Entity boss, String displayName, UUID playerId, double damage) {
         if (!isTrackedBoss(bossId)) return;
-        plugin.getDamageManager().addTrackedDamage(bossId, player, damage);
+        long span = plugin.getProfiler().begin("manager.addDamage");
+        try {
+            FightSession session = getOrStartSession(bossId, displayName);
+            UUID mobId = boss != null ? boss.getUniqueId() : null;
+            long tick = plugin.getTickScheduler().getCurrentTick();
+            if (session.recordHit(mobId, boss != null ? boss.getWorld().getUID() : null, tick)) {
+                bossByMob.put(mobId, bossId);
+            }
+            if (session.getTimeline() != null) {
+                session.getTimeline().record(playerId, damage, tick);
+            }
+            plugin.getDamageManager().addTrackedDamage(bossId, playerId, damage);
+            accountSession(session);
+            if (plugin.getDamageEventManager() != null && !syntheticBossIds.contains(bossId)) {
+                plugin.getDamageEventManager().record(bossId, session.getId(), playerId, damage);
+            }
+            if (plugin.getLiveHudManager() != null) {
+                plugin.getLiveHudManager().markDirty(bossId);
+            }
+            if (plugin.getLeaderboardHologramManager() != null) {
+                plugin.getLeaderboardHologramManager().markDirty(bossId, LeaderboardHologramManager.Mode.LIVE);
+            }
+        } finally {
+            plugin.getProfiler().end(span);
+        }
     }
 
     /**
@@ -122,33 +260,260 @@ public class TrackedBossManager {
         plugin.getDamageManager().setTrackedBossMaxHealth(bossId, health);
     }
 
+    /**
+     * Builds the result of the current fight of a boss from its live ranking, without copying maps.
+     * The DPS timelines of the players are attached when timelines are enabled.
+     * @param bossId The ID of the boss.
+     * @return The fight result, empty if nobody dealt damage.
+     */
+    public FightResult getFightResult(String bossId) {
+        FightSession session = sessions.get(bossId);
+        long now = System.currentTimeMillis();
+        FightResult result = FightResult.of(bossId, session != null ? session.getId() : 0L,
+                plugin.getDamageManager().getTrackedRanking(bossId),
+                plugin.getDamageManager().getTrackedBossMaxHealth(bossId),
+                session != null ? session.getStartedAt() : now,
+                session != null && session.isEnded() ? session.getEndedAt() : now);
+        if (session != null && session.getTimeline() != null) {
+            result = result.withTimelines(session.getTimeline().snapshotAll());
+        }
+        return result;
+    }
+
     /**
      * Clears the damage data for a specific boss.
      * @param bossId The ID of the boss.
      */
     public void clearBossData(String bossId) {
-        if (!isTrackedBoss(bossId)) return;
+        FightSession session = sessions.remove(bossId);
+        if (session != null) {
+            session.cancelCleanup();
+            memoryBudget.release(session);
+            unbindMobs(session);
+        }
         plugin.getDamageManager().removeTrackedBossData(bossId);
+        if (plugin.getLiveHudManager() != null) {
+            plugin.getLiveHudManager().removeBoss(bossId);
+        }
+        if (plugin.getLeaderboardHologramManager() != null) {
+            plugin.getLeaderboardHologramManager().markDirty(bossId, LeaderboardHologramManager.Mode.LIVE);
+        }
     }
 
     /**
-     * Schedules the cleanup of damage data for a specific boss.
+     * Ends the fight session of a boss and schedules the cleanup of its damage data.
+     * The cleanup is bound to the session, so it is cancelled if the boss is fought again meanwhile.
      * @param bossId The ID of the boss.
      */
     public void scheduleDataCleanup(String bossId) {
-        if (!persistData || dataRetentionTime <= 0) {
-            clearBossData(bossId);
-            return;
+        long span = plugin.getProfiler().begin("manager.cleanup");
+        try {
+            FightSession session = sessions.get(bossId);
+            if (session != null) {
+                // A fight that already ended, by a despawn before the death, is only recorded once
+                boolean recorded = session.isEnded();
+                session.end(System.currentTimeMillis());
+                unbindMobs(session);
+                // Other servers and the fight history learn about the fight once it is over, while its ranking still exists
+                boolean synthetic = syntheticBossIds.contains(bossId);
+                if (plugin.getLeaderboardSyncManager() != null && !synthetic) {
+                    plugin.getLeaderboardSyncManager().publishFight(bossId, session.getEndedAt());
+                }
+                if (!recorded && !synthetic) {
+                    saveFight(session);
+                }
+            }
+
+            if (!persistData || dataRetentionTime == 0 || session == null) {
+                clearBossData(bossId);
+                return;
+            }
+
+            // With a retention of -1 the data is kept until the next fight, a restart or an eviction
+            if (dataRetentionTime > 0) {
+                session.setCleanup(plugin.getTickScheduler().schedule(dataRetentionTime * 20L, () -> {
+                    if (sessions.get(bossId) == session) {
+                        clearBossData(bossId);
+                    }
+                }));
+            }
+            memoryBudget.finish(session);
+            enforceMemoryBudget();
+        } finally {
+            plugin.getProfiler().end(span);
         }
+    }
 
-        if (dataRetentionTime > 0) {
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    clearBossData(bossId);
+    /**
+     * Writes a finished fight and the DPS timelines of its players to the fight history.
+     * Fights without damage are not recorded.
+     * @param session The session of the fight.
+     */
+    private void saveFight(FightSession session) {
+        if (plugin.getDatabaseManager() == null) return;
+        String bossId = session.getBossId();
+        DamageRanking ranking = plugin.getDamageManager().getTrackedRanking(bossId);
+        if (ranking == null || ranking.isEmpty()) return;
+        plugin.getDatabaseManager().saveFightAsync(new FightRecord(session,
+                plugin.getDamageManager().getTrackedBossMaxHealth(bossId), ranking.toMap(),
+                session.getTimeline() != null ? session.getTimeline().snapshotAll() : null));
+    }
+
+    /**
+     * Finishes a running fight that ended without a death event, as if the boss had died:
+     * the live HUD is hidden and the data is retained or cleared like after a kill.
+     * @param bossId The ID of the boss.
+     * @param cause Why the fight is finished.
+     */
+    public void finishSession(String bossId, SessionReaper.Cause cause) {
+        FightSession session = sessions.get(bossId);
+        if (session == null || session.isEnded()) return;
+
+        reaper.record(cause);
+        if (plugin.getLiveHudManager() != null) {
+            plugin.getLiveHudManager().removeBoss(bossId);
+        }
+        scheduleDataCleanup(bossId);
+    }
+
+    /**
+     * Handles a mob that is gone for good. The fight is finished once none of its mobs are left.
+     * @param mobId The UUID of the mob entity.
+     * @param cause Why the mob is gone.
+     */
+    public void onMobGone(UUID mobId, SessionReaper.Cause cause) {
+        if (bossByMob.isEmpty()) return;
+        String bossId = bossByMob.remove(mobId);
+        if (bossId == null) return;
+
+        FightSession session = sessions.get(bossId);
+        if (session != null && session.removeMob(mobId) && session.getMobIds().isEmpty()) {
+            finishSession(bossId, cause);
+        }
+    }
+
+    /**
+     * Handles the unload of a world, finishing the fights whose mobs were all in it.
+     * @param worldId The UUID of the world.
+     */
+    public void onWorldUnload(UUID worldId) {
+        List<String> finished = new ArrayList<>();
+        for (FightSession session : sessions.values()) {
+            if (session.isEnded() || session.getMobIds().isEmpty()) continue;
+
+            for (UUID mobId : new ArrayList<>(session.getMobIds())) {
+                if (worldId.equals(session.getMobWorld(mobId))) {
+                    session.removeMob(mobId);
+                    bossByMob.remove(mobId);
                 }
-            }.runTaskLater(plugin, dataRetentionTime * 20L);
+            }
+            if (session.getMobIds().isEmpty()) {
+                finished.add(session.getBossId());
+            }
         }
+        finished.forEach(bossId -> finishSession(bossId, SessionReaper.Cause.WORLD_UNLOAD));
+    }
+
+    /**
+     * Gets the reaper that reclaims fights that never died.
+     * @return The session reaper.
+     */
+    public SessionReaper getReaper() {
+        return reaper;
+    }
+
+    /**
+     * Gets the number of mob instances bound to running fights.
+     * @return The number of mobs.
+     */
+    public int getBoundMobCount() {
+        return bossByMob.size();
+    }
+
+    private void unbindMobs(FightSession session) {
+        for (UUID mobId : session.getMobIds()) {
+            bossByMob.remove(mobId, session.getBossId());
+        }
+    }
+
+    /**
+     * Gets the memory accounting of the retained damage data.
+     * @return The memory budget.
+     */
+    public SessionMemoryBudget getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Re-estimates the size of a session when a new player joined its ranking or its timeline grew.
+     */
+    private void accountSession(FightSession session) {
+        DamageRanking ranking = plugin.getDamageManager().getTrackedRanking(session.getBossId());
+        int participants = ranking != null ? ranking.size() : 0;
+        if (SessionMemoryBudget.estimateBytes(session, participants) == session.getEstimatedBytes()) return;
+
+        memoryBudget.update(session, participants);
+        if (memoryBudget.isOverBudget()) {
+            enforceMemoryBudget();
+        } else {
+            overBudgetWarned = false;
+        }
+    }
+
+    /**
+     * Evicts the oldest finished sessions until the retained data fits the budget again.
+     * Evicted fights were written to the fight history when they ended, only their memory is dropped.
+     */
+    private void enforceMemoryBudget() {
+        FightSession session;
+        while ((session = memoryBudget.nextEviction()) != null) {
+            clearBossData(session.getBossId());
+        }
+
+        // Only running fights are left, warn once until usage drops below the budget
+        boolean overBudget = memoryBudget.isOverBudget();
+        if (overBudget && !overBudgetWarned) {
+            plugin.getLogger().warning("Running fights use about " + (memoryBudget.getUsedBytes() / 1024)
+                    + " KB, above the tracking memory budget of " + (memoryBudget.getBudgetBytes() / 1024) + " KB");
+        }
+        overBudgetWarned = overBudget;
+    }
+
+    /**
+     * Gets the current fight session of a boss.
+     * @param bossId The ID of the boss.
+     * @return The session, or null if the boss has no damage data.
+     */
+    public FightSession getSession(String bossId) {
+        return sessions.get(bossId);
+    }
+
+    /**
+     * Gets the fight sessions of every boss with damage data.
+     * @return Unmodifiable view of the sessions by boss ID.
+     */
+    public Map<String, FightSession> getSessions() {
+        return Collections.unmodifiableMap(sessions);
+    }
+
+    /**
+     * Gets the running session of a boss, starting a new one if the previous fight is over.
+     * Data retained from the previous fight is dropped so it is not mixed with the new one.
+     */
+    private FightSession getOrStartSession(String bossId, String displayName) {
+        FightSession session = sessions.get(bossId);
+        if (session != null && !session.isEnded()) {
+            return session;
+        }
+        if (session != null) {
+            clearBossData(bossId);
+        }
+
+        session = new FightSession(++nextSessionId, bossId, System.currentTimeMillis(),
+                timelineCapacity > 0 ? new DamageTimeline(timelineBucketTicks, timelineCapacity) : null);
+        session.setDisplayName(displayName);
+        sessions.put(bossId, session);
+        return session;
     }
 
     /**
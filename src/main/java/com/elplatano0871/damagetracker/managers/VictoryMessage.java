@@ -0,0 +1,139 @@
+package com.elplatano0871.damagetracker.managers;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.api.DpsTimeline;
+import com.elplatano0871.damagetracker.api.FightResult;
+import com.elplatano0871.damagetracker.configs.BossConfig;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * The victory message of one kill, prepared once and then personalized for each recipient.
+ * Positions come from the precomputed fight result, so sending the message to every participant
+ * stays linear in the number of participants.
+ */
+public final class VictoryMessage {
+    private static final String DEFAULT_POSITION_FORMAT = "<gray>{player_name}: {damage} ({percentage}%)";
+
+    private final DamageTracker plugin;
+    private final FightResult result;
+    private final String message;
+    private final boolean broadcast;
+    private final boolean personal;
+    private final String personalTemplate;
+    private final String nonParticipantMessage;
+
+    private VictoryMessage(DamageTracker plugin, FightResult result, String message, boolean broadcast,
+                           String personalTemplate, String nonParticipantMessage) {
+        this.plugin = plugin;
+        this.result = result;
+        this.message = message;
+        this.broadcast = broadcast;
+        this.personal = message.contains("{personal_damage}");
+        this.personalTemplate = personalTemplate;
+        this.nonParticipantMessage = nonParticipantMessage;
+    }
+
+    /**
+     * Prepares the victory message of a kill.
+     *
+     * @param plugin The main plugin instance.
+     * @param bossConfig The configuration of the boss.
+     * @param displayName The display name of the boss.
+     * @param result The result of the fight, already sorted by damage.
+     * @param names Resolves the name of a ranked player.
+     * @param prefixes Resolves the MiniMessage prefix of a ranked player, empty if there is none.
+     * @return The prepared message, or null if the boss has no victory message.
+     */
+    public static VictoryMessage prepare(DamageTracker plugin, BossConfig bossConfig, String displayName,
+                                         FightResult result, Function<UUID, String> names,
+                                         Function<UUID, String> prefixes) {
+        VictoryMessageManager messageManager = plugin.getVictoryMessageManager();
+
+        // Get victory message template
+        String victoryMessage = messageManager.getVictoryMessage(bossConfig.getVictoryMessageId());
+        if (victoryMessage == null) {
+            plugin.getLogger().warning("No victory message found for ID: " + bossConfig.getVictoryMessageId());
+            return null;
+        }
+
+        // Get position formats
+        List<String> positionFormats = messageManager.getPositionFormat(bossConfig.getPositionFormatId());
+
+        // Create the top players message
+        StringBuilder topPlayersMessage = new StringBuilder();
+        for (int i = 0; i < Math.min(bossConfig.getTopPlayersToShow(), result.getParticipantCount()); i++) {
+            UUID playerId = result.getPlayerAt(i);
+            String format = i < positionFormats.size() ? positionFormats.get(i) : DEFAULT_POSITION_FORMAT;
+
+            String damageStr = plugin.formatDamage(result.getDamageAt(i), result.getMaxHealth(), "numeric");
+            String percentageStr = plugin.formatPercentage(result.getShareAt(i) * 100);
+
+            format = format.replace("{player_name}", names.apply(playerId))
+                    .replace("{damage}", damageStr)
+                    .replace("{percentage}", percentageStr)
+                    .replace("{prefix}", prefixes.apply(playerId));
+
+            topPlayersMessage.append(format).append("\n");
+        }
+
+        String message = victoryMessage
+                .replace("{boss_name}", displayName)
+                .replace("{top_players}", topPlayersMessage.toString());
+        return new VictoryMessage(plugin, result, message, bossConfig.isBroadcastMessage(),
+                messageManager.getPersonalMessage(bossConfig.getPersonalMessageId()),
+                messageManager.getNonParticipantMessage(bossConfig.getNonParticipantMessageId()));
+    }
+
+    /**
+     * Checks if a player receives the message, either because it is broadcast or because they fought.
+     *
+     * @param playerId The UUID of the player.
+     * @return true if the message should be sent to the player.
+     */
+    public boolean isRecipient(UUID playerId) {
+        return broadcast || result.isParticipant(playerId);
+    }
+
+    /**
+     * Gets the position of a participant.
+     *
+     * @param playerId The UUID of the player.
+     * @return The 1-based position, or 0 if the player did not take part.
+     */
+    public int getPosition(UUID playerId) {
+        return result.getRank(playerId);
+    }
+
+    /**
+     * Personalizes the message for a recipient.
+     *
+     * @param playerId The UUID of the recipient.
+     * @return The message to send.
+     */
+    public String render(UUID playerId) {
+        // Only process personal damage if the placeholder exists
+        if (!personal) return message;
+
+        String personalDamageMessage;
+        int position = result.getRank(playerId);
+        if (position > 0) {
+            // Player participated in the fight
+            double damage = result.getDamageAt(position - 1);
+            DpsTimeline timeline = result.getTimeline(playerId);
+            personalDamageMessage = personalTemplate
+                    .replace("{position}", String.valueOf(position))
+                    .replace("{damage}", plugin.formatDamage(damage, result.getMaxHealth(), "numeric"))
+                    .replace("{percentage}", plugin.formatPercentage(result.getShareAt(position - 1) * 100))
+                    .replace("{peak_dps}", plugin.formatDamage(timeline != null ? timeline.getPeakDps() : 0.0, result.getMaxHealth(), "numeric"))
+                    .replace("{active_dps}", plugin.formatDamage(timeline != null ? timeline.getActiveDps(damage) : 0.0, result.getMaxHealth(), "numeric"))
+                    .replace("{active_time}", String.valueOf(timeline != null ? timeline.getActiveMillis() / 1000 : 0));
+        } else {
+            // Player didn't participate
+            personalDamageMessage = nonParticipantMessage;
+        }
+        return message.replace("{personal_damage}", personalDamageMessage);
+    }
+}
@@ -0,0 +1,57 @@
+package com.elplatano0871.damagetracker.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, safe to increment from any thread without locking.
+ * The registry samples it once per second to expose the rate of the last second.
+ */
+public final class Counter {
+    private final LongAdder value;
+    private long lastSample;
+    private volatile long ratePerSecond;
+
+    Counter() {
+        this.value = new LongAdder();
+    }
+
+    /**
+     * Increments the counter by one.
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Increments the counter.
+     *
+     * @param amount The amount to add, not negative.
+     */
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    /**
+     * Gets the current value.
+     *
+     * @return The number of increments since startup.
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    /**
+     * Gets the number of increments during the last sampled second.
+     *
+     * @return The rate per second.
+     */
+    public long getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    void sample() {
+        long current = value.sum();
+        ratePerSecond = current - lastSample;
+        lastSample = current;
+    }
+}
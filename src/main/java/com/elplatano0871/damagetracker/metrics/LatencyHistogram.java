@@ -0,0 +1,154 @@
+package com.elplatano0871.damagetracker.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory histogram of durations in nanoseconds, safe to record from any thread without locking.
+ * Buckets are logarithmic with four sub-buckets per power of two, so any value is reported with at
+ * most 25% error while the whole range of a long fits in 248 counters (about 2 KB).
+ * <p>
+ * Typical use, which costs two {@link System#nanoTime()} calls when metrics are enabled and none otherwise:
+ * <pre>{@code
+ * long start = histogram.start();
+ * ...
+ * histogram.stop(start);
+ * }</pre>
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+    private volatile boolean enabled;
+
+    LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0L);
+        this.enabled = true;
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return The start time to pass to {@link #stop(long)}, or 0 if metrics are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the duration of an operation started with {@link #start()}.
+     *
+     * @param start The value returned by {@link #start()}.
+     */
+    public void stop(long start) {
+        if (start != 0L) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds, negative values count as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the sum of the recorded durations.
+     *
+     * @return The sum in nanoseconds.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the mean of the recorded durations.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        long recorded = count.sum();
+        return recorded > 0 ? (double) sum.sum() / recorded : 0.0;
+    }
+
+    /**
+     * Gets an upper bound of a quantile of the recorded durations.
+     *
+     * @param quantile The quantile, between 0 and 1.
+     * @return The upper bound of the bucket holding the quantile, in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getQuantile(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0L;
+
+        long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int octave = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (octave - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (octave - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int octave = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket & (SUB_BUCKETS - 1);
+        long width = 1L << (octave - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + sub) << (octave - SUB_BUCKET_BITS);
+        // The last bucket ends at Long.MAX_VALUE
+        return lower + width - 1 < lower ? Long.MAX_VALUE : lower + width - 1;
+    }
+}
@@ -0,0 +1,209 @@
+package com.elplatano0871.damagetracker.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry of the plugin metrics. Metrics are registered once on startup and then updated
+ * lock-free from any thread; the registry itself is only modified from the main thread.
+ * Metrics sharing a name but with different labels are exported as one Prometheus family.
+ */
+public class MetricsRegistry {
+    /**
+     * Prometheus type of a metric family.
+     */
+    private enum Type {
+        COUNTER("counter"), GAUGE("gauge"), SUMMARY("summary");
+
+        private final String name;
+
+        Type(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final Map<String, Family> families;
+    private final List<Counter> counters;
+    private final List<LatencyHistogram> histograms;
+    private volatile boolean enabled;
+
+    /**
+     * Creates an empty, enabled registry.
+     */
+    public MetricsRegistry() {
+        this.families = new LinkedHashMap<>();
+        this.counters = new ArrayList<>();
+        this.histograms = new ArrayList<>();
+        this.enabled = true;
+    }
+
+    /**
+     * Registers a counter.
+     *
+     * @param name The metric name, ending in {@code _total}.
+     * @param labels The labels in Prometheus syntax (e.g. {@code result="accepted"}), or an empty string.
+     * @param help The description of the metric family.
+     * @return The counter.
+     */
+    public Counter counter(String name, String labels, String help) {
+        Counter counter = new Counter();
+        counters.add(counter);
+        family(name, Type.COUNTER, help).series.add(new Series(labels, counter, null, null));
+        return counter;
+    }
+
+    /**
+     * Registers a latency histogram, exported as a summary in seconds.
+     *
+     * @param name The metric name, ending in {@code _seconds}.
+     * @param labels The labels in Prometheus syntax, or an empty string.
+     * @param help The description of the metric family.
+     * @return The histogram.
+     */
+    public LatencyHistogram histogram(String name, String labels, String help) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.setEnabled(enabled);
+        histograms.add(histogram);
+        family(name, Type.SUMMARY, help).series.add(new Series(labels, null, histogram, null));
+        return histogram;
+    }
+
+    /**
+     * Registers a gauge, read when the metrics are exported.
+     *
+     * @param name The metric name.
+     * @param labels The labels in Prometheus syntax, or an empty string.
+     * @param help The description of the metric family.
+     * @param supplier The source of the value, called on the main thread.
+     */
+    public void gauge(String name, String labels, String help, DoubleSupplier supplier) {
+        family(name, Type.GAUGE, help).series.add(new Series(labels, null, null, supplier));
+    }
+
+    /**
+     * Registers a counter maintained elsewhere, read when the metrics are exported.
+     *
+     * @param name The metric name, ending in {@code _total}.
+     * @param labels The labels in Prometheus syntax, or an empty string.
+     * @param help The description of the metric family.
+     * @param supplier The source of the value, called on the main thread.
+     */
+    public void counterFunction(String name, String labels, String help, DoubleSupplier supplier) {
+        family(name, Type.COUNTER, help).series.add(new Series(labels, null, null, supplier));
+    }
+
+    /**
+     * Enables or disables the timing of operations. Counters keep counting while disabled.
+     *
+     * @param enabled true to time operations.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        for (LatencyHistogram histogram : histograms) {
+            histogram.setEnabled(enabled);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Samples the per-second rate of every counter. Meant to be called once per second.
+     */
+    public void sampleRates() {
+        for (Counter counter : counters) {
+            counter.sample();
+        }
+    }
+
+    /**
+     * Gets the number of registered series.
+     *
+     * @return The number of series.
+     */
+    public int size() {
+        int size = 0;
+        for (Family family : families.values()) {
+            size += family.series.size();
+        }
+        return size;
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format. Must be called on the main thread
+     * since gauges read plugin state.
+     *
+     * @param out The builder to append to.
+     * @return The same builder.
+     */
+    public StringBuilder writePrometheus(StringBuilder out) {
+        for (Map.Entry<String, Family> entry : families.entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            out.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(family.type.name).append('\n');
+
+            for (Series series : family.series) {
+                if (series.histogram != null) {
+                    LatencyHistogram histogram = series.histogram;
+                    for (double quantile : QUANTILES) {
+                        String labels = series.labels.isEmpty()
+                                ? "quantile=\"" + quantile + "\""
+                                : series.labels + ",quantile=\"" + quantile + "\"";
+                        appendSample(out, name, labels, histogram.getQuantile(quantile) / 1e9);
+                    }
+                    appendSample(out, name + "_sum", series.labels, histogram.getSum() / 1e9);
+                    appendSample(out, name + "_count", series.labels, histogram.getCount());
+                } else if (series.counter != null) {
+                    appendSample(out, name, series.labels, series.counter.get());
+                } else {
+                    appendSample(out, name, series.labels, series.supplier.getAsDouble());
+                }
+            }
+        }
+        return out;
+    }
+
+    private Family family(String name, Type type, String help) {
+        Family family = families.computeIfAbsent(name, key -> new Family(type, help));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type.name);
+        }
+        return family;
+    }
+
+    private static void appendSample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == (long) value) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static final class Family {
+        private final Type type;
+        private final String help;
+        private final List<Series> series;
+
+        private Family(Type type, String help) {
+            this.type = type;
+            this.help = help;
+            this.series = new ArrayList<>(2);
+        }
+    }
+
+    private record Series(String labels, Counter counter, LatencyHistogram histogram, DoubleSupplier supplier) {
+    }
+}
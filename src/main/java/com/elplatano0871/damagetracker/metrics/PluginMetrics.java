@@ -0,0 +1,216 @@
+package com.elplatano0871.damagetracker.metrics;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.placeholders.PlaceholderMemo;
+import com.elplatano0871.damagetracker.sync.SyncNode;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * The metrics of the plugin hot paths, and their periodic export to a Prometheus text file
+ * for the node exporter textfile collector.
+ */
+public class PluginMetrics {
+    private final DamageTracker plugin;
+    private final MetricsRegistry registry;
+    private final Counter damageEventsAccepted;
+    private final Counter damageEventsRejected;
+    private final LatencyHistogram damageEventTime;
+    private final LatencyHistogram deathEventTime;
+    private final LatencyHistogram victoryMessageTime;
+    private final LatencyHistogram databaseEnqueueTime;
+    private final LatencyHistogram databaseFlushTime;
+    private final Counter databaseRowsWritten;
+    private final LatencyHistogram placeholderTime;
+    private final LatencyHistogram syncLag;
+    private BukkitTask sampleTask;
+    private BukkitTask exportTask;
+    private File exportFile;
+
+    /**
+     * Constructor for PluginMetrics.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public PluginMetrics(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.registry = new MetricsRegistry();
+
+        String damageEvents = "Damage events on MythicMobs, accepted when dealt by a player to a tracked boss";
+        damageEventsAccepted = registry.counter("damagetracker_damage_events_total", "result=\"accepted\"", damageEvents);
+        damageEventsRejected = registry.counter("damagetracker_damage_events_total", "result=\"rejected\"", damageEvents);
+        damageEventTime = registry.histogram("damagetracker_damage_event_seconds", "",
+                "Time spent handling a damage event on a tracked boss");
+        deathEventTime = registry.histogram("damagetracker_death_event_seconds", "",
+                "Time spent handling the death of a tracked boss");
+        victoryMessageTime = registry.histogram("damagetracker_victory_message_seconds", "",
+                "Time spent building and sending the victory messages of a boss");
+        databaseEnqueueTime = registry.histogram("damagetracker_db_enqueue_seconds", "",
+                "Time spent queueing a damage write on the main thread");
+        databaseFlushTime = registry.histogram("damagetracker_db_flush_seconds", "",
+                "Time spent writing a batch of damage rows on the database thread");
+        databaseRowsWritten = registry.counter("damagetracker_db_rows_written_total", "",
+                "Damage rows written to the database");
+        placeholderTime = registry.histogram("damagetracker_placeholder_seconds", "",
+                "Time spent resolving a placeholder, including cache lookups");
+        syncLag = registry.histogram("damagetracker_sync_lag_seconds", "",
+                "Time from a leaderboard change on another server to its merge here");
+    }
+
+    /**
+     * Registers the gauges that read plugin state. Called once every manager exists.
+     */
+    public void registerGauges() {
+        registry.gauge("damagetracker_db_queue_depth", "", "Damage writes waiting for the database thread",
+                () -> plugin.getDatabaseManager().getPendingWriteCount());
+        registry.gauge("damagetracker_fight_sessions", "", "Fight sessions with damage data in memory",
+                () -> plugin.getTrackedBossManager().getSessions().size());
+        registry.gauge("damagetracker_session_memory_bytes", "", "Estimated heap used by the damage data of fight sessions",
+                () -> plugin.getTrackedBossManager().getMemoryBudget().getUsedBytes());
+        registry.gauge("damagetracker_scheduled_deadlines", "", "Tasks pending on the tick scheduler",
+                () -> plugin.getTickScheduler().getPendingCount());
+        registry.gauge("damagetracker_victory_holograms", "state=\"active\"", "Victory holograms by state",
+                () -> plugin.getHologramManager() != null ? plugin.getHologramManager().getActiveHologramCount() : 0);
+        registry.gauge("damagetracker_victory_holograms", "state=\"pooled\"", "Victory holograms by state",
+                () -> plugin.getHologramManager() != null ? plugin.getHologramManager().getIdleHologramCount() : 0);
+        registry.counterFunction("damagetracker_placeholder_cache_requests_total", "result=\"hit\"",
+                "Placeholder requests by cache result", () -> memo() != null ? memo().getHits() : 0);
+        registry.counterFunction("damagetracker_placeholder_cache_requests_total", "result=\"miss\"",
+                "Placeholder requests by cache result", () -> memo() != null ? memo().getMisses() : 0);
+        registry.gauge("damagetracker_placeholder_cache_hit_ratio", "", "Share of placeholder requests served from the cache",
+                this::getPlaceholderHitRatio);
+        registry.counterFunction("damagetracker_sync_messages_total", "direction=\"published\"",
+                "Leaderboard sync messages by direction", () -> syncNode() != null ? syncNode().getPublishedMessages() : 0);
+        registry.counterFunction("damagetracker_sync_messages_total", "direction=\"applied\"",
+                "Leaderboard sync messages by direction", () -> syncNode() != null ? syncNode().getAppliedMessages() : 0);
+    }
+
+    /**
+     * Loads the metrics settings from the main configuration and restarts the export.
+     */
+    public void loadConfig() {
+        stop();
+
+        FileConfiguration config = plugin.getConfig();
+        registry.setEnabled(config.getBoolean("metrics.enabled", true));
+        sampleTask = Bukkit.getScheduler().runTaskTimer(plugin, registry::sampleRates, 20L, 20L);
+
+        int interval = config.getInt("metrics.export_interval", 15);
+        String fileName = config.getString("metrics.export_file", "metrics/damagetracker.prom");
+        if (interval > 0 && fileName != null && !fileName.isEmpty()) {
+            exportFile = new File(plugin.getDataFolder(), fileName);
+            exportTask = Bukkit.getScheduler().runTaskTimer(plugin, this::export, interval * 20L, interval * 20L);
+        }
+    }
+
+    /**
+     * Stops sampling and exporting the metrics.
+     */
+    public void stop() {
+        if (sampleTask != null) {
+            sampleTask.cancel();
+            sampleTask = null;
+        }
+        if (exportTask != null) {
+            exportTask.cancel();
+            exportTask = null;
+        }
+    }
+
+    /**
+     * Builds the Prometheus text on the main thread and writes it to the export file asynchronously.
+     * The file is replaced atomically so the collector never reads a partial file.
+     */
+    private void export() {
+        File target = exportFile;
+        String text = registry.writePrometheus(new StringBuilder(4096)).toString();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                Path path = target.toPath();
+                Files.createDirectories(path.getParent());
+                Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+                Files.writeString(temp, text, StandardCharsets.UTF_8);
+                try {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not write metrics file: " + e.getMessage());
+            }
+        });
+    }
+
+    private PlaceholderMemo memo() {
+        return plugin.getPlaceholderMemo();
+    }
+
+    private SyncNode syncNode() {
+        return plugin.getLeaderboardSyncManager() != null ? plugin.getLeaderboardSyncManager().getNode() : null;
+    }
+
+    /**
+     * Gets the share of placeholder requests served from the cache.
+     *
+     * @return The ratio between 0 and 1.
+     */
+    public double getPlaceholderHitRatio() {
+        PlaceholderMemo memo = memo();
+        if (memo == null) return 0.0;
+        long requests = memo.getHits() + memo.getMisses();
+        return requests > 0 ? (double) memo.getHits() / requests : 0.0;
+    }
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    public Counter getDamageEventsAccepted() {
+        return damageEventsAccepted;
+    }
+
+    public Counter getDamageEventsRejected() {
+        return damageEventsRejected;
+    }
+
+    public LatencyHistogram getDamageEventTime() {
+        return damageEventTime;
+    }
+
+    public LatencyHistogram getDeathEventTime() {
+        return deathEventTime;
+    }
+
+    public LatencyHistogram getVictoryMessageTime() {
+        return victoryMessageTime;
+    }
+
+    public LatencyHistogram getDatabaseEnqueueTime() {
+        return databaseEnqueueTime;
+    }
+
+    public LatencyHistogram getDatabaseFlushTime() {
+        return databaseFlushTime;
+    }
+
+    public Counter getDatabaseRowsWritten() {
+        return databaseRowsWritten;
+    }
+
+    public LatencyHistogram getPlaceholderTime() {
+        return placeholderTime;
+    }
+
+    public LatencyHistogram getSyncLag() {
+        return syncLag;
+    }
+}
@@ -0,0 +1,279 @@
+package com.elplatano0871.damagetracker.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * On-demand profiler of nested timing spans, enabled for a bounded window.
+ * While inactive a span costs one volatile read. While active, every thread keeps its own call tree,
+ * so spans are recorded without locking; per-stage latency histograms are shared and lock free.
+ * <p>
+ * Spans must be closed in the reverse order they were opened, so callers use try/finally:
+ * <pre>{@code
+ * long span = profiler.begin("database.flush");
+ * try {
+ *     ...
+ * } finally {
+ *     profiler.end(span);
+ * }
+ * }</pre>
+ */
+public class Profiler {
+    private static final int MAX_DEPTH = 32;
+
+    private final ThreadLocal<ThreadState> threadStates;
+    private final Map<String, StageStats> stages;
+    private final List<ThreadState> threads;
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private volatile boolean active;
+    private volatile int generation;
+    private long startedAt;
+    private long stoppedAt;
+
+    /**
+     * Creates an inactive profiler.
+     */
+    public Profiler() {
+        this.threadStates = ThreadLocal.withInitial(ThreadState::new);
+        this.stages = new ConcurrentHashMap<>();
+        this.threads = new CopyOnWriteArrayList<>();
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        this.allocationBean = bean instanceof com.sun.management.ThreadMXBean sunBean
+                && sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled() ? sunBean : null;
+    }
+
+    /**
+     * Starts a new profiling window, dropping the data of the previous one.
+     */
+    public void start() {
+        stages.clear();
+        threads.clear();
+        generation++;
+        startedAt = System.nanoTime();
+        stoppedAt = 0L;
+        active = true;
+    }
+
+    /**
+     * Stops recording. Spans still open on other threads are dropped.
+     */
+    public void stop() {
+        active = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    /**
+     * Checks if a profiling window is running.
+     *
+     * @return true if spans are recorded.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Opens a span.
+     *
+     * @param stage The name of the stage, a constant string.
+     * @return The token to pass to {@link #end(long)}, 0 if nothing is recorded.
+     */
+    public long begin(String stage) {
+        if (!active) return 0L;
+
+        ThreadState state = threadStates.get();
+        int current = generation;
+        if (state.generation != current) {
+            state.reset(current);
+            threads.add(state);
+        }
+        if (state.depth == MAX_DEPTH) {
+            return 0L;
+        }
+
+        int depth = state.depth++;
+        Node parent = depth == 0 ? state.root : state.nodes[depth - 1];
+        state.nodes[depth] = parent.child(stage);
+        state.childNanos[depth] = 0L;
+        state.allocatedAt[depth] = allocatedBytes();
+        state.startedAt[depth] = System.nanoTime();
+        return current;
+    }
+
+    /**
+     * Closes the span opened last on this thread.
+     *
+     * @param token The value returned by {@link #begin(String)}.
+     */
+    public void end(long token) {
+        if (token == 0L) return;
+
+        long now = System.nanoTime();
+        ThreadState state = threadStates.get();
+        if (state.generation != token || state.depth == 0) return;
+
+        int depth = --state.depth;
+        long duration = now - state.startedAt[depth];
+        long selfNanos = duration - state.childNanos[depth];
+        long allocated = state.allocatedAt[depth] >= 0 ? allocatedBytes() - state.allocatedAt[depth] : -1L;
+        if (depth > 0) {
+            state.childNanos[depth - 1] += duration;
+        }
+
+        Node node = state.nodes[depth];
+        state.nodes[depth] = null;
+        node.selfNanos += selfNanos;
+        stages.computeIfAbsent(node.name, name -> new StageStats()).record(duration, selfNanos, allocated);
+    }
+
+    /**
+     * Builds the ranked breakdown of the last window, by total time.
+     *
+     * @return The stages, slowest first.
+     */
+    public List<StageReport> getStageReports() {
+        List<StageReport> reports = new ArrayList<>();
+        for (Map.Entry<String, StageStats> entry : stages.entrySet()) {
+            StageStats stats = entry.getValue();
+            reports.add(new StageReport(entry.getKey(), stats.durations.getCount(), stats.durations.getSum(),
+                    stats.selfNanos.sum(), stats.durations.getQuantile(0.5), stats.durations.getQuantile(0.99),
+                    allocationBean != null ? stats.allocatedBytes.sum() : -1L));
+        }
+        reports.sort((a, b) -> Long.compare(b.totalNanos(), a.totalNanos()));
+        return reports;
+    }
+
+    /**
+     * Writes the call trees of the last window in the collapsed stack format of flame graph tools:
+     * one line per call path with its self time in microseconds.
+     *
+     * @return The collapsed stacks.
+     */
+    public String toCollapsedStacks() {
+        StringBuilder out = new StringBuilder(4096);
+        for (ThreadState state : threads) {
+            appendCollapsed(out, state.root, new StringBuilder(state.threadName.replace(';', '_').replace(' ', '_')));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Gets the length of the last window, or of the running one so far.
+     *
+     * @return The duration in nanoseconds.
+     */
+    public long getWindowNanos() {
+        return (stoppedAt != 0L ? stoppedAt : System.nanoTime()) - startedAt;
+    }
+
+    /**
+     * Checks if allocations are measured by this JVM.
+     *
+     * @return true if allocated bytes are reported.
+     */
+    public boolean isAllocationSupported() {
+        return allocationBean != null;
+    }
+
+    private long allocatedBytes() {
+        return allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : -1L;
+    }
+
+    private static void appendCollapsed(StringBuilder out, Node node, StringBuilder path) {
+        if (node.selfNanos >= 1_000L && node.parent != null) {
+            out.append(path).append(' ').append(node.selfNanos / 1_000L).append('\n');
+        }
+
+        int length = path.length();
+        for (Node child : new ArrayList<>(node.children.values())) {
+            path.append(';').append(child.name);
+            appendCollapsed(out, child, path);
+            path.setLength(length);
+        }
+    }
+
+    /**
+     * Breakdown of one stage.
+     *
+     * @param name The name of the stage.
+     * @param calls The number of closed spans.
+     * @param totalNanos The time spent in the stage, nested stages included.
+     * @param selfNanos The time spent in the stage, nested stages excluded.
+     * @param p50Nanos The median duration of a span.
+     * @param p99Nanos The 99th percentile duration of a span.
+     * @param allocatedBytes The bytes allocated in the stage, nested stages included, or -1 if unknown.
+     */
+    public record StageReport(String name, long calls, long totalNanos, long selfNanos,
+                              long p50Nanos, long p99Nanos, long allocatedBytes) {
+    }
+
+    private static final class StageStats {
+        private final LatencyHistogram durations = new LatencyHistogram();
+        private final LongAdder selfNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private void record(long duration, long self, long allocated) {
+            durations.record(duration);
+            selfNanos.add(self);
+            if (allocated > 0) {
+                allocatedBytes.add(allocated);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final String name;
+        private final Node parent;
+        private final Map<String, Node> children;
+        private long selfNanos;
+
+        private Node(String name, Node parent) {
+            this.name = name;
+            this.parent = parent;
+            this.children = new HashMap<>(4);
+        }
+
+        private Node child(String name) {
+            Node child = children.get(name);
+            if (child == null) {
+                child = new Node(name, this);
+                children.put(name, child);
+            }
+            return child;
+        }
+    }
+
+    private static final class ThreadState {
+        private final String threadName;
+        private final Node[] nodes;
+        private final long[] startedAt;
+        private final long[] childNanos;
+        private final long[] allocatedAt;
+        private Node root;
+        private int depth;
+        private int generation;
+
+        private ThreadState() {
+            this.threadName = Thread.currentThread().getName();
+            this.nodes = new Node[MAX_DEPTH];
+            this.startedAt = new long[MAX_DEPTH];
+            this.childNanos = new long[MAX_DEPTH];
+            this.allocatedAt = new long[MAX_DEPTH];
+            this.root = new Node(threadName, null);
+        }
+
+        private void reset(int generation) {
+            this.generation = generation;
+            this.root = new Node(threadName, null);
+            this.depth = 0;
+            Arrays.fill(nodes, null);
+        }
+    }
+}
@@ -2,22 +2,21 @@ package com.elplatano0871.damagetracker.placeholders;
 
 import com.elplatano0871.damagetracker.DamageTracker;
 import com.elplatano0871.damagetracker.managers.DatabaseManager;
+import com.elplatano0871.damagetracker.ranking.RankingSnapshot;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-import java.util.HashMap;
-import java.util.stream.Collectors;
 
 /**
  * Placeholder expansion for the DamageTracker plugin.
  */
 public class DamageTrackerPlaceholder extends PlaceholderExpansion {
+    private static final int MAX_CACHED_RESOLVERS = 4096;
+
     private final DamageTracker plugin;
     private final DatabaseManager databaseManager;
+    private final RankingSnapshots snapshots;
+    private final PlaceholderRegistry registry;
 
     /**
      * Constructor for DamageTrackerPlaceholder.
@@ -27,6 +26,8 @@ public class DamageTrackerPlaceholder extends PlaceholderExpansion {
     public DamageTrackerPlaceholder(DamageTracker plugin, DatabaseManager databaseManager) {
         this.plugin = plugin;
         this.databaseManager = databaseManager;
+        this.snapshots = new RankingSnapshots(plugin);
+        this.registry = createRegistry();
     }
 
     /**
@@ -68,66 +69,196 @@ public class DamageTrackerPlaceholder extends PlaceholderExpansion {
      */
     @Override
     public String onRequest(OfflinePlayer player, @NotNull String identifier) {
-        // Handle leaderboard placeholders (from DamageLeaderboardExpansion)
-        if (identifier.startsWith("damagetop_")) {
-            String bossName = identifier.substring(10); 
-            return databaseManager.getFormattedLeaderboard(bossName);
+        long start = plugin.getMetrics().getPlaceholderTime().start();
+        long span = plugin.getProfiler().begin("placeholder.resolve");
+        String value;
+        try {
+            PlaceholderResolver resolver = registry.lookup(identifier);
+            PlaceholderMemo memo = plugin.getPlaceholderMemo();
+            value = memo != null ? memo.get(player, identifier, resolver) : resolver.resolve(player);
+        } finally {
+            plugin.getProfiler().end(span);
         }
+        plugin.getMetrics().getPlaceholderTime().stop(start);
+        return value;
+    }
 
-        // Handle general damage placeholders (original functionality)
-        Map<UUID, Double> totalDamageMap = new HashMap<>();
-        Map<UUID, Map<UUID, Double>> allDamageData = plugin.getAllDamageData();
+    /**
+     * Gets the resolver of a placeholder identifier, without the per-player cache.
+     *
+     * @param identifier The identifier of the placeholder.
+     * @return The resolver, which resolves to null if the identifier is unknown.
+     */
+    public PlaceholderResolver getResolver(String identifier) {
+        return registry.lookup(identifier);
+    }
 
-        for (Map<UUID, Double> damageMap : allDamageData.values()) {
-            for (Map.Entry<UUID, Double> entry : damageMap.entrySet()) {
-                totalDamageMap.merge(entry.getKey(), entry.getValue(), Double::sum);
-            }
-        }
+    /**
+     * Gets the number of parsed placeholder identifiers.
+     *
+     * @return The number of cached resolvers.
+     */
+    public int getCachedResolverCount() {
+        return registry.size();
+    }
 
-        List<Map.Entry<UUID, Double>> topThree = totalDamageMap.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(3)
-                .collect(Collectors.toList());
+    private PlaceholderRegistry createRegistry() {
+        return new PlaceholderRegistry(MAX_CACHED_RESOLVERS)
+                // %dt_damagetop_<boss>%: formatted all-time leaderboard (from DamageLeaderboardExpansion)
+                .register("damagetop_", bossName -> PlaceholderResolver.versioned(
+                        () -> plugin.getLeaderboardManager().getVersion(bossName),
+                        player -> databaseManager.getFormattedLeaderboard(bossName)))
+                // %dt_victory_<id>%: per-viewer line of victory holograms
+                .register("victory_", this::compileVictory)
+                // %dt_top_<n>_name% and %dt_top_<n>_damage%: global ranking of current damage
+                .register("top_", this::compileTop)
+                // %dt_player_damage% and %dt_player_position%
+                .register("player_", this::compilePlayer)
+                // %dt_live_<boss>_...%: the fight currently running against a tracked boss
+                .register("live_", this::compileLive);
+    }
 
-        String[] parts = identifier.split("_");
-        if (parts.length != 2) return null;
+    private PlaceholderResolver compileVictory(String suffix) {
+        int hologramId = parsePositiveInt(suffix);
+        if (hologramId < 0) return null;
 
-        int position;
-        try {
-            position = Integer.parseInt(parts[1]);
-        } catch (NumberFormatException e) {
-            return null;
-        }
+        return player -> plugin.getHologramManager() != null
+                ? plugin.getHologramManager().getPersonalLine(hologramId, player != null ? player.getUniqueId() : null)
+                : "";
+    }
 
-        if (position < 1 || position > 3) return null;
-        if (topThree.size() < position) return "N/A";
-
-        Map.Entry<UUID, Double> entry = topThree.get(position - 1);
-        UUID playerId = entry.getKey();
-        Double damage = entry.getValue();
-
-        return switch (parts[0]) {
-            case "top" -> parts[1].endsWith("name") ?
-                    Bukkit.getOfflinePlayer(playerId).getName() :
-                    parts[1].endsWith("damage") ?
-                            String.format("%.2f", damage) :
-                            null;
-            case "player" -> {
-                if (player == null) yield null;
-                yield switch (parts[1]) {
-                    case "damage" ->
-                            String.format("%.2f", totalDamageMap.getOrDefault(player.getUniqueId(), 0.0));
-                    case "position" -> {
-                        int playerPosition = topThree.indexOf(topThree.stream()
-                                .filter(e -> e.getKey().equals(player.getUniqueId()))
-                                .findFirst()
-                                .orElse(null)) + 1;
-                        yield playerPosition > 0 ? String.valueOf(playerPosition) : "N/A";
-                    }
-                    default -> null;
-                };
-            }
+    private PlaceholderResolver compileTop(String suffix) {
+        int separator = suffix.indexOf('_');
+        if (separator < 0) return null;
+
+        int position = parsePositiveInt(suffix.substring(0, separator));
+        if (position < 1) return null;
+        int index = position - 1;
+
+        return switch (suffix.substring(separator + 1)) {
+            case "name" -> global(player -> {
+                RankingSnapshot ranking = snapshots.getGlobal();
+                return index < ranking.size() ? plugin.getPlayerNameManager().getName(ranking.getPlayerAt(index)) : "N/A";
+            });
+            case "damage" -> global(player -> {
+                RankingSnapshot ranking = snapshots.getGlobal();
+                return index < ranking.size() ? plugin.getDamageManager().formatDamageValue(ranking.getDamageAt(index)) : "N/A";
+            });
+            default -> null;
+        };
+    }
+
+    private PlaceholderResolver compilePlayer(String suffix) {
+        return switch (suffix) {
+            case "damage" -> global(player -> player == null ? null
+                    : plugin.getDamageManager().formatDamageValue(snapshots.getGlobal().getDamage(player.getUniqueId())));
+            case "position" -> global(player -> {
+                if (player == null) return null;
+                int rank = snapshots.getGlobal().getRank(player.getUniqueId());
+                return rank > 0 ? String.valueOf(rank) : "N/A";
+            });
             default -> null;
         };
     }
-}
\ No newline at end of file
+
+    private PlaceholderResolver global(PlaceholderResolver resolver) {
+        // The version of the snapshot, not of the live ranking, so a value computed from an
+        // outdated snapshot is not cached once the refreshed one is published
+        return PlaceholderResolver.versioned(() -> snapshots.getGlobal().getVersion(), resolver);
+    }
+
+    /**
+     * Parses live placeholders from the end, since boss IDs may contain underscores:
+     * {@code <boss>_participants}, {@code <boss>_total}, {@code <boss>_me_rank|percent|damage}
+     * and {@code <boss>_top_<n>_name|damage}.
+     */
+    private PlaceholderResolver compileLive(String suffix) {
+        if (suffix.endsWith("_participants")) {
+            String bossId = liveBossId(suffix, "_participants");
+            if (bossId == null) return null;
+            return live(bossId, player -> {
+                RankingSnapshot ranking = snapshots.getTracked(bossId);
+                return String.valueOf(ranking.size());
+            });
+        }
+
+        if (suffix.endsWith("_total")) {
+            String bossId = liveBossId(suffix, "_total");
+            if (bossId == null) return null;
+            return live(bossId, player -> {
+                RankingSnapshot ranking = snapshots.getTracked(bossId);
+                return plugin.getDamageManager().formatDamageValue(ranking.getTotal());
+            });
+        }
+
+        int meIndex = suffix.lastIndexOf("_me_");
+        String meValue = meIndex > 0 ? suffix.substring(meIndex + 4) : "";
+        if (meValue.equals("rank") || meValue.equals("percent") || meValue.equals("damage")) {
+            String bossId = suffix.substring(0, meIndex).toUpperCase();
+            return live(bossId, switch (meValue) {
+                case "rank" -> player -> {
+                    if (player == null) return null;
+                    RankingSnapshot ranking = snapshots.getTracked(bossId);
+                    int rank = ranking.getRank(player.getUniqueId());
+                    return rank > 0 ? String.valueOf(rank) : "N/A";
+                };
+                case "percent" -> player -> {
+                    if (player == null) return null;
+                    RankingSnapshot ranking = snapshots.getTracked(bossId);
+                    return plugin.formatPercentage(ranking.getPercentage(player.getUniqueId()));
+                };
+                case "damage" -> player -> {
+                    if (player == null) return null;
+                    RankingSnapshot ranking = snapshots.getTracked(bossId);
+                    return plugin.getDamageManager().formatDamageValue(ranking.getDamage(player.getUniqueId()));
+                };
+                default -> null;
+            });
+        }
+
+        boolean name = suffix.endsWith("_name");
+        if (!name && !suffix.endsWith("_damage")) return null;
+
+        String rest = suffix.substring(0, suffix.lastIndexOf('_'));
+        int positionIndex = rest.lastIndexOf('_');
+        int topIndex = positionIndex > 0 ? rest.lastIndexOf("_top", positionIndex - 1) : -1;
+        if (topIndex <= 0 || topIndex + 4 != positionIndex) return null;
+
+        int position = parsePositiveInt(rest.substring(positionIndex + 1));
+        if (position < 1) return null;
+        int index = position - 1;
+        String bossId = rest.substring(0, topIndex).toUpperCase();
+
+        if (name) {
+            return live(bossId, player -> {
+                RankingSnapshot ranking = snapshots.getTracked(bossId);
+                return index < ranking.size()
+                        ? plugin.getPlayerNameManager().getName(ranking.getPlayerAt(index)) : "N/A";
+            });
+        }
+        return live(bossId, player -> {
+            RankingSnapshot ranking = snapshots.getTracked(bossId);
+            return index < ranking.size()
+                    ? plugin.getDamageManager().formatDamageValue(ranking.getDamageAt(index)) : "N/A";
+        });
+    }
+
+    private PlaceholderResolver live(String bossId, PlaceholderResolver resolver) {
+        return PlaceholderResolver.versioned(() -> snapshots.getTracked(bossId).getVersion(), resolver);
+    }
+
+    private static String liveBossId(String suffix, String ending) {
+        return suffix.length() > ending.length() ? suffix.substring(0, suffix.length() - ending.length()).toUpperCase() : null;
+    }
+
+    private static int parsePositiveInt(String value) {
+        if (value.isEmpty() || value.length() > 9) return -1;
+        int result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,203 @@
+package com.elplatano0871.damagetracker.placeholders;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes placeholder values per player and identifier.
+ * A value is served again while it is younger than the configured number of ticks and the version
+ * of the data it was computed from has not changed, so a hit on a boss drops every value derived
+ * from that boss at once. Each player keeps a bounded LRU map, dropped when the player leaves.
+ */
+public class PlaceholderMemo {
+    // Requests without a player share one memo
+    private static final UUID NO_PLAYER = new UUID(0L, 0L);
+
+    private final DamageTracker plugin;
+    private final Map<UUID, PlayerMemo> memos;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder invalidations;
+    private final LongAdder evictions;
+    private volatile boolean enabled;
+    private int ttlTicks;
+    private int maxEntriesPerPlayer;
+    private int maxPlayers;
+
+    /**
+     * Constructor for PlaceholderMemo.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public PlaceholderMemo(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.memos = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.invalidations = new LongAdder();
+        this.evictions = new LongAdder();
+        loadConfig();
+    }
+
+    /**
+     * Loads the cache settings from the main configuration and drops every cached value.
+     */
+    public void loadConfig() {
+        stop();
+
+        FileConfiguration config = plugin.getConfig();
+        enabled = config.getBoolean("placeholder_cache.enabled", true);
+        ttlTicks = Math.max(1, config.getInt("placeholder_cache.ttl_ticks", 2));
+        maxEntriesPerPlayer = Math.max(1, config.getInt("placeholder_cache.max_entries_per_player", 64));
+        maxPlayers = Math.max(1, config.getInt("placeholder_cache.max_players", 2000));
+    }
+
+    /**
+     * Gets the value of a placeholder, from the cache when it is still valid.
+     *
+     * @param player The player the placeholder is requested for, may be null.
+     * @param identifier The identifier of the placeholder.
+     * @param resolver The resolver of the identifier.
+     * @return The value of the placeholder.
+     */
+    public String get(OfflinePlayer player, String identifier, PlaceholderResolver resolver) {
+        if (!enabled) {
+            return resolver.resolve(player);
+        }
+
+        UUID key = player != null ? player.getUniqueId() : NO_PLAYER;
+        long version = resolver.getVersion();
+        long tick = plugin.getTickScheduler().getCurrentTick();
+
+        PlayerMemo memo = memos.get(key);
+        if (memo == null && memos.size() < maxPlayers) {
+            memo = memos.computeIfAbsent(key, k -> new PlayerMemo(maxEntriesPerPlayer));
+        }
+
+        if (memo != null) {
+            synchronized (memo) {
+                Entry entry = memo.get(identifier);
+                if (entry != null) {
+                    if (entry.version == version && tick < entry.expiresAt) {
+                        hits.increment();
+                        return entry.value;
+                    }
+                    invalidations.increment();
+                }
+            }
+        }
+
+        misses.increment();
+        String value = resolver.resolve(player);
+        if (memo != null) {
+            synchronized (memo) {
+                memo.put(identifier, new Entry(value, version, tick + ttlTicks));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops the cached values of a player, used when the player leaves.
+     *
+     * @param playerId The UUID of the player.
+     */
+    public void removePlayer(UUID playerId) {
+        memos.remove(playerId);
+    }
+
+    /**
+     * Drops every cached value.
+     */
+    public void stop() {
+        memos.clear();
+    }
+
+    /**
+     * Gets the number of requests served from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of requests that had to be resolved.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of cached values dropped because they expired or their data changed.
+     *
+     * @return The number of invalidations.
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Gets the number of cached values evicted to keep a player within its entry limit.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the number of players with cached values.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return memos.size();
+    }
+
+    /**
+     * Gets the number of cached values over all players.
+     *
+     * @return The number of entries.
+     */
+    public int getEntryCount() {
+        int count = 0;
+        for (PlayerMemo memo : memos.values()) {
+            synchronized (memo) {
+                count += memo.size();
+            }
+        }
+        return count;
+    }
+
+    private final class PlayerMemo extends LinkedHashMap<String, Entry> {
+        private final int maxEntries;
+
+        private PlayerMemo(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private record Entry(String value, long version, long expiresAt) {
+    }
+}
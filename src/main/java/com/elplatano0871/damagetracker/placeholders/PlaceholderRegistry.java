@@ -0,0 +1,93 @@
+package com.elplatano0871.damagetracker.placeholders;
+
+import org.bukkit.OfflinePlayer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Parses placeholder identifiers once into cached resolvers.
+ * Identifiers are dispatched on their first segment (everything up to and including the first
+ * underscore) to a factory that parses the rest, so repeated requests are a single map lookup.
+ */
+public class PlaceholderRegistry {
+    private static final PlaceholderResolver UNKNOWN = player -> null;
+
+    private final Map<String, Function<String, PlaceholderResolver>> factories;
+    private final Map<String, PlaceholderResolver> resolvers;
+    private final int maxCachedResolvers;
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param maxCachedResolvers The maximum number of parsed identifiers to keep.
+     */
+    public PlaceholderRegistry(int maxCachedResolvers) {
+        this.factories = new HashMap<>();
+        this.resolvers = new ConcurrentHashMap<>();
+        this.maxCachedResolvers = maxCachedResolvers;
+    }
+
+    /**
+     * Registers a factory for the identifiers starting with a prefix.
+     *
+     * @param prefix The first segment of the identifier, including the trailing underscore.
+     * @param factory Parses the rest of the identifier into a resolver, or returns null if it is invalid.
+     * @return This registry.
+     */
+    public PlaceholderRegistry register(String prefix, Function<String, PlaceholderResolver> factory) {
+        factories.put(prefix, factory);
+        return this;
+    }
+
+    /**
+     * Resolves a placeholder identifier.
+     *
+     * @param player The player the placeholder is requested for, may be null.
+     * @param identifier The identifier, without the expansion prefix.
+     * @return The value, or null if the identifier is unknown.
+     */
+    public String resolve(OfflinePlayer player, String identifier) {
+        return lookup(identifier).resolve(player);
+    }
+
+    /**
+     * Gets the resolver of a placeholder identifier, parsing it on first use.
+     *
+     * @param identifier The identifier, without the expansion prefix.
+     * @return The resolver, which resolves to null if the identifier is unknown.
+     */
+    public PlaceholderResolver lookup(String identifier) {
+        PlaceholderResolver resolver = resolvers.get(identifier);
+        if (resolver == null) {
+            resolver = compile(identifier);
+            // Identifiers come from configuration, but an unbounded cache would let typos grow it forever
+            if (resolvers.size() < maxCachedResolvers) {
+                resolvers.put(identifier, resolver);
+            }
+        }
+        return resolver;
+    }
+
+    /**
+     * Gets the number of parsed identifiers.
+     *
+     * @return The number of cached resolvers.
+     */
+    public int size() {
+        return resolvers.size();
+    }
+
+    private PlaceholderResolver compile(String identifier) {
+        int separator = identifier.indexOf('_');
+        if (separator < 0) return UNKNOWN;
+
+        Function<String, PlaceholderResolver> factory = factories.get(identifier.substring(0, separator + 1));
+        if (factory == null) return UNKNOWN;
+
+        PlaceholderResolver resolver = factory.apply(identifier.substring(separator + 1));
+        return resolver != null ? resolver : UNKNOWN;
+    }
+}
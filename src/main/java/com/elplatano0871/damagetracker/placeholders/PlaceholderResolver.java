@@ -0,0 +1,50 @@
+package com.elplatano0871.damagetracker.placeholders;
+
+import org.bukkit.OfflinePlayer;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Resolves the value of one parsed placeholder identifier.
+ */
+@FunctionalInterface
+public interface PlaceholderResolver {
+    /**
+     * Resolves the placeholder for a player.
+     *
+     * @param player The player the placeholder is requested for, may be null.
+     * @return The value, or null if the placeholder is unknown.
+     */
+    String resolve(OfflinePlayer player);
+
+    /**
+     * Gets a counter that changes whenever the data behind this placeholder changes.
+     * Resolvers without a data source return a constant, so cached values only expire with time.
+     *
+     * @return The version of the underlying data.
+     */
+    default long getVersion() {
+        return 0L;
+    }
+
+    /**
+     * Wraps a resolver so it reports the version of the data it reads.
+     *
+     * @param version Supplies the version of the underlying data.
+     * @param resolver The resolver.
+     * @return The versioned resolver.
+     */
+    static PlaceholderResolver versioned(LongSupplier version, PlaceholderResolver resolver) {
+        return new PlaceholderResolver() {
+            @Override
+            public String resolve(OfflinePlayer player) {
+                return resolver.resolve(player);
+            }
+
+            @Override
+            public long getVersion() {
+                return version.getAsLong();
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.elplatano0871.damagetracker.placeholders;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.managers.DamageManager;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import com.elplatano0871.damagetracker.ranking.RankingSnapshot;
+import org.bukkit.Bukkit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Immutable copies of the damage rankings read by placeholders, published once per tick.
+ * The live rankings are not thread safe, so the main thread copies the rankings that changed
+ * during the last tick, and requests from any thread only read the published references.
+ * Only the rankings placeholders ask for are published, from the tick after the first request.
+ */
+final class RankingSnapshots {
+    private final DamageTracker plugin;
+    private final AtomicBoolean publishing;
+    // Last published snapshot of every tracked boss a placeholder asked for
+    private final Map<String, RankingSnapshot> tracked;
+    private volatile RankingSnapshot global;
+    private volatile boolean globalRequested;
+
+    RankingSnapshots(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.publishing = new AtomicBoolean();
+        this.tracked = new ConcurrentHashMap<>();
+        this.global = RankingSnapshot.EMPTY;
+    }
+
+    /**
+     * Gets the snapshot of the global ranking.
+     *
+     * @return The snapshot published at the start of the tick.
+     */
+    RankingSnapshot getGlobal() {
+        if (!globalRequested) {
+            globalRequested = true;
+            startPublishing();
+        }
+        return global;
+    }
+
+    /**
+     * Gets the snapshot of the live ranking of a tracked boss.
+     *
+     * @param bossId The ID of the boss.
+     * @return The snapshot published at the start of the tick, empty if the boss has no damage data.
+     */
+    RankingSnapshot getTracked(String bossId) {
+        RankingSnapshot current = tracked.get(bossId);
+        if (current != null) {
+            return current;
+        }
+        if (tracked.putIfAbsent(bossId, RankingSnapshot.EMPTY) == null) {
+            startPublishing();
+        }
+        return RankingSnapshot.EMPTY;
+    }
+
+    private void startPublishing() {
+        if (!plugin.isEnabled() || !publishing.compareAndSet(false, true)) return;
+        // Tick scheduler timeouts are created on the main thread
+        if (Bukkit.isPrimaryThread()) {
+            plugin.getTickScheduler().schedule(1L, this::publish);
+        } else {
+            Bukkit.getScheduler().runTask(plugin, () -> plugin.getTickScheduler().schedule(1L, this::publish));
+        }
+    }
+
+    private void publish() {
+        DamageManager damageManager = plugin.getDamageManager();
+        long span = plugin.getProfiler().begin("placeholder.snapshot");
+        try {
+            long globalVersion = damageManager.getGlobalVersion();
+            if (globalRequested && global.getVersion() != globalVersion) {
+                global = damageManager.getGlobalRanking().snapshot(globalVersion);
+            }
+            for (Map.Entry<String, RankingSnapshot> entry : tracked.entrySet()) {
+                long version = damageManager.getTrackedVersion(entry.getKey());
+                if (entry.getValue().getVersion() == version) continue;
+                // Finished fights have version 0 and are published as empty
+                DamageRanking ranking = damageManager.getTrackedRanking(entry.getKey());
+                entry.setValue(ranking != null ? ranking.snapshot(version) : RankingSnapshot.EMPTY);
+            }
+        } finally {
+            plugin.getProfiler().end(span);
+        }
+        // Placeholders keep reading the rankings they asked for once, so publishing never stops
+        plugin.getTickScheduler().schedule(1L, this::publish);
+    }
+}
@@ -0,0 +1,292 @@
+package com.elplatano0871.damagetracker.ranking;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Damage ranking kept sorted incrementally as damage arrives.
+ * A hit only moves the damager past the players it overtook, so rank, damage, share and
+ * top-N reads never sort and never copy. Not thread safe, meant to be used from the main thread.
+ */
+public class DamageRanking {
+    private final Map<UUID, Entry> entries;
+    private Entry[] order;
+    private int size;
+    private double total;
+    private long version;
+
+    /**
+     * Creates an empty ranking.
+     */
+    public DamageRanking() {
+        this.entries = new HashMap<>();
+        this.order = new Entry[16];
+    }
+
+    /**
+     * Adds damage to a player and moves it up the ranking if needed.
+     *
+     * @param playerId The UUID of the player.
+     * @param damage The amount of damage to add.
+     * @return The new accumulated damage of the player.
+     */
+    public double add(UUID playerId, double damage) {
+        Entry entry = entries.get(playerId);
+        if (entry == null) {
+            entry = insert(playerId);
+        }
+        entry.damage += damage;
+        total += damage;
+        version++;
+        moveUp(entry);
+        return entry.damage;
+    }
+
+    /**
+     * Sets the damage of a player, moving it up or down the ranking.
+     *
+     * @param playerId The UUID of the player.
+     * @param damage The new damage value.
+     */
+    public void set(UUID playerId, double damage) {
+        Entry entry = entries.get(playerId);
+        if (entry == null) {
+            entry = insert(playerId);
+        }
+        double previous = entry.damage;
+        entry.damage = damage;
+        total += damage - previous;
+        version++;
+        if (damage > previous) {
+            moveUp(entry);
+        } else if (damage < previous) {
+            moveDown(entry);
+        }
+    }
+
+    /**
+     * Removes a player from the ranking.
+     *
+     * @param playerId The UUID of the player.
+     * @return true if the player was ranked.
+     */
+    public boolean remove(UUID playerId) {
+        Entry entry = entries.remove(playerId);
+        if (entry == null) {
+            return false;
+        }
+        System.arraycopy(order, entry.rank + 1, order, entry.rank, size - entry.rank - 1);
+        order[--size] = null;
+        for (int i = entry.rank; i < size; i++) {
+            order[i].rank = i;
+        }
+        total -= entry.damage;
+        version++;
+        return true;
+    }
+
+    /**
+     * Removes every player from the ranking.
+     */
+    public void clear() {
+        entries.clear();
+        Arrays.fill(order, 0, size, null);
+        size = 0;
+        total = 0;
+        version++;
+    }
+
+    /**
+     * Gets the number of ranked players.
+     *
+     * @return The number of players.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the ranking is empty.
+     *
+     * @return true if no player is ranked.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the sum of the damage of every player.
+     *
+     * @return The total damage.
+     */
+    public double getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets a counter that changes every time the ranking is modified.
+     *
+     * @return The modification counter.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks if a player is ranked.
+     *
+     * @param playerId The UUID of the player.
+     * @return true if the player is ranked.
+     */
+    public boolean contains(UUID playerId) {
+        return entries.containsKey(playerId);
+    }
+
+    /**
+     * Gets the 1-based rank of a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The rank, or 0 if the player is not ranked.
+     */
+    public int getRank(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        return entry != null ? entry.rank + 1 : 0;
+    }
+
+    /**
+     * Gets the damage of a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The damage, or 0 if the player is not ranked.
+     */
+    public double getDamage(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        return entry != null ? entry.damage : 0.0;
+    }
+
+    /**
+     * Gets the share of the total damage dealt by a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The percentage, from 0 to 100.
+     */
+    public double getPercentage(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        return entry != null && total > 0 ? (entry.damage / total) * 100 : 0.0;
+    }
+
+    /**
+     * Gets the player at a 0-based position.
+     *
+     * @param index The position, 0 being the top damager.
+     * @return The UUID of the player.
+     */
+    public UUID getPlayerAt(int index) {
+        return order[index].playerId;
+    }
+
+    /**
+     * Gets the damage of the player at a 0-based position.
+     *
+     * @param index The position, 0 being the top damager.
+     * @return The damage of the player.
+     */
+    public double getDamageAt(int index) {
+        return order[index].damage;
+    }
+
+    /**
+     * Gets the top entries of the ranking.
+     *
+     * @param limit The maximum number of entries to return.
+     * @return A new list of entries sorted by damage in descending order.
+     */
+    public List<Map.Entry<UUID, Double>> getTop(int limit) {
+        int count = Math.min(limit, size);
+        List<Map.Entry<UUID, Double>> top = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            top.add(new AbstractMap.SimpleImmutableEntry<>(order[i].playerId, order[i].damage));
+        }
+        return top;
+    }
+
+    /**
+     * Copies the ranking into a map of player UUIDs to damage amounts.
+     *
+     * @return A new map.
+     */
+    public Map<UUID, Double> toMap() {
+        Map<UUID, Double> map = new HashMap<>(Math.max(16, size * 2));
+        for (int i = 0; i < size; i++) {
+            map.put(order[i].playerId, order[i].damage);
+        }
+        return map;
+    }
+
+    /**
+     * Copies the ranking into an immutable snapshot that can be read from any thread.
+     *
+     * @param version The version of the data the snapshot is taken from.
+     * @return A new snapshot.
+     */
+    public RankingSnapshot snapshot(long version) {
+        UUID[] players = new UUID[size];
+        double[] damage = new double[size];
+        for (int i = 0; i < size; i++) {
+            players[i] = order[i].playerId;
+            damage[i] = order[i].damage;
+        }
+        return new RankingSnapshot(version, players, damage, total);
+    }
+
+    private Entry insert(UUID playerId) {
+        if (size == order.length) {
+            order = Arrays.copyOf(order, size * 2);
+        }
+        Entry entry = new Entry(playerId, size);
+        order[size++] = entry;
+        entries.put(playerId, entry);
+        return entry;
+    }
+
+    private void moveUp(Entry entry) {
+        int position = entry.rank;
+        // Ties keep the player that reached the value first ahead
+        while (position > 0 && order[position - 1].damage < entry.damage) {
+            Entry overtaken = order[position - 1];
+            overtaken.rank = position;
+            order[position] = overtaken;
+            position--;
+        }
+        entry.rank = position;
+        order[position] = entry;
+    }
+
+    private void moveDown(Entry entry) {
+        int position = entry.rank;
+        while (position < size - 1 && order[position + 1].damage > entry.damage) {
+            Entry overtaking = order[position + 1];
+            overtaking.rank = position;
+            order[position] = overtaking;
+            position++;
+        }
+        entry.rank = position;
+        order[position] = entry;
+    }
+
+    private static final class Entry {
+        private final UUID playerId;
+        private double damage;
+        private int rank;
+
+        private Entry(UUID playerId, int rank) {
+            this.playerId = playerId;
+            this.rank = rank;
+        }
+    }
+}
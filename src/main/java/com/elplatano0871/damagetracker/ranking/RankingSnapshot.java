@@ -0,0 +1,111 @@
+package com.elplatano0871.damagetracker.ranking;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a {@link DamageRanking}, taken on the main thread so that other threads,
+ * like PlaceholderAPI requests from scoreboard and tab plugins, can read ranks and damage
+ * without touching the live ranking while it is being reordered.
+ */
+public final class RankingSnapshot {
+    /** A snapshot without players, for rankings that do not exist. */
+    public static final RankingSnapshot EMPTY = new RankingSnapshot(0L, new UUID[0], new double[0], 0.0);
+
+    private final long version;
+    private final UUID[] players;
+    private final double[] damage;
+    private final double total;
+    private final Map<UUID, Integer> ranks;
+
+    RankingSnapshot(long version, UUID[] players, double[] damage, double total) {
+        this.version = version;
+        this.players = players;
+        this.damage = damage;
+        this.total = total;
+        this.ranks = new HashMap<>(Math.max(16, players.length * 2));
+        for (int i = 0; i < players.length; i++) {
+            ranks.put(players[i], i);
+        }
+    }
+
+    /**
+     * Gets the version of the data the snapshot was taken from.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of ranked players.
+     *
+     * @return The number of players.
+     */
+    public int size() {
+        return players.length;
+    }
+
+    /**
+     * Gets the sum of the damage of every player.
+     *
+     * @return The total damage.
+     */
+    public double getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the player at a 0-based position.
+     *
+     * @param index The position, 0 being the top damager.
+     * @return The UUID of the player.
+     */
+    public UUID getPlayerAt(int index) {
+        return players[index];
+    }
+
+    /**
+     * Gets the damage of the player at a 0-based position.
+     *
+     * @param index The position, 0 being the top damager.
+     * @return The damage of the player.
+     */
+    public double getDamageAt(int index) {
+        return damage[index];
+    }
+
+    /**
+     * Gets the 1-based rank of a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The rank, or 0 if the player is not ranked.
+     */
+    public int getRank(UUID playerId) {
+        Integer index = ranks.get(playerId);
+        return index != null ? index + 1 : 0;
+    }
+
+    /**
+     * Gets the damage of a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The damage, or 0 if the player is not ranked.
+     */
+    public double getDamage(UUID playerId) {
+        Integer index = ranks.get(playerId);
+        return index != null ? damage[index] : 0.0;
+    }
+
+    /**
+     * Gets the share of the total damage dealt by a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The percentage, from 0 to 100.
+     */
+    public double getPercentage(UUID playerId) {
+        return total > 0 ? getDamage(playerId) / total * 100 : 0.0;
+    }
+}
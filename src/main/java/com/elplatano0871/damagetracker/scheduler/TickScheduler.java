@@ -0,0 +1,85 @@
+package com.elplatano0871.damagetracker.scheduler;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Owns the deadline-based work of the plugin: a single repeating task advances a timing wheel,
+ * instead of one Bukkit task per deadline. Scheduling and cancelling must happen on the main thread;
+ * the current tick can be read from any thread.
+ */
+public class TickScheduler {
+    private final DamageTracker plugin;
+    private final TimingWheel wheel;
+    private BukkitTask task;
+    private volatile long currentTick;
+
+    /**
+     * Constructor for TickScheduler.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public TickScheduler(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.wheel = new TimingWheel();
+    }
+
+    /**
+     * Starts advancing the wheel every tick.
+     */
+    public void start() {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stops advancing the wheel. Pending timeouts are kept but will not run.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Schedules a task to run after a delay.
+     *
+     * @param delayTicks The delay in ticks, at least 1.
+     * @param runnable The task to run on the main thread.
+     * @return The handle to cancel the task.
+     */
+    public TimingWheel.Timeout schedule(long delayTicks, Runnable runnable) {
+        return wheel.schedule(delayTicks, runnable);
+    }
+
+    /**
+     * Gets the number of ticks since the scheduler was created.
+     *
+     * @return The current tick.
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Gets the number of scheduled tasks.
+     *
+     * @return The number of pending timeouts.
+     */
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    private void tick() {
+        long span = plugin.getProfiler().begin("scheduler.tick");
+        try {
+            wheel.advance(e -> plugin.getLogger().warning("Error running scheduled task: " + e.getMessage()));
+            currentTick = wheel.getCurrentTick();
+        } finally {
+            plugin.getProfiler().end(span);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.elplatano0871.damagetracker.scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel with a resolution of one tick.
+ * Four levels of 64 slots cover deadlines up to 64^4 ticks (about 9.7 days) ahead; later deadlines
+ * wait in an overflow list. Scheduling and cancelling are O(1): timeouts are kept in intrusive
+ * doubly linked lists, and are moved to a finer level only when their slot comes up.
+ * Not thread safe, meant to be used from the main thread.
+ */
+public class TimingWheel {
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int OVERFLOW_LEVEL = LEVELS;
+    // Timeouts of the slot being run, so a task can still cancel a sibling due on the same tick
+    private static final int FIRING = -2;
+    private static final int DONE = -1;
+
+    private final Timeout[][] slots;
+    private Timeout overflow;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel at tick 0.
+     */
+    public TimingWheel() {
+        this.slots = new Timeout[LEVELS][SLOTS];
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param delayTicks The delay in ticks, at least 1.
+     * @param task The task to run.
+     * @return The handle of the scheduled task.
+     */
+    public Timeout schedule(long delayTicks, Runnable task) {
+        Timeout timeout = new Timeout(this, currentTick + Math.max(1L, delayTicks), task);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel by one tick and runs the tasks that became due.
+     * A failing task does not prevent the others from running.
+     *
+     * @param errorHandler Called with the exceptions thrown by tasks.
+     */
+    public void advance(Consumer<RuntimeException> errorHandler) {
+        currentTick++;
+
+        // Move the timeouts of the coarser slots that just came up, coarsest first
+        if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+            cascade(detachOverflow());
+        }
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                cascade(detach(level, (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)));
+            }
+        }
+
+        Timeout due = detach(0, (int) (currentTick & SLOT_MASK));
+        for (Timeout timeout = due; timeout != null; timeout = timeout.next) {
+            timeout.level = FIRING;
+        }
+
+        Timeout timeout = due;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            if (timeout.level == FIRING) {
+                timeout.level = DONE;
+                size--;
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    errorHandler.accept(e);
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Gets the current tick of the wheel.
+     *
+     * @return The number of ticks since the wheel was created.
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Gets the number of scheduled tasks.
+     *
+     * @return The number of pending timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void insert(Timeout timeout) {
+        long deadline = timeout.deadline;
+        int level = 0;
+        // The lowest level whose higher bits match the current tick still sees the deadline's slot come up
+        while (level < LEVELS && (deadline >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+
+        timeout.level = level;
+        if (level == OVERFLOW_LEVEL) {
+            timeout.next = overflow;
+            if (overflow != null) overflow.prev = timeout;
+            overflow = timeout;
+            return;
+        }
+
+        int slot = (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.slot = slot;
+        Timeout head = slots[level][slot];
+        timeout.next = head;
+        if (head != null) head.prev = timeout;
+        slots[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else if (timeout.level == OVERFLOW_LEVEL) {
+            overflow = timeout.next;
+        } else {
+            slots[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.next = null;
+        timeout.prev = null;
+        timeout.level = DONE;
+        size--;
+    }
+
+    private Timeout detach(int level, int slot) {
+        Timeout head = slots[level][slot];
+        slots[level][slot] = null;
+        return head;
+    }
+
+    private Timeout detachOverflow() {
+        Timeout head = overflow;
+        overflow = null;
+        return head;
+    }
+
+    private void cascade(Timeout timeout) {
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            insert(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final long deadline;
+        private final Runnable task;
+        private Timeout prev;
+        private Timeout next;
+        private int level;
+        private int slot;
+
+        private Timeout(TimingWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the task if it has not run yet.
+         *
+         * @return true if the task was pending and will not run.
+         */
+        public boolean cancel() {
+            if (level == DONE) return false;
+            if (level == FIRING) {
+                level = DONE;
+                wheel.size--;
+            } else {
+                wheel.unlink(this);
+            }
+            return true;
+        }
+
+        /**
+         * Checks if the task is still waiting to run.
+         *
+         * @return true if the task is pending.
+         */
+        public boolean isPending() {
+            return level >= 0;
+        }
+
+        /**
+         * Gets the tick at which the task runs.
+         *
+         * @return The deadline tick.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.elplatano0871.damagetracker.session;
+
+import com.elplatano0871.damagetracker.api.DpsTimeline;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Damage of every player of a fight in fixed-width tick buckets, counted from the first hit.
+ * Each player has a primitive ring that grows with the fight up to the horizon and then wraps,
+ * so a hit only adds to a float slot. The peak and the number of active buckets are updated
+ * when a bucket closes, so they cover the whole fight even after old buckets were overwritten.
+ * Not thread safe, meant to be used from the main thread.
+ */
+public class DamageTimeline {
+    private static final int INITIAL_BUCKETS = 16;
+    // Object header, fields and the map entry of a player track, without its ring
+    private static final long TRACK_OVERHEAD_BYTES = 96L;
+
+    private final int bucketTicks;
+    private final int capacity;
+    private final Map<UUID, Track> tracks;
+    private long startTick = -1;
+    private long ringBytes;
+
+    /**
+     * Creates an empty timeline.
+     *
+     * @param bucketTicks The width of a bucket in ticks.
+     * @param capacity The maximum number of buckets kept per player.
+     */
+    public DamageTimeline(int bucketTicks, int capacity) {
+        this.bucketTicks = Math.max(1, bucketTicks);
+        this.capacity = Math.max(1, capacity);
+        this.tracks = new HashMap<>();
+    }
+
+    /**
+     * Adds a hit to the bucket of the current tick.
+     *
+     * @param playerId The UUID of the player.
+     * @param damage The damage of the hit.
+     * @param tick The current scheduler tick.
+     */
+    public void record(UUID playerId, double damage, long tick) {
+        if (startTick < 0) {
+            startTick = tick;
+        }
+        Track track = tracks.get(playerId);
+        if (track == null) {
+            track = new Track(Math.min(INITIAL_BUCKETS, capacity));
+            tracks.put(playerId, track);
+            ringBytes += track.ring.length * 4L;
+        }
+
+        long bucket = Math.max(0L, tick - startTick) / bucketTicks;
+        int before = track.ring.length;
+        track.add(bucket, (float) damage, capacity);
+        ringBytes += (track.ring.length - before) * 4L;
+    }
+
+    /**
+     * Takes an immutable copy of the timeline of a player.
+     *
+     * @param playerId The UUID of the player.
+     * @return The timeline, or null if the player never dealt damage.
+     */
+    public DpsTimeline snapshot(UUID playerId) {
+        Track track = tracks.get(playerId);
+        if (track == null) return null;
+
+        long bucketMillis = bucketTicks * 50L;
+        int length = (int) Math.min(track.lastBucket - track.firstBucket + 1, track.ring.length);
+        long startBucket = track.lastBucket - length + 1;
+        float[] damage = new float[length];
+        for (int i = 0; i < length; i++) {
+            damage[i] = track.ring[track.slot(startBucket + i)];
+        }
+        double peak = Math.max(track.peak, track.ring[track.slot(track.lastBucket)]);
+        return new DpsTimeline(bucketMillis, startBucket, damage, peak * 1000.0 / bucketMillis,
+                (track.closedActive + 1) * bucketMillis);
+    }
+
+    /**
+     * Takes an immutable copy of the timeline of every player.
+     *
+     * @return A map of player UUIDs to timelines.
+     */
+    public Map<UUID, DpsTimeline> snapshotAll() {
+        Map<UUID, DpsTimeline> snapshots = new HashMap<>(tracks.size() * 2);
+        for (UUID playerId : tracks.keySet()) {
+            snapshots.put(playerId, snapshot(playerId));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Gets the estimated heap used by the timeline.
+     *
+     * @return The estimate in bytes.
+     */
+    public long getEstimatedBytes() {
+        return ringBytes + tracks.size() * TRACK_OVERHEAD_BYTES;
+    }
+
+    /**
+     * The buckets of one player, indexed by bucket number modulo the ring length.
+     */
+    private static final class Track {
+        private float[] ring;
+        private long firstBucket = -1;
+        private long lastBucket = -1;
+        private float peak;
+        private int closedActive;
+
+        private Track(int initialBuckets) {
+            this.ring = new float[initialBuckets];
+        }
+
+        private void add(long bucket, float damage, int capacity) {
+            if (bucket != lastBucket) {
+                if (lastBucket >= 0) {
+                    // The previous bucket is complete, it only had a slot because it was hit
+                    peak = Math.max(peak, ring[slot(lastBucket)]);
+                    closedActive++;
+                } else {
+                    firstBucket = bucket;
+                }
+                grow(bucket, capacity);
+                // Clear the slots of the buckets without damage since the last hit, at most one lap.
+                // A player who joins late has no slots before their first bucket.
+                long from = Math.max(Math.max(lastBucket + 1, firstBucket), bucket - ring.length + 1);
+                for (long b = from; b <= bucket; b++) {
+                    ring[slot(b)] = 0f;
+                }
+                lastBucket = bucket;
+            }
+            ring[slot(bucket)] += damage;
+        }
+
+        private void grow(long bucket, int capacity) {
+            long span = bucket - firstBucket + 1;
+            if (span <= ring.length || ring.length >= capacity) return;
+            // Still within the first lap, so the slots are in bucket order and a copy keeps them in place
+            int length = (int) Math.min(capacity, Math.max(span, ring.length * 2L));
+            ring = Arrays.copyOf(ring, length);
+        }
+
+        private int slot(long bucket) {
+            return (int) ((bucket - firstBucket) % ring.length);
+        }
+    }
+}
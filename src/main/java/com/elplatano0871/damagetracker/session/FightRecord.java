@@ -0,0 +1,101 @@
+package com.elplatano0871.damagetracker.session;
+
+import com.elplatano0871.damagetracker.api.DpsTimeline;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Snapshot of the damage data of a finished fight, written to the fight history.
+ */
+public final class FightRecord {
+    private final long sessionId;
+    private final String bossId;
+    private final long startedAt;
+    private final long endedAt;
+    private final double maxHealth;
+    private final Map<UUID, Double> damage;
+    private final Map<UUID, DpsTimeline> timelines;
+
+    /**
+     * Creates a record from a copy of the damage of a session.
+     *
+     * @param session The finished session.
+     * @param maxHealth The maximum health of the boss.
+     * @param damage The damage dealt by each player, not copied.
+     */
+    public FightRecord(FightSession session, double maxHealth, Map<UUID, Double> damage) {
+        this(session, maxHealth, damage, null);
+    }
+
+    /**
+     * Creates a record from a copy of the damage of a session and the DPS timelines of its players.
+     *
+     * @param session The finished session.
+     * @param maxHealth The maximum health of the boss.
+     * @param damage The damage dealt by each player, not copied.
+     * @param timelines The timeline of each player, not copied, or null if none were recorded.
+     */
+    public FightRecord(FightSession session, double maxHealth, Map<UUID, Double> damage,
+                       Map<UUID, DpsTimeline> timelines) {
+        this.sessionId = session.getId();
+        this.bossId = session.getBossId();
+        this.startedAt = session.getStartedAt();
+        this.endedAt = session.getEndedAt();
+        this.maxHealth = maxHealth;
+        this.damage = Collections.unmodifiableMap(damage);
+        this.timelines = timelines != null ? Collections.unmodifiableMap(timelines) : Collections.emptyMap();
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    public String getBossId() {
+        return bossId;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public long getEndedAt() {
+        return endedAt;
+    }
+
+    public double getMaxHealth() {
+        return maxHealth;
+    }
+
+    /**
+     * Gets the damage dealt by each player.
+     *
+     * @return Unmodifiable map of player UUIDs to damage.
+     */
+    public Map<UUID, Double> getDamage() {
+        return damage;
+    }
+
+    /**
+     * Gets the DPS timeline of each player.
+     *
+     * @return Unmodifiable map of player UUIDs to timelines, empty if none were recorded.
+     */
+    public Map<UUID, DpsTimeline> getTimelines() {
+        return timelines;
+    }
+
+    /**
+     * Gets the damage dealt by every player together.
+     *
+     * @return The total damage.
+     */
+    public double getTotalDamage() {
+        double total = 0.0;
+        for (double value : damage.values()) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,238 @@
+package com.elplatano0871.damagetracker.session;
+
+import com.elplatano0871.damagetracker.scheduler.TimingWheel;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One fight against a tracked boss, from the first hit to the cleanup of its data.
+ * A boss that is hit again after its death starts a new session, which cancels the
+ * pending cleanup of the previous one so it cannot wipe the new fight.
+ */
+public class FightSession {
+    private final long id;
+    private final String bossId;
+    private final long startedAt;
+    private long endedAt;
+    private TimingWheel.Timeout cleanup;
+    private long estimatedBytes;
+    private int accountedParticipants;
+    private long lastActivityTick;
+    // Mob instances hit during the session, with the world they were in
+    private final Map<UUID, UUID> mobs;
+    private final DamageTimeline timeline;
+    private String displayName;
+
+    /**
+     * Creates a running session.
+     *
+     * @param id The unique ID of the session.
+     * @param bossId The ID of the boss.
+     * @param startedAt The time the session started, in milliseconds.
+     */
+    public FightSession(long id, String bossId, long startedAt) {
+        this(id, bossId, startedAt, null);
+    }
+
+    /**
+     * Creates a running session that records the damage timeline of every player.
+     *
+     * @param id The unique ID of the session.
+     * @param bossId The ID of the boss.
+     * @param startedAt The time the session started, in milliseconds.
+     * @param timeline The timeline of the session, or null to record none.
+     */
+    public FightSession(long id, String bossId, long startedAt, DamageTimeline timeline) {
+        this.id = id;
+        this.bossId = bossId;
+        this.startedAt = startedAt;
+        this.mobs = new HashMap<>(2);
+        this.timeline = timeline;
+    }
+
+    /**
+     * Gets the unique ID of the session.
+     *
+     * @return The session ID.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the ID of the boss.
+     *
+     * @return The boss ID.
+     */
+    public String getBossId() {
+        return bossId;
+    }
+
+    /**
+     * Gets the name of the boss as players see it.
+     *
+     * @return The display name of the mob, or the boss ID if it is unknown.
+     */
+    public String getDisplayName() {
+        return displayName != null ? displayName : bossId;
+    }
+
+    /**
+     * Sets the name of the boss as players see it.
+     *
+     * @param displayName The display name of the mob, or null if it is unknown.
+     */
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the time the session started.
+     *
+     * @return The start time in milliseconds.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Gets the time the boss died.
+     *
+     * @return The end time in milliseconds, or 0 if the fight is still running.
+     */
+    public long getEndedAt() {
+        return endedAt;
+    }
+
+    /**
+     * Checks if the boss of this session died.
+     *
+     * @return true if the fight is over.
+     */
+    public boolean isEnded() {
+        return endedAt > 0;
+    }
+
+    /**
+     * Marks the fight as over.
+     *
+     * @param endedAt The time the boss died, in milliseconds.
+     */
+    public void end(long endedAt) {
+        this.endedAt = endedAt;
+    }
+
+    /**
+     * Records a hit on a mob of the session.
+     *
+     * @param mobId The UUID of the mob entity, or null if unknown.
+     * @param worldId The UUID of the world of the mob, or null if unknown.
+     * @param tick The current scheduler tick.
+     * @return true if the mob was not part of the session yet.
+     */
+    public boolean recordHit(UUID mobId, UUID worldId, long tick) {
+        lastActivityTick = tick;
+        return mobId != null && mobs.putIfAbsent(mobId, worldId) == null;
+    }
+
+    /**
+     * Removes a mob that is gone from the session.
+     *
+     * @param mobId The UUID of the mob entity.
+     * @return true if the mob was part of the session.
+     */
+    public boolean removeMob(UUID mobId) {
+        return mobs.remove(mobId) != null;
+    }
+
+    /**
+     * Gets the mob instances hit during the session that are still around.
+     *
+     * @return Unmodifiable view of the mob UUIDs.
+     */
+    public Set<UUID> getMobIds() {
+        return Collections.unmodifiableSet(mobs.keySet());
+    }
+
+    /**
+     * Gets the world of a mob of the session.
+     *
+     * @param mobId The UUID of the mob entity.
+     * @return The UUID of the world, or null if unknown.
+     */
+    public UUID getMobWorld(UUID mobId) {
+        return mobs.get(mobId);
+    }
+
+    /**
+     * Gets the damage timeline of the session.
+     *
+     * @return The timeline, or null if timelines are disabled.
+     */
+    public DamageTimeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Gets the tick of the last hit of the session.
+     *
+     * @return The scheduler tick.
+     */
+    public long getLastActivityTick() {
+        return lastActivityTick;
+    }
+
+    /**
+     * Gets the estimated heap used by the damage data of the session.
+     *
+     * @return The estimate in bytes, as last accounted by the memory budget.
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    void setEstimatedBytes(long estimatedBytes) {
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    int getAccountedParticipants() {
+        return accountedParticipants;
+    }
+
+    void setAccountedParticipants(int accountedParticipants) {
+        this.accountedParticipants = accountedParticipants;
+    }
+
+    /**
+     * Sets the pending cleanup of the session data, cancelling the previous one.
+     *
+     * @param cleanup The handle of the cleanup task.
+     */
+    public void setCleanup(TimingWheel.Timeout cleanup) {
+        cancelCleanup();
+        this.cleanup = cleanup;
+    }
+
+    /**
+     * Cancels the pending cleanup of the session data, if any.
+     */
+    public void cancelCleanup() {
+        if (cleanup != null) {
+            cleanup.cancel();
+            cleanup = null;
+        }
+    }
+
+    /**
+     * Checks if the cleanup of the session data is pending.
+     *
+     * @return true if a cleanup is scheduled.
+     */
+    public boolean hasPendingCleanup() {
+        return cleanup != null && cleanup.isPending();
+    }
+}
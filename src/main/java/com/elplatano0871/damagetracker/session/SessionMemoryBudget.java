@@ -0,0 +1,142 @@
+package com.elplatano0871.damagetracker.session;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Accounts the estimated heap used by the damage data of fight sessions against a budget.
+ * Finished sessions are kept in the order they ended; since they no longer receive damage,
+ * this is also their least recently used order, and the oldest one is the next to evict.
+ * Running sessions are counted but never evicted. Not thread safe, meant to be used from the main thread.
+ */
+public class SessionMemoryBudget {
+    // Session object, ranking, order array and the map entries that reference them
+    private static final long SESSION_OVERHEAD_BYTES = 512L;
+    // HashMap node, UUID, ranking entry, order slot and the amortized free table slots
+    private static final long PARTICIPANT_BYTES = 120L;
+
+    private final Set<FightSession> finished;
+    private long budgetBytes;
+    private long usedBytes;
+    private long evictedSessions;
+    private long evictedParticipants;
+
+    /**
+     * Creates an empty budget.
+     *
+     * @param budgetBytes The budget in bytes, 0 or less for no limit.
+     */
+    public SessionMemoryBudget(long budgetBytes) {
+        this.finished = new LinkedHashSet<>();
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Estimates the heap used by the damage data of a session.
+     *
+     * @param participants The number of players in the ranking.
+     * @return The estimated size in bytes.
+     */
+    public static long estimateBytes(int participants) {
+        return SESSION_OVERHEAD_BYTES + participants * PARTICIPANT_BYTES;
+    }
+
+    /**
+     * Estimates the heap used by the damage data of a session, its damage timeline included.
+     *
+     * @param session The session.
+     * @param participants The number of players in the ranking.
+     * @return The estimated size in bytes.
+     */
+    public static long estimateBytes(FightSession session, int participants) {
+        DamageTimeline timeline = session.getTimeline();
+        return estimateBytes(participants) + (timeline != null ? timeline.getEstimatedBytes() : 0L);
+    }
+
+    /**
+     * Updates the size of a session after its number of participants or its timeline changed.
+     *
+     * @param session The session.
+     * @param participants The number of players in its ranking.
+     */
+    public void update(FightSession session, int participants) {
+        long bytes = estimateBytes(session, participants);
+        usedBytes += bytes - session.getEstimatedBytes();
+        session.setEstimatedBytes(bytes);
+        session.setAccountedParticipants(participants);
+    }
+
+    /**
+     * Marks a session as finished, making it a candidate for eviction.
+     *
+     * @param session The session whose boss died.
+     */
+    public void finish(FightSession session) {
+        finished.add(session);
+    }
+
+    /**
+     * Stops accounting a session whose data was dropped.
+     *
+     * @param session The session.
+     */
+    public void release(FightSession session) {
+        finished.remove(session);
+        usedBytes -= session.getEstimatedBytes();
+        session.setEstimatedBytes(0L);
+        session.setAccountedParticipants(0);
+    }
+
+    /**
+     * Takes the oldest finished session if the budget is exceeded.
+     * The caller is expected to drop its data and {@link #release} it.
+     *
+     * @return The session to evict, or null if within budget or nothing can be evicted.
+     */
+    public FightSession nextEviction() {
+        if (budgetBytes <= 0 || usedBytes <= budgetBytes) return null;
+
+        Iterator<FightSession> iterator = finished.iterator();
+        if (!iterator.hasNext()) return null;
+
+        FightSession session = iterator.next();
+        iterator.remove();
+        evictedSessions++;
+        evictedParticipants += session.getAccountedParticipants();
+        return session;
+    }
+
+    /**
+     * Checks if the budget is exceeded.
+     *
+     * @return true if the estimated usage is above the budget.
+     */
+    public boolean isOverBudget() {
+        return budgetBytes > 0 && usedBytes > budgetBytes;
+    }
+
+    public void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public int getFinishedCount() {
+        return finished.size();
+    }
+
+    public long getEvictedSessions() {
+        return evictedSessions;
+    }
+
+    public long getEvictedParticipants() {
+        return evictedParticipants;
+    }
+}
@@ -0,0 +1,139 @@
+package com.elplatano0871.damagetracker.session;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.managers.TrackedBossManager;
+import com.elplatano0871.damagetracker.scheduler.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Reclaims the damage data of fights that will never see a death event: running sessions
+ * without a hit for longer than the idle timeout, and data left without a session.
+ * Each run works through the candidates for at most a fixed time budget and resumes where it
+ * stopped on the next run, so a large backlog never costs a long tick.
+ */
+public class SessionReaper {
+    /**
+     * Why the data of a fight was reclaimed.
+     */
+    public enum Cause {
+        DESPAWN, REMOVED, WORLD_UNLOAD, IDLE, ORPHAN
+    }
+
+    private static final long RUN_INTERVAL_TICKS = 100L;
+    private static final long TIME_BUDGET_NANOS = 500_000L;
+
+    private final DamageTracker plugin;
+    private final TrackedBossManager trackedBossManager;
+    private final long[] reclaimed;
+    private Iterator<String> cursor;
+    private TimingWheel.Timeout nextRun;
+    private long idleTimeoutTicks;
+    private long runs;
+    private long lastRunNanos;
+
+    /**
+     * Constructor for SessionReaper.
+     *
+     * @param plugin The main plugin instance.
+     * @param trackedBossManager The manager owning the sessions.
+     */
+    public SessionReaper(DamageTracker plugin, TrackedBossManager trackedBossManager) {
+        this.plugin = plugin;
+        this.trackedBossManager = trackedBossManager;
+        this.reclaimed = new long[Cause.values().length];
+    }
+
+    /**
+     * Starts running the reaper periodically on the tick scheduler.
+     */
+    public void start() {
+        if (nextRun == null || !nextRun.isPending()) {
+            nextRun = plugin.getTickScheduler().schedule(RUN_INTERVAL_TICKS, this::run);
+        }
+    }
+
+    /**
+     * Stops running the reaper.
+     */
+    public void stop() {
+        if (nextRun != null) {
+            nextRun.cancel();
+            nextRun = null;
+        }
+        cursor = null;
+    }
+
+    /**
+     * Sets how long a running fight may go without a hit before it is finished.
+     *
+     * @param seconds The timeout in seconds, 0 or less to never finish idle fights.
+     */
+    public void setIdleTimeoutSeconds(int seconds) {
+        this.idleTimeoutTicks = Math.max(0, seconds) * 20L;
+    }
+
+    /**
+     * Counts a reclaimed fight.
+     *
+     * @param cause Why the fight was reclaimed.
+     */
+    public void record(Cause cause) {
+        reclaimed[cause.ordinal()]++;
+    }
+
+    /**
+     * Gets the number of fights reclaimed for a cause.
+     *
+     * @param cause The cause.
+     * @return The number of reclaimed fights since startup.
+     */
+    public long getReclaimed(Cause cause) {
+        return reclaimed[cause.ordinal()];
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    public long getLastRunNanos() {
+        return lastRunNanos;
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        try {
+            if (cursor == null || !cursor.hasNext()) {
+                // Sessions first, then damage data whose session is gone
+                Set<String> candidates = new LinkedHashSet<>(trackedBossManager.getSessions().keySet());
+                candidates.addAll(plugin.getDamageManager().getTrackedBossIds());
+                cursor = new ArrayList<>(candidates).iterator();
+            }
+
+            long now = plugin.getTickScheduler().getCurrentTick();
+            while (cursor.hasNext() && System.nanoTime() - start < TIME_BUDGET_NANOS) {
+                String bossId = cursor.next();
+                FightSession session = trackedBossManager.getSession(bossId);
+                if (session == null) {
+                    if (plugin.getDamageManager().hasTrackedData(bossId)) {
+                        trackedBossManager.clearBossData(bossId);
+                        record(Cause.ORPHAN);
+                    }
+                } else if (!session.isEnded() && idleTimeoutTicks > 0
+                        && now - session.getLastActivityTick() > idleTimeoutTicks) {
+                    trackedBossManager.finishSession(bossId, Cause.IDLE);
+                }
+            }
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Error reclaiming fight sessions: " + e.getMessage());
+            cursor = null;
+        } finally {
+            runs++;
+            lastRunNanos = System.nanoTime() - start;
+            nextRun = plugin.getTickScheduler().schedule(RUN_INTERVAL_TICKS, this::run);
+        }
+    }
+}
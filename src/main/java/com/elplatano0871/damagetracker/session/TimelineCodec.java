@@ -0,0 +1,109 @@
+package com.elplatano0871.damagetracker.session;
+
+import com.elplatano0871.damagetracker.api.DpsTimeline;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact storage format of the bucket values of a {@link DpsTimeline}: each bucket is stored as
+ * hundredths of damage in a variable-length integer, and the result is deflated. Idle buckets
+ * become single zero bytes that deflate to almost nothing, so a typical fight takes a few bytes
+ * per active second.
+ */
+public final class TimelineCodec {
+    private static final double SCALE = 100.0;
+
+    private TimelineCodec() {
+    }
+
+    /**
+     * Encodes the bucket values of a timeline.
+     *
+     * @param timeline The timeline.
+     * @return The compressed values.
+     */
+    public static byte[] encode(DpsTimeline timeline) {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(timeline.size() * 2 + 8);
+        writeVarLong(raw, timeline.size());
+        for (int i = 0; i < timeline.size(); i++) {
+            writeVarLong(raw, Math.max(0L, Math.round(timeline.getDamageAt(i) * SCALE)));
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw.toByteArray());
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.size() / 2 + 16);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decodes bucket values written by {@link #encode}.
+     *
+     * @param data The compressed values.
+     * @return The damage of each bucket.
+     * @throws IllegalArgumentException If the data is corrupt.
+     */
+    public static float[] decode(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated timeline data");
+                }
+                raw.write(buffer, 0, read);
+            }
+
+            byte[] bytes = raw.toByteArray();
+            int[] position = {0};
+            int size = (int) readVarLong(bytes, position);
+            if (size < 0 || size > bytes.length) {
+                throw new IllegalArgumentException("Invalid timeline size: " + size);
+            }
+            float[] damage = new float[size];
+            for (int i = 0; i < size; i++) {
+                damage[i] = (float) (readVarLong(bytes, position) / SCALE);
+            }
+            return damage;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt timeline data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated timeline data");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed timeline data");
+    }
+}
@@ -0,0 +1,150 @@
+package com.elplatano0871.damagetracker.spatial;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Index of online players by world and chunk, kept up to date from movement events.
+ * Lets radius queries look at the few chunks around a point instead of every online player.
+ * Not thread safe, meant to be used from the main thread.
+ */
+public class PlayerPositionIndex {
+    private final Map<UUID, Map<Long, Set<UUID>>> chunksByWorld;
+    private final Map<UUID, Position> positions;
+    private final BiConsumer<Player, Location> chunkChangeListener;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param chunkChangeListener Called after a player moved to another chunk or world, with the new
+     *                            location, since the player still holds the old one during movement events.
+     */
+    public PlayerPositionIndex(BiConsumer<Player, Location> chunkChangeListener) {
+        this.chunksByWorld = new HashMap<>();
+        this.positions = new HashMap<>();
+        this.chunkChangeListener = chunkChangeListener;
+    }
+
+    /**
+     * Indexes every online player, used on startup and reload.
+     */
+    public void indexOnlinePlayers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            update(player, player.getLocation());
+        }
+    }
+
+    /**
+     * Updates the position of a player. Cheap when the player stays within the same chunk.
+     *
+     * @param player The player.
+     * @param location The new location of the player.
+     */
+    public void update(Player player, Location location) {
+        World world = location.getWorld();
+        if (world == null) return;
+
+        UUID worldId = world.getUID();
+        long chunkKey = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        Position previous = positions.get(player.getUniqueId());
+        if (previous != null && previous.chunkKey == chunkKey && previous.worldId.equals(worldId)) return;
+
+        if (previous != null) {
+            unindex(player.getUniqueId(), previous);
+        }
+        positions.put(player.getUniqueId(), new Position(worldId, chunkKey));
+        chunksByWorld.computeIfAbsent(worldId, key -> new HashMap<>())
+                .computeIfAbsent(chunkKey, key -> new HashSet<>(4))
+                .add(player.getUniqueId());
+
+        if (chunkChangeListener != null) {
+            chunkChangeListener.accept(player, location);
+        }
+    }
+
+    /**
+     * Removes a player from the index.
+     *
+     * @param playerId The UUID of the player.
+     */
+    public void remove(UUID playerId) {
+        Position previous = positions.remove(playerId);
+        if (previous != null) {
+            unindex(playerId, previous);
+        }
+    }
+
+    /**
+     * Gets the online players within a radius of a location.
+     *
+     * @param center The center of the search.
+     * @param radius The radius in blocks.
+     * @return A new list of players.
+     */
+    public List<Player> getPlayersNear(Location center, double radius) {
+        List<Player> result = new ArrayList<>();
+        World world = center.getWorld();
+        if (world == null) return result;
+
+        Map<Long, Set<UUID>> chunks = chunksByWorld.get(world.getUID());
+        if (chunks == null || chunks.isEmpty()) return result;
+
+        int centerX = center.getBlockX() >> 4;
+        int centerZ = center.getBlockZ() >> 4;
+        int chunkRadius = (int) Math.ceil(radius / 16.0);
+        double radiusSquared = radius * radius;
+
+        for (int x = centerX - chunkRadius; x <= centerX + chunkRadius; x++) {
+            for (int z = centerZ - chunkRadius; z <= centerZ + chunkRadius; z++) {
+                Set<UUID> players = chunks.get(chunkKey(x, z));
+                if (players == null) continue;
+
+                for (UUID playerId : players) {
+                    Player player = Bukkit.getPlayer(playerId);
+                    if (player != null && player.getWorld().equals(world)
+                            && player.getLocation().distanceSquared(center) <= radiusSquared) {
+                        result.add(player);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of indexed players.
+     *
+     * @return The number of players.
+     */
+    public int size() {
+        return positions.size();
+    }
+
+    private void unindex(UUID playerId, Position position) {
+        Map<Long, Set<UUID>> chunks = chunksByWorld.get(position.worldId);
+        if (chunks == null) return;
+
+        Set<UUID> players = chunks.get(position.chunkKey);
+        if (players != null && players.remove(playerId) && players.isEmpty()) {
+            chunks.remove(position.chunkKey);
+        }
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private record Position(UUID worldId, long chunkKey) {
+    }
+}
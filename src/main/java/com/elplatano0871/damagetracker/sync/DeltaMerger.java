@@ -0,0 +1,195 @@
+package com.elplatano0871.damagetracker.sync;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Decides which leaderboard changes win, so servers receiving the same deltas in different
+ * orders end up with the same leaderboards. Every entry changed through sync remembers the
+ * stamp and origin of its change, and the most recent one wins, ties going to the greater
+ * origin. The winning value is kept with the stamp, so a server whose own change lost can
+ * restore it. A clear leaves a tombstone that rejects updates arriving after it with a stamp
+ * that is not newer, whatever their origin, so the clearing server keeps the same entries.
+ * Also drops duplicated deltas and counts the ones missed, from the sequence of each origin.
+ * Not thread safe, meant to be used from the main thread.
+ */
+final class DeltaMerger {
+    private final Map<String, Board> boards;
+    private final Map<String, long[]> sequences;
+    private long duplicates;
+    private long missed;
+    private long stale;
+    private int entries;
+
+    DeltaMerger() {
+        this.boards = new HashMap<>();
+        this.sequences = new HashMap<>();
+    }
+
+    /**
+     * Checks the sequence of a delta from another server.
+     *
+     * @param delta The delta.
+     * @return false if the delta was already applied.
+     */
+    boolean accept(LeaderboardDelta delta) {
+        long[] last = sequences.get(delta.getOrigin());
+        if (last == null || last[0] != delta.getInstance()) {
+            // A new origin, or a restarted one whose sequence starts over
+            sequences.put(delta.getOrigin(), new long[]{delta.getInstance(), delta.getSequence()});
+            return true;
+        }
+        if (delta.getSequence() <= last[1]) {
+            duplicates++;
+            return false;
+        }
+        missed += delta.getSequence() - last[1] - 1;
+        last[1] = delta.getSequence();
+        return true;
+    }
+
+    /**
+     * Checks if a change of an entry is the most recent one, and remembers it if so.
+     *
+     * @param bossName The name of the boss.
+     * @param playerId The UUID of the player.
+     * @param stamp When the change happened, in epoch milliseconds.
+     * @param origin The server the change comes from.
+     * @param playerName The name of the player.
+     * @param damage The damage of the player.
+     * @return true if the change must be applied.
+     */
+    boolean acceptEntry(String bossName, UUID playerId, long stamp, String origin, String playerName, double damage) {
+        Board board = boards.computeIfAbsent(bossName, key -> new Board());
+        // A clear wins over updates with the same stamp
+        if (stamp <= board.clearedAt) {
+            stale++;
+            return false;
+        }
+        Stamp current = board.entries.get(playerId);
+        if (current == null) {
+            board.entries.put(playerId, new Stamp(stamp, origin, playerName, damage));
+            entries++;
+            return true;
+        }
+        if (compare(stamp, origin, current.stamp, current.origin) < 0) {
+            stale++;
+            return false;
+        }
+        current.stamp = stamp;
+        current.origin = origin;
+        current.playerName = playerName;
+        current.damage = damage;
+        return true;
+    }
+
+    /**
+     * Checks if an entry was changed through sync since its last clear.
+     *
+     * @param bossName The name of the boss.
+     * @param playerId The UUID of the player.
+     * @return true if a winning change is known.
+     */
+    boolean hasEntry(String bossName, UUID playerId) {
+        return getStamp(bossName, playerId) != null;
+    }
+
+    /**
+     * Gets the winning damage of an entry changed through sync.
+     *
+     * @param bossName The name of the boss.
+     * @param playerId The UUID of the player.
+     * @return The damage, or 0 if the entry is unknown.
+     */
+    double getDamage(String bossName, UUID playerId) {
+        Stamp current = getStamp(bossName, playerId);
+        return current != null ? current.damage : 0.0;
+    }
+
+    /**
+     * Gets the player name of the winning change of an entry.
+     *
+     * @param bossName The name of the boss.
+     * @param playerId The UUID of the player.
+     * @return The name, or an empty string if unknown.
+     */
+    String getName(String bossName, UUID playerId) {
+        Stamp current = getStamp(bossName, playerId);
+        return current != null ? current.playerName : "";
+    }
+
+    /**
+     * Records a clear of the leaderboard of a boss.
+     *
+     * @param bossName The name of the boss.
+     * @param stamp When the clear happened, in epoch milliseconds.
+     * @return The players whose entries are newer than the clear and must be kept.
+     */
+    Set<UUID> clear(String bossName, long stamp) {
+        Board board = boards.computeIfAbsent(bossName, key -> new Board());
+        board.clearedAt = Math.max(board.clearedAt, stamp);
+
+        Set<UUID> keep = new HashSet<>();
+        Iterator<Map.Entry<UUID, Stamp>> iterator = board.entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Stamp> entry = iterator.next();
+            Stamp current = entry.getValue();
+            if (current.stamp > board.clearedAt) {
+                keep.add(entry.getKey());
+            } else {
+                iterator.remove();
+                entries--;
+            }
+        }
+        return keep;
+    }
+
+    long getDuplicates() {
+        return duplicates;
+    }
+
+    long getMissed() {
+        return missed;
+    }
+
+    long getStale() {
+        return stale;
+    }
+
+    int getEntryCount() {
+        return entries;
+    }
+
+    private Stamp getStamp(String bossName, UUID playerId) {
+        Board board = boards.get(bossName);
+        return board != null ? board.entries.get(playerId) : null;
+    }
+
+    private static int compare(long stamp, String origin, long otherStamp, String otherOrigin) {
+        int result = Long.compare(stamp, otherStamp);
+        return result != 0 ? result : origin.compareTo(otherOrigin);
+    }
+
+    private static final class Board {
+        private final Map<UUID, Stamp> entries = new HashMap<>();
+        private long clearedAt = Long.MIN_VALUE;
+    }
+
+    private static final class Stamp {
+        private long stamp;
+        private String origin;
+        private String playerName;
+        private double damage;
+
+        private Stamp(long stamp, String origin, String playerName, double damage) {
+            this.stamp = stamp;
+            this.origin = origin;
+            this.playerName = playerName;
+            this.damage = damage;
+        }
+    }
+}
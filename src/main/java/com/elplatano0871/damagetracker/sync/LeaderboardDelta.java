@@ -0,0 +1,194 @@
+package com.elplatano0871.damagetracker.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * A change of the leaderboard of one boss, exchanged between the servers of a network.
+ * An update carries the final damage of the players of a finished fight, a clear drops
+ * the entries of the boss that are not newer than it. Both carry a stamp, the time the
+ * change happened, so every server keeps the same entry whatever order messages arrive in.
+ * <p>
+ * The binary form is a version byte followed by the fields in order, UUIDs as two longs,
+ * so an update costs about 40 bytes per player.
+ */
+public final class LeaderboardDelta {
+    /**
+     * What a delta does to the leaderboard of its boss.
+     */
+    public enum Type {
+        /** Sets the damage of the listed players */
+        UPDATE,
+        /** Drops every entry of the boss that is not newer than the delta */
+        CLEAR
+    }
+
+    private static final byte VERSION = 1;
+    // Smallest encoded entry: two longs, an empty name and a double
+    private static final int MIN_ENTRY_BYTES = 26;
+
+    private final Type type;
+    private final String origin;
+    private final long instance;
+    private final long sequence;
+    private final long sentAt;
+    private final long stamp;
+    private final String bossName;
+    private final UUID[] players;
+    private final String[] names;
+    private final double[] damage;
+
+    /**
+     * Creates a delta. The arrays are owned by the delta and must not be changed afterwards.
+     *
+     * @param type What the delta does.
+     * @param origin The ID of the server that sent it.
+     * @param instance A value that changes every time the origin restarts.
+     * @param sequence The number of the delta for the origin instance, starting at 1.
+     * @param sentAt When it was sent, in epoch milliseconds.
+     * @param stamp When the change happened, in epoch milliseconds.
+     * @param bossName The name of the boss.
+     * @param players The players of an update, empty for a clear.
+     * @param names The names of the players, empty strings when unknown.
+     * @param damage The damage of the players.
+     */
+    public LeaderboardDelta(Type type, String origin, long instance, long sequence, long sentAt, long stamp,
+                            String bossName, UUID[] players, String[] names, double[] damage) {
+        this.type = type;
+        this.origin = origin;
+        this.instance = instance;
+        this.sequence = sequence;
+        this.sentAt = sentAt;
+        this.stamp = stamp;
+        this.bossName = bossName;
+        this.players = players;
+        this.names = names;
+        this.damage = damage;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public long getInstance() {
+        return instance;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getSentAt() {
+        return sentAt;
+    }
+
+    public long getStamp() {
+        return stamp;
+    }
+
+    public String getBossName() {
+        return bossName;
+    }
+
+    /**
+     * Gets the number of players of the delta.
+     *
+     * @return The number of entries, 0 for a clear.
+     */
+    public int size() {
+        return players.length;
+    }
+
+    public UUID getPlayerAt(int index) {
+        return players[index];
+    }
+
+    public String getNameAt(int index) {
+        return names[index];
+    }
+
+    public double getDamageAt(int index) {
+        return damage[index];
+    }
+
+    /**
+     * Encodes the delta in its binary form.
+     *
+     * @return The encoded delta.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + bossName.length() + players.length * 40);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(type.ordinal());
+            out.writeUTF(origin);
+            out.writeLong(instance);
+            out.writeLong(sequence);
+            out.writeLong(sentAt);
+            out.writeLong(stamp);
+            out.writeUTF(bossName);
+            out.writeInt(players.length);
+            for (int i = 0; i < players.length; i++) {
+                out.writeLong(players[i].getMostSignificantBits());
+                out.writeLong(players[i].getLeastSignificantBits());
+                out.writeUTF(names[i]);
+                out.writeDouble(damage[i]);
+            }
+        } catch (IOException e) {
+            // Writing to memory does not fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a delta written by {@link #encode()}.
+     *
+     * @param data The encoded delta.
+     * @return The delta.
+     * @throws IllegalArgumentException If the data is not a delta of a supported version.
+     */
+    public static LeaderboardDelta decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported sync message version: " + version);
+            }
+            int typeIndex = in.readByte();
+            if (typeIndex < 0 || typeIndex >= Type.values().length) {
+                throw new IllegalArgumentException("Unknown sync message type: " + typeIndex);
+            }
+            Type type = Type.values()[typeIndex];
+            String origin = in.readUTF();
+            long instance = in.readLong();
+            long sequence = in.readLong();
+            long sentAt = in.readLong();
+            long stamp = in.readLong();
+            String bossName = in.readUTF();
+            int count = in.readInt();
+            if (count < 0 || count > in.available() / MIN_ENTRY_BYTES) {
+                throw new IllegalArgumentException("Invalid sync message size: " + count);
+            }
+
+            UUID[] players = new UUID[count];
+            String[] names = new String[count];
+            double[] damage = new double[count];
+            for (int i = 0; i < count; i++) {
+                players[i] = new UUID(in.readLong(), in.readLong());
+                names[i] = in.readUTF();
+                damage[i] = in.readDouble();
+            }
+            return new LeaderboardDelta(type, origin, instance, sequence, sentAt, stamp, bossName, players, names, damage);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated sync message", e);
+        }
+    }
+}
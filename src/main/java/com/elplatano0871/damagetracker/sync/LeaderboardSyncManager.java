@@ -0,0 +1,172 @@
+package com.elplatano0871.damagetracker.sync;
+
+import com.elplatano0871.damagetracker.DamageTracker;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the leaderboards of the servers of a network in sync without polling the database.
+ * When a fight ends, the final damage of its players is published as a {@link LeaderboardDelta}
+ * through the configured transport, and the deltas of the other servers are merged into the
+ * local leaderboards, which refreshes their holograms and placeholders like local damage does.
+ */
+public class LeaderboardSyncManager implements SyncNode.Leaderboards {
+    private final DamageTracker plugin;
+    private final AtomicBoolean drainScheduled;
+    private SyncNode node;
+    private boolean storeRemote;
+
+    /**
+     * Constructor for LeaderboardSyncManager.
+     *
+     * @param plugin The main plugin instance.
+     */
+    public LeaderboardSyncManager(DamageTracker plugin) {
+        this.plugin = plugin;
+        this.drainScheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Loads the sync settings from the main configuration and reconnects the transport.
+     */
+    public void loadConfig() {
+        stop();
+
+        FileConfiguration config = plugin.getConfig();
+        String type = config.getString("sync.transport", "none").toLowerCase();
+        if (type.equals("none")) return;
+
+        String serverId = config.getString("sync.server_id", "");
+        if (serverId == null || serverId.isEmpty()) {
+            serverId = "server-" + Integer.toHexString(ThreadLocalRandom.current().nextInt());
+            plugin.getLogger().warning("No sync.server_id configured, using " + serverId + " until the next restart");
+        }
+        String channel = config.getString("sync.channel", "damagetracker:leaderboard");
+        storeRemote = config.getBoolean("sync.store_remote", false);
+
+        SyncTransport transport;
+        if (type.equals("redis")) {
+            transport = new RedisTransport(plugin.getLogger(),
+                    config.getString("sync.redis.host", "localhost"),
+                    config.getInt("sync.redis.port", 6379),
+                    config.getString("sync.redis.username", ""),
+                    config.getString("sync.redis.password", ""),
+                    channel,
+                    Math.max(1, config.getInt("sync.redis.timeout", 5)) * 1000);
+        } else if (type.equals("plugin_messaging")) {
+            transport = new PluginMessageTransport(plugin, channel);
+        } else {
+            plugin.getLogger().warning("Unknown sync transport: " + type + ", leaderboard sync is disabled");
+            return;
+        }
+
+        node = new SyncNode(serverId, transport, this, this::requestDrain,
+                lagMillis -> plugin.getMetrics().getSyncLag().record(lagMillis * 1_000_000L));
+        node.start();
+        plugin.getLogger().info("Leaderboard sync enabled over " + transport.getName() + " as " + serverId);
+    }
+
+    /**
+     * Stops the transport. Deltas not applied yet are dropped.
+     */
+    public void stop() {
+        if (node != null) {
+            node.stop();
+            node = null;
+        }
+    }
+
+    /**
+     * Publishes the final damage of the players of a finished fight to the other servers.
+     * Must be called from the main thread while the fight ranking still exists.
+     *
+     * @param bossId The ID of the boss.
+     * @param endedAt When the fight ended, in epoch milliseconds.
+     */
+    public void publishFight(String bossId, long endedAt) {
+        if (node == null) return;
+        DamageRanking ranking = plugin.getDamageManager().getTrackedRanking(bossId);
+        if (ranking == null || ranking.isEmpty()) return;
+
+        long span = plugin.getProfiler().begin("sync.publish");
+        try {
+            int size = ranking.size();
+            UUID[] players = new UUID[size];
+            String[] names = new String[size];
+            double[] damage = new double[size];
+            for (int i = 0; i < size; i++) {
+                players[i] = ranking.getPlayerAt(i);
+                names[i] = plugin.getPlayerNameManager().getName(players[i]);
+                damage[i] = ranking.getDamageAt(i);
+            }
+            node.publishUpdate(bossId.toUpperCase(), endedAt, players, names, damage);
+        } finally {
+            plugin.getProfiler().end(span);
+        }
+    }
+
+    /**
+     * Publishes the removal of the leaderboard of a boss to the other servers.
+     *
+     * @param bossName The name of the boss.
+     */
+    public void publishClear(String bossName) {
+        if (node == null) return;
+        node.publishClear(bossName.toUpperCase(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void set(String bossName, UUID playerId, String playerName, double damage) {
+        plugin.getLeaderboardManager().applySynced(bossName, playerId, playerName, damage, storeRemote);
+    }
+
+    @Override
+    public void remove(String bossName, UUID playerId) {
+        plugin.getLeaderboardManager().removeSynced(bossName, playerId, storeRemote);
+    }
+
+    @Override
+    public void retain(String bossName, Set<UUID> keep) {
+        plugin.getLeaderboardManager().retainSynced(bossName, keep, storeRemote);
+    }
+
+    /**
+     * Checks if leaderboard sync is configured.
+     *
+     * @return true if a transport is running.
+     */
+    public boolean isEnabled() {
+        return node != null;
+    }
+
+    /**
+     * Gets the node of this server.
+     *
+     * @return The node, or null if sync is disabled.
+     */
+    public SyncNode getNode() {
+        return node;
+    }
+
+    private void requestDrain() {
+        // One task applies every delta received until it runs
+        if (!drainScheduled.compareAndSet(false, true) || !plugin.isEnabled()) return;
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            drainScheduled.set(false);
+            SyncNode current = node;
+            if (current == null) return;
+            long span = plugin.getProfiler().begin("sync.apply");
+            try {
+                current.drain();
+            } finally {
+                plugin.getProfiler().end(span);
+            }
+        });
+    }
+}
@@ -0,0 +1,156 @@
+package com.elplatano0871.damagetracker.sync;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+
+import java.io.*;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Sync transport over proxy plugin messaging: messages are sent to every other server with the
+ * Forward request of the BungeeCord channel, which Velocity also handles when its
+ * bungee-plugin-message-channel option is on. Plugin messages travel through a player connection,
+ * so messages sent while the server is empty wait for the next player to join. Must be used from
+ * the main thread.
+ */
+public class PluginMessageTransport implements SyncTransport, PluginMessageListener, Listener {
+    private static final String CHANNEL = "BungeeCord";
+    // The proxy reads the forwarded data with a signed short length
+    private static final int MAX_MESSAGE_BYTES = Short.MAX_VALUE;
+    private static final int MAX_QUEUED = 256;
+    // Messages sent while a player is still joining are lost, wait until the connection settled
+    private static final long JOIN_DELAY_TICKS = 20L;
+
+    private final Plugin plugin;
+    private final String subchannel;
+    private final ArrayDeque<byte[]> waiting;
+    private final AtomicLong dropped;
+    private Consumer<byte[]> receiver;
+
+    /**
+     * Creates a transport, it registers its channels once started.
+     *
+     * @param plugin The plugin owning the channels.
+     * @param subchannel The name of the forwarded channel shared by the servers.
+     */
+    public PluginMessageTransport(Plugin plugin, String subchannel) {
+        this.plugin = plugin;
+        this.subchannel = subchannel;
+        this.waiting = new ArrayDeque<>();
+        this.dropped = new AtomicLong();
+    }
+
+    @Override
+    public String getName() {
+        return "plugin_messaging";
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, CHANNEL);
+        plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, CHANNEL, this);
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    @Override
+    public void publish(byte[] message) {
+        if (receiver == null) return;
+        if (message.length > MAX_MESSAGE_BYTES) {
+            dropped.incrementAndGet();
+            plugin.getLogger().warning("Leaderboard change of " + message.length + " bytes is too large for plugin messaging");
+            return;
+        }
+
+        Player carrier = getCarrier();
+        if (carrier == null) {
+            if (waiting.size() >= MAX_QUEUED) {
+                waiting.poll();
+                dropped.incrementAndGet();
+            }
+            waiting.add(message);
+            return;
+        }
+        send(carrier, message);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return receiver != null && getCarrier() != null;
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        return dropped.get();
+    }
+
+    @Override
+    public void stop() {
+        receiver = null;
+        waiting.clear();
+        HandlerList.unregisterAll(this);
+        plugin.getServer().getMessenger().unregisterIncomingPluginChannel(plugin, CHANNEL, this);
+        plugin.getServer().getMessenger().unregisterOutgoingPluginChannel(plugin, CHANNEL);
+    }
+
+    @Override
+    public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+        Consumer<byte[]> target = receiver;
+        if (target == null || !CHANNEL.equals(channel)) return;
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+            if (!subchannel.equals(in.readUTF())) return;
+            byte[] data = new byte[in.readUnsignedShort()];
+            in.readFully(data);
+            target.accept(data);
+        } catch (IOException ignored) {
+            // Other plugins use the BungeeCord channel with their own formats
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        if (waiting.isEmpty()) return;
+        Bukkit.getScheduler().runTaskLater(plugin, this::sendWaiting, JOIN_DELAY_TICKS);
+    }
+
+    private void sendWaiting() {
+        Iterator<byte[]> iterator = waiting.iterator();
+        while (iterator.hasNext()) {
+            Player carrier = getCarrier();
+            if (carrier == null) return;
+            send(carrier, iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private void send(Player carrier, byte[] message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(message.length + subchannel.length() + 16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF("Forward");
+            out.writeUTF("ALL");
+            out.writeUTF(subchannel);
+            out.writeShort(message.length);
+            out.write(message);
+        } catch (IOException e) {
+            // Writing to memory does not fail
+            throw new IllegalStateException(e);
+        }
+        carrier.sendPluginMessage(plugin, CHANNEL, bytes.toByteArray());
+    }
+
+    private Player getCarrier() {
+        Iterator<? extends Player> players = Bukkit.getOnlinePlayers().iterator();
+        return players.hasNext() ? players.next() : null;
+    }
+}
@@ -0,0 +1,321 @@
+package com.elplatano0871.damagetracker.sync;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Sync transport over Redis pub/sub, with a minimal RESP client so no driver has to be shaded.
+ * One connection subscribes to the channel on its own thread and reconnects with a backoff when
+ * it drops, another one publishes from a single thread in the order messages were queued.
+ */
+public class RedisTransport implements SyncTransport {
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] AUTH = bytes("AUTH");
+    private static final byte[] SUBSCRIBE = bytes("SUBSCRIBE");
+    private static final byte[] PUBLISH = bytes("PUBLISH");
+    private static final int MAX_QUEUED = 1024;
+    private static final int MAX_BULK_BYTES = 64 * 1024 * 1024;
+    private static final long INITIAL_BACKOFF_MILLIS = 1_000L;
+    private static final long MAX_BACKOFF_MILLIS = 30_000L;
+
+    private final Logger logger;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final byte[] channel;
+    private final int timeoutMillis;
+    private final ExecutorService publisher;
+    private final AtomicInteger queued;
+    private final AtomicLong dropped;
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Socket subscriberSocket;
+    private Thread subscriber;
+    // Only used from the publisher thread
+    private Socket publishSocket;
+    private InputStream publishIn;
+    private OutputStream publishOut;
+    private boolean publishFailing;
+
+    /**
+     * Creates a transport, it connects once started.
+     *
+     * @param logger The logger for connection problems.
+     * @param host The host of the Redis server.
+     * @param port The port of the Redis server.
+     * @param username The ACL user name, or empty for the default user.
+     * @param password The password, or empty if the server needs none.
+     * @param channel The pub/sub channel shared by the servers.
+     * @param timeoutMillis The timeout of connections and publish replies, in milliseconds.
+     */
+    public RedisTransport(Logger logger, String host, int port, String username, String password,
+                          String channel, int timeoutMillis) {
+        this.logger = logger;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.channel = bytes(channel);
+        this.timeoutMillis = timeoutMillis;
+        this.queued = new AtomicInteger();
+        this.dropped = new AtomicLong();
+        this.publisher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DamageTracker-SyncPublish");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "redis";
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        running = true;
+        subscriber = new Thread(() -> subscribeLoop(receiver), "DamageTracker-SyncSubscribe");
+        subscriber.setDaemon(true);
+        subscriber.start();
+    }
+
+    @Override
+    public void publish(byte[] message) {
+        if (!running) return;
+        // Bound the backlog while Redis is unreachable, the oldest fights are already stale anyway
+        if (queued.incrementAndGet() > MAX_QUEUED) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        publisher.execute(() -> {
+            queued.decrementAndGet();
+            send(message);
+        });
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        return dropped.get();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(subscriberSocket);
+        if (subscriber != null) {
+            subscriber.interrupt();
+        }
+        // Give the messages of the last fights a moment to leave
+        publisher.shutdown();
+        try {
+            if (!publisher.awaitTermination(1, TimeUnit.SECONDS)) {
+                publisher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            publisher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        closeQuietly(publishSocket);
+    }
+
+    private void subscribeLoop(Consumer<byte[]> receiver) {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        boolean warned = false;
+        while (running) {
+            try (Socket socket = open()) {
+                subscriberSocket = socket;
+                InputStream in = new BufferedInputStream(socket.getInputStream());
+                OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+                authenticate(in, out);
+                writeCommand(out, SUBSCRIBE, channel);
+                readReply(in);
+                // A subscription may stay silent for a long time
+                socket.setSoTimeout(0);
+
+                connected = true;
+                backoff = INITIAL_BACKOFF_MILLIS;
+                if (warned) {
+                    logger.info("Reconnected to Redis at " + host + ":" + port + " for leaderboard sync");
+                    warned = false;
+                }
+
+                while (running) {
+                    Object reply = readReply(in);
+                    if (reply instanceof Object[] parts && parts.length == 3 && parts[2] instanceof byte[] payload
+                            && "message".equals(asString(parts[0]))) {
+                        receiver.accept(payload);
+                    }
+                }
+            } catch (IOException e) {
+                connected = false;
+                if (!running) break;
+                if (!warned) {
+                    logger.warning("Could not reach Redis at " + host + ":" + port + " for leaderboard sync: "
+                            + e.getMessage() + ", retrying in the background");
+                    warned = true;
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            } finally {
+                connected = false;
+                subscriberSocket = null;
+            }
+        }
+    }
+
+    private void send(byte[] message) {
+        // A connection closed by the server is only noticed on use, so retry once on a new one
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                if (publishSocket == null) {
+                    publishSocket = open();
+                    publishIn = new BufferedInputStream(publishSocket.getInputStream());
+                    publishOut = new BufferedOutputStream(publishSocket.getOutputStream());
+                    authenticate(publishIn, publishOut);
+                }
+                writeCommand(publishOut, PUBLISH, channel, message);
+                readReply(publishIn);
+                publishFailing = false;
+                return;
+            } catch (IOException e) {
+                closeQuietly(publishSocket);
+                publishSocket = null;
+                if (attempt == 1) {
+                    dropped.incrementAndGet();
+                    if (!publishFailing) {
+                        logger.warning("Could not publish a leaderboard change to Redis: " + e.getMessage());
+                        publishFailing = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private Socket open() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            return socket;
+        } catch (IOException e) {
+            closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    private void authenticate(InputStream in, OutputStream out) throws IOException {
+        if (password.isEmpty()) return;
+        if (username.isEmpty()) {
+            writeCommand(out, AUTH, bytes(password));
+        } else {
+            writeCommand(out, AUTH, bytes(username), bytes(password));
+        }
+        readReply(in);
+    }
+
+    private static void writeCommand(OutputStream out, byte[]... args) throws IOException {
+        out.write('*');
+        out.write(bytes(Integer.toString(args.length)));
+        out.write(CRLF);
+        for (byte[] arg : args) {
+            out.write('$');
+            out.write(bytes(Integer.toString(arg.length)));
+            out.write(CRLF);
+            out.write(arg);
+            out.write(CRLF);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads one RESP2 reply: a String for simple strings, a Long for integers, a byte array
+     * for bulk strings, an Object array for arrays and null for nil.
+     */
+    private static Object readReply(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            throw new EOFException("Connection closed by Redis");
+        }
+        String line = readLine(in);
+        try {
+            if (type == '+') return line;
+            if (type == '-') throw new IOException("Redis error: " + line);
+            if (type == ':') return Long.parseLong(line);
+            if (type == '$') {
+                int length = Integer.parseInt(line);
+                if (length < 0) return null;
+                if (length > MAX_BULK_BYTES) throw new IOException("Redis reply too large: " + length + " bytes");
+                byte[] data = in.readNBytes(length);
+                if (data.length < length || in.read() != '\r' || in.read() != '\n') {
+                    throw new EOFException("Truncated Redis reply");
+                }
+                return data;
+            }
+            if (type == '*') {
+                int count = Integer.parseInt(line);
+                if (count < 0) return null;
+                Object[] items = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    items[i] = readReply(in);
+                }
+                return items;
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed Redis reply: " + line);
+        }
+        throw new IOException("Unexpected Redis reply type: " + (char) type);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                if (in.read() != '\n') throw new IOException("Malformed Redis reply");
+                return line.toString();
+            }
+            if (line.length() > 1024) throw new IOException("Redis reply line too long");
+            line.append((char) b);
+        }
+        throw new EOFException("Connection closed by Redis");
+    }
+
+    private static String asString(Object value) {
+        return value instanceof byte[] data ? new String(data, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        if (socket == null) return;
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+}
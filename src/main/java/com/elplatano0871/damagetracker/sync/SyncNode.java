@@ -0,0 +1,312 @@
+package com.elplatano0871.damagetracker.sync;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * One server of the sync network: publishes the leaderboard changes of this server as
+ * {@link LeaderboardDelta}s and merges the deltas of the other servers into the local
+ * leaderboards. Messages are decoded on the transport thread and queued, then applied by
+ * {@link #drain()} on the main thread, so the leaderboards are only touched from there.
+ */
+public class SyncNode {
+    /** Players per delta, keeps a message of long names under the plugin messaging limit */
+    public static final int MAX_ENTRIES_PER_MESSAGE = 256;
+
+    /**
+     * The leaderboards a node merges into.
+     */
+    public interface Leaderboards {
+        /**
+         * Sets the damage of a player.
+         *
+         * @param bossName The name of the boss.
+         * @param playerId The UUID of the player.
+         * @param playerName The name of the player, empty if unknown.
+         * @param damage The damage of the player.
+         */
+        void set(String bossName, UUID playerId, String playerName, double damage);
+
+        /**
+         * Removes a player.
+         *
+         * @param bossName The name of the boss.
+         * @param playerId The UUID of the player.
+         */
+        void remove(String bossName, UUID playerId);
+
+        /**
+         * Removes every player of a boss except some.
+         *
+         * @param bossName The name of the boss.
+         * @param keep The players to keep.
+         */
+        void retain(String bossName, Set<UUID> keep);
+    }
+
+    private final String serverId;
+    private final long instance;
+    private final SyncTransport transport;
+    private final Leaderboards leaderboards;
+    private final Runnable drainRequest;
+    private final LongConsumer lagListener;
+    private final DeltaMerger merger;
+    private final Queue<LeaderboardDelta> inbox;
+    private final AtomicLong receivedMessages;
+    private final AtomicLong invalidMessages;
+    private final AtomicLong conflictingMessages;
+    private long nextSequence;
+    private long publishedMessages;
+    private long publishedBytes;
+    private long appliedMessages;
+    private long appliedEntries;
+    private long lastLagMillis = -1L;
+
+    /**
+     * Creates a node, it receives messages once started.
+     *
+     * @param serverId The ID of this server, unique in the network.
+     * @param transport The transport to the other servers.
+     * @param leaderboards The local leaderboards.
+     * @param drainRequest Called from the transport thread when messages are waiting for {@link #drain()}.
+     * @param lagListener Called with the lag of every delta applied, in milliseconds.
+     */
+    public SyncNode(String serverId, SyncTransport transport, Leaderboards leaderboards,
+                    Runnable drainRequest, LongConsumer lagListener) {
+        this.serverId = serverId;
+        this.instance = ThreadLocalRandom.current().nextLong();
+        this.transport = transport;
+        this.leaderboards = leaderboards;
+        this.drainRequest = drainRequest;
+        this.lagListener = lagListener;
+        this.merger = new DeltaMerger();
+        this.inbox = new ConcurrentLinkedQueue<>();
+        this.receivedMessages = new AtomicLong();
+        this.invalidMessages = new AtomicLong();
+        this.conflictingMessages = new AtomicLong();
+    }
+
+    /**
+     * Starts receiving the deltas of the other servers.
+     */
+    public void start() {
+        transport.start(this::receive);
+    }
+
+    /**
+     * Stops the transport and drops the deltas not applied yet.
+     */
+    public void stop() {
+        transport.stop();
+        inbox.clear();
+    }
+
+    /**
+     * Publishes the final damage of the players of a finished fight. Players whose entry
+     * already holds a more recent change from another server get that change back instead.
+     *
+     * @param bossName The name of the boss.
+     * @param stamp When the fight ended, in epoch milliseconds.
+     * @param players The players of the fight.
+     * @param names The names of the players, empty strings when unknown.
+     * @param damage The damage of the players.
+     */
+    public void publishUpdate(String bossName, long stamp, UUID[] players, String[] names, double[] damage) {
+        int count = 0;
+        UUID[] chunkPlayers = new UUID[Math.min(players.length, MAX_ENTRIES_PER_MESSAGE)];
+        String[] chunkNames = new String[chunkPlayers.length];
+        double[] chunkDamage = new double[chunkPlayers.length];
+        for (int i = 0; i < players.length; i++) {
+            if (!merger.acceptEntry(bossName, players[i], stamp, serverId, names[i], damage[i])) {
+                restore(bossName, players[i]);
+                continue;
+            }
+            chunkPlayers[count] = players[i];
+            chunkNames[count] = names[i];
+            chunkDamage[count] = damage[i];
+            if (++count == chunkPlayers.length) {
+                publish(LeaderboardDelta.Type.UPDATE, bossName, stamp, chunkPlayers, chunkNames, chunkDamage, count);
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            publish(LeaderboardDelta.Type.UPDATE, bossName, stamp, chunkPlayers, chunkNames, chunkDamage, count);
+        }
+    }
+
+    /**
+     * Publishes a clear of the leaderboard of a boss, already removed locally.
+     *
+     * @param bossName The name of the boss.
+     * @param stamp When the leaderboard was cleared, in epoch milliseconds.
+     */
+    public void publishClear(String bossName, long stamp) {
+        merger.clear(bossName, stamp);
+        publish(LeaderboardDelta.Type.CLEAR, bossName, stamp, new UUID[0], new String[0], new double[0], 0);
+    }
+
+    /**
+     * Applies the deltas received from the other servers. Must be called from the main thread.
+     *
+     * @return The number of deltas applied.
+     */
+    public int drain() {
+        int applied = 0;
+        LeaderboardDelta delta;
+        while ((delta = inbox.poll()) != null) {
+            if (!merger.accept(delta)) continue;
+            apply(delta);
+            applied++;
+        }
+        return applied;
+    }
+
+    private void apply(LeaderboardDelta delta) {
+        String bossName = delta.getBossName();
+        if (delta.getType() == LeaderboardDelta.Type.CLEAR) {
+            leaderboards.retain(bossName, merger.clear(bossName, delta.getStamp()));
+        } else {
+            for (int i = 0; i < delta.size(); i++) {
+                if (merger.acceptEntry(bossName, delta.getPlayerAt(i), delta.getStamp(), delta.getOrigin(),
+                        delta.getNameAt(i), delta.getDamageAt(i))) {
+                    leaderboards.set(bossName, delta.getPlayerAt(i), delta.getNameAt(i), delta.getDamageAt(i));
+                    appliedEntries++;
+                }
+            }
+        }
+        appliedMessages++;
+        // Lag between the clocks of the servers is included, keep them synchronized
+        lastLagMillis = Math.max(0L, System.currentTimeMillis() - delta.getSentAt());
+        lagListener.accept(lastLagMillis);
+    }
+
+    private void restore(String bossName, UUID playerId) {
+        if (merger.hasEntry(bossName, playerId)) {
+            leaderboards.set(bossName, playerId, merger.getName(bossName, playerId), merger.getDamage(bossName, playerId));
+        } else {
+            // Only a clear newer than the fight is known
+            leaderboards.remove(bossName, playerId);
+        }
+    }
+
+    private void publish(LeaderboardDelta.Type type, String bossName, long stamp, UUID[] players, String[] names,
+                         double[] damage, int count) {
+        LeaderboardDelta delta = new LeaderboardDelta(type, serverId, instance, ++nextSequence,
+                System.currentTimeMillis(), stamp, bossName, copy(players, count), copy(names, count),
+                Arrays.copyOf(damage, count));
+        byte[] message = delta.encode();
+        transport.publish(message);
+        publishedMessages++;
+        publishedBytes += message.length;
+    }
+
+    private void receive(byte[] message) {
+        LeaderboardDelta delta;
+        try {
+            delta = LeaderboardDelta.decode(message);
+        } catch (IllegalArgumentException e) {
+            invalidMessages.incrementAndGet();
+            return;
+        }
+        if (delta.getOrigin().equals(serverId)) {
+            // Our own message coming back, or another server configured with the same ID
+            if (delta.getInstance() != instance) {
+                conflictingMessages.incrementAndGet();
+            }
+            return;
+        }
+        receivedMessages.incrementAndGet();
+        inbox.add(delta);
+        drainRequest.run();
+    }
+
+    private static <T> T[] copy(T[] values, int count) {
+        return values.length == count ? values.clone() : Arrays.copyOf(values, count);
+    }
+
+    public String getServerId() {
+        return serverId;
+    }
+
+    public SyncTransport getTransport() {
+        return transport;
+    }
+
+    public long getPublishedMessages() {
+        return publishedMessages;
+    }
+
+    public long getPublishedBytes() {
+        return publishedBytes;
+    }
+
+    public long getReceivedMessages() {
+        return receivedMessages.get();
+    }
+
+    public long getAppliedMessages() {
+        return appliedMessages;
+    }
+
+    public long getAppliedEntries() {
+        return appliedEntries;
+    }
+
+    /**
+     * Gets the number of received messages that could not be decoded.
+     *
+     * @return The number of invalid messages.
+     */
+    public long getInvalidMessages() {
+        return invalidMessages.get();
+    }
+
+    /**
+     * Gets the number of messages received from another server using the ID of this one.
+     *
+     * @return The number of conflicting messages.
+     */
+    public long getConflictingMessages() {
+        return conflictingMessages.get();
+    }
+
+    public long getDuplicateMessages() {
+        return merger.getDuplicates();
+    }
+
+    public long getMissedMessages() {
+        return merger.getMissed();
+    }
+
+    public long getStaleEntries() {
+        return merger.getStale();
+    }
+
+    public int getStampedEntries() {
+        return merger.getEntryCount();
+    }
+
+    /**
+     * Gets the lag of the last delta applied, from its publication to its merge.
+     *
+     * @return The lag in milliseconds, or -1 if nothing was applied yet.
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    /**
+     * Gets the number of deltas waiting for {@link #drain()}.
+     *
+     * @return The number of queued deltas.
+     */
+    public int getPendingCount() {
+        return inbox.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.elplatano0871.damagetracker.sync;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded {@link LeaderboardDelta}s between the servers of a network.
+ * A transport may deliver a message back to its sender, the receiver filters them out.
+ */
+public interface SyncTransport {
+    /**
+     * Gets the name of the transport, shown in the stats.
+     *
+     * @return The name.
+     */
+    String getName();
+
+    /**
+     * Starts receiving messages. The receiver may be called from any thread.
+     *
+     * @param receiver Called with every message received.
+     */
+    void start(Consumer<byte[]> receiver);
+
+    /**
+     * Sends a message to the other servers. Never blocks on the network, messages are
+     * queued and sent in order.
+     *
+     * @param message The encoded message.
+     */
+    void publish(byte[] message);
+
+    /**
+     * Checks if the transport can currently reach the network.
+     *
+     * @return true if connected.
+     */
+    boolean isConnected();
+
+    /**
+     * Gets the number of messages that could not be sent.
+     *
+     * @return The number of dropped messages.
+     */
+    long getDroppedMessages();
+
+    /**
+     * Stops sending and receiving messages and releases the connections.
+     */
+    void stop();
+}
@@ -0,0 +1,292 @@
+package com.elplatano0871.damagetracker.trace;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A damage trace loaded in memory, and the binary format written by {@link TraceRecorder}.
+ * <p>
+ * A trace starts with the magic {@code DTTR}, a version byte and the capture start in epoch
+ * milliseconds. Each record then starts with a type byte. Integers are unsigned LEB128 varints and
+ * damage is a big endian float, so a hit usually takes 9 to 12 bytes:
+ * <ul>
+ *     <li>boss: name length, UTF-8 name and maximum health as a float; bosses are numbered in order</li>
+ *     <li>hit: microseconds since the previous event, boss, fight session, player and damage</li>
+ *     <li>death: microseconds since the previous event, boss and fight session</li>
+ * </ul>
+ * Players are numbered in the order they first appear, so a trace holds no player UUIDs.
+ */
+public final class DamageTrace {
+    static final int MAGIC = 0x44545452;
+    static final int VERSION = 1;
+    static final int BOSS = 0;
+    static final int HIT = 1;
+    static final int DEATH = 2;
+
+    private final long startedAt;
+    private final List<String> bossIds;
+    private final double[] bossMaxHealth;
+    private final int playerCount;
+    private final int size;
+    private final boolean[] deaths;
+    private final long[] timeMicros;
+    private final int[] bosses;
+    private final long[] sessions;
+    private final int[] players;
+    private final float[] damage;
+
+    private DamageTrace(long startedAt, List<String> bossIds, double[] bossMaxHealth, int playerCount, int size,
+                        boolean[] deaths, long[] timeMicros, int[] bosses, long[] sessions, int[] players, float[] damage) {
+        this.startedAt = startedAt;
+        this.bossIds = bossIds;
+        this.bossMaxHealth = bossMaxHealth;
+        this.playerCount = playerCount;
+        this.size = size;
+        this.deaths = deaths;
+        this.timeMicros = timeMicros;
+        this.bosses = bosses;
+        this.sessions = sessions;
+        this.players = players;
+        this.damage = damage;
+    }
+
+    /**
+     * Reads a trace file. A record cut short by a crash during capture ends the trace.
+     *
+     * @param file The trace file.
+     * @return The loaded trace.
+     * @throws IOException If the file cannot be read or is not a damage trace.
+     */
+    public static DamageTrace read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a damage trace: " + file.getName());
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new IOException("Unsupported trace version " + version);
+            long startedAt = in.readLong();
+
+            List<String> bossIds = new ArrayList<>();
+            double[] bossMaxHealth = new double[8];
+            int capacity = 1024;
+            boolean[] deaths = new boolean[capacity];
+            long[] timeMicros = new long[capacity];
+            int[] bosses = new int[capacity];
+            long[] sessions = new long[capacity];
+            int[] players = new int[capacity];
+            float[] damage = new float[capacity];
+            int size = 0;
+            int playerCount = 0;
+            long time = 0;
+
+            try {
+                int type;
+                while ((type = in.read()) != -1) {
+                    if (type == BOSS) {
+                        byte[] name = new byte[(int) readVarLong(in)];
+                        in.readFully(name);
+                        float maxHealth = in.readFloat();
+                        if (bossIds.size() == bossMaxHealth.length) {
+                            bossMaxHealth = Arrays.copyOf(bossMaxHealth, bossMaxHealth.length * 2);
+                        }
+                        bossMaxHealth[bossIds.size()] = maxHealth;
+                        bossIds.add(new String(name, StandardCharsets.UTF_8));
+                        continue;
+                    }
+                    if (type != HIT && type != DEATH) throw new IOException("Corrupt trace, unknown record type " + type);
+
+                    long delta = readVarLong(in);
+                    int boss = (int) readVarLong(in);
+                    long session = readVarLong(in);
+                    int player = type == HIT ? (int) readVarLong(in) : -1;
+                    float amount = type == HIT ? in.readFloat() : 0f;
+                    if (boss >= bossIds.size()) throw new IOException("Corrupt trace, unknown boss " + boss);
+
+                    if (size == capacity) {
+                        capacity *= 2;
+                        deaths = Arrays.copyOf(deaths, capacity);
+                        timeMicros = Arrays.copyOf(timeMicros, capacity);
+                        bosses = Arrays.copyOf(bosses, capacity);
+                        sessions = Arrays.copyOf(sessions, capacity);
+                        players = Arrays.copyOf(players, capacity);
+                        damage = Arrays.copyOf(damage, capacity);
+                    }
+                    time += delta;
+                    deaths[size] = type == DEATH;
+                    timeMicros[size] = time;
+                    bosses[size] = boss;
+                    sessions[size] = session;
+                    players[size] = player;
+                    damage[size] = amount;
+                    playerCount = Math.max(playerCount, player + 1);
+                    size++;
+                }
+            } catch (EOFException ignored) {
+                // The last record was cut short, keep what was read
+            }
+
+            return new DamageTrace(startedAt, bossIds, bossMaxHealth, playerCount, size,
+                    deaths, timeMicros, bosses, sessions, players, damage);
+        }
+    }
+
+    /**
+     * Gets when the capture started.
+     *
+     * @return The capture start, in epoch milliseconds.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Gets the number of events.
+     *
+     * @return The number of hits and deaths.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the time between the first and the last event.
+     *
+     * @return The duration in microseconds.
+     */
+    public long getDurationMicros() {
+        return size > 0 ? timeMicros[size - 1] - timeMicros[0] : 0L;
+    }
+
+    /**
+     * Gets the number of distinct bosses.
+     *
+     * @return The number of bosses.
+     */
+    public int getBossCount() {
+        return bossIds.size();
+    }
+
+    /**
+     * Gets the ID of a boss.
+     *
+     * @param boss The boss number.
+     * @return The boss ID as it was tracked.
+     */
+    public String getBossId(int boss) {
+        return bossIds.get(boss);
+    }
+
+    /**
+     * Gets the maximum health of a boss when it was first seen.
+     *
+     * @param boss The boss number.
+     * @return The maximum health.
+     */
+    public double getBossMaxHealth(int boss) {
+        return bossMaxHealth[boss];
+    }
+
+    /**
+     * Gets the number of distinct players.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Checks if an event is a boss death.
+     *
+     * @param index The event index.
+     * @return true for a death, false for a hit.
+     */
+    public boolean isDeath(int index) {
+        return deaths[index];
+    }
+
+    /**
+     * Gets the time of an event.
+     *
+     * @param index The event index.
+     * @return The microseconds since the capture started.
+     */
+    public long getTimeMicros(int index) {
+        return timeMicros[index];
+    }
+
+    /**
+     * Gets the boss of an event.
+     *
+     * @param index The event index.
+     * @return The boss number.
+     */
+    public int getBoss(int index) {
+        return bosses[index];
+    }
+
+    /**
+     * Gets the fight session of an event.
+     *
+     * @param index The event index.
+     * @return The session ID at capture time.
+     */
+    public long getSession(int index) {
+        return sessions[index];
+    }
+
+    /**
+     * Gets the player of a hit.
+     *
+     * @param index The event index.
+     * @return The player number, or -1 for a death.
+     */
+    public int getPlayer(int index) {
+        return players[index];
+    }
+
+    /**
+     * Gets the damage of a hit.
+     *
+     * @param index The event index.
+     * @return The damage, or 0 for a death.
+     */
+    public double getDamage(int index) {
+        return damage[index];
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static void writeFloat(ByteArrayOutputStream out, float value) {
+        int bits = Float.floatToIntBits(value);
+        out.write(bits >>> 24);
+        out.write(bits >>> 16);
+        out.write(bits >>> 8);
+        out.write(bits);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b == -1) throw new EOFException();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Corrupt trace, varint too long");
+    }
+}
@@ -0,0 +1,270 @@
+package com.elplatano0871.damagetracker.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Records accepted damage events and boss deaths into a {@link DamageTrace} file.
+ * Events are encoded on the main thread into an in-memory chunk, and full chunks are written
+ * to disk on a background thread, so capturing never blocks a tick on I/O.
+ */
+public class TraceRecorder {
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final Logger logger;
+    private final Map<String, Integer> bosses;
+    private final Map<UUID, Integer> players;
+    private final ByteArrayOutputStream buffer;
+    private ExecutorService writer;
+    // Only touched by the writer thread
+    private OutputStream out;
+    private File file;
+    private volatile boolean recording;
+    private long maxBytes;
+    private long lastMicros;
+    private long events;
+    private long bytes;
+
+    /**
+     * Creates an idle recorder.
+     *
+     * @param logger The logger for write errors.
+     */
+    public TraceRecorder(Logger logger) {
+        this.logger = logger;
+        this.bosses = new HashMap<>();
+        this.players = new HashMap<>();
+        this.buffer = new ByteArrayOutputStream(CHUNK_BYTES + 256);
+    }
+
+    /**
+     * Starts recording into a new file. Must be called from the main thread.
+     *
+     * @param file The trace file, replaced if it exists.
+     * @param maxBytes The size at which the recording stops by itself.
+     * @return false if a recording is already running.
+     */
+    public boolean start(File file, long maxBytes) {
+        if (recording) return false;
+
+        this.file = file;
+        this.maxBytes = maxBytes;
+        bosses.clear();
+        players.clear();
+        buffer.reset();
+        events = 0;
+        bytes = 0;
+        lastMicros = System.nanoTime() / 1_000;
+
+        long startedAt = System.currentTimeMillis();
+        buffer.write(DamageTrace.MAGIC >>> 24);
+        buffer.write(DamageTrace.MAGIC >>> 16);
+        buffer.write(DamageTrace.MAGIC >>> 8);
+        buffer.write(DamageTrace.MAGIC);
+        buffer.write(DamageTrace.VERSION);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer.write((int) (startedAt >>> shift));
+        }
+
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DamageTracker-Trace");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.execute(() -> open(file));
+        recording = true;
+        return true;
+    }
+
+    /**
+     * Records an accepted hit. Must be called from the main thread.
+     *
+     * @param bossId The ID of the boss.
+     * @param maxHealth The maximum health of the boss.
+     * @param sessionId The ID of the fight session.
+     * @param playerId The UUID of the player, which is not stored.
+     * @param damage The damage of the hit.
+     */
+    public void recordHit(String bossId, double maxHealth, long sessionId, UUID playerId, double damage) {
+        if (!recording) return;
+
+        int boss = bossIndex(bossId, maxHealth);
+        Integer player = players.get(playerId);
+        if (player == null) {
+            player = players.size();
+            players.put(playerId, player);
+        }
+        buffer.write(DamageTrace.HIT);
+        DamageTrace.writeVarLong(buffer, elapsedMicros());
+        DamageTrace.writeVarLong(buffer, boss);
+        DamageTrace.writeVarLong(buffer, sessionId);
+        DamageTrace.writeVarLong(buffer, player);
+        DamageTrace.writeFloat(buffer, (float) damage);
+        recorded();
+    }
+
+    /**
+     * Records the death of a tracked boss. Must be called from the main thread.
+     *
+     * @param bossId The ID of the boss.
+     * @param maxHealth The maximum health of the boss.
+     * @param sessionId The ID of the fight session.
+     */
+    public void recordDeath(String bossId, double maxHealth, long sessionId) {
+        if (!recording) return;
+
+        int boss = bossIndex(bossId, maxHealth);
+        buffer.write(DamageTrace.DEATH);
+        DamageTrace.writeVarLong(buffer, elapsedMicros());
+        DamageTrace.writeVarLong(buffer, boss);
+        DamageTrace.writeVarLong(buffer, sessionId);
+        recorded();
+    }
+
+    /**
+     * Stops the recording and writes what is left in the background.
+     *
+     * @return false if nothing was being recorded.
+     */
+    public boolean stop() {
+        if (!recording) return false;
+
+        recording = false;
+        flushBuffer();
+        writer.execute(this::closeFile);
+        writer.shutdown();
+        return true;
+    }
+
+    /**
+     * Stops the recording and waits for the file to be written, used on shutdown.
+     */
+    public void close() {
+        if (!stop()) return;
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for the damage trace to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks if a recording is running.
+     *
+     * @return true while recording.
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Gets the file of the current or last recording.
+     *
+     * @return The trace file, or null if nothing was recorded yet.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the number of events of the current or last recording.
+     *
+     * @return The number of hits and deaths.
+     */
+    public long getEventCount() {
+        return events;
+    }
+
+    /**
+     * Gets the size of the current or last recording.
+     *
+     * @return The number of bytes handed to the writer, plus those still buffered.
+     */
+    public long getByteCount() {
+        return bytes + buffer.size();
+    }
+
+    private int bossIndex(String bossId, double maxHealth) {
+        Integer boss = bosses.get(bossId);
+        if (boss != null) return boss;
+
+        boss = bosses.size();
+        bosses.put(bossId, boss);
+        byte[] name = bossId.getBytes(StandardCharsets.UTF_8);
+        buffer.write(DamageTrace.BOSS);
+        DamageTrace.writeVarLong(buffer, name.length);
+        buffer.write(name, 0, name.length);
+        DamageTrace.writeFloat(buffer, (float) maxHealth);
+        return boss;
+    }
+
+    private long elapsedMicros() {
+        long now = System.nanoTime() / 1_000;
+        long elapsed = Math.max(0L, now - lastMicros);
+        lastMicros = now;
+        return elapsed;
+    }
+
+    private void recorded() {
+        events++;
+        if (buffer.size() >= CHUNK_BYTES) {
+            flushBuffer();
+        }
+        if (getByteCount() >= maxBytes) {
+            logger.warning("The damage trace reached its size limit, recording stopped");
+            stop();
+        }
+    }
+
+    private void flushBuffer() {
+        if (buffer.size() == 0) return;
+        byte[] chunk = buffer.toByteArray();
+        buffer.reset();
+        bytes += chunk.length;
+        writer.execute(() -> write(chunk));
+    }
+
+    private void open(File target) {
+        try {
+            Files.createDirectories(target.getParentFile().toPath());
+            out = new BufferedOutputStream(new FileOutputStream(target), CHUNK_BYTES);
+        } catch (IOException e) {
+            logger.warning("Could not create damage trace " + target.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void write(byte[] chunk) {
+        if (out == null) return;
+        try {
+            out.write(chunk);
+        } catch (IOException e) {
+            logger.warning("Could not write damage trace: " + e.getMessage());
+            closeFile();
+        }
+    }
+
+    private void closeFile() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            logger.warning("Could not close damage trace: " + e.getMessage());
+        }
+        out = null;
+    }
+}
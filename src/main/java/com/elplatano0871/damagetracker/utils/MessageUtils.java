@@ -1,6 +1,7 @@
 package com.elplatano0871.damagetracker.utils;
 
 import com.elplatano0871.damagetracker.DamageTracker;
+import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
@@ -41,6 +42,24 @@ public class MessageUtils {
         }
     }
 
+    // Send a message to the action bar of a player
+    public static void sendActionBar(Player player, String message) {
+        if (message == null || adventure == null) return;
+        adventure.player(player).sendActionBar(deserialize(message));
+    }
+
+    // Show a boss bar to a player
+    public static void showBossBar(Player player, BossBar bossBar) {
+        if (adventure == null) return;
+        adventure.player(player).showBossBar(bossBar);
+    }
+
+    // Hide a boss bar from a player
+    public static void hideBossBar(Player player, BossBar bossBar) {
+        if (adventure == null) return;
+        adventure.player(player).hideBossBar(bossBar);
+    }
+
     // Deserialize a message using MiniMessage
     public static Component deserialize(String message) {
         if (message == null || message.isEmpty()) {
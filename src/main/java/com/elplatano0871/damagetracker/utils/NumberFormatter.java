@@ -0,0 +1,284 @@
+package com.elplatano0871.damagetracker.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Number formatter compiled once from a printf style pattern such as "%.2f" or "%,.1f%%".
+ * Digits are written straight into a reusable StringBuilder, so formatting a value does not
+ * parse the pattern, box the value or create a Formatter.
+ * Patterns the fast path does not understand fall back to String.format.
+ */
+public final class NumberFormatter {
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+    private static final double[] COMPACT_DIVISORS = {1e3, 1e6, 1e9, 1e12};
+    private static final char[] COMPACT_SUFFIXES = {'K', 'M', 'B', 'T'};
+    // Larger values are left to String.format
+    private static final double MAX_FAST_VALUE = 9.0e15;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    private final String pattern;
+    private final String prefix;
+    private final String suffix;
+    private final int precision;
+    private final boolean grouping;
+    private final boolean fallback;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private double compactThreshold;
+    private int compactPrecision;
+
+    private NumberFormatter(String pattern, String prefix, String suffix, int precision,
+                            boolean grouping, boolean fallback) {
+        this.pattern = pattern;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.precision = precision;
+        this.grouping = grouping;
+        this.fallback = fallback;
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.compactThreshold = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Compiles a printf style pattern with a single floating point or integer conversion.
+     *
+     * @param pattern The pattern, e.g. "%.2f".
+     * @return The compiled formatter.
+     */
+    public static NumberFormatter compile(String pattern) {
+        if (pattern == null) {
+            pattern = "%.2f";
+        }
+
+        StringBuilder prefix = new StringBuilder();
+        StringBuilder suffix = new StringBuilder();
+        StringBuilder current = prefix;
+        int precision = -1;
+        boolean grouping = false;
+        boolean converted = false;
+
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i++);
+            if (c != '%') {
+                current.append(c);
+                continue;
+            }
+            if (i >= pattern.length()) {
+                return fallback(pattern);
+            }
+            if (pattern.charAt(i) == '%') {
+                current.append('%');
+                i++;
+                continue;
+            }
+            if (pattern.charAt(i) == 'n') {
+                current.append(System.lineSeparator());
+                i++;
+                continue;
+            }
+            if (converted) {
+                // More than one conversion is left to String.format
+                return fallback(pattern);
+            }
+
+            boolean groupingFlag = false;
+            if (pattern.charAt(i) == ',') {
+                groupingFlag = true;
+                i++;
+            }
+            int digits = -1;
+            if (i < pattern.length() && pattern.charAt(i) == '.') {
+                i++;
+                int start = i;
+                while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+                    i++;
+                }
+                if (start == i || i - start > 1) {
+                    return fallback(pattern);
+                }
+                digits = pattern.charAt(start) - '0';
+            }
+            if (i >= pattern.length()) {
+                return fallback(pattern);
+            }
+            char conversion = pattern.charAt(i++);
+            if (conversion == 'f') {
+                precision = digits == -1 ? 6 : digits;
+            } else if (conversion == 'd' && digits == -1) {
+                precision = 0;
+            } else {
+                return fallback(pattern);
+            }
+            grouping = groupingFlag;
+            converted = true;
+            current = suffix;
+        }
+
+        if (!converted) {
+            // A pattern without conversion always renders as its literal text
+            return new NumberFormatter(pattern, prefix.toString(), "", -1, false, false);
+        }
+        return new NumberFormatter(pattern, prefix.toString(), suffix.toString(), precision, grouping, false);
+    }
+
+    private static NumberFormatter fallback(String pattern) {
+        return new NumberFormatter(pattern, "", "", 0, false, true);
+    }
+
+    /**
+     * Enables compact notation (1.2K, 3.4M) for values at or above the given threshold.
+     *
+     * @param threshold The smallest absolute value rendered in compact form, at least 1000.
+     * @param compactPrecision The number of decimals used for compact values.
+     * @return This formatter.
+     */
+    public NumberFormatter withCompactNotation(double threshold, int compactPrecision) {
+        this.compactThreshold = Math.max(1000.0, threshold);
+        this.compactPrecision = Math.max(0, Math.min(POWERS_OF_TEN.length - 1, compactPrecision));
+        return this;
+    }
+
+    /**
+     * Gets the pattern this formatter was compiled from.
+     *
+     * @return The source pattern.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Checks whether the pattern ends with a literal percent sign.
+     *
+     * @return true if the formatted output already carries a '%'.
+     */
+    public boolean endsWithPercent() {
+        return fallback ? pattern.endsWith("%%") : suffix.endsWith("%");
+    }
+
+    /**
+     * Formats a value into a new string, reusing a per-thread buffer for the digits.
+     *
+     * @param value The value to format.
+     * @return The formatted value.
+     */
+    public String format(double value) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        formatTo(buffer, value);
+        return buffer.toString();
+    }
+
+    /**
+     * Appends a formatted value to the given builder.
+     *
+     * @param out The builder to append to.
+     * @param value The value to format.
+     * @return The same builder.
+     */
+    public StringBuilder formatTo(StringBuilder out, double value) {
+        if (fallback) {
+            return out.append(String.format(pattern, value));
+        }
+        out.append(prefix);
+        if (precision < 0) {
+            return out;
+        }
+
+        double abs = Math.abs(value);
+        if (abs >= compactThreshold && !Double.isInfinite(abs)) {
+            int unit = COMPACT_DIVISORS.length - 1;
+            while (unit > 0 && abs < COMPACT_DIVISORS[unit]) {
+                unit--;
+            }
+            // Rounding can carry into the next unit: 999,950 is 1.0M, not 1000.0K
+            if (unit < COMPACT_DIVISORS.length - 1
+                    && Math.round(abs / COMPACT_DIVISORS[unit] * POWERS_OF_TEN[compactPrecision])
+                    >= 1000L * POWERS_OF_TEN[compactPrecision]) {
+                unit++;
+            }
+            appendFixed(out, value / COMPACT_DIVISORS[unit], compactPrecision, false);
+            out.append(COMPACT_SUFFIXES[unit]);
+        } else {
+            appendFixed(out, value, precision, grouping);
+        }
+        return out.append(suffix);
+    }
+
+    private void appendFixed(StringBuilder out, double value, int digits, boolean group) {
+        if (Double.isNaN(value) || Double.isInfinite(value)
+                || digits >= POWERS_OF_TEN.length || Math.abs(value) * POWERS_OF_TEN[digits] >= MAX_FAST_VALUE) {
+            out.append(String.format(group ? "%,." + digits + "f" : "%." + digits + "f", value));
+            return;
+        }
+
+        // Split first so the fraction is scaled without losing the integer digits' precision
+        double abs = Math.abs(value);
+        long integerPart = (long) abs;
+        double scaled = (abs - integerPart) * POWERS_OF_TEN[digits];
+        long fraction = Math.round(scaled);
+        // String.format rounds the shortest decimal form half up, not the binary value: 1.005 is
+        // stored as 1.00499... but formats as 1.01. Near a tie the decimal form decides.
+        if (Math.abs(scaled - Math.floor(scaled) - 0.5) <= Math.ulp(abs) * POWERS_OF_TEN[digits]) {
+            BigDecimal rounded = BigDecimal.valueOf(abs).setScale(digits, RoundingMode.HALF_UP);
+            integerPart = rounded.longValue();
+            fraction = rounded.unscaledValue().longValue() - integerPart * POWERS_OF_TEN[digits];
+        }
+        if (fraction >= POWERS_OF_TEN[digits]) {
+            integerPart++;
+            fraction -= POWERS_OF_TEN[digits];
+        }
+        if (value < 0) {
+            out.append('-');
+        }
+
+        appendInteger(out, integerPart, group);
+        if (digits > 0) {
+            out.append(decimalSeparator);
+            for (int i = digits - 1; i >= 0; i--) {
+                out.append((char) ('0' + (fraction / POWERS_OF_TEN[i]) % 10));
+            }
+        }
+    }
+
+    private void appendInteger(StringBuilder out, long value, boolean group) {
+        if (value < 10) {
+            out.append((char) ('0' + value));
+            return;
+        }
+        int length = stringSize(value);
+        int start = out.length();
+        int separators = group ? (length - 1) / 3 : 0;
+        out.setLength(start + length + separators);
+
+        int position = start + length + separators - 1;
+        int written = 0;
+        while (value > 0) {
+            if (group && written > 0 && written % 3 == 0) {
+                out.setCharAt(position--, groupingSeparator);
+            }
+            out.setCharAt(position--, (char) ('0' + value % 10));
+            value /= 10;
+            written++;
+        }
+    }
+
+    private static int stringSize(long value) {
+        long power = 10;
+        for (int i = 1; i < 19; i++) {
+            if (value < power) {
+                return i;
+            }
+            power *= 10;
+        }
+        return 19;
+    }
+}
@@ -0,0 +1,89 @@
+package com.elplatano0871.damagetracker;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Measures time and allocations of an operation for the budget assertions of the tests.
+ */
+public final class Benchmarks {
+    private static final int WARMUP_ROUNDS = 3;
+    // Consumes the results so the JIT cannot drop the measured work
+    private static volatile long blackhole;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs an operation a number of times after a short warmup and measures time and allocations.
+     *
+     * @param iterations The number of measured iterations.
+     * @param operation The operation, which returns a value that is consumed to avoid dead code elimination.
+     * @return The measured result.
+     */
+    public static Result measure(int iterations, IntToLongFunction operation) {
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < Math.max(1, iterations / 4); i++) {
+                sink += operation.applyAsLong(i);
+            }
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += operation.applyAsLong(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+
+        long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+        blackhole = sink;
+        return new Result((double) elapsed / iterations, allocated < 0 ? -1 : (double) allocated / iterations);
+    }
+
+    /**
+     * Gets the bytes allocated by the current thread, or -1 if the JVM does not expose it.
+     *
+     * @return The allocated bytes.
+     */
+    public static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Result of a single measured operation.
+     */
+    public static final class Result {
+        private final double nanosPerOp;
+        private final double bytesPerOp;
+
+        Result(double nanosPerOp, double bytesPerOp) {
+            this.nanosPerOp = nanosPerOp;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        public double getNanosPerOp() {
+            return nanosPerOp;
+        }
+
+        /**
+         * Gets the bytes allocated per operation.
+         *
+         * @return The bytes, or -1 if the JVM does not expose allocations.
+         */
+        public double getBytesPerOp() {
+            return bytesPerOp;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f ns/op, %s", nanosPerOp, bytesPerOp < 0 ? "n/a" : String.format("%.1f B/op", bytesPerOp));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.elplatano0871.damagetracker;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.elplatano0871.damagetracker.utils.MessageUtils;
+import io.lumine.mythic.api.adapters.AbstractEntity;
+import io.lumine.mythic.bukkit.MythicBukkit;
+import io.lumine.mythic.bukkit.events.MythicMobDeathEvent;
+import io.lumine.mythic.core.mobs.ActiveMob;
+import io.lumine.mythic.core.mobs.MobExecutor;
+import me.clip.placeholderapi.PlaceholderAPIPlugin;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.damage.DamageType;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Boots DamageTracker on a MockBukkit server with the configs shipped in the resources.
+ * MythicMobs and PlaceholderAPI are stubbed: bosses are plain zombies registered as active mobs,
+ * and the placeholder expansion registers against a mock.
+ */
+public abstract class DamageTrackerTestBase {
+    protected ServerMock server;
+    protected DamageTracker plugin;
+    protected WorldMock world;
+    private final Map<UUID, ActiveMob> activeMobs = new ConcurrentHashMap<>();
+    private MockedStatic<MythicBukkit> mythicBukkit;
+    private MockedStatic<PlaceholderAPIPlugin> placeholderApi;
+
+    @BeforeEach
+    void bootPlugin() {
+        server = MockBukkit.mock();
+        MockBukkit.createMockPlugin("MythicMobs");
+        MockBukkit.createMockPlugin("PlaceholderAPI");
+
+        // Stub only: the mocks answer every hit of long runs and must not record the calls
+        MobExecutor mobManager = mock(MobExecutor.class, withSettings().stubOnly());
+        when(mobManager.getMythicMobInstance(any(Entity.class)))
+                .thenAnswer(invocation -> activeMobs.get(invocation.<Entity>getArgument(0).getUniqueId()));
+        MythicBukkit mythic = mock(MythicBukkit.class);
+        when(mythic.getMobManager()).thenReturn(mobManager);
+        mythicBukkit = mockStatic(MythicBukkit.class);
+        mythicBukkit.when(MythicBukkit::inst).thenReturn(mythic);
+
+        placeholderApi = mockStatic(PlaceholderAPIPlugin.class);
+        placeholderApi.when(PlaceholderAPIPlugin::getInstance).thenReturn(mock(PlaceholderAPIPlugin.class, RETURNS_DEEP_STUBS));
+        stubPlugins();
+
+        plugin = MockBukkit.load(DamageTracker.class);
+        // Without the adventure platform, chat goes through sendMessage, which MockBukkit records
+        MessageUtils.close();
+        world = server.addSimpleWorld("world");
+    }
+
+    @AfterEach
+    void shutdownPlugin() {
+        MockBukkit.unmock();
+        placeholderApi.close();
+        mythicBukkit.close();
+        activeMobs.clear();
+    }
+
+    /**
+     * Stubs further plugins the test needs, before DamageTracker is enabled.
+     */
+    protected void stubPlugins() {
+    }
+
+    /**
+     * Spawns a zombie that MythicMobs reports as an active mob of the given type.
+     *
+     * @param mobType The MythicMobs internal name.
+     * @param displayName The display name of the mob.
+     * @param maxHealth The maximum health of the mob.
+     * @return The stubbed active mob.
+     */
+    protected ActiveMob spawnBoss(String mobType, String displayName, double maxHealth) {
+        Zombie zombie = world.spawn(new Location(world, 0, 64, 0), Zombie.class);
+        zombie.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(maxHealth);
+
+        AbstractEntity entity = mock(AbstractEntity.class, withSettings().stubOnly());
+        when(entity.getBukkitEntity()).thenReturn(zombie);
+        ActiveMob activeMob = mock(ActiveMob.class, withSettings().stubOnly());
+        when(activeMob.getMobType()).thenReturn(mobType);
+        when(activeMob.getDisplayName()).thenReturn(displayName);
+        when(activeMob.getUniqueId()).thenReturn(zombie.getUniqueId());
+        when(activeMob.getEntity()).thenReturn(entity);
+        activeMobs.put(zombie.getUniqueId(), activeMob);
+        return activeMob;
+    }
+
+    /**
+     * Fires a melee hit of a player on a boss through the plugin manager.
+     *
+     * @param player The attacking player.
+     * @param boss The boss that is hit.
+     * @param damage The final damage of the hit.
+     * @return The event, after every listener ran.
+     */
+    protected EntityDamageByEntityEvent hit(PlayerMock player, ActiveMob boss, double damage) {
+        DamageSource source = DamageSource.builder(DamageType.PLAYER_ATTACK)
+                .withCausingEntity(player)
+                .withDirectEntity(player)
+                .build();
+        EntityDamageByEntityEvent event = new EntityDamageByEntityEvent(player, boss.getEntity().getBukkitEntity(),
+                EntityDamageEvent.DamageCause.ENTITY_ATTACK, source, damage);
+        server.getPluginManager().callEvent(event);
+        return event;
+    }
+
+    /**
+     * Fires the MythicMobs death event of a boss through the plugin manager.
+     *
+     * @param boss The boss that died.
+     */
+    protected void kill(ActiveMob boss) {
+        MythicMobDeathEvent event = mock(MythicMobDeathEvent.class);
+        when(event.getMob()).thenReturn(boss);
+        when(event.getHandlers()).thenReturn(MythicMobDeathEvent.getHandlerList());
+        server.getPluginManager().callEvent(event);
+        activeMobs.remove(boss.getUniqueId());
+    }
+
+    /**
+     * Drains the chat messages a player received, without colors.
+     *
+     * @param player The player.
+     * @return The messages, oldest first.
+     */
+    protected static List<String> messages(PlayerMock player) {
+        List<String> messages = new ArrayList<>();
+        String message;
+        while ((message = player.nextMessage()) != null) {
+            messages.add(ChatColor.stripColor(message));
+        }
+        return messages;
+    }
+}
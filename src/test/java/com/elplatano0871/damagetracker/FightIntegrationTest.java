@@ -0,0 +1,167 @@
+package com.elplatano0871.damagetracker;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.elplatano0871.damagetracker.api.BossDamageCompletedEvent;
+import com.elplatano0871.damagetracker.api.DamageTrackerService;
+import com.elplatano0871.damagetracker.api.DpsTimeline;
+import com.elplatano0871.damagetracker.api.FightResult;
+import com.elplatano0871.damagetracker.managers.DamageManager;
+import com.elplatano0871.damagetracker.managers.DatabaseManager;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import io.lumine.mythic.core.mobs.ActiveMob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives whole fights through the damage and death events, with the configs shipped in the resources.
+ */
+class FightIntegrationTest extends DamageTrackerTestBase {
+    private static final String BOSS = "EPIC_BOSS";
+
+    private PlayerMock alice;
+    private PlayerMock bob;
+    private PlayerMock carol;
+    private ActiveMob boss;
+
+    @BeforeEach
+    void startFight() {
+        plugin.getTrackedBossManager().trackTemporarily(BOSS);
+        alice = server.addPlayer("Alice");
+        bob = server.addPlayer("Bob");
+        carol = server.addPlayer("Carol");
+        boss = spawnBoss(BOSS, "Epic Boss", 1000);
+    }
+
+    @Test
+    void hitsAccumulateIntoTotalsAndRankings() {
+        hit(alice, boss, 100);
+        hit(bob, boss, 250);
+        hit(alice, boss, 200);
+        hit(carol, boss, 50);
+
+        DamageManager damageManager = plugin.getDamageManager();
+        DamageRanking ranking = damageManager.getTrackedRanking(BOSS);
+        assertEquals(3, ranking.size());
+        assertEquals(alice.getUniqueId(), ranking.getPlayerAt(0));
+        assertEquals(bob.getUniqueId(), ranking.getPlayerAt(1));
+        assertEquals(carol.getUniqueId(), ranking.getPlayerAt(2));
+        assertEquals(300.0, ranking.getDamage(alice.getUniqueId()), 1e-9);
+        assertEquals(600.0, ranking.getTotal(), 1e-9);
+        assertEquals(50.0, ranking.getPercentage(alice.getUniqueId()), 1e-9);
+        assertEquals(1000.0, damageManager.getTrackedBossMaxHealth(BOSS), 1e-9);
+
+        assertEquals(600.0, damageManager.getGlobalRanking().getTotal(), 1e-9);
+        assertEquals(1, plugin.getLeaderboardManager().getRanking(BOSS).getRank(alice.getUniqueId()));
+        assertEquals(250.0, plugin.getLeaderboardManager().getRanking(BOSS).getDamage(bob.getUniqueId()), 1e-9);
+    }
+
+    @Test
+    void hitsOnOtherMobsAreIgnored() {
+        ActiveMob minion = spawnBoss("MINION", "Minion", 20);
+        hit(alice, minion, 10);
+
+        assertNull(plugin.getDamageManager().getTrackedRanking("MINION"));
+        assertEquals(0.0, plugin.getDamageManager().getGlobalRanking().getTotal(), 1e-9);
+    }
+
+    @Test
+    void deathSendsPersonalizedVictoryMessages() {
+        PlayerMock dave = server.addPlayer("Dave");
+        hit(alice, boss, 300);
+        hit(bob, boss, 250);
+        hit(carol, boss, 50);
+
+        kill(boss);
+
+        String aliceMessage = String.join("\n", messages(alice));
+        assertTrue(aliceMessage.contains("The Epic Boss has fallen!"), aliceMessage);
+        assertTrue(aliceMessage.contains("Position: #1"), aliceMessage);
+        assertTrue(aliceMessage.contains(plugin.getDamageManager().formatDamageValue(300)), aliceMessage);
+        assertTrue(aliceMessage.indexOf("Alice") < aliceMessage.indexOf("Bob")
+                && aliceMessage.indexOf("Bob") < aliceMessage.indexOf("Carol"), aliceMessage);
+        assertTrue(String.join("\n", messages(bob)).contains("Position: #2"));
+        assertTrue(String.join("\n", messages(carol)).contains("Position: #3"));
+
+        String daveMessage = String.join("\n", messages(dave));
+        assertTrue(daveMessage.contains("You missed out on an epic battle!"), daveMessage);
+        assertFalse(daveMessage.contains("Position:"), daveMessage);
+
+        server.getPluginManager().assertEventFired(BossDamageCompletedEvent.class, event ->
+                event.getBossId().equals(BOSS)
+                        && event.getResult().getParticipantCount() == 3
+                        && event.getResult().getPlayerAt(0).equals(alice.getUniqueId())
+                        && Math.abs(event.getResult().getTotalDamage() - 600.0) < 1e-9);
+
+        // Data is not persisted after the kill in the shipped tracked_bosses.yml
+        assertNull(plugin.getDamageManager().getTrackedRanking(BOSS));
+        assertEquals(0.0, plugin.getDamageManager().getGlobalRanking().getTotal(), 1e-9);
+    }
+
+    @Test
+    void damageIsWrittenToTheDatabase() throws Exception {
+        hit(alice, boss, 100);
+        hit(bob, boss, 250);
+        hit(alice, boss, 200);
+        kill(boss);
+
+        // The database thread runs tasks in order, so the load sees every write queued before it
+        List<DatabaseManager.LeaderboardRow> rows = plugin.getDatabaseManager().loadLeaderboardsAsync()
+                .get(10, TimeUnit.SECONDS);
+        Map<UUID, DatabaseManager.LeaderboardRow> stored = new HashMap<>();
+        for (DatabaseManager.LeaderboardRow row : rows) {
+            if (row.getBossName().equals(BOSS)) {
+                stored.put(row.getPlayerUuid(), row);
+            }
+        }
+
+        assertEquals(2, stored.size());
+        assertEquals(300.0, stored.get(alice.getUniqueId()).getDamage(), 1e-9);
+        assertEquals("Alice", stored.get(alice.getUniqueId()).getPlayerName());
+        assertEquals(250.0, stored.get(bob.getUniqueId()).getDamage(), 1e-9);
+    }
+
+    @Test
+    void killedFightsAreReadBackFromTheHistory() throws Exception {
+        hit(alice, boss, 100);
+        hit(bob, boss, 250);
+        hit(alice, boss, 200);
+        kill(boss);
+
+        DamageTrackerService service = server.getServicesManager().load(DamageTrackerService.class);
+        List<FightResult> fights = service.getFightHistory(BOSS, 10).get(10, TimeUnit.SECONDS);
+        assertEquals(1, fights.size());
+        FightResult fight = fights.get(0);
+        assertEquals(BOSS, fight.getBossId());
+        assertEquals(2, fight.getParticipantCount());
+        assertEquals(alice.getUniqueId(), fight.getPlayerAt(0));
+        assertEquals(300.0, fight.getDamage(alice.getUniqueId()), 1e-9);
+        assertEquals(550.0, fight.getTotalDamage(), 1e-9);
+        assertEquals(1000.0, fight.getMaxHealth(), 1e-9);
+        assertTrue(fight.getEndedAt() >= fight.getStartedAt());
+        // The DPS timelines are written with the fight
+        DpsTimeline timeline = fight.getTimeline(alice.getUniqueId());
+        assertNotNull(timeline);
+        double timelineDamage = 0;
+        for (int i = 0; i < timeline.size(); i++) {
+            timelineDamage += timeline.getDamageAt(i);
+        }
+        assertEquals(300.0, timelineDamage, 0.01);
+
+        List<FightResult> bobFights = service.getPlayerHistory(bob.getUniqueId(), 10).get(10, TimeUnit.SECONDS);
+        assertEquals(1, bobFights.size());
+        assertEquals(fight.getFightId(), bobFights.get(0).getFightId());
+        assertTrue(service.getPlayerHistory(carol.getUniqueId(), 10).get(10, TimeUnit.SECONDS).isEmpty());
+    }
+}
@@ -0,0 +1,77 @@
+package com.elplatano0871.damagetracker;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.elplatano0871.damagetracker.placeholders.DamageTrackerPlaceholder;
+import com.elplatano0871.damagetracker.placeholders.PlaceholderResolver;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keeps the live placeholders of a large fight cheap: a scoreboard showing them to every participant
+ * resolves about 500 of them per tick, which must stay within a small share of the tick.
+ */
+@Tag("perf")
+class LivePlaceholderBudgetTest extends DamageTrackerTestBase {
+    private static final String BOSS = "EPIC_BOSS";
+    private static final int PARTICIPANTS = 500;
+    private static final int RESOLUTIONS_PER_TICK = 500;
+    // Share of a 50 ms tick the resolutions of one tick may take
+    private static final double TICK_BUDGET_MILLIS = 2.5;
+    private static final int ITERATIONS = 200_000;
+    private static final String[] IDENTIFIERS = {
+            "live_epic_boss_top_1_name", "live_epic_boss_top_5_damage", "live_epic_boss_me_rank",
+            "live_epic_boss_me_percent", "live_epic_boss_me_damage", "live_epic_boss_participants",
+            "live_epic_boss_total"
+    };
+
+    private final Random random = new Random(42);
+    private PlayerMock[] players;
+    private PlaceholderResolver[] resolvers;
+
+    @BeforeEach
+    void startFight() {
+        plugin.getTrackedBossManager().trackTemporarily(BOSS);
+        players = new PlayerMock[PARTICIPANTS];
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            players[i] = server.addPlayer("Player" + i);
+            plugin.getDamageManager().addTrackedDamage(BOSS, players[i], 1 + random.nextInt(10_000));
+        }
+
+        DamageTrackerPlaceholder placeholder = new DamageTrackerPlaceholder(plugin, plugin.getDatabaseManager());
+        resolvers = new PlaceholderResolver[IDENTIFIERS.length];
+        for (int i = 0; i < IDENTIFIERS.length; i++) {
+            resolvers[i] = placeholder.getResolver(IDENTIFIERS[i]);
+            // The first request starts publishing the ranking, which happens on the next tick
+            resolvers[i].resolve(players[0]);
+        }
+        server.getScheduler().performTicks(2);
+    }
+
+    @Test
+    void resolvesTheLiveRanking() {
+        DamageRanking ranking = plugin.getDamageManager().getTrackedRanking(BOSS);
+        PlayerMock last = players[PARTICIPANTS - 1];
+
+        assertEquals(plugin.getPlayerNameManager().getName(ranking.getPlayerAt(0)), resolvers[0].resolve(last));
+        assertEquals(String.valueOf(ranking.getRank(last.getUniqueId())), resolvers[2].resolve(last));
+        assertEquals(String.valueOf(PARTICIPANTS), resolvers[5].resolve(last));
+        assertEquals(plugin.getDamageManager().formatDamageValue(ranking.getTotal()), resolvers[6].resolve(last));
+    }
+
+    @Test
+    void resolutionsOfOneTickStayWithinBudget() {
+        Benchmarks.Result resolution = Benchmarks.measure(ITERATIONS, i ->
+                resolvers[i % resolvers.length].resolve(players[i % PARTICIPANTS]).length());
+
+        double perTickMillis = resolution.getNanosPerOp() * RESOLUTIONS_PER_TICK / 1_000_000;
+        assertTrue(perTickMillis <= TICK_BUDGET_MILLIS,
+                String.format("%d resolutions/tick: %.3f ms, per resolution: %s", RESOLUTIONS_PER_TICK, perTickMillis, resolution));
+    }
+}
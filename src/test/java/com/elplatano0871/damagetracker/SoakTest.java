@@ -0,0 +1,326 @@
+package com.elplatano0871.damagetracker;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import com.elplatano0871.damagetracker.configs.BossConfig;
+import com.elplatano0871.damagetracker.listeners.MythicMobListeners;
+import com.elplatano0871.damagetracker.managers.HologramManager;
+import com.elplatano0871.damagetracker.session.FightSession;
+import com.elplatano0871.damagetracker.session.SessionReaper;
+import de.oliver.fancyholograms.api.FancyHologramsPlugin;
+import de.oliver.fancyholograms.api.data.HologramData;
+import de.oliver.fancyholograms.api.hologram.Hologram;
+import org.bukkit.Location;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs many compressed fight cycles against the managers and checks that the state they leave
+ * behind stays bounded. Cycles mix kills, despawns, respawns during data retention, configuration
+ * reloads in the middle of fights and victory holograms removed behind the plugin's back, as a
+ * FancyHolograms reload does. Data retention and hologram durations are short, so their expiry
+ * runs throughout the fights.
+ */
+class SoakTest extends DamageTrackerTestBase {
+    private static final String BOSS_PREFIX = "SOAK_";
+    private static final int CYCLES = 8_000;
+    private static final int CYCLES_PER_TICK = 4;
+    private static final int BOSSES = 8;
+    private static final int PLAYERS = 500;
+    private static final int SAMPLES = 40;
+    private static final int RELOAD_EVERY = 250;
+    private static final int HOLOGRAM_DROP_EVERY = 100;
+    // Growth tolerated between the two halves of the run before a size counts as leaking
+    private static final double GROWTH_TOLERANCE = 0.1;
+    private static final long HEAP_TOLERANCE_BYTES = 16L * 1024 * 1024;
+    private static final double BOSS_MAX_HEALTH = 100_000;
+    // Short enough for retained data and victory holograms to expire many times during the run
+    private static final int DATA_RETENTION_SECONDS = 2;
+    private static final int HOLOGRAM_DURATION_SECONDS = 5;
+
+    private final Map<String, Hologram> fancyHolograms = new ConcurrentHashMap<>();
+    private final String[] bossIds = new String[BOSSES];
+    private final UUID[] playerIds = new UUID[PLAYERS];
+    private final String[] playerNames = new String[PLAYERS];
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final List<Sample> samples = new ArrayList<>();
+    private MockedStatic<FancyHologramsPlugin> fancyHologramsPlugin;
+    private Location location;
+
+    /**
+     * Sizes of the state that must not grow with the number of fights, sampled during the run.
+     */
+    private record Sample(long deadlines, long bukkitTasks, long activeHolograms, long idleHolograms,
+                          long trackedBosses, long sessions, long boundMobs, long sessionBytes,
+                          long soakSessions, long soakData, long usedHeap) {
+    }
+
+    /**
+     * Backs the FancyHolograms hologram manager with a map, so victory holograms are created,
+     * pooled and removed as on a server.
+     */
+    @Override
+    protected void stubPlugins() {
+        MockBukkit.createMockPlugin("FancyHolograms");
+        de.oliver.fancyholograms.api.HologramManager manager = mock(de.oliver.fancyholograms.api.HologramManager.class);
+        when(manager.getHologram(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(fancyHolograms.get(invocation.<String>getArgument(0))));
+        when(manager.create(any(HologramData.class))).thenAnswer(invocation -> {
+            HologramData data = invocation.getArgument(0);
+            Hologram hologram = mock(Hologram.class);
+            when(hologram.getData()).thenReturn(data);
+            return hologram;
+        });
+        doAnswer(invocation -> {
+            Hologram hologram = invocation.getArgument(0);
+            fancyHolograms.put(hologram.getData().getName(), hologram);
+            return null;
+        }).when(manager).addHologram(any(Hologram.class));
+        doAnswer(invocation -> {
+            Hologram hologram = invocation.getArgument(0);
+            fancyHolograms.remove(hologram.getData().getName(), hologram);
+            return null;
+        }).when(manager).removeHologram(any(Hologram.class));
+
+        FancyHologramsPlugin fancy = mock(FancyHologramsPlugin.class, RETURNS_DEEP_STUBS);
+        when(fancy.getHologramManager()).thenReturn(manager);
+        fancyHologramsPlugin = mockStatic(FancyHologramsPlugin.class);
+        fancyHologramsPlugin.when(FancyHologramsPlugin::get).thenReturn(fancy);
+    }
+
+    @AfterEach
+    void closeFancyHolograms() {
+        fancyHologramsPlugin.close();
+    }
+
+    @Test
+    void fightStateStaysBounded() throws IOException {
+        configure();
+        assertTrue(plugin.getHologramManager().isFancyHologramsAvailable());
+        location = new Location(world, 0, 64, 0);
+        for (int i = 0; i < BOSSES; i++) {
+            bossIds[i] = BOSS_PREFIX + (i + 1);
+        }
+        for (int i = 0; i < PLAYERS; i++) {
+            playerIds[i] = UUID.nameUUIDFromBytes(("DamageTrackerSoak:" + i).getBytes(StandardCharsets.UTF_8));
+            playerNames[i] = "Soak" + i;
+        }
+
+        Sample baseline = sample();
+        track();
+        MythicMobListeners listeners = plugin.getMythicMobListeners();
+        int sampleEvery = CYCLES / SAMPLES;
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            runCycle(listeners, cycle);
+            if ((cycle + 1) % CYCLES_PER_TICK == 0) {
+                server.getScheduler().performOneTick();
+            }
+            if ((cycle + 1) % sampleEvery == 0) {
+                samples.add(sample());
+            }
+        }
+
+        assertBounded("scheduled deadlines", Sample::deadlines, BOSSES);
+        assertBounded("Bukkit tasks", Sample::bukkitTasks, 2);
+        assertBounded("active holograms", Sample::activeHolograms, BOSSES);
+        assertBounded("pooled holograms", Sample::idleHolograms, 1);
+        assertBounded("tracked boss data", Sample::trackedBosses, 1);
+        assertBounded("fight sessions", Sample::sessions, 1);
+        assertBounded("bound mobs", Sample::boundMobs, 1);
+        assertBounded("session memory", Sample::sessionBytes, 64 * 1024);
+        assertBounded("heap", Sample::usedHeap, HEAP_TOLERANCE_BYTES);
+        assertTrue(samples.stream().mapToLong(Sample::activeHolograms).max().orElse(0) > 0,
+                "no victory hologram was shown");
+
+        // Ends the open fights, then lets every retention and hologram expire
+        for (String bossId : bossIds) {
+            FightSession session = plugin.getTrackedBossManager().getSession(bossId);
+            if (session != null && !session.isEnded()) {
+                kill(listeners, bossId);
+            }
+        }
+        assertTrue(sample().soakData() > 0, "no fight data was retained after its boss died");
+        server.getScheduler().performTicks((Math.max(DATA_RETENTION_SECONDS, HOLOGRAM_DURATION_SECONDS) + 1) * 20L);
+        Sample expired = sample();
+        assertEquals(0, expired.soakSessions(), "retained fights were not cleared");
+        assertEquals(0, expired.soakData(), "retained damage was not cleared");
+        assertEquals(0, expired.activeHolograms(), "victory holograms did not expire");
+
+        for (String bossId : bossIds) {
+            plugin.getTrackedBossManager().clearBossData(bossId);
+            plugin.getTrackedBossManager().untrackTemporarily(bossId);
+            plugin.getBossConfigs().remove(bossId);
+            plugin.getLeaderboardManager().removeBoard(bossId);
+        }
+
+        // Once cleared, the soak bosses must leave nothing behind but expiring holograms
+        Sample after = sample();
+        assertEquals(0, after.soakSessions());
+        assertEquals(0, after.soakData());
+        assertTrue(after.sessions() <= baseline.sessions(), "sessions left: " + after.sessions());
+        assertTrue(after.trackedBosses() <= baseline.trackedBosses(), "damage maps left: " + after.trackedBosses());
+    }
+
+    /**
+     * Enables data retention and shortens it and the hologram duration in the files of the data folder,
+     * so every reload of the run keeps them.
+     */
+    private void configure() throws IOException {
+        File trackedBossesFile = new File(plugin.getDataFolder(), "tracked_bosses.yml");
+        YamlConfiguration trackedBosses = YamlConfiguration.loadConfiguration(trackedBossesFile);
+        trackedBosses.set("tracking_config.persist_data", true);
+        trackedBosses.set("tracking_config.data_retention_time", DATA_RETENTION_SECONDS);
+        trackedBosses.save(trackedBossesFile);
+
+        File hologramsFile = new File(plugin.getDataFolder(), "holograms_config.yml");
+        YamlConfiguration holograms = YamlConfiguration.loadConfiguration(hologramsFile);
+        holograms.set("hologram_duration", HOLOGRAM_DURATION_SECONDS);
+        holograms.save(hologramsFile);
+
+        plugin.loadConfig();
+    }
+
+    /**
+     * Tracks the soak bosses, again after every reload, as if they were listed in tracked_bosses.yml.
+     */
+    private void track() {
+        BossConfig config = plugin.getDefaultBossConfig();
+        for (String bossId : bossIds) {
+            plugin.getTrackedBossManager().trackTemporarily(bossId);
+            if (config != null) {
+                plugin.getBossConfigs().put(bossId, config);
+            }
+        }
+    }
+
+    private void runCycle(MythicMobListeners listeners, int cycle) {
+        String bossId = bossIds[cycle % bossIds.length];
+        fight(listeners, bossId, 5 + random.nextInt(36));
+
+        // Reload the configuration while every soak boss is in the middle of a fight
+        if (cycle % RELOAD_EVERY == RELOAD_EVERY - 1) {
+            plugin.loadConfig();
+            track();
+        }
+
+        int outcome = random.nextInt(100);
+        if (outcome < 55) {
+            kill(listeners, bossId);
+        } else if (outcome < 70) {
+            // The boss despawned without dying
+            plugin.getTrackedBossManager().finishSession(bossId, SessionReaper.Cause.DESPAWN);
+        } else if (outcome < 85) {
+            // The boss respawns and is fought again while the data of the last fight is retained
+            kill(listeners, bossId);
+            fight(listeners, bossId, 1 + random.nextInt(10));
+        }
+        // Otherwise the fight stays open and goes on the next time this boss comes up
+
+        if (cycle % HOLOGRAM_DROP_EVERY == HOLOGRAM_DROP_EVERY - 1) {
+            dropHolograms();
+        }
+    }
+
+    /**
+     * Removes the victory holograms of the soak bosses from FancyHolograms without telling
+     * the hologram manager, as a FancyHolograms reload does.
+     */
+    private void dropHolograms() {
+        for (String bossId : bossIds) {
+            for (String name : plugin.getHologramManager().getActiveHologramNames(bossId)) {
+                fancyHolograms.remove(name);
+            }
+        }
+    }
+
+    private void fight(MythicMobListeners listeners, String bossId, int hits) {
+        for (int i = 0; i < hits; i++) {
+            int player = random.nextInt(PLAYERS);
+            listeners.recordDamage(bossId, null, playerIds[player], playerNames[player],
+                    1 + random.nextDouble() * 49, BOSS_MAX_HEALTH);
+        }
+    }
+
+    private void kill(MythicMobListeners listeners, String bossId) {
+        listeners.handleBossDeath(bossId, UUID.randomUUID(), "Soak Boss", location, List.of());
+    }
+
+    private Sample sample() {
+        long bukkitTasks = server.getScheduler().getPendingTasks().stream()
+                .filter(pending -> pending.getOwner() == plugin)
+                .count();
+        long soakSessions = 0;
+        long soakData = 0;
+        for (String bossId : bossIds) {
+            if (plugin.getTrackedBossManager().getSession(bossId) != null) soakSessions++;
+            if (plugin.getDamageManager().hasTrackedData(bossId)) soakData++;
+        }
+        HologramManager holograms = plugin.getHologramManager();
+        return new Sample(
+                plugin.getTickScheduler().getPendingCount(),
+                bukkitTasks,
+                holograms.getActiveHologramCount(),
+                holograms.getIdleHologramCount(),
+                plugin.getDamageManager().getTrackedBossIds().size(),
+                plugin.getTrackedBossManager().getSessions().size(),
+                plugin.getTrackedBossManager().getBoundMobCount(),
+                plugin.getTrackedBossManager().getMemoryBudget().getUsedBytes(),
+                soakSessions,
+                soakData,
+                usedHeap());
+    }
+
+    /**
+     * Compares the peak of a size over the second half of the run with its peak over the first half,
+     * after a warmup quarter. A size that keeps growing with the number of fights is a leak.
+     */
+    private void assertBounded(String name, ToLongFunction<Sample> size, long slack) {
+        int warmup = samples.size() / 4;
+        int middle = warmup + (samples.size() - warmup) / 2;
+        long firstPeak = 0;
+        long secondPeak = 0;
+        for (int i = warmup; i < samples.size(); i++) {
+            long value = size.applyAsLong(samples.get(i));
+            if (i < middle) {
+                firstPeak = Math.max(firstPeak, value);
+            } else {
+                secondPeak = Math.max(secondPeak, value);
+            }
+        }
+
+        long limit = firstPeak + Math.max(slack, (long) (firstPeak * GROWTH_TOLERANCE));
+        assertTrue(secondPeak <= limit, name + " grew from " + firstPeak + " to " + secondPeak);
+    }
+
+    /**
+     * Gets the heap in use after a collection, so garbage does not count as growth.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
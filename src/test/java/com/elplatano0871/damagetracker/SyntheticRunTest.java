@@ -0,0 +1,116 @@
+package com.elplatano0871.damagetracker;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.elplatano0871.damagetracker.api.AsyncBossDamageRecordedEvent;
+import com.elplatano0871.damagetracker.api.BossDamageCompletedEvent;
+import com.elplatano0871.damagetracker.api.BossDamageRecordedEvent;
+import com.elplatano0871.damagetracker.api.FightResult;
+import io.lumine.mythic.core.mobs.ActiveMob;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the synthetic fights of the load test and of trace replays and checks that nothing of them
+ * leaves the plugin: no API event, no fight history. Real fights show the listeners do receive events.
+ */
+class SyntheticRunTest extends DamageTrackerTestBase {
+    private static final String BOSS = "EPIC_BOSS";
+
+    private final List<String> completed = new CopyOnWriteArrayList<>();
+    private final List<String> recorded = new CopyOnWriteArrayList<>();
+    private final List<String> recordedAsync = new CopyOnWriteArrayList<>();
+    private final Semaphore realFights = new Semaphore(0);
+
+    @BeforeEach
+    void listen() {
+        server.getPluginManager().registerEvents(new Listener() {
+            @EventHandler
+            public void onCompleted(BossDamageCompletedEvent event) {
+                completed.add(event.getBossId());
+            }
+
+            @EventHandler
+            public void onRecorded(BossDamageRecordedEvent event) {
+                recorded.add(event.getBossId());
+            }
+
+            @EventHandler
+            public void onRecordedAsync(AsyncBossDamageRecordedEvent event) {
+                recordedAsync.add(event.getBossId());
+                if (event.getBossId().equals(BOSS)) {
+                    realFights.release();
+                }
+            }
+        }, plugin);
+    }
+
+    @Test
+    void loadTestPublishesNothing() throws Exception {
+        // 20 players hitting 2 bosses 10 times per tick for 2 seconds, each boss dying every second
+        assertTrue(server.dispatchCommand(server.getConsoleSender(), "damagetracker loadtest 20 2 10 1 2"));
+        assertTrue(plugin.getTrackedBossManager().isSyntheticBoss("LOADTEST_1"));
+        server.getScheduler().performTicks(45);
+        assertFalse(plugin.getTrackedBossManager().isTrackedBoss("LOADTEST_1"), "the load test did not finish");
+
+        fightRealBoss();
+        assertOnlyRealFightsPublished(1);
+    }
+
+    @Test
+    void traceReplayPublishesNothing() throws Exception {
+        assertTrue(server.dispatchCommand(server.getConsoleSender(), "damagetracker trace start 1"));
+        fightRealBoss();
+        // Stops the capture and waits for the file
+        plugin.getTraceRecorder().close();
+        String trace = plugin.getTraceRecorder().getFile().getName();
+
+        assertTrue(server.dispatchCommand(server.getConsoleSender(), "damagetracker trace replay " + trace + " max"));
+        // The trace is read asynchronously, then the replay starts on the main thread
+        server.getScheduler().waitAsyncTasksFinished();
+        server.getScheduler().performOneTick();
+        assertTrue(plugin.getTrackedBossManager().isSyntheticBoss("REPLAY_" + BOSS), "the replay did not start");
+        server.getScheduler().performTicks(5);
+        assertFalse(plugin.getTrackedBossManager().isTrackedBoss("REPLAY_" + BOSS), "the replay did not finish");
+
+        fightRealBoss();
+        assertOnlyRealFightsPublished(2);
+    }
+
+    /**
+     * Fights a real boss after a synthetic run. Async events are delivered in order, so once the real
+     * fight arrived every event of the synthetic run was delivered too.
+     */
+    private void fightRealBoss() throws InterruptedException {
+        plugin.getTrackedBossManager().trackTemporarily(BOSS);
+        PlayerMock alice = server.addPlayer();
+        ActiveMob boss = spawnBoss(BOSS, "Epic Boss", 1000);
+        hit(alice, boss, 100);
+        server.getScheduler().performOneTick();
+        kill(boss);
+
+        assertTrue(realFights.tryAcquire(10, TimeUnit.SECONDS), "the real fight was not published");
+    }
+
+    private void assertOnlyRealFightsPublished(int realFightCount) throws Exception {
+        assertEquals(Collections.nCopies(realFightCount, BOSS), completed);
+        assertEquals(realFightCount, recorded.size(), "damage events: " + recorded);
+        assertTrue(recorded.stream().allMatch(BOSS::equals), "synthetic damage events: " + recorded);
+        assertTrue(recordedAsync.stream().allMatch(BOSS::equals), "synthetic async damage events: " + recordedAsync);
+        List<FightResult> history = plugin.getDatabaseManager().loadFightHistoryAsync(null, null, 100)
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(realFightCount, history.size());
+        assertTrue(history.stream().allMatch(fight -> fight.getBossId().equals(BOSS)), "synthetic fights were written to the history");
+    }
+}
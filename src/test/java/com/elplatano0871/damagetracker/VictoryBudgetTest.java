@@ -0,0 +1,181 @@
+package com.elplatano0871.damagetracker;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.elplatano0871.damagetracker.api.FightResult;
+import com.elplatano0871.damagetracker.configs.BossConfig;
+import com.elplatano0871.damagetracker.managers.DamageManager;
+import com.elplatano0871.damagetracker.managers.VictoryMessage;
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import io.lumine.mythic.core.mobs.ActiveMob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keeps the hit and kill paths linear: each hit and each victory message recipient must stay within
+ * a time and allocation budget, and the cost per participant must not grow with the size of the fight.
+ * The wall-clock budgets are tagged perf and only run with the perf profile.
+ */
+class VictoryBudgetTest extends DamageTrackerTestBase {
+    // Budgets of one damage event fired through the plugin manager, including the event itself,
+    // the MockBukkit dispatch and the Mockito stubs of MythicMobs
+    private static final double HIT_BUDGET_NANOS = 20_000.0;
+    private static final double HIT_BUDGET_BYTES = 8_192.0;
+    private static final int ATTACKERS = 200;
+    // Budgets of the victory message of one kill, per participant who receives it
+    private static final double KILL_BUDGET_NANOS_PER_PARTICIPANT = 5_000.0;
+    private static final double KILL_BUDGET_BYTES_PER_PARTICIPANT = 8_192.0;
+    // How much the per participant cost may grow from the smallest to the largest fight; 16x means quadratic
+    private static final double MAX_KILL_GROWTH = 3.0;
+    private static final int[] PARTICIPANTS = {250, 1_000, 4_000};
+    private static final int HITS = 50_000;
+    private static final int KILLS = 40;
+
+    private final Random random = new Random(42);
+    private final Map<UUID, String> names = new HashMap<>();
+    private UUID[] players;
+    private PlayerMock[] attackers;
+    private BossConfig bossConfig;
+
+    @BeforeEach
+    void createPlayers() {
+        int largest = PARTICIPANTS[PARTICIPANTS.length - 1];
+        players = new UUID[largest];
+        for (int i = 0; i < largest; i++) {
+            players[i] = new UUID(random.nextLong(), random.nextLong());
+            names.put(players[i], "Player" + i);
+        }
+        bossConfig = plugin.getBossConfigs().get("EPIC_BOSS");
+        assertNotNull(bossConfig);
+    }
+
+    @Test
+    void hitEventsBuildTheRankings() {
+        ActiveMob boss = startFight();
+        double expectedTotal = 0;
+        for (int i = 0; i < ATTACKERS; i++) {
+            double damage = 1 + random.nextInt(1000);
+            hit(attackers[i], boss, damage);
+            expectedTotal += damage;
+        }
+
+        DamageManager damageManager = plugin.getDamageManager();
+        DamageRanking ranking = damageManager.getTrackedRanking("EPIC_BOSS");
+        assertEquals(ATTACKERS, ranking.size());
+        assertEquals(expectedTotal, ranking.getTotal(), 1e-6);
+        assertEquals(expectedTotal, damageManager.getGlobalRanking().getTotal(), 1e-6);
+        for (int i = 1; i < ranking.size(); i++) {
+            assertTrue(ranking.getDamageAt(i) <= ranking.getDamageAt(i - 1), "ranking is not sorted at " + i);
+        }
+    }
+
+    @Test
+    @Tag("perf")
+    void hitsStayWithinBudget() {
+        ActiveMob boss = startFight();
+        Benchmarks.Result hit = Benchmarks.measure(HITS, i -> {
+            // MockBukkit keeps every fired event for its assertions
+            if ((i & 1023) == 0) {
+                server.getPluginManager().clearEvents();
+            }
+            return (long) hit(attackers[i % ATTACKERS], boss, 1 + (i & 63)).getFinalDamage();
+        });
+        assertEquals(ATTACKERS, plugin.getDamageManager().getTrackedRanking("EPIC_BOSS").size());
+        assertTrue(hit.getNanosPerOp() <= HIT_BUDGET_NANOS, "per hit: " + hit);
+        assertTrue(hit.getBytesPerOp() < 0 || hit.getBytesPerOp() <= HIT_BUDGET_BYTES, "per hit: " + hit);
+    }
+
+    @Test
+    void victoryMessagePositionsFollowDamage() {
+        int size = PARTICIPANTS[0];
+        Map<UUID, Double> damage = fight(size);
+        VictoryMessage message = VictoryMessage.prepare(plugin, bossConfig, "Budget Boss",
+                FightResult.of("BUDGET", damage, 100_000, 0L, 0L), names::get, playerId -> "");
+        assertNotNull(message);
+
+        boolean[] seen = new boolean[size + 1];
+        for (int i = 0; i < size; i++) {
+            int position = message.getPosition(players[i]);
+            assertTrue(position >= 1 && position <= size && !seen[position], "invalid position " + position);
+            seen[position] = true;
+        }
+        for (int i = 1; i < size; i++) {
+            UUID a = players[i - 1];
+            UUID b = players[i];
+            assertEquals(damage.get(a) > damage.get(b), message.getPosition(a) < message.getPosition(b));
+        }
+        // Players who did not fight have no position
+        assertEquals(0, message.getPosition(players[size]));
+        assertNotEquals(0, message.getPosition(players[0]));
+    }
+
+    @Test
+    @Tag("perf")
+    void killCostPerParticipantDoesNotGrowWithTheFight() {
+        double firstNanos = 0;
+        double firstBytes = 0;
+        double lastNanos = 0;
+        double lastBytes = 0;
+        for (int size : PARTICIPANTS) {
+            Map<UUID, Double> damage = fight(size);
+            // Every participant is online and receives the personalized message
+            Benchmarks.Result kill = Benchmarks.measure(KILLS, i -> {
+                VictoryMessage prepared = VictoryMessage.prepare(plugin, bossConfig, "Budget Boss",
+                        FightResult.of("BUDGET", damage, 100_000, 0L, 0L), names::get, playerId -> "");
+                long length = 0;
+                for (int p = 0; p < size; p++) {
+                    if (prepared.isRecipient(players[p])) {
+                        length += prepared.render(players[p]).length();
+                    }
+                }
+                return length;
+            });
+
+            double nanos = kill.getNanosPerOp() / size;
+            double bytes = kill.getBytesPerOp() / size;
+            assertTrue(nanos <= KILL_BUDGET_NANOS_PER_PARTICIPANT, size + " participants: " + kill);
+            assertTrue(kill.getBytesPerOp() < 0 || bytes <= KILL_BUDGET_BYTES_PER_PARTICIPANT, size + " participants: " + kill);
+            if (size == PARTICIPANTS[0]) {
+                firstNanos = nanos;
+                firstBytes = bytes;
+            }
+            lastNanos = nanos;
+            lastBytes = bytes;
+        }
+
+        double timeGrowth = lastNanos / Math.max(firstNanos, 1e-9);
+        double allocationGrowth = firstBytes > 0 ? lastBytes / firstBytes : 1.0;
+        assertTrue(timeGrowth <= MAX_KILL_GROWTH, String.format("time per participant grew %.2fx", timeGrowth));
+        assertTrue(allocationGrowth <= MAX_KILL_GROWTH, String.format("allocation per participant grew %.2fx", allocationGrowth));
+    }
+
+    private Map<UUID, Double> fight(int size) {
+        Map<UUID, Double> damage = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            damage.put(players[i], 1 + random.nextDouble() * 10_000);
+        }
+        return damage;
+    }
+
+    /**
+     * Spawns a tracked boss and the online players who hit it through the damage event.
+     */
+    private ActiveMob startFight() {
+        plugin.getTrackedBossManager().trackTemporarily("EPIC_BOSS");
+        attackers = new PlayerMock[ATTACKERS];
+        for (int i = 0; i < ATTACKERS; i++) {
+            attackers[i] = server.addPlayer();
+        }
+        return spawnBoss("EPIC_BOSS", "Epic Boss", 1_000_000);
+    }
+}
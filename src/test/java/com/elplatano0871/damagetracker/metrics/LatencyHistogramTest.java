@@ -0,0 +1,130 @@
+package com.elplatano0871.damagetracker.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+    private static final int LAST_BUCKET = 247;
+
+    @Test
+    void bucketsAreContiguousOverTheWholeRange() {
+        for (int bucket = 0; bucket < LAST_BUCKET; bucket++) {
+            long upper = LatencyHistogram.upperBound(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper), "upper bound of bucket " + bucket);
+            assertEquals(bucket + 1, LatencyHistogram.bucketOf(upper + 1), "value after bucket " + bucket);
+        }
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        assertEquals(LAST_BUCKET, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LAST_BUCKET));
+    }
+
+    @Test
+    void bucketsAreWithinAQuarterOfTheValue() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long value = Long.MAX_VALUE >>> random.nextInt(63) & random.nextLong();
+            long upper = LatencyHistogram.upperBound(LatencyHistogram.bucketOf(value));
+            assertTrue(upper >= value, value + " is above its bucket " + upper);
+            assertTrue(upper - value <= value / 4, value + " is reported as " + upper);
+        }
+    }
+
+    @Test
+    void quantilesOfAUniformDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(50_005_000, histogram.getSum());
+        assertEquals(5_000.5, histogram.getMean(), 1e-9);
+        assertEquals(10_000, histogram.getMax());
+        assertBetween(5_000, 6_250, histogram.getQuantile(0.5));
+        assertBetween(9_000, 10_000, histogram.getQuantile(0.9));
+        assertBetween(9_900, 10_000, histogram.getQuantile(0.99));
+        // Quantiles never exceed the largest recorded value
+        assertEquals(10_000, histogram.getQuantile(1.0));
+        assertEquals(1, histogram.getQuantile(0.0));
+    }
+
+    @Test
+    void quantilesFindRareSlowValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) {
+            histogram.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+
+        assertBetween(1_000, 1_250, histogram.getQuantile(0.5));
+        assertBetween(1_000, 1_250, histogram.getQuantile(0.99));
+        assertEquals(1_000_000, histogram.getQuantile(0.999));
+    }
+
+    @Test
+    void emptyAndNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getQuantile(0.5));
+        assertEquals(0.0, histogram.getMean());
+
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getQuantile(0.5));
+    }
+
+    @Test
+    void disabledRegistryDoesNotTime() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LatencyHistogram histogram = registry.histogram("test_seconds", "", "Test histogram");
+        registry.setEnabled(false);
+
+        long start = histogram.start();
+        assertEquals(0, start);
+        histogram.stop(start);
+        assertEquals(0, histogram.getCount());
+
+        registry.setEnabled(true);
+        histogram.stop(histogram.start());
+        assertEquals(1, histogram.getCount());
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i & 1023);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400_000, histogram.getCount());
+        assertEquals(4 * sumOfMasked(100_000), histogram.getSum());
+        assertEquals(1023, histogram.getMax());
+    }
+
+    private static long sumOfMasked(int count) {
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += i & 1023;
+        }
+        return sum;
+    }
+
+    private static void assertBetween(long lower, long upper, long actual) {
+        assertTrue(actual >= lower && actual <= upper, actual + " is not between " + lower + " and " + upper);
+    }
+}
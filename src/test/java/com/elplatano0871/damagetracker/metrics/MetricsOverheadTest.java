@@ -0,0 +1,58 @@
+package com.elplatano0871.damagetracker.metrics;
+
+import com.elplatano0871.damagetracker.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keeps the instrumentation of the hot paths cheap: the metrics of one damage event, a counter and
+ * a timed span, must stay within a time budget and must not allocate.
+ */
+@Tag("perf")
+class MetricsOverheadTest {
+    // Overhead allowed for the metrics of one damage event
+    private static final double METRICS_BUDGET_NANOS = 200.0;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void damageEventMetricsStayWithinBudget() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("test_events_total", "", "Test counter");
+        LatencyHistogram histogram = registry.histogram("test_seconds", "", "Test histogram");
+
+        Benchmarks.Result span = Benchmarks.measure(ITERATIONS, i -> {
+            long start = histogram.start();
+            counter.increment();
+            histogram.stop(start);
+            return start;
+        });
+        assertTrue(span.getNanosPerOp() <= METRICS_BUDGET_NANOS, "timed span + counter: " + span);
+        assertTrue(span.getBytesPerOp() < 1, "timed span + counter: " + span);
+    }
+
+    @Test
+    void disabledMetricsCostLessThanEnabledOnes() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("test_events_total", "", "Test counter");
+        LatencyHistogram histogram = registry.histogram("test_seconds", "", "Test histogram");
+
+        Benchmarks.Result enabled = Benchmarks.measure(ITERATIONS, i -> {
+            long start = histogram.start();
+            counter.increment();
+            histogram.stop(start);
+            return start;
+        });
+        registry.setEnabled(false);
+        Benchmarks.Result disabled = Benchmarks.measure(ITERATIONS, i -> {
+            long start = histogram.start();
+            counter.increment();
+            histogram.stop(start);
+            return start;
+        });
+
+        assertTrue(disabled.getNanosPerOp() <= enabled.getNanosPerOp(), "disabled: " + disabled + ", enabled: " + enabled);
+        assertTrue(disabled.getBytesPerOp() < 1, "disabled: " + disabled);
+    }
+}
@@ -0,0 +1,107 @@
+package com.elplatano0871.damagetracker.session;
+
+import com.elplatano0871.damagetracker.api.DpsTimeline;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DamageTimelineTest {
+    private static final UUID ALICE = new UUID(1, 1);
+    private static final UUID BOB = new UUID(2, 2);
+
+    @Test
+    void hitsOfOneBucketAreSummed() {
+        DamageTimeline timeline = new DamageTimeline(20, 60);
+        for (long tick = 100; tick < 120; tick++) {
+            timeline.record(ALICE, 5, tick);
+        }
+        timeline.record(ALICE, 7, 120);
+
+        DpsTimeline snapshot = timeline.snapshot(ALICE);
+        assertEquals(1_000, snapshot.getBucketMillis());
+        assertEquals(0, snapshot.getStartBucket());
+        assertEquals(2, snapshot.size());
+        assertEquals(100.0, snapshot.getDamageAt(0), 1e-3);
+        assertEquals(7.0, snapshot.getDamageAt(1), 1e-3);
+        assertEquals(100.0, snapshot.getPeakDps(), 1e-3);
+        assertEquals(2_000, snapshot.getActiveMillis());
+        assertNull(timeline.snapshot(BOB));
+    }
+
+    @Test
+    void ringGrowsInBucketOrderUpToTheCapacity() {
+        DamageTimeline timeline = new DamageTimeline(1, 64);
+        // Bucket numbers are counted from the first hit of the fight, whoever dealt it
+        timeline.record(BOB, 1, 0);
+        timeline.record(ALICE, 3, 0);
+        timeline.record(ALICE, 4, 5);
+        long initialBytes = timeline.getEstimatedBytes();
+        timeline.record(ALICE, 9, 40);
+        assertTrue(timeline.getEstimatedBytes() > initialBytes, "the ring did not grow");
+
+        DpsTimeline snapshot = timeline.snapshot(ALICE);
+        assertEquals(0, snapshot.getStartBucket());
+        assertEquals(41, snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            double expected = i == 0 ? 3 : i == 5 ? 4 : i == 40 ? 9 : 0;
+            assertEquals(expected, snapshot.getDamageAt(i), 1e-6, "bucket " + i);
+        }
+        assertEquals(3 * 50, snapshot.getActiveMillis());
+
+        // Growth stops at the capacity
+        timeline.record(ALICE, 1, 1_000);
+        assertEquals(64, timeline.snapshot(ALICE).size());
+    }
+
+    @Test
+    void ringWrapsAndKeepsTheLatestBuckets() {
+        DamageTimeline timeline = new DamageTimeline(1, 8);
+        for (int bucket = 0; bucket < 20; bucket++) {
+            // Bucket 2 is the peak of the fight and is overwritten by the wrap
+            timeline.record(ALICE, bucket == 2 ? 500 : bucket, bucket);
+        }
+
+        DpsTimeline snapshot = timeline.snapshot(ALICE);
+        assertEquals(8, snapshot.size());
+        assertEquals(12, snapshot.getStartBucket());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(12 + i, snapshot.getDamageAt(i), 1e-6, "bucket " + (12 + i));
+        }
+        assertEquals(500 * 1000.0 / 50, snapshot.getPeakDps(), 1e-3);
+        assertEquals(20 * 50, snapshot.getActiveMillis());
+    }
+
+    @Test
+    void gapLongerThanTheRingClearsEverySlot() {
+        DamageTimeline timeline = new DamageTimeline(1, 8);
+        for (int bucket = 0; bucket < 8; bucket++) {
+            timeline.record(ALICE, 10, bucket);
+        }
+        timeline.record(ALICE, 1, 30);
+
+        DpsTimeline snapshot = timeline.snapshot(ALICE);
+        assertEquals(23, snapshot.getStartBucket());
+        for (int i = 0; i < snapshot.size() - 1; i++) {
+            assertEquals(0.0, snapshot.getDamageAt(i), 1e-6, "bucket " + (23 + i));
+        }
+        assertEquals(1.0, snapshot.getDamageAt(snapshot.size() - 1), 1e-6);
+    }
+
+    @Test
+    void snapshotAllCoversEveryPlayer() {
+        DamageTimeline timeline = new DamageTimeline(1, 8);
+        timeline.record(ALICE, 1, 0);
+        timeline.record(BOB, 2, 3);
+
+        Map<UUID, DpsTimeline> snapshots = timeline.snapshotAll();
+        assertEquals(2, snapshots.size());
+        assertEquals(1.0, snapshots.get(ALICE).getDamageAt(0), 1e-6);
+        assertEquals(3, snapshots.get(BOB).getStartBucket());
+        assertEquals(2.0, snapshots.get(BOB).getDamageAt(0), 1e-6);
+    }
+}
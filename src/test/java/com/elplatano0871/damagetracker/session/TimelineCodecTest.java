@@ -0,0 +1,66 @@
+package com.elplatano0871.damagetracker.session;
+
+import com.elplatano0871.damagetracker.api.DpsTimeline;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimelineCodecTest {
+
+    @Test
+    void roundTripsToHundredths() {
+        Random random = new Random(42);
+        for (int run = 0; run < 100; run++) {
+            float[] damage = new float[random.nextInt(600)];
+            for (int i = 0; i < damage.length; i++) {
+                // Mostly idle buckets, with hits up to a million damage
+                damage[i] = random.nextInt(4) == 0 ? (float) (random.nextDouble() * Math.pow(10, random.nextInt(7))) : 0f;
+            }
+
+            float[] decoded = TimelineCodec.decode(TimelineCodec.encode(timeline(damage)));
+            assertEquals(damage.length, decoded.length);
+            for (int i = 0; i < damage.length; i++) {
+                assertEquals(Math.round(damage[i] * 100.0) / 100.0, decoded[i], Math.ulp(damage[i]) + 1e-6,
+                        "bucket " + i + " of run " + run);
+            }
+        }
+    }
+
+    @Test
+    void roundTripsEmptyAndNegativeBuckets() {
+        assertEquals(0, TimelineCodec.decode(TimelineCodec.encode(timeline(new float[0]))).length);
+        // Damage is never negative, anything below zero is stored as zero
+        float[] decoded = TimelineCodec.decode(TimelineCodec.encode(timeline(new float[]{-5f, 2.5f})));
+        assertEquals(0f, decoded[0]);
+        assertEquals(2.5f, decoded[1]);
+    }
+
+    @Test
+    void idleBucketsCompressToAlmostNothing() {
+        float[] damage = new float[3_600];
+        damage[0] = 1_234.5f;
+        damage[damage.length - 1] = 99f;
+
+        byte[] encoded = TimelineCodec.encode(timeline(damage));
+        assertTrue(encoded.length < 64, "an hour of idle buckets took " + encoded.length + " bytes");
+        float[] decoded = TimelineCodec.decode(encoded);
+        assertEquals(1_234.5f, decoded[0]);
+        assertEquals(99f, decoded[decoded.length - 1]);
+    }
+
+    @Test
+    void rejectsCorruptData() {
+        byte[] encoded = TimelineCodec.encode(timeline(new float[]{1f, 2f, 3f}));
+        assertThrows(IllegalArgumentException.class, () -> TimelineCodec.decode(Arrays.copyOf(encoded, encoded.length / 2)));
+        assertThrows(IllegalArgumentException.class, () -> TimelineCodec.decode(new byte[]{1, 2, 3, 4}));
+    }
+
+    private static DpsTimeline timeline(float[] damage) {
+        return new DpsTimeline(1_000, 0, damage, 0, damage.length * 1_000L);
+    }
+}
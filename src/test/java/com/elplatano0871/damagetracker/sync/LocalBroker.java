@@ -0,0 +1,105 @@
+package com.elplatano0871.damagetracker.sync;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a pub/sub broker, used to check the sync of several simulated servers
+ * without a network. Like Redis, every message is delivered to every connected transport, the
+ * sender included, in publish order, on a separate thread.
+ */
+public final class LocalBroker {
+    private final List<LocalTransport> transports;
+    private final ExecutorService delivery;
+    private final AtomicLong deliveredMessages;
+    private volatile boolean closed;
+
+    /**
+     * Creates a broker with its own delivery thread.
+     */
+    public LocalBroker() {
+        this.transports = new CopyOnWriteArrayList<>();
+        this.deliveredMessages = new AtomicLong();
+        this.delivery = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DamageTracker-SyncBroker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a new transport connected to the broker.
+     *
+     * @return The transport, it receives messages once started.
+     */
+    public SyncTransport connect() {
+        return new LocalTransport();
+    }
+
+    /**
+     * Gets the number of messages delivered to a transport, one per receiver.
+     *
+     * @return The number of deliveries.
+     */
+    public long getDeliveredMessages() {
+        return deliveredMessages.get();
+    }
+
+    /**
+     * Disconnects every transport and stops the delivery thread.
+     */
+    public void close() {
+        closed = true;
+        transports.clear();
+        delivery.shutdownNow();
+    }
+
+    private final class LocalTransport implements SyncTransport {
+        private volatile Consumer<byte[]> receiver;
+
+        @Override
+        public String getName() {
+            return "local";
+        }
+
+        @Override
+        public void start(Consumer<byte[]> receiver) {
+            this.receiver = receiver;
+            transports.add(this);
+        }
+
+        @Override
+        public void publish(byte[] message) {
+            if (closed) return;
+            delivery.execute(() -> {
+                for (LocalTransport transport : transports) {
+                    Consumer<byte[]> target = transport.receiver;
+                    if (target != null) {
+                        target.accept(message);
+                        deliveredMessages.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public boolean isConnected() {
+            return !closed && receiver != null;
+        }
+
+        @Override
+        public long getDroppedMessages() {
+            return 0L;
+        }
+
+        @Override
+        public void stop() {
+            transports.remove(this);
+            receiver = null;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.elplatano0871.damagetracker.sync;
+
+import com.elplatano0871.damagetracker.ranking.DamageRanking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Connects several {@link SyncNode}s to a {@link LocalBroker}, lets them finish fights on the same
+ * bosses and players at the same time, and checks that every server ends with the same leaderboards.
+ * Fights are published once per simulated tick, the broker delivers them on its own thread, and every
+ * server applies them on the next tick, like the plugin does with a real transport.
+ */
+class SyncConvergenceTest {
+    private static final String BOSS_PREFIX = "SYNC_TEST_";
+    private static final int BOSSES = 8;
+    private static final int PLAYERS = 300;
+    private static final int MAX_PARTICIPANTS = 40;
+    // One fight in this many clears the leaderboard of its boss instead
+    private static final int CLEAR_EVERY = 250;
+    // Ticks to wait for the last messages once every fight was published
+    private static final int SETTLE_TICKS = 200;
+    private static final long TICK_MILLIS = 5;
+
+    private final LocalBroker broker = new LocalBroker();
+    private final UUID[] players = new UUID[PLAYERS];
+    private final String[] names = new String[PLAYERS];
+    private final SplittableRandom random = new SplittableRandom(42);
+    private TestServer[] servers;
+    private long stamp = System.currentTimeMillis();
+
+    @AfterEach
+    void closeBroker() {
+        if (servers != null) {
+            for (TestServer server : servers) {
+                server.node.stop();
+            }
+        }
+        broker.close();
+    }
+
+    @Test
+    void concurrentFightsConverge() throws InterruptedException {
+        run(4, 2_000, 20);
+    }
+
+    @Test
+    void manyServersConverge() throws InterruptedException {
+        run(16, 1_000, 50);
+    }
+
+    private void run(int serverCount, int fights, int fightsPerTick) throws InterruptedException {
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new UUID(random.nextLong(), random.nextLong());
+            names[i] = "SyncTester" + i;
+        }
+        servers = new TestServer[serverCount];
+        for (int i = 0; i < serverCount; i++) {
+            TestServer server = new TestServer();
+            // Servers are drained every tick, so they need no wake up
+            server.node = new SyncNode("test-" + i, broker.connect(), server, () -> { }, lag -> { });
+            servers[i] = server;
+        }
+        for (TestServer server : servers) {
+            server.node.start();
+        }
+
+        int published = 0;
+        while (published < fights) {
+            drainAll();
+            for (int i = 0; i < fightsPerTick && published < fights; i++) {
+                publishFight();
+                published++;
+            }
+            Thread.sleep(TICK_MILLIS);
+        }
+        int settleTicks = 0;
+        do {
+            drainAll();
+            assertTrue(++settleTicks <= SETTLE_TICKS, "messages were still in flight after " + SETTLE_TICKS + " ticks");
+            Thread.sleep(TICK_MILLIS);
+        } while (!isSettled());
+
+        long anomalies = 0;
+        for (TestServer server : servers) {
+            SyncNode node = server.node;
+            anomalies += node.getDuplicateMessages() + node.getMissedMessages() + node.getInvalidMessages()
+                    + node.getConflictingMessages();
+        }
+        assertEquals(0, anomalies, "duplicated, missed or invalid messages");
+        assertEquals(0, countMismatches(), "entries that differ between servers");
+    }
+
+    private void drainAll() {
+        for (TestServer server : servers) {
+            server.node.drain();
+        }
+    }
+
+    private void publishFight() {
+        TestServer server = servers[random.nextInt(servers.length)];
+        String bossName = BOSS_PREFIX + random.nextInt(BOSSES);
+        // Stamps only move forward, several fights may share one
+        stamp += random.nextInt(2);
+
+        if (random.nextInt(CLEAR_EVERY) == 0) {
+            // Like removing the board: dropped here first, then published
+            server.retain(bossName, Collections.emptySet());
+            server.node.publishClear(bossName, stamp);
+            return;
+        }
+
+        // Distinct players, drawn with a partial shuffle of a copy of the pool
+        int count = 1 + random.nextInt(MAX_PARTICIPANTS);
+        int[] pool = new int[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) pool[i] = i;
+        UUID[] fightPlayers = new UUID[count];
+        String[] fightNames = new String[count];
+        double[] fightDamage = new double[count];
+        for (int i = 0; i < count; i++) {
+            int pick = i + random.nextInt(PLAYERS - i);
+            int index = pool[pick];
+            pool[pick] = pool[i];
+            fightPlayers[i] = players[index];
+            fightNames[i] = names[index];
+            fightDamage[i] = Math.round(random.nextDouble() * 1_000_000) / 100.0;
+            // The local leaderboard already holds the damage of the fight when it ends
+            server.set(bossName, fightPlayers[i], fightNames[i], fightDamage[i]);
+        }
+        server.node.publishUpdate(bossName, stamp, fightPlayers, fightNames, fightDamage);
+    }
+
+    private boolean isSettled() {
+        long messages = 0;
+        for (TestServer server : servers) {
+            messages += server.node.getPublishedMessages();
+            if (server.node.getPendingCount() > 0) return false;
+        }
+        // Every message reaches every server, the sender included
+        return broker.getDeliveredMessages() == messages * servers.length;
+    }
+
+    private int countMismatches() {
+        Map<String, Map<UUID, Double>> reference = servers[0].snapshot();
+        int mismatches = 0;
+        for (int i = 1; i < servers.length; i++) {
+            Map<String, Map<UUID, Double>> other = servers[i].snapshot();
+            Set<String> bosses = new HashSet<>(reference.keySet());
+            bosses.addAll(other.keySet());
+            for (String bossName : bosses) {
+                Map<UUID, Double> expected = reference.getOrDefault(bossName, Collections.emptyMap());
+                Map<UUID, Double> actual = other.getOrDefault(bossName, Collections.emptyMap());
+                Set<UUID> entries = new HashSet<>(expected.keySet());
+                entries.addAll(actual.keySet());
+                for (UUID playerId : entries) {
+                    if (!Objects.equals(expected.get(playerId), actual.get(playerId))) {
+                        mismatches++;
+                    }
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * A simulated server of the test, with its own leaderboards.
+     */
+    private static final class TestServer implements SyncNode.Leaderboards {
+        private final Map<String, DamageRanking> boards = new HashMap<>();
+        private SyncNode node;
+
+        @Override
+        public void set(String bossName, UUID playerId, String playerName, double damage) {
+            boards.computeIfAbsent(bossName, key -> new DamageRanking()).set(playerId, damage);
+        }
+
+        @Override
+        public void remove(String bossName, UUID playerId) {
+            DamageRanking ranking = boards.get(bossName);
+            if (ranking != null) {
+                ranking.remove(playerId);
+            }
+        }
+
+        @Override
+        public void retain(String bossName, Set<UUID> keep) {
+            DamageRanking ranking = boards.get(bossName);
+            if (ranking == null) return;
+            for (UUID playerId : ranking.toMap().keySet()) {
+                if (!keep.contains(playerId)) {
+                    ranking.remove(playerId);
+                }
+            }
+        }
+
+        private Map<String, Map<UUID, Double>> snapshot() {
+            Map<String, Map<UUID, Double>> snapshot = new HashMap<>();
+            for (Map.Entry<String, DamageRanking> entry : boards.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().toMap());
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.elplatano0871.damagetracker.utils;
+
+import com.elplatano0871.damagetracker.Benchmarks;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NumberFormatterTest {
+    private static final int ITERATIONS = 200_000;
+    private static final String[] PATTERNS = {"%.2f", "%.1f", "%.0f", "%,.2f", "%.1f%%", "Damage: %.3f"};
+    private static final char SEPARATOR = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT))
+            .getDecimalSeparator();
+
+    @Test
+    void matchesStringFormat() {
+        Random random = new Random(42);
+        for (String pattern : PATTERNS) {
+            NumberFormatter formatter = NumberFormatter.compile(pattern);
+            for (int i = 0; i < 10_000; i++) {
+                double value = (random.nextDouble() - 0.1) * Math.pow(10, random.nextInt(10));
+                assertEquals(String.format(pattern, value), formatter.format(value), pattern + " of " + value);
+            }
+        }
+    }
+
+    @Test
+    void roundsDecimalTiesUpLikeStringFormat() {
+        // Each is stored just below the tie, String.format still rounds the decimal form up
+        assertEquals("1" + SEPARATOR + "01", NumberFormatter.compile("%.2f").format(1.005));
+        assertEquals("2" + SEPARATOR + "68", NumberFormatter.compile("%.2f").format(2.675));
+        assertEquals("-2" + SEPARATOR + "68", NumberFormatter.compile("%.2f").format(-2.675));
+        assertEquals("0" + SEPARATOR + "3", NumberFormatter.compile("%.1f").format(0.25));
+
+        double[] ties = {1.005, 2.675, 1.115, 10.235, 0.045, 0.125, 0.375, 0.5, 1.5, 2.5, 1.0005, 8.345,
+                123_456.785, 1_000_000.005, -1.005, -0.125};
+        for (String pattern : PATTERNS) {
+            NumberFormatter formatter = NumberFormatter.compile(pattern);
+            for (double value : ties) {
+                assertEquals(String.format(pattern, value), formatter.format(value), pattern + " of " + value);
+            }
+        }
+
+        // Random decimal ties at every precision
+        Random random = new Random(42);
+        for (int digits = 0; digits <= 3; digits++) {
+            String pattern = "%." + digits + "f";
+            NumberFormatter formatter = NumberFormatter.compile(pattern);
+            for (int i = 0; i < 10_000; i++) {
+                StringBuilder decimal = new StringBuilder().append(random.nextInt(1_000_000)).append('.');
+                for (int d = 0; d < digits; d++) {
+                    decimal.append(random.nextInt(10));
+                }
+                double value = Double.parseDouble(decimal.append('5').toString());
+                assertEquals(String.format(pattern, value), formatter.format(value), pattern + " of " + value);
+            }
+        }
+    }
+
+    @Test
+    void compactRoundingCarriesIntoTheNextUnit() {
+        NumberFormatter formatter = NumberFormatter.compile("%.2f").withCompactNotation(1_000, 1);
+
+        assertEquals(compact("999", "9", 'K'), formatter.format(999_949));
+        assertEquals(compact("1", "0", 'M'), formatter.format(999_950));
+        assertEquals(compact("-1", "0", 'M'), formatter.format(-999_950));
+        assertEquals(compact("999", "9", 'M'), formatter.format(999_949_999));
+        assertEquals(compact("1", "0", 'B'), formatter.format(999_950_000));
+        assertEquals(compact("1", "0", 'T'), formatter.format(999_950_000_000.0));
+        // T is the largest unit, so there is nothing to carry into
+        assertEquals(compact("1000", "0", 'T'), formatter.format(999_950_000_000_000.0));
+    }
+
+    @Test
+    void compactRoundingCarriesWithoutDecimals() {
+        NumberFormatter formatter = NumberFormatter.compile("%.2f").withCompactNotation(1_000, 0);
+
+        assertEquals("999K", formatter.format(999_499));
+        assertEquals("1M", formatter.format(999_500));
+    }
+
+    @Test
+    @Tag("perf")
+    void isFasterThanStringFormat() {
+        double[] values = new double[1024];
+        Random random = new Random(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * Math.pow(10, random.nextInt(8));
+        }
+        NumberFormatter formatter = NumberFormatter.compile("%.2f");
+        StringBuilder reused = new StringBuilder(32);
+
+        Benchmarks.Result baseline = Benchmarks.measure(ITERATIONS, i -> String.format("%.2f", values[i & 1023]).length());
+        Benchmarks.Result format = Benchmarks.measure(ITERATIONS, i -> formatter.format(values[i & 1023]).length());
+        Benchmarks.Result formatTo = Benchmarks.measure(ITERATIONS, i -> {
+            reused.setLength(0);
+            return formatter.formatTo(reused, values[i & 1023]).length();
+        });
+
+        assertTrue(format.getNanosPerOp() < baseline.getNanosPerOp(), "format: " + format + ", String.format: " + baseline);
+        assertTrue(formatTo.getNanosPerOp() < baseline.getNanosPerOp(), "formatTo: " + formatTo + ", String.format: " + baseline);
+        // Appending to a reused builder must not allocate
+        assertTrue(formatTo.getBytesPerOp() < 1, "formatTo: " + formatTo);
+    }
+
+    private static String compact(String integer, String fraction, char unit) {
+        return integer + SEPARATOR + fraction + unit;
+    }
+}